@@ -60,4 +60,29 @@ public @interface CoalesceCacheable {
      * @return true, if successful
      */
     boolean coalesce() default true;
+
+    /**
+     * Duración en segundos del lease del lock de coalescing. Se renueva
+     * mientras el loader sigue en ejecución.
+     *
+     * @return the long
+     */
+    long lockLease() default 30;
+
+    /**
+     * Segundos durante los que un valor expirado se sigue sirviendo mientras
+     * se recarga en segundo plano. 0 desactiva stale-while-revalidate.
+     *
+     * @return the long
+     */
+    long staleTtl() default 0;
+
+    /**
+     * Peso de la recarga anticipada probabilística (XFetch). Cada acierto
+     * puede recargar el valor antes de expirar, con una probabilidad que
+     * crece al acercarse la expiración. 0 la desactiva; 1 es el valor usual.
+     *
+     * @return the double
+     */
+    double earlyRefreshBeta() default 0;
 }
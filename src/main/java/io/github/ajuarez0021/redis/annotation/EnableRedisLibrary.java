@@ -1,9 +1,16 @@
 package io.github.ajuarez0021.redis.annotation;
 
 import io.github.ajuarez0021.redis.util.Mode;
+import io.github.ajuarez0021.redis.util.NotificationMode;
+import io.github.ajuarez0021.redis.util.ReadPreference;
+import io.github.ajuarez0021.redis.util.ValueFormat;
 import io.github.ajuarez0021.redis.config.ObjectMapperConfig;
 import io.github.ajuarez0021.redis.config.DefaultObjectMapperConfig;
 import io.github.ajuarez0021.redis.config.CacheConfig;
+import io.github.ajuarez0021.redis.config.CompressionCodec;
+import io.github.ajuarez0021.redis.config.DeflateCompressionCodec;
+import io.github.ajuarez0021.redis.aspect.CoalesceKeyGenerator;
+import io.github.ajuarez0021.redis.aspect.DefaultCoalesceKeyGenerator;
 import java.lang.annotation.Documented;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
@@ -86,6 +93,50 @@ public @interface EnableRedisLibrary {
      */
     TTLEntry[] ttlEntries() default {};
 
+    /**
+     * Value format.
+     * Format of the values written by the templates, the cache manager and the
+     * coalesce pub/sub messages. Values in any format can always be read.
+     *
+     * @return the value format
+     */
+    ValueFormat valueFormat() default ValueFormat.JSON;
+
+    /**
+     * Format entries.
+     * Per cache name formats for the Spring cache manager.
+     *
+     * @return the format entry[]
+     */
+    FormatEntry[] formatEntries() default {};
+
+    /**
+     * Region entries.
+     * Caches of RedisCacheService whose values are all of one class. Their
+     * values are written without type metadata and read straight into the class.
+     *
+     * @return the region entry[]
+     */
+    RegionEntry[] regionEntries() default {};
+
+    /**
+     * Compression threshold.
+     * Serialized size in bytes from which values are compressed. Zero disables
+     * compression; compressed values are always read.
+     *
+     * @return the int
+     */
+    int compressionThreshold() default 0;
+
+    /**
+     * Compression codec.
+     * Codec compressing values above the threshold. Values compressed with
+     * Deflate can always be read.
+     *
+     * @return the class<? extends compression codec>
+     */
+    Class<? extends CompressionCodec> compressionCodec() default DeflateCompressionCodec.class;
+
     /**
      * Use ssl.
      *
@@ -101,4 +152,138 @@ public @interface EnableRedisLibrary {
      */
     String sentinelMaster() default "";
 
+    /**
+     * Near cache max size.
+     * Maximum number of entries kept in the in-process L1 tier in front of
+     * the coalesce cache. Zero disables the near cache.
+     *
+     * @return the long
+     */
+    long nearCacheMaxSize() default 0;
+
+    /**
+     * Near cache ttl.
+     * Maximum time in seconds an entry stays in the near cache. Entries
+     * written with a shorter TTL expire together with the Redis entry.
+     *
+     * @return the long
+     */
+    long nearCacheTtl() default 30;
+
+    /**
+     * Near cache tracking.
+     * Keeps the near cache fresh with Redis 6+ client-side caching
+     * (CLIENT TRACKING over RESP3) instead of the coalesce:evict channel.
+     * Requires nearCacheMaxSize; only for standalone and sentinel mode.
+     *
+     * @return true, if successful
+     */
+    boolean nearCacheTracking() default false;
+
+    /**
+     * Notification mode.
+     * How nodes waiting for a coalesced load are notified once the value is ready.
+     *
+     * @return the notification mode
+     */
+    NotificationMode notificationMode() default NotificationMode.BROADCAST;
+
+    /**
+     * Key generator.
+     * Builds the key of coalesce annotations without a key expression.
+     * The class needs a public no-args constructor.
+     *
+     * @return the class<? extends coalesce key generator>
+     */
+    Class<? extends CoalesceKeyGenerator> keyGenerator() default DefaultCoalesceKeyGenerator.class;
+
+    /**
+     * Pool max total.
+     * Maximum number of pooled connections. Zero disables pooling and every
+     * command goes through the single shared connection.
+     *
+     * @return the int
+     */
+    int poolMaxTotal() default 0;
+
+    /**
+     * Pool max idle.
+     * Maximum number of idle pooled connections. Only used when pooling is enabled.
+     *
+     * @return the int
+     */
+    int poolMaxIdle() default 8;
+
+    /**
+     * Pool min idle.
+     * Minimum number of idle pooled connections. Only used when pooling is enabled.
+     *
+     * @return the int
+     */
+    int poolMinIdle() default 0;
+
+    /**
+     * Share native connection.
+     * When true, regular commands share one connection and blocking operations
+     * such as transactions or pub/sub take a dedicated one from the pool. When
+     * false, every operation borrows a connection from the pool.
+     *
+     * @return true, if successful
+     */
+    boolean shareNativeConnection() default true;
+
+    /**
+     * Io threads.
+     * Number of Lettuce I/O threads. Zero keeps the Lettuce default, one per
+     * available processor.
+     *
+     * @return the int
+     */
+    int ioThreads() default 0;
+
+    /**
+     * Computation threads.
+     * Number of Lettuce computation threads. Zero keeps the Lettuce default,
+     * one per available processor.
+     *
+     * @return the int
+     */
+    int computationThreads() default 0;
+
+    /**
+     * Read from.
+     * Which nodes serve cache reads. Only for sentinel and cluster mode;
+     * writes and locks always go to the master.
+     *
+     * @return the read preference
+     */
+    ReadPreference readFrom() default ReadPreference.MASTER;
+
+    /**
+     * Cluster refresh period.
+     * Seconds between periodic reloads of the cluster topology. Zero disables
+     * the periodic refresh. Only for cluster mode.
+     *
+     * @return the long
+     */
+    long clusterRefreshPeriod() default 60;
+
+    /**
+     * Cluster adaptive refresh.
+     * Reloads the cluster topology as soon as a MOVED or ASK redirect or
+     * persistent reconnect attempts show it changed. Only for cluster mode.
+     *
+     * @return true, if successful
+     */
+    boolean clusterAdaptiveRefresh() default true;
+
+    /**
+     * Cluster max redirects.
+     * Maximum number of MOVED or ASK redirects followed by a command.
+     * Only for cluster mode.
+     *
+     * @return the int
+     */
+    int clusterMaxRedirects() default 5;
+
 }
@@ -0,0 +1,30 @@
+package io.github.ajuarez0021.redis.annotation;
+
+import io.github.ajuarez0021.redis.util.ValueFormat;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The Interface FormatEntry.
+ *
+ * @author ajuar
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface FormatEntry {
+
+    /**
+     * Name.
+     *
+     * @return the string
+     */
+    String name();
+
+    /**
+     * Format.
+     *
+     * @return the value format
+     */
+    ValueFormat format();
+}
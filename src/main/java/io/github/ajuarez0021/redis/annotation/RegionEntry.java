@@ -0,0 +1,29 @@
+package io.github.ajuarez0021.redis.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The Interface RegionEntry.
+ *
+ * @author ajuar
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface RegionEntry {
+
+    /**
+     * Name.
+     *
+     * @return the string
+     */
+    String name();
+
+    /**
+     * Type.
+     *
+     * @return the value class
+     */
+    Class<?> type();
+}
@@ -0,0 +1,48 @@
+package io.github.ajuarez0021.redis.aspect;
+
+import io.github.ajuarez0021.redis.dto.CoalesceOptionsDto;
+import java.lang.reflect.Method;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.expression.Expression;
+
+/**
+ * The resolved attributes of a coalesce annotation on an advised method,
+ * built on first invocation and shared by the aspects.
+ *
+ * @author ajuar
+ */
+@Getter
+@Builder
+final class CacheOperationMetadata {
+
+    /** The advised method, null when the signature is not a method signature. */
+    private final Method method;
+
+    /** The parameter names of the method. */
+    private final String[] parameterNames;
+
+    /** The base key, the annotation value or the method short name. */
+    private final String baseKey;
+
+    /** The key expression, null when the arguments hash is used. */
+    private final Expression key;
+
+    /** The condition expression, null when unconditional. */
+    private final Expression condition;
+
+    /** The unless expression, null when absent. */
+    private final Expression unless;
+
+    /** The eviction pattern expression, null when absent. */
+    private final Expression pattern;
+
+    /** The TTL in seconds. */
+    private final long ttl;
+
+    /** Whether concurrent loads are coalesced. */
+    private final boolean coalesce;
+
+    /** The load options of a cacheable operation, null for other operations. */
+    private final CoalesceOptionsDto options;
+}
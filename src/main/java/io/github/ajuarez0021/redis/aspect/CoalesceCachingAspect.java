@@ -4,21 +4,28 @@ import io.github.ajuarez0021.redis.annotation.CoalesceCacheable;
 import io.github.ajuarez0021.redis.annotation.CoalesceCaching;
 import io.github.ajuarez0021.redis.annotation.CoalesceEvict;
 import io.github.ajuarez0021.redis.annotation.CoalescePut;
+import io.github.ajuarez0021.redis.dto.CoalesceOptionsDto;
 import io.github.ajuarez0021.redis.exception.CoalesceException;
+import io.github.ajuarez0021.redis.service.CacheWriteBatch;
 import io.github.ajuarez0021.redis.service.CoalesceCacheManager;
-import java.util.Arrays;
-import org.springframework.expression.Expression;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * The Class CoalesceCachingAspect.
@@ -33,8 +40,11 @@ public class CoalesceCachingAspect {
     /** The cache manager. */
     private final CoalesceCacheManager cacheManager;
     
-    /** The parser. */
-    private final SpelExpressionParser parser;
+    /** The expression evaluator. */
+    private final CoalesceExpressionEvaluator evaluator;
+
+    /** The generator of keys for annotations without a key expression. */
+    private final CoalesceKeyGenerator keyGenerator;
 
     /**
      * Instantiates a new coalesce caching aspect.
@@ -43,8 +53,23 @@ public class CoalesceCachingAspect {
      */
     public CoalesceCachingAspect(
             CoalesceCacheManager cacheManager) {
+        this(cacheManager, CoalesceExpressionEvaluator.shared(), new DefaultCoalesceKeyGenerator());
+    }
+
+    /**
+     * Instantiates a new coalesce caching aspect.
+     *
+     * @param cacheManager the cache manager
+     * @param evaluator the expression evaluator
+     * @param keyGenerator the key generator
+     */
+    public CoalesceCachingAspect(
+            CoalesceCacheManager cacheManager,
+            CoalesceExpressionEvaluator evaluator,
+            CoalesceKeyGenerator keyGenerator) {
         this.cacheManager = cacheManager;
-        this.parser = new SpelExpressionParser();
+        this.evaluator = evaluator;
+        this.keyGenerator = keyGenerator;
         log.debug("CoalesceCachingAspect");
     }
 
@@ -61,26 +86,48 @@ public class CoalesceCachingAspect {
             ProceedingJoinPoint joinPoint,
             CoalesceCacheable cacheable) throws Throwable {
 
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, cacheable);
 
-        if (!evaluateCondition(joinPoint, cacheable.condition())) {
+        if (!evaluateCondition(joinPoint, metadata, metadata.getCondition(), null)) {
             log.debug("Condition not met for @CoalesceCacheable, skipping cache");
             return joinPoint.proceed();
         }
 
-        String cacheKey = generateCacheKey(joinPoint, cacheable);
+        String cacheKey = generateCacheKey(joinPoint, metadata);
+        CoalesceOptionsDto options = metadata.getOptions();
 
+        Class<?> returnType = metadata.getMethod() != null ? metadata.getMethod().getReturnType() : Object.class;
+        if (returnType == CompletionStage.class || returnType == CompletableFuture.class) {
+            return loadAsync(metadata, cacheKey, () -> proceedAsync(joinPoint, CoalesceCachingAspect::fromStage));
+        }
+        if (Mono.class.isAssignableFrom(returnType)) {
+            return Mono.fromFuture(() -> loadAsync(metadata, cacheKey,
+                    () -> proceedAsync(joinPoint, CoalesceCachingAspect::fromMono)));
+        }
+        if (Flux.class.isAssignableFrom(returnType)) {
+            return Mono.fromFuture(() -> loadAsync(metadata, cacheKey,
+                            () -> proceedAsync(joinPoint, CoalesceCachingAspect::fromFlux)))
+                    .flatMapIterable(value -> (Iterable<?>) value);
+        }
+        if (CompletionStage.class.isAssignableFrom(returnType)) {
+            // A cached value cannot be handed back as an arbitrary stage implementation.
+            log.debug("Skipping cache for {}, which returns {}", cacheKey, returnType.getName());
+            return joinPoint.proceed();
+        }
 
-        Optional<Object> cached = cacheManager.get(cacheKey);
-        if (cached.isPresent()) {
-            log.debug("Returning cached value for key: {}", cacheKey);
-            return cached.get();
+        if (!metadata.isCoalesce() || !refreshesCachedValues(options)) {
+            Optional<Object> cached = cacheManager.get(cacheKey);
+            if (cached.isPresent()) {
+                log.debug("Returning cached value for key: {}", cacheKey);
+                return cached.get();
+            }
         }
 
 
-        if (!cacheable.coalesce()) {
+        if (!metadata.isCoalesce()) {
             Object result = joinPoint.proceed();
-            if (result != null || cacheable.cacheNull()) {
-                cacheManager.put(cacheKey, result, cacheable.ttl());
+            if (result != null || options.isCacheNull()) {
+                cacheResult(cacheKey, result, options);
             }
             return result;
         }
@@ -95,13 +142,96 @@ public class CoalesceCachingAspect {
                         throw new CoalesceException(t);
                     }
                 },
-                cacheable.ttl(),
-                cacheable.cacheNull()
+                options
         );
     }
 
     /**
-     * Handle caching.
+     * Gets a value without blocking, loading it through the advised method on
+     * a miss. The value, not the future, is cached once the load completes and,
+     * when coalescing, every concurrent caller shares the same load. Stale and
+     * early refresh options are rejected for these methods.
+     *
+     * @param metadata the metadata of the operation
+     * @param cacheKey the cache key
+     * @param loader the loader invoking the advised method
+     * @return the future cached or loaded value
+     */
+    private CompletableFuture<Object> loadAsync(CacheOperationMetadata metadata, String cacheKey,
+            Supplier<CompletableFuture<Object>> loader) {
+        CoalesceOptionsDto options = metadata.getOptions();
+        if (metadata.isCoalesce()) {
+            return cacheManager.getOrLoadAsync(cacheKey, loader, options.getTtl(), options.isCacheNull(),
+                    options.getLockLease());
+        }
+
+        return cacheManager.getAsync(cacheKey).thenCompose(cached -> {
+            if (cached.isPresent()) {
+                log.debug("Returning cached value for key: {}", cacheKey);
+                return CompletableFuture.completedFuture(cached.get());
+            }
+            return loader.get().thenCompose(result -> result != null || options.isCacheNull()
+                    ? cacheManager.putAsync(cacheKey, result, options.getTtl()).thenApply(ignored -> result)
+                    : CompletableFuture.completedFuture(result));
+        });
+    }
+
+    /**
+     * Invokes the advised method and adapts its asynchronous result.
+     *
+     * @param joinPoint the join point
+     * @param adapter the adapter of the returned object
+     * @return the future result, failed when the method throws
+     */
+    private static CompletableFuture<Object> proceedAsync(ProceedingJoinPoint joinPoint,
+            Function<Object, CompletableFuture<Object>> adapter) {
+        try {
+            Object returned = joinPoint.proceed();
+            return returned != null ? adapter.apply(returned) : CompletableFuture.completedFuture(null);
+        } catch (Throwable t) {
+            return CompletableFuture.failedFuture(t);
+        }
+    }
+
+    /**
+     * Adapts a returned completion stage. The advised method is declared to
+     * return {@link CompletionStage} or {@link CompletableFuture}, so the
+     * future handed back to the caller fits its return type.
+     *
+     * @param returned the completion stage
+     * @return the future
+     */
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> fromStage(Object returned) {
+        return ((CompletionStage<Object>) returned).toCompletableFuture();
+    }
+
+    /**
+     * Adapts a returned Mono, an empty Mono completing with null.
+     *
+     * @param returned the Mono
+     * @return the future
+     */
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> fromMono(Object returned) {
+        return ((Mono<Object>) returned).toFuture();
+    }
+
+    /**
+     * Adapts a returned Flux, collecting its elements in a list.
+     *
+     * @param returned the Flux
+     * @return the future list
+     */
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Object> fromFlux(Object returned) {
+        return ((Flux<Object>) returned).collectList().<Object>map(List.class::cast).toFuture();
+    }
+
+    /**
+     * Handle caching. The cacheable keys are looked up with a single MGET and
+     * the writes and evictions on each side of the invocation are sent as one
+     * pipelined batch.
      *
      * @param joinPoint the join point
      * @param caching the caching
@@ -114,171 +244,155 @@ public class CoalesceCachingAspect {
             CoalesceCaching caching) throws Throwable {
 
         CoalesceCacheable[] cacheables = caching.cacheable();
+        List<CacheOperationMetadata> cacheableMetadata = new ArrayList<>(cacheables.length);
+        List<String> cacheableKeys = new ArrayList<>(cacheables.length);
+        for (CoalesceCacheable cacheable : cacheables) {
+            CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, cacheable);
+            if (evaluateCondition(joinPoint, metadata, metadata.getCondition(), null)) {
+                cacheableMetadata.add(metadata);
+                cacheableKeys.add(generateCacheKey(joinPoint, metadata));
+            }
+        }
 
-        if (cacheables.length > 0) {
-            for (CoalesceCacheable cacheable : cacheables) {
-                if (!evaluateCondition(joinPoint, cacheable.condition())) {
-                    continue;
-                }
-                String cacheKey = generateCacheKey(joinPoint, cacheable);
-                Optional<Object> cached = cacheManager.get(cacheKey);
-                if (cached.isPresent()) {
-                    log.debug("Returning cached value from @CoalesceCaching for key: {}", cacheKey);
-                    return cached.get();
+        if (!cacheableKeys.isEmpty()) {
+            List<Optional<Object>> cached = cacheManager.getAll(cacheableKeys);
+            for (int i = 0; i < cached.size(); i++) {
+                if (cached.get(i).isPresent()) {
+                    log.debug("Returning cached value from @CoalesceCaching for key: {}", cacheableKeys.get(i));
+                    return cached.get(i).get();
                 }
             }
         }
 
         CoalesceEvict[] evicts = caching.evict();
+        CacheWriteBatch before = cacheManager.batch();
         for (CoalesceEvict evict : evicts) {
-            if (evict.beforeInvocation() && evaluateCondition(joinPoint, evict.condition())) {
-                performEviction(joinPoint, evict);
+            if (evict.beforeInvocation()) {
+                addEvictionIfMatches(joinPoint, evict, before);
             }
         }
+        before.execute();
 
         Object result = joinPoint.proceed();
 
-        CoalescePut[] puts = caching.put();
-        for (CoalescePut put : puts) {
-            if (evaluateCondition(joinPoint, put.condition(), result)
-                    && !evaluateCondition(joinPoint, put.unless(), result)) {
+        CacheWriteBatch after = cacheManager.batch();
+        for (CoalescePut put : caching.put()) {
+            CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, put);
+            if (evaluateCondition(joinPoint, metadata, metadata.getCondition(), result)
+                    && !evaluateCondition(joinPoint, metadata, metadata.getUnless(), result)) {
 
-                String cacheKey = generateCacheKey(joinPoint, put);
-                cacheManager.put(cacheKey, result, put.ttl());
+                String cacheKey = generateCacheKey(joinPoint, metadata);
+                after.put(cacheKey, result, metadata.getTtl());
                 log.debug("Cached result from @CoalesceCaching for key: {}", cacheKey);
             }
         }
 
         for (CoalesceEvict evict : evicts) {
-            if (!evict.beforeInvocation() && evaluateCondition(joinPoint, evict.condition())) {
-                performEviction(joinPoint, evict);
+            if (!evict.beforeInvocation()) {
+                addEvictionIfMatches(joinPoint, evict, after);
             }
         }
 
-        for (CoalesceCacheable cacheable : cacheables) {
-            if (!evaluateCondition(joinPoint, cacheable.condition())) {
-                continue;
-            }
-            String cacheKey = generateCacheKey(joinPoint, cacheable);
-            if (result != null || cacheable.cacheNull()) {
-                cacheManager.put(cacheKey, result, cacheable.ttl());
+        for (int i = 0; i < cacheableMetadata.size(); i++) {
+            CoalesceOptionsDto options = cacheableMetadata.get(i).getOptions();
+            if (result != null || options.isCacheNull()) {
+                after.put(cacheableKeys.get(i), result, options);
             }
         }
+        after.execute();
 
         return result;
     }
 
     /**
-     * Generate cache key.
+     * Cache result.
      *
-     * @param joinPoint the join point
-     * @param cacheable the cacheable
-     * @return the string
+     * @param cacheKey the cache key
+     * @param result the result
+     * @param options the options
      */
-    private String generateCacheKey(ProceedingJoinPoint joinPoint, CoalesceCacheable cacheable) {
-        String baseKey = cacheable.value().isEmpty()
-                ? joinPoint.getSignature().toShortString()
-                : cacheable.value();
-
-        if (!cacheable.key().isEmpty()) {
-            String dynamicKey = evaluateExpression(joinPoint, cacheable.key(), null, String.class);
-            return baseKey + ":" + dynamicKey;
+    private void cacheResult(String cacheKey, Object result, CoalesceOptionsDto options) {
+        if (refreshesCachedValues(options)) {
+            cacheManager.put(cacheKey, result, options);
+        } else {
+            cacheManager.put(cacheKey, result, options.getTtl());
         }
+    }
 
-        return baseKey + ":" + Arrays.hashCode(joinPoint.getArgs());
+    /**
+     * Refreshes cached values.
+     *
+     * @param options the options
+     * @return true, if cached values are stale-served or refreshed early
+     */
+    private boolean refreshesCachedValues(CoalesceOptionsDto options) {
+        return options.getStaleTtl() > 0 || options.getEarlyRefreshBeta() > 0;
     }
 
     /**
      * Generate cache key.
      *
      * @param joinPoint the join point
-     * @param put the put
+     * @param metadata the metadata of the operation
      * @return the string
      */
-    private String generateCacheKey(ProceedingJoinPoint joinPoint, CoalescePut put) {
-        String baseKey = put.value().isEmpty()
-                ? joinPoint.getSignature().toShortString()
-                : put.value();
-
-        if (!put.key().isEmpty()) {
-            String dynamicKey = evaluateExpression(joinPoint, put.key(), null, String.class);
-            return baseKey + ":" + dynamicKey;
+    private String generateCacheKey(ProceedingJoinPoint joinPoint, CacheOperationMetadata metadata) {
+        if (metadata.getKey() != null) {
+            String dynamicKey = evaluateExpression(joinPoint, metadata, metadata.getKey(), null, String.class);
+            return metadata.getBaseKey() + ":" + dynamicKey;
         }
 
-        return baseKey + ":" + Arrays.hashCode(joinPoint.getArgs());
+        return metadata.getBaseKey() + ":" + keyGenerator.generate(metadata.getMethod(), joinPoint.getArgs());
     }
 
     /**
-     * Perform eviction.
+     * Adds an eviction to a batch if its condition matches.
      *
      * @param joinPoint the join point
      * @param evict the evict
+     * @param batch the batch
      */
-    private void performEviction(ProceedingJoinPoint joinPoint, CoalesceEvict evict) {
+    private void addEvictionIfMatches(ProceedingJoinPoint joinPoint, CoalesceEvict evict, CacheWriteBatch batch) {
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, evict);
+        if (!evaluateCondition(joinPoint, metadata, metadata.getCondition(), null)) {
+            return;
+        }
+
         if (evict.allEntries()) {
             for (String prefix : evict.value()) {
-                cacheManager.evictAll(prefix);
-                log.info("Evicted all entries for prefix: {}", prefix);
+                batch.evictAll(prefix);
+                log.info("Evicting all entries for prefix: {}", prefix);
             }
-        } else if (!evict.pattern().isEmpty()) {
-            String pattern = evaluateExpression(joinPoint, evict.pattern(), null, String.class);
-            cacheManager.evictPattern(pattern);
-            log.info("Evicted entries matching pattern: {}", pattern);
+        } else if (metadata.getPattern() != null) {
+            String pattern = evaluateExpression(joinPoint, metadata, metadata.getPattern(), null, String.class);
+            batch.evictPattern(pattern);
+            log.info("Evicting entries matching pattern: {}", pattern);
         } else {
-            String cacheKey = generateCacheKeyForEvict(joinPoint, evict);
-            cacheManager.evict(cacheKey);
-            log.info("Evicted cache key: {}", cacheKey);
-        }
-    }
-
-    /**
-     * Generate cache key for evict.
-     *
-     * @param joinPoint the join point
-     * @param evict the evict
-     * @return the string
-     */
-    private String generateCacheKeyForEvict(ProceedingJoinPoint joinPoint, CoalesceEvict evict) {
-        String baseKey = evict.value().length > 0
-                ? evict.value()[0]
-                : joinPoint.getSignature().toShortString();
-
-        if (!evict.key().isEmpty()) {
-            String dynamicKey = evaluateExpression(joinPoint, evict.key(), null, String.class);
-            return baseKey + ":" + dynamicKey;
+            String cacheKey = generateCacheKey(joinPoint, metadata);
+            batch.evict(cacheKey);
+            log.info("Evicting cache key: {}", cacheKey);
         }
-
-        return baseKey + ":" + Arrays.hashCode(joinPoint.getArgs());
-    }
-
-    /**
-     * Evaluate condition.
-     *
-     * @param joinPoint the join point
-     * @param condition the condition
-     * @return true, if successful
-     */
-    private boolean evaluateCondition(ProceedingJoinPoint joinPoint, String condition) {
-        return evaluateCondition(joinPoint, condition, null);
     }
 
     /**
      * Evaluate condition.
      *
      * @param joinPoint the join point
-     * @param condition the condition
+     * @param metadata the metadata of the operation
+     * @param condition the condition, null when absent
      * @param result the result
      * @return true, if successful
      */
     private boolean evaluateCondition(
             ProceedingJoinPoint joinPoint,
-            String condition,
+            CacheOperationMetadata metadata,
+            Expression condition,
             Object result) {
-        if (condition.isEmpty()) {
+        if (condition == null) {
             return true;
         }
 
-        return Objects.nonNull(evaluateExpression(joinPoint, condition, result, Boolean.class));
+        return Objects.nonNull(evaluateExpression(joinPoint, metadata, condition, result, Boolean.class));
     }
 
     /**
@@ -286,6 +400,7 @@ public class CoalesceCachingAspect {
      *
      * @param <T> the generic type
      * @param joinPoint the join point
+     * @param metadata the metadata of the operation
      * @param expression the expression
      * @param result the result
      * @param resultType the result type
@@ -293,28 +408,12 @@ public class CoalesceCachingAspect {
      */
     private <T> T evaluateExpression(
             ProceedingJoinPoint joinPoint,
-            String expression,
+            CacheOperationMetadata metadata,
+            Expression expression,
             Object result,
             Class<T> resultType) {
 
-        StandardEvaluationContext context = new StandardEvaluationContext();
-
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        String[] paramNames = signature.getParameterNames();
-        Object[] args = joinPoint.getArgs();
-
-        for (int i = 0; i < paramNames.length; i++) {
-            context.setVariable(paramNames[i], args[i]);
-        }
-
-        if (result != null) {
-            context.setVariable("result", result);
-        }
-
-        context.setVariable("target", joinPoint.getTarget());
-        context.setVariable("method", signature.getMethod());
-
-        Expression exp = parser.parseExpression(expression);
-        return exp.getValue(context, resultType);
+        EvaluationContext context = evaluator.createContext(joinPoint, metadata, result);
+        return expression.getValue(context, resultType);
     }
 }
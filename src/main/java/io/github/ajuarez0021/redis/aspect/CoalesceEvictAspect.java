@@ -4,18 +4,14 @@ import io.github.ajuarez0021.redis.annotation.CoalesceEvict;
 import io.github.ajuarez0021.redis.annotation.CoalesceEvicts;
 import io.github.ajuarez0021.redis.service.CoalesceCacheManager;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
-import org.springframework.stereotype.Component;
 
 /**
  * The Class CoalesceEvictAspect.
@@ -23,7 +19,6 @@ import org.springframework.stereotype.Component;
  * @author ajuar
  */
 @Aspect
-@Component
 @Slf4j
 @Order(3)
 public class CoalesceEvictAspect {
@@ -31,8 +26,11 @@ public class CoalesceEvictAspect {
     /** The cache manager. */
     private final CoalesceCacheManager cacheManager;
     
-    /** The parser. */
-    private final SpelExpressionParser parser;
+    /** The expression evaluator. */
+    private final CoalesceExpressionEvaluator evaluator;
+
+    /** The generator of keys for annotations without a key expression. */
+    private final CoalesceKeyGenerator keyGenerator;
 
     /**
      * Instantiates a new coalesce evict aspect.
@@ -40,8 +38,21 @@ public class CoalesceEvictAspect {
      * @param cacheManager the cache manager
      */
     public CoalesceEvictAspect(CoalesceCacheManager cacheManager) {
+        this(cacheManager, CoalesceExpressionEvaluator.shared(), new DefaultCoalesceKeyGenerator());
+    }
+
+    /**
+     * Instantiates a new coalesce evict aspect.
+     *
+     * @param cacheManager the cache manager
+     * @param evaluator the expression evaluator
+     * @param keyGenerator the key generator
+     */
+    public CoalesceEvictAspect(CoalesceCacheManager cacheManager, CoalesceExpressionEvaluator evaluator,
+            CoalesceKeyGenerator keyGenerator) {
         this.cacheManager = cacheManager;
-        this.parser = new SpelExpressionParser();
+        this.evaluator = evaluator;
+        this.keyGenerator = keyGenerator;
     }
 
     /**
@@ -92,7 +103,8 @@ public class CoalesceEvictAspect {
         List<CoalesceEvict> afterEvictions = new ArrayList<>();
 
         for (CoalesceEvict evict : evicts) {
-            if (evaluateCondition(joinPoint, evict.condition())) {
+            CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, evict);
+            if (evaluateCondition(joinPoint, metadata, metadata.getCondition())) {
                 if (evict.beforeInvocation()) {
                     beforeEvictions.add(evict);
                 } else {
@@ -130,20 +142,22 @@ public class CoalesceEvictAspect {
      * @param evict the evict
      */
     private void performEviction(ProceedingJoinPoint joinPoint, CoalesceEvict evict) {
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, evict);
+
         if (evict.allEntries()) {
 
             for (String prefix : evict.value()) {
                 cacheManager.evictAll(prefix);
                 log.info("Evicted all entries for prefix: {}", prefix);
             }
-        } else if (!evict.pattern().isEmpty()) {
+        } else if (metadata.getPattern() != null) {
 
-            String pattern = evaluateExpression(joinPoint, evict.pattern(), String.class);
+            String pattern = evaluateExpression(joinPoint, metadata, metadata.getPattern(), String.class);
             cacheManager.evictPattern(pattern);
             log.info("Evicted entries matching pattern: {}", pattern);
         } else {
 
-            String cacheKey = generateCacheKey(joinPoint, evict);
+            String cacheKey = generateCacheKey(joinPoint, metadata);
             cacheManager.evict(cacheKey);
             log.info("Evicted cache key: {}", cacheKey);
         }
@@ -153,35 +167,35 @@ public class CoalesceEvictAspect {
      * Generate cache key.
      *
      * @param joinPoint the join point
-     * @param evict the evict
+     * @param metadata the metadata of the evict
      * @return the string
      */
-    private String generateCacheKey(ProceedingJoinPoint joinPoint, CoalesceEvict evict) {
-        String baseKey = evict.value().length > 0
-                ? evict.value()[0]
-                : joinPoint.getSignature().toShortString();
-
-        if (!evict.key().isEmpty()) {
-            String dynamicKey = evaluateExpression(joinPoint, evict.key(), String.class);
-            return baseKey + ":" + dynamicKey;
+    private String generateCacheKey(ProceedingJoinPoint joinPoint, CacheOperationMetadata metadata) {
+        if (metadata.getKey() != null) {
+            String dynamicKey = evaluateExpression(joinPoint, metadata, metadata.getKey(), String.class);
+            return metadata.getBaseKey() + ":" + dynamicKey;
         }
 
-        return baseKey + ":" + Arrays.hashCode(joinPoint.getArgs());
+        return metadata.getBaseKey() + ":" + keyGenerator.generate(metadata.getMethod(), joinPoint.getArgs());
     }
 
     /**
      * Evaluate condition.
      *
      * @param joinPoint the join point
-     * @param condition the condition
+     * @param metadata the metadata of the evict
+     * @param condition the condition, null when absent
      * @return true, if successful
      */
-    private boolean evaluateCondition(ProceedingJoinPoint joinPoint, String condition) {
-        if (condition.isEmpty()) {
+    private boolean evaluateCondition(
+            ProceedingJoinPoint joinPoint,
+            CacheOperationMetadata metadata,
+            Expression condition) {
+        if (condition == null) {
             return true;
         }
 
-        return evaluateExpression(joinPoint, condition, Boolean.class);
+        return evaluateExpression(joinPoint, metadata, condition, Boolean.class);
     }
 
     /**
@@ -189,40 +203,18 @@ public class CoalesceEvictAspect {
      *
      * @param <T> the generic type
      * @param joinPoint the join point
+     * @param metadata the metadata of the evict
      * @param expression the expression
      * @param resultType the result type
      * @return the t
      */
     private <T> T evaluateExpression(
             ProceedingJoinPoint joinPoint,
-            String expression,
+            CacheOperationMetadata metadata,
+            Expression expression,
             Class<T> resultType) {
 
-        StandardEvaluationContext context = createEvaluationContext(joinPoint);
-        Expression exp = parser.parseExpression(expression);
-        return exp.getValue(context, resultType);
-    }
-
-    /**
-     * Creates the evaluation context.
-     *
-     * @param joinPoint the join point
-     * @return the standard evaluation context
-     */
-    private StandardEvaluationContext createEvaluationContext(ProceedingJoinPoint joinPoint) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        String[] paramNames = signature.getParameterNames();
-        Object[] args = joinPoint.getArgs();
-
-        for (int i = 0; i < paramNames.length; i++) {
-            context.setVariable(paramNames[i], args[i]);
-        }
-
-        context.setVariable("target", joinPoint.getTarget());
-        context.setVariable("method", signature.getMethod());
-
-        return context;
+        EvaluationContext context = evaluator.createContext(joinPoint, metadata, null);
+        return expression.getValue(context, resultType);
     }
 }
@@ -0,0 +1,247 @@
+package io.github.ajuarez0021.redis.aspect;
+
+import io.github.ajuarez0021.redis.annotation.CoalesceCacheable;
+import io.github.ajuarez0021.redis.annotation.CoalesceEvict;
+import io.github.ajuarez0021.redis.annotation.CoalescePut;
+import io.github.ajuarez0021.redis.dto.CoalesceOptionsDto;
+import io.github.ajuarez0021.redis.util.Validator;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Evaluates the SpEL expressions of the coalesce annotations.
+ *
+ * <p>The attributes of each annotation, with its expressions parsed and kept
+ * compiled, are resolved on the first invocation of the advised method, so
+ * later calls only pay for a map lookup and the evaluation. Method parameters
+ * are exposed as variables on first use instead of being copied into every
+ * context.</p>
+ *
+ * @author ajuar
+ */
+public class CoalesceExpressionEvaluator {
+
+    /** The evaluator shared by the aspects created without one. */
+    private static final CoalesceExpressionEvaluator SHARED = new CoalesceExpressionEvaluator();
+
+    /** The parser. */
+    private final SpelExpressionParser parser;
+
+    /** The parsed expressions by method and expression string. */
+    private final Map<ExpressionKey, Expression> expressions = new ConcurrentHashMap<>();
+
+    /** The resolved annotations by method and annotation. */
+    private final Map<OperationKey, CacheOperationMetadata> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new coalesce expression evaluator.
+     */
+    public CoalesceExpressionEvaluator() {
+        this.parser = new SpelExpressionParser(new SpelParserConfiguration(
+                SpelCompilerMode.MIXED, CoalesceExpressionEvaluator.class.getClassLoader()));
+    }
+
+    /**
+     * Gets the shared evaluator.
+     *
+     * @return the coalesce expression evaluator
+     */
+    public static CoalesceExpressionEvaluator shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets the metadata of a coalesce annotation on the advised method,
+     * resolving it on first use.
+     *
+     * @param joinPoint the join point
+     * @param operation the annotation
+     * @return the cache operation metadata
+     */
+    CacheOperationMetadata getMetadata(ProceedingJoinPoint joinPoint, Annotation operation) {
+        Signature signature = joinPoint.getSignature();
+        Method method = signature instanceof MethodSignature methodSignature ? methodSignature.getMethod() : null;
+        return operations.computeIfAbsent(new OperationKey(method, operation),
+                key -> resolve(signature, method, operation));
+    }
+
+    /**
+     * Creates the evaluation context of an advised call. It exposes the method
+     * parameters by name, {@code #target}, {@code #method} and, when not null,
+     * {@code #result}.
+     *
+     * @param joinPoint the join point
+     * @param metadata the metadata of the operation
+     * @param result the result, or null before the invocation
+     * @return the evaluation context
+     */
+    EvaluationContext createContext(ProceedingJoinPoint joinPoint, CacheOperationMetadata metadata,
+            Object result) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String[] parameterNames = metadata.getParameterNames();
+
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                null, method, joinPoint.getArgs(), new FixedParameterNames(parameterNames));
+
+        if (result != null) {
+            context.setVariable("result", result);
+        }
+
+        context.setVariable("target", joinPoint.getTarget());
+        context.setVariable("method", method);
+
+        return context;
+    }
+
+    /**
+     * Resolves the attributes of a coalesce annotation.
+     *
+     * @param signature the signature
+     * @param method the advised method
+     * @param operation the annotation
+     * @return the cache operation metadata
+     */
+    private CacheOperationMetadata resolve(Signature signature, Method method, Annotation operation) {
+        CacheOperationMetadata.CacheOperationMetadataBuilder builder = CacheOperationMetadata.builder()
+                .method(method)
+                .parameterNames(signature instanceof MethodSignature methodSignature
+                        ? methodSignature.getParameterNames()
+                        : new String[0]);
+
+        if (operation instanceof CoalesceCacheable cacheable) {
+            Validator.validateRefreshOptions(cacheable.coalesce(), isAsync(method), cacheable.staleTtl(),
+                    cacheable.earlyRefreshBeta());
+            builder.baseKey(cacheable.value().isEmpty() ? signature.toShortString() : cacheable.value())
+                    .key(parse(method, cacheable.key()))
+                    .condition(parse(method, cacheable.condition()))
+                    .ttl(cacheable.ttl())
+                    .coalesce(cacheable.coalesce())
+                    .options(CoalesceOptionsDto.builder()
+                            .ttl(cacheable.ttl())
+                            .cacheNull(cacheable.cacheNull())
+                            .lockLease(cacheable.lockLease())
+                            .staleTtl(cacheable.staleTtl())
+                            .earlyRefreshBeta(cacheable.earlyRefreshBeta())
+                            .build());
+        } else if (operation instanceof CoalescePut put) {
+            builder.baseKey(put.value().isEmpty() ? signature.toShortString() : put.value())
+                    .key(parse(method, put.key()))
+                    .condition(parse(method, put.condition()))
+                    .unless(parse(method, put.unless()))
+                    .ttl(put.ttl());
+        } else if (operation instanceof CoalesceEvict evict) {
+            builder.baseKey(evict.value().length > 0 ? evict.value()[0] : signature.toShortString())
+                    .key(parse(method, evict.key()))
+                    .condition(parse(method, evict.condition()))
+                    .pattern(parse(method, evict.pattern()));
+        } else {
+            throw new IllegalArgumentException("Unsupported cache operation: " + operation);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Checks whether an advised method returns its value through a stage or a
+     * Reactor publisher.
+     *
+     * @param method the advised method, null when unknown
+     * @return true, if the method is asynchronous
+     */
+    static boolean isAsync(Method method) {
+        if (method == null) {
+            return false;
+        }
+        Class<?> returnType = method.getReturnType();
+        return CompletionStage.class.isAssignableFrom(returnType) || Mono.class.isAssignableFrom(returnType)
+                || Flux.class.isAssignableFrom(returnType);
+    }
+
+    /**
+     * Parses an annotation expression.
+     *
+     * @param method the advised method
+     * @param expression the expression
+     * @return the expression, null when empty
+     */
+    private Expression parse(Method method, String expression) {
+        return expression.isEmpty() ? null : getExpression(method, expression);
+    }
+
+    /**
+     * Gets the parsed expression, parsing it on first use.
+     *
+     * @param method the advised method
+     * @param expression the expression
+     * @return the expression
+     */
+    Expression getExpression(Method method, String expression) {
+        return expressions.computeIfAbsent(new ExpressionKey(method, expression),
+                key -> parser.parseExpression(key.expression()));
+    }
+
+    /**
+     * Returns parameter names resolved once per method.
+     *
+     * @param names the parameter names
+     */
+    private record FixedParameterNames(String[] names) implements ParameterNameDiscoverer {
+
+        /**
+         * Gets the parameter names.
+         *
+         * @param method the method
+         * @return the parameter names
+         */
+        @Override
+        public String[] getParameterNames(Method method) {
+            return names;
+        }
+
+        /**
+         * Gets the parameter names.
+         *
+         * @param ctor the constructor
+         * @return null, constructors are not advised
+         */
+        @Override
+        public String[] getParameterNames(Constructor<?> ctor) {
+            return null;
+        }
+    }
+
+    /**
+     * The cache key of a parsed expression.
+     *
+     * @param method the advised method
+     * @param expression the expression
+     */
+    private record ExpressionKey(Method method, String expression) {
+    }
+
+    /**
+     * The cache key of a resolved annotation. A method may carry several
+     * operations, so the annotation is part of the key.
+     *
+     * @param method the advised method
+     * @param operation the annotation
+     */
+    private record OperationKey(Method method, Annotation operation) {
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.ajuarez0021.redis.aspect;
+
+import java.lang.reflect.Method;
+
+/**
+ * Generates the key of an advised call when its annotation has no
+ * {@code key} expression. The result is appended to the base key.
+ *
+ * <p>Implementations must be thread-safe and must return the same key for
+ * equal arguments on every node, so they cannot rely on identity-based
+ * {@code hashCode} or {@code toString}.</p>
+ *
+ * @author ajuar
+ */
+public interface CoalesceKeyGenerator {
+
+    /**
+     * Generates the key of a call.
+     *
+     * @param method the advised method
+     * @param args the arguments of the call
+     * @return the key
+     */
+    String generate(Method method, Object[] args);
+}
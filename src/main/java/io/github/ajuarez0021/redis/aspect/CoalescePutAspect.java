@@ -3,17 +3,13 @@ package io.github.ajuarez0021.redis.aspect;
 import io.github.ajuarez0021.redis.annotation.CoalescePut;
 import io.github.ajuarez0021.redis.annotation.CoalescePuts;
 import io.github.ajuarez0021.redis.service.CoalesceCacheManager;
-import java.util.Arrays;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.reflect.MethodSignature;
 import org.springframework.core.annotation.Order;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
-import org.springframework.stereotype.Component;
 
 /**
  * The Class CoalescePutAspect.
@@ -21,7 +17,6 @@ import org.springframework.stereotype.Component;
  * @author ajuar
  */
 @Aspect
-@Component
 @Slf4j
 @Order(2)
 public class CoalescePutAspect {
@@ -29,8 +24,11 @@ public class CoalescePutAspect {
     /** The cache manager. */
     private final CoalesceCacheManager cacheManager;
     
-    /** The parser. */
-    private final SpelExpressionParser parser;
+    /** The expression evaluator. */
+    private final CoalesceExpressionEvaluator evaluator;
+
+    /** The generator of keys for annotations without a key expression. */
+    private final CoalesceKeyGenerator keyGenerator;
 
     /**
      * Instantiates a new coalesce put aspect.
@@ -38,8 +36,21 @@ public class CoalescePutAspect {
      * @param cacheManager the cache manager
      */
     public CoalescePutAspect(CoalesceCacheManager cacheManager) {
+        this(cacheManager, CoalesceExpressionEvaluator.shared(), new DefaultCoalesceKeyGenerator());
+    }
+
+    /**
+     * Instantiates a new coalesce put aspect.
+     *
+     * @param cacheManager the cache manager
+     * @param evaluator the expression evaluator
+     * @param keyGenerator the key generator
+     */
+    public CoalescePutAspect(CoalesceCacheManager cacheManager, CoalesceExpressionEvaluator evaluator,
+            CoalesceKeyGenerator keyGenerator) {
         this.cacheManager = cacheManager;
-        this.parser = new SpelExpressionParser();
+        this.evaluator = evaluator;
+        this.keyGenerator = keyGenerator;
     }
 
     /**
@@ -89,11 +100,12 @@ public class CoalescePutAspect {
         Object result = joinPoint.proceed();
 
         for (CoalescePut put : puts) {
+            CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, put);
 
-            if (shouldCacheResult(joinPoint, put, result)) {
-                String cacheKey = generateCacheKey(joinPoint, put);
-                cacheManager.put(cacheKey, result, put.ttl());
-                log.info("Cached result for key: {} with TTL: {} seconds", cacheKey, put.ttl());
+            if (shouldCacheResult(joinPoint, metadata, result)) {
+                String cacheKey = generateCacheKey(joinPoint, metadata);
+                cacheManager.put(cacheKey, result, metadata.getTtl());
+                log.info("Cached result for key: {} with TTL: {} seconds", cacheKey, metadata.getTtl());
             }
         }
 
@@ -104,21 +116,21 @@ public class CoalescePutAspect {
      * Should cache result.
      *
      * @param joinPoint the join point
-     * @param put the put
+     * @param metadata the metadata of the put
      * @param result the result
      * @return true, if successful
      */
     private boolean shouldCacheResult(
             ProceedingJoinPoint joinPoint,
-            CoalescePut put,
+            CacheOperationMetadata metadata,
             Object result) {
 
-        boolean conditionPassed = evaluateCondition(joinPoint, put.condition(), result);
+        boolean conditionPassed = evaluateCondition(joinPoint, metadata, metadata.getCondition(), result);
         if (!conditionPassed) {
             return false;
         }
 
-        boolean unlessPassed = evaluateCondition(joinPoint, put.unless(), result);
+        boolean unlessPassed = evaluateCondition(joinPoint, metadata, metadata.getUnless(), result);
         return !unlessPassed;
     }
 
@@ -126,39 +138,37 @@ public class CoalescePutAspect {
      * Generate cache key.
      *
      * @param joinPoint the join point
-     * @param put the put
+     * @param metadata the metadata of the put
      * @return the string
      */
-    private String generateCacheKey(ProceedingJoinPoint joinPoint, CoalescePut put) {
-        String baseKey = put.value().isEmpty()
-                ? joinPoint.getSignature().toShortString()
-                : put.value();
-
-        if (!put.key().isEmpty()) {
-            String dynamicKey = evaluateExpression(joinPoint, put.key(), null, String.class);
-            return baseKey + ":" + dynamicKey;
+    private String generateCacheKey(ProceedingJoinPoint joinPoint, CacheOperationMetadata metadata) {
+        if (metadata.getKey() != null) {
+            String dynamicKey = evaluateExpression(joinPoint, metadata, metadata.getKey(), null, String.class);
+            return metadata.getBaseKey() + ":" + dynamicKey;
         }
 
-        return baseKey + ":" + Arrays.hashCode(joinPoint.getArgs());
+        return metadata.getBaseKey() + ":" + keyGenerator.generate(metadata.getMethod(), joinPoint.getArgs());
     }
 
     /**
      * Evaluate condition.
      *
      * @param joinPoint the join point
-     * @param condition the condition
+     * @param metadata the metadata of the put
+     * @param condition the condition, null when absent
      * @param result the result
      * @return true, if successful
      */
     private boolean evaluateCondition(
             ProceedingJoinPoint joinPoint,
-            String condition,
+            CacheOperationMetadata metadata,
+            Expression condition,
             Object result) {
-        if (condition.isEmpty()) {
+        if (condition == null) {
             return true;
         }
 
-        return evaluateExpression(joinPoint, condition, result, Boolean.class);
+        return evaluateExpression(joinPoint, metadata, condition, result, Boolean.class);
     }
 
     /**
@@ -166,6 +176,7 @@ public class CoalescePutAspect {
      *
      * @param <T> the generic type
      * @param joinPoint the join point
+     * @param metadata the metadata of the put
      * @param expression the expression
      * @param result the result
      * @param resultType the result type
@@ -173,42 +184,12 @@ public class CoalescePutAspect {
      */
     private <T> T evaluateExpression(
             ProceedingJoinPoint joinPoint,
-            String expression,
+            CacheOperationMetadata metadata,
+            Expression expression,
             Object result,
             Class<T> resultType) {
 
-        StandardEvaluationContext context = createEvaluationContext(joinPoint, result);
-        Expression exp = parser.parseExpression(expression);
-        return exp.getValue(context, resultType);
-    }
-
-    /**
-     * Creates the evaluation context.
-     *
-     * @param joinPoint the join point
-     * @param result the result
-     * @return the standard evaluation context
-     */
-    private StandardEvaluationContext createEvaluationContext(
-            ProceedingJoinPoint joinPoint,
-            Object result) {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-
-        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-        String[] paramNames = signature.getParameterNames();
-        Object[] args = joinPoint.getArgs();
-
-        for (int i = 0; i < paramNames.length; i++) {
-            context.setVariable(paramNames[i], args[i]);
-        }
-
-        if (result != null) {
-            context.setVariable("result", result);
-        }
-
-        context.setVariable("target", joinPoint.getTarget());
-        context.setVariable("method", signature.getMethod());
-
-        return context;
+        EvaluationContext context = evaluator.createContext(joinPoint, metadata, result);
+        return expression.getValue(context, resultType);
     }
 }
@@ -0,0 +1,633 @@
+package io.github.ajuarez0021.redis.aspect;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The default {@link CoalesceKeyGenerator}.
+ *
+ * <p>A single String, integral number, enum or UUID argument is used as the
+ * key as is, so {@code find(42L)} is cached under {@code base:42}. Any other
+ * arguments are reduced to a 128-bit Murmur3 hash of their values, written as
+ * {@code ~} followed by 22 URL-safe Base64 characters. Strings and numbers are
+ * fed to the hash without building intermediate objects. Records, arrays,
+ * collections and maps are hashed by content; other objects by class name and
+ * {@code toString} when the class overrides it, or else by the JSON of their
+ * fields, since the identity-based {@code Object.toString} differs between
+ * nodes. Map entries and set elements in those fields are sorted. Objects
+ * whose fields cannot be written, such as cyclic graphs or proxies, fall back
+ * to their {@code hashCode} with a warning logged once per class. Calls
+ * without arguments use the key {@code ~}, which no argument produces.</p>
+ *
+ * <p>A String argument and a number with the same text share a key; this only
+ * matters for parameters declared as {@code Object}.</p>
+ *
+ * @author ajuar
+ */
+@Slf4j
+public class DefaultCoalesceKeyGenerator implements CoalesceKeyGenerator {
+
+    /** The key of calls without arguments, shorter than any hashed key. */
+    static final String NO_ARGS_KEY = "~";
+
+    /** The first character of hashed keys, never the start of a plain key. */
+    static final char HASHED_PREFIX = '~';
+
+    /** The longest String argument used as the key as is. */
+    private static final int MAX_PLAIN_LENGTH = 64;
+
+    /** The tag of null values. */
+    private static final long TAG_NULL = 1;
+
+    /** The tag of strings. */
+    private static final long TAG_STRING = 2;
+
+    /** The tag of integral numbers. */
+    private static final long TAG_INTEGRAL = 3;
+
+    /** The tag of floating point numbers. */
+    private static final long TAG_FLOATING = 4;
+
+    /** The tag of booleans. */
+    private static final long TAG_BOOLEAN = 5;
+
+    /** The tag of characters. */
+    private static final long TAG_CHAR = 6;
+
+    /** The tag of enums. */
+    private static final long TAG_ENUM = 7;
+
+    /** The tag of ordered sequences. */
+    private static final long TAG_SEQUENCE = 8;
+
+    /** The tag of sets. */
+    private static final long TAG_SET = 9;
+
+    /** The tag of maps. */
+    private static final long TAG_MAP = 10;
+
+    /** The tag of records. */
+    private static final long TAG_RECORD = 11;
+
+    /** The tag of other objects. */
+    private static final long TAG_OBJECT = 12;
+
+    /** The tag of byte arrays. */
+    private static final long TAG_BYTES = 13;
+
+    /** The tag of objects hashed by the JSON of their fields. */
+    private static final long TAG_FIELDS = 14;
+
+    /** The tag of objects hashed by their hashCode, when their fields cannot be read. */
+    private static final long TAG_HASH_CODE = 15;
+
+    /** The classes already reported as hashed by their hashCode. */
+    private static final Set<Class<?>> HASH_CODE_FALLBACKS = ConcurrentHashMap.newKeySet();
+
+    /** The mapper writing the fields of objects without their own toString, in a stable order. */
+    private static final ObjectMapper FIELDS_MAPPER = JsonMapper.builder()
+            .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .addModule(new SimpleModule().addSerializer(new SortedSetSerializer()))
+            .build();
+
+    /** Whether a class overrides {@link Object#toString()}. */
+    private static final ClassValue<Boolean> OVERRIDES_TO_STRING = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("toString").getDeclaringClass() != Object.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    /** The record components by record class. */
+    private static final ClassValue<RecordComponent[]> RECORD_COMPONENTS = new ClassValue<>() {
+        @Override
+        protected RecordComponent[] computeValue(Class<?> type) {
+            return type.getRecordComponents();
+        }
+    };
+
+    /**
+     * Generates the key of a call.
+     *
+     * @param method the advised method
+     * @param args the arguments of the call
+     * @return the key
+     */
+    @Override
+    public String generate(Method method, Object[] args) {
+        if (args == null || args.length == 0) {
+            return NO_ARGS_KEY;
+        }
+
+        if (args.length == 1) {
+            String plain = plainKey(args[0]);
+            if (plain != null) {
+                return plain;
+            }
+        }
+
+        Murmur3 hash = new Murmur3();
+        hash.putLong(args.length);
+        for (Object arg : args) {
+            put(hash, arg);
+        }
+        return HASHED_PREFIX + hash.toBase64();
+    }
+
+    /**
+     * Gets the key of a single argument that can be used as is.
+     *
+     * @param arg the argument
+     * @return the key, null when the argument must be hashed
+     */
+    private static String plainKey(Object arg) {
+        if (arg instanceof String value) {
+            return isPlain(value) ? value : null;
+        }
+        if (arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            return arg.toString();
+        }
+        if (arg instanceof Enum<?> value) {
+            return value.name();
+        }
+        if (arg instanceof UUID) {
+            return arg.toString();
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a String argument can be used as the key as is: short,
+     * not empty, free of glob and whitespace characters, and not starting
+     * like a hashed key.
+     *
+     * @param value the value
+     * @return true, if the value is used as is
+     */
+    private static boolean isPlain(String value) {
+        if (value.isEmpty() || value.length() > MAX_PLAIN_LENGTH || value.charAt(0) == HASHED_PREFIX) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c <= ' ' || c == '*' || c == '?' || c == '[' || c == ']' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Feeds a value to the hash, preceded by its type tag.
+     *
+     * @param hash the hash
+     * @param value the value
+     */
+    private static void put(Murmur3 hash, Object value) {
+        switch (value) {
+            case null -> hash.putLong(TAG_NULL);
+            case CharSequence text -> {
+                hash.putLong(TAG_STRING);
+                hash.putChars(text);
+            }
+            case Long number -> putIntegral(hash, number);
+            case Integer number -> putIntegral(hash, number);
+            case Short number -> putIntegral(hash, number);
+            case Byte number -> putIntegral(hash, number);
+            case Double number -> putFloating(hash, number);
+            case Float number -> putFloating(hash, number);
+            case Boolean flag -> {
+                hash.putLong(TAG_BOOLEAN);
+                hash.putLong(flag ? 1 : 0);
+            }
+            case Character character -> {
+                hash.putLong(TAG_CHAR);
+                hash.putLong(character);
+            }
+            case Enum<?> constant -> {
+                hash.putLong(TAG_ENUM);
+                hash.putChars(constant.getDeclaringClass().getName());
+                hash.putChars(constant.name());
+            }
+            case byte[] bytes -> {
+                hash.putLong(TAG_BYTES);
+                hash.putLong(bytes.length);
+                for (byte b : bytes) {
+                    hash.putLong(b);
+                }
+            }
+            case Object[] array -> putSequence(hash, array.length, Arrays.asList(array));
+            case Set<?> set -> putUnordered(hash, TAG_SET, set);
+            case Map<?, ?> map -> putUnordered(hash, TAG_MAP, map.entrySet());
+            case Collection<?> collection -> putSequence(hash, collection.size(), collection);
+            case Record components -> putRecord(hash, components);
+            default -> {
+                if (value.getClass().isArray()) {
+                    putPrimitiveArray(hash, value);
+                } else if (OVERRIDES_TO_STRING.get(value.getClass())) {
+                    hash.putLong(TAG_OBJECT);
+                    hash.putChars(value.getClass().getName());
+                    hash.putChars(value.toString());
+                } else {
+                    putFields(hash, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Feeds an integral number to the hash.
+     *
+     * @param hash the hash
+     * @param number the number
+     */
+    private static void putIntegral(Murmur3 hash, Number number) {
+        hash.putLong(TAG_INTEGRAL);
+        hash.putLong(number.longValue());
+    }
+
+    /**
+     * Feeds a floating point number to the hash.
+     *
+     * @param hash the hash
+     * @param number the number
+     */
+    private static void putFloating(Murmur3 hash, Number number) {
+        hash.putLong(TAG_FLOATING);
+        hash.putLong(Double.doubleToLongBits(number.doubleValue()));
+    }
+
+    /**
+     * Feeds the elements of an ordered sequence to the hash.
+     *
+     * @param hash the hash
+     * @param size the number of elements
+     * @param elements the elements
+     */
+    private static void putSequence(Murmur3 hash, int size, Iterable<?> elements) {
+        hash.putLong(TAG_SEQUENCE);
+        hash.putLong(size);
+        for (Object element : elements) {
+            put(hash, element);
+        }
+    }
+
+    /**
+     * Feeds the elements of an unordered collection to the hash. Each element
+     * is hashed on its own and the results are added, so iteration order,
+     * which may differ between nodes, does not change the key.
+     *
+     * @param hash the hash
+     * @param tag the type tag
+     * @param elements the elements, map entries for maps
+     */
+    private static void putUnordered(Murmur3 hash, long tag, Collection<?> elements) {
+        long sum1 = 0;
+        long sum2 = 0;
+        for (Object element : elements) {
+            Murmur3 elementHash = new Murmur3();
+            if (element instanceof Map.Entry<?, ?> entry) {
+                put(elementHash, entry.getKey());
+                put(elementHash, entry.getValue());
+            } else {
+                put(elementHash, element);
+            }
+            elementHash.finish();
+            sum1 += elementHash.h1;
+            sum2 += elementHash.h2;
+        }
+        hash.putLong(tag);
+        hash.putLong(elements.size());
+        hash.putLong(sum1);
+        hash.putLong(sum2);
+    }
+
+    /**
+     * Feeds the components of a record to the hash.
+     *
+     * @param hash the hash
+     * @param value the record
+     */
+    private static void putRecord(Murmur3 hash, Record value) {
+        RecordComponent[] components = RECORD_COMPONENTS.get(value.getClass());
+        Object[] values = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            try {
+                Method accessor = components[i].getAccessor();
+                accessor.setAccessible(true);
+                values[i] = accessor.invoke(value);
+            } catch (IllegalAccessException | InvocationTargetException | RuntimeException e) {
+                putHashCode(hash, value, e);
+                return;
+            }
+        }
+        hash.putLong(TAG_RECORD);
+        hash.putChars(value.getClass().getName());
+        for (Object component : values) {
+            put(hash, component);
+        }
+    }
+
+    /**
+     * Feeds the fields of an object without its own toString to the hash, as
+     * JSON with the properties sorted by name.
+     *
+     * @param hash the hash
+     * @param value the object
+     */
+    private static void putFields(Murmur3 hash, Object value) {
+        byte[] json;
+        try {
+            json = FIELDS_MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException | RuntimeException e) {
+            putHashCode(hash, value, e);
+            return;
+        }
+        hash.putLong(TAG_FIELDS);
+        hash.putChars(value.getClass().getName());
+        hash.putBytes(json);
+    }
+
+    /**
+     * Feeds an object whose fields cannot be read to the hash, by class name
+     * and hashCode. The key is only stable across nodes when the class
+     * overrides hashCode, so the first fallback of each class is logged.
+     *
+     * @param hash the hash
+     * @param value the object
+     * @param error the error reading its fields
+     */
+    private static void putHashCode(Murmur3 hash, Object value, Exception error) {
+        if (HASH_CODE_FALLBACKS.add(value.getClass())) {
+            log.warn("Cannot read the fields of {} to build a cache key, using its hashCode; "
+                    + "override toString or use a key expression: {}", value.getClass().getName(),
+                    error.getMessage());
+        }
+        hash.putLong(TAG_HASH_CODE);
+        hash.putChars(value.getClass().getName());
+        hash.putLong(value.hashCode());
+    }
+
+    /**
+     * Feeds the elements of a primitive array, other than byte[], to the hash.
+     *
+     * @param hash the hash
+     * @param array the array
+     */
+    private static void putPrimitiveArray(Murmur3 hash, Object array) {
+        int length = Array.getLength(array);
+        hash.putLong(TAG_SEQUENCE);
+        hash.putLong(length);
+        for (int i = 0; i < length; i++) {
+            put(hash, Array.get(array, i));
+        }
+    }
+
+    /**
+     * Writes sets as arrays sorted by the JSON of their elements, since their
+     * iteration order may differ between nodes.
+     */
+    @SuppressWarnings("rawtypes")
+    static final class SortedSetSerializer extends StdSerializer<Set> {
+
+        /** The Constant serialVersionUID. */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Instantiates a new sorted set serializer.
+         */
+        SortedSetSerializer() {
+            super(Set.class);
+        }
+
+        /**
+         * Serialize.
+         *
+         * @param value the set
+         * @param gen the generator
+         * @param provider the provider
+         * @throws IOException Signals that an I/O exception has occurred.
+         */
+        @Override
+        public void serialize(Set value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            List<String> elements = new ArrayList<>(value.size());
+            for (Object element : value) {
+                elements.add(FIELDS_MAPPER.writeValueAsString(element));
+            }
+            Collections.sort(elements);
+            gen.writeStartArray(value, elements.size());
+            for (String element : elements) {
+                gen.writeRawValue(element);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * Streaming 128-bit Murmur3 (x64 variant) over a sequence of longs. The
+     * result equals MurmurHash3_x64_128 with seed 0 of the little-endian bytes
+     * of the longs.
+     */
+    static final class Murmur3 {
+
+        /** The first mixing constant. */
+        private static final long C1 = 0x87c37b91114253d5L;
+
+        /** The second mixing constant. */
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        /** The first half of the state. */
+        private long h1;
+
+        /** The second half of the state. */
+        private long h2;
+
+        /** The first long of the current block, when one is pending. */
+        private long pending;
+
+        /** Whether a long is waiting for the second half of its block. */
+        private boolean hasPending;
+
+        /** The number of bytes fed. */
+        private long length;
+
+        /**
+         * Feeds a long.
+         *
+         * @param value the value
+         */
+        void putLong(long value) {
+            length += Long.BYTES;
+            if (!hasPending) {
+                pending = value;
+                hasPending = true;
+                return;
+            }
+            hasPending = false;
+
+            h1 ^= mixK1(pending);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(value);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        /**
+         * Feeds the length and the characters of a text, four per long.
+         *
+         * @param text the text
+         */
+        void putChars(CharSequence text) {
+            int length = text.length();
+            putLong(length);
+            int i = 0;
+            for (; i + 4 <= length; i += 4) {
+                putLong(text.charAt(i)
+                        | (long) text.charAt(i + 1) << 16
+                        | (long) text.charAt(i + 2) << 32
+                        | (long) text.charAt(i + 3) << 48);
+            }
+            if (i < length) {
+                long last = 0;
+                for (int shift = 0; i < length; i++, shift += 16) {
+                    last |= (long) text.charAt(i) << shift;
+                }
+                putLong(last);
+            }
+        }
+
+        /**
+         * Feeds the length and the bytes of an array, eight per long.
+         *
+         * @param bytes the bytes
+         */
+        void putBytes(byte[] bytes) {
+            putLong(bytes.length);
+            long block = 0;
+            int shift = 0;
+            for (byte b : bytes) {
+                block |= (b & 0xFFL) << shift;
+                shift += Byte.SIZE;
+                if (shift == Long.SIZE) {
+                    putLong(block);
+                    block = 0;
+                    shift = 0;
+                }
+            }
+            if (shift > 0) {
+                putLong(block);
+            }
+        }
+
+        /**
+         * Completes the hash; h1 and h2 hold the result afterwards.
+         */
+        void finish() {
+            if (hasPending) {
+                h1 ^= mixK1(pending);
+                hasPending = false;
+            }
+            h1 ^= length;
+            h2 ^= length;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+        }
+
+        /**
+         * Completes the hash and writes it as unpadded URL-safe Base64.
+         *
+         * @return the 22 character hash
+         */
+        String toBase64() {
+            finish();
+            byte[] bytes = new byte[16];
+            for (int i = 0; i < Long.BYTES; i++) {
+                bytes[i] = (byte) (h1 >>> (8 * i));
+                bytes[i + Long.BYTES] = (byte) (h2 >>> (8 * i));
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+
+        /**
+         * Mixes the first long of a block.
+         *
+         * @param k1 the long
+         * @return the mixed long
+         */
+        private static long mixK1(long k1) {
+            k1 *= C1;
+            k1 = Long.rotateLeft(k1, 31);
+            k1 *= C2;
+            return k1;
+        }
+
+        /**
+         * Mixes the second long of a block.
+         *
+         * @param k2 the long
+         * @return the mixed long
+         */
+        private static long mixK2(long k2) {
+            k2 *= C2;
+            k2 = Long.rotateLeft(k2, 33);
+            k2 *= C1;
+            return k2;
+        }
+
+        /**
+         * Final avalanche of a half of the state.
+         *
+         * @param k the half
+         * @return the mixed half
+         */
+        private static long fmix(long k) {
+            k ^= k >>> 33;
+            k *= 0xff51afd7ed558ccdL;
+            k ^= k >>> 33;
+            k *= 0xc4ceb9fe1a85ec53L;
+            k ^= k >>> 33;
+            return k;
+        }
+    }
+}
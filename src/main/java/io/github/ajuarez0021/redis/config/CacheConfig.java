@@ -1,15 +1,36 @@
 package io.github.ajuarez0021.redis.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.ajuarez0021.redis.annotation.EnableRedisLibrary;
 import io.github.ajuarez0021.redis.aspect.CoalesceCachingAspect;
+import io.github.ajuarez0021.redis.aspect.CoalesceEvictAspect;
+import io.github.ajuarez0021.redis.aspect.CoalesceExpressionEvaluator;
+import io.github.ajuarez0021.redis.aspect.CoalesceKeyGenerator;
+import io.github.ajuarez0021.redis.aspect.CoalescePutAspect;
+import io.github.ajuarez0021.redis.aspect.DefaultCoalesceKeyGenerator;
 import io.github.ajuarez0021.redis.dto.HostsDto;
+import io.github.ajuarez0021.redis.service.AsyncRedisOperations;
 import io.github.ajuarez0021.redis.service.CacheOperationBuilder;
 import io.github.ajuarez0021.redis.service.CoalesceCacheManager;
+import io.github.ajuarez0021.redis.service.NearCache;
+import io.github.ajuarez0021.redis.service.ReactiveRedisCacheService;
 import io.github.ajuarez0021.redis.service.RedisCacheService;
 import io.github.ajuarez0021.redis.service.RedisHealthChecker;
+import io.github.ajuarez0021.redis.service.TrackingNearCache;
+import io.github.ajuarez0021.redis.service.TypedRegions;
 import io.github.ajuarez0021.redis.util.Mode;
+import io.github.ajuarez0021.redis.util.NotificationMode;
+import io.github.ajuarez0021.redis.util.ReadPreference;
 import io.github.ajuarez0021.redis.util.Validator;
+import io.github.ajuarez0021.redis.util.ValueFormat;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -21,14 +42,18 @@ import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisClusterConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.StringUtils;
 
@@ -64,6 +89,11 @@ public class CacheConfig implements ImportAware {
      */
     private AnnotationAttributes attributes;
 
+    /**
+     * The compression metrics shared by the value serializers.
+     */
+    private final CompressionMetrics compressionMetrics = new CompressionMetrics();
+
     /**
      * Coalesce Cache Manager.
      * 
@@ -74,18 +104,107 @@ public class CacheConfig implements ImportAware {
     @Bean
     CoalesceCacheManager coalesceCacheManager(RedisTemplate<String, Object> redisTemplate,
             RedisMessageListenerContainer redisMessageListener) {
-        return new CoalesceCacheManager(redisTemplate, redisMessageListener);
+        NotificationMode notificationMode = attributes.getEnum("notificationMode");
+        ReadPreference readFrom = attributes.getEnum("readFrom");
+        return new CoalesceCacheManager(redisTemplate, redisMessageListener,
+                createNearCache(redisTemplate.getConnectionFactory()),
+                new AsyncRedisOperations(redisTemplate), notificationMode, readFrom);
+    }
+
+    /**
+     * Creates the near cache.
+     *
+     * @param connectionFactory the connection factory, used to open the tracking connection
+     * @return the near cache, or null when disabled
+     */
+    private NearCache createNearCache(RedisConnectionFactory connectionFactory) {
+        long maxSize = attributes.getNumber("nearCacheMaxSize");
+        long ttl = attributes.getNumber("nearCacheTtl");
+        Validator.validateNearCache(maxSize, ttl);
+        if (attributes.getBoolean("nearCacheTracking")) {
+            Validator.validateNearCacheTracking(attributes.getEnum("mode"), maxSize);
+            if (!(connectionFactory instanceof LettuceConnectionFactory lettuceFactory)
+                    || !(lettuceFactory.getRequiredNativeClient() instanceof RedisClient client)) {
+                throw new IllegalStateException("nearCacheTracking requires a standalone or sentinel "
+                        + "LettuceConnectionFactory");
+            }
+            log.debug("Using near cache with {} entries invalidated by client tracking", maxSize);
+            return new TrackingNearCache(maxSize, ttl, client);
+        }
+        if (maxSize == 0) {
+            return null;
+        }
+        log.debug("Using near cache with {} entries and {} seconds TTL", maxSize, ttl);
+        return new NearCache(maxSize, ttl);
     }
 
     /**
      * Coalesce Aspect.
      *
      * @param cacheManager The cache manager
+     * @param coalesceKeyGenerator The key generator
      * @return The CoalesceCachingAspect object
      */
     @Bean
-    CoalesceCachingAspect coalesceCachingAspect(CoalesceCacheManager cacheManager) {
-        return new CoalesceCachingAspect(cacheManager);
+    CoalesceCachingAspect coalesceCachingAspect(CoalesceCacheManager cacheManager,
+            CoalesceKeyGenerator coalesceKeyGenerator) {
+        return new CoalesceCachingAspect(cacheManager, CoalesceExpressionEvaluator.shared(), coalesceKeyGenerator);
+    }
+
+    /**
+     * Coalesce put aspect.
+     *
+     * @param cacheManager The cache manager
+     * @param coalesceKeyGenerator The key generator
+     * @return The CoalescePutAspect object
+     */
+    @Bean
+    CoalescePutAspect coalescePutAspect(CoalesceCacheManager cacheManager,
+            CoalesceKeyGenerator coalesceKeyGenerator) {
+        return new CoalescePutAspect(cacheManager, CoalesceExpressionEvaluator.shared(), coalesceKeyGenerator);
+    }
+
+    /**
+     * Coalesce evict aspect.
+     *
+     * @param cacheManager The cache manager
+     * @param coalesceKeyGenerator The key generator
+     * @return The CoalesceEvictAspect object
+     */
+    @Bean
+    CoalesceEvictAspect coalesceEvictAspect(CoalesceCacheManager cacheManager,
+            CoalesceKeyGenerator coalesceKeyGenerator) {
+        return new CoalesceEvictAspect(cacheManager, CoalesceExpressionEvaluator.shared(), coalesceKeyGenerator);
+    }
+
+    /**
+     * Key generator shared by the coalesce aspects, so annotations without a
+     * key expression build the same key for a method.
+     *
+     * @return the coalesce key generator
+     */
+    @Bean
+    CoalesceKeyGenerator coalesceKeyGenerator() {
+        var generatorClass = attributes.getClass("keyGenerator");
+        if (generatorClass == DefaultCoalesceKeyGenerator.class) {
+            log.debug("Using default CoalesceKeyGenerator");
+            return new DefaultCoalesceKeyGenerator();
+        }
+        try {
+            CoalesceKeyGenerator generator = (CoalesceKeyGenerator) generatorClass
+                    .getDeclaredConstructor()
+                    .newInstance();
+            log.info("Using custom CoalesceKeyGenerator: {}", generatorClass.getName());
+            return generator;
+        } catch (ReflectiveOperationException ex) {
+            log.error("""
+                              Failed to instantiate custom CoalesceKeyGenerator: {}.
+                              Ensure the class has a public no-args constructor.
+                              Falling back to the default generator. {}
+                            """,
+                    generatorClass.getName(), ex.getMessage());
+            return new DefaultCoalesceKeyGenerator();
+        }
     }
 
     /**
@@ -117,11 +236,37 @@ public class CacheConfig implements ImportAware {
      * Redis cache service.
      *
      * @param redisTemplate the redis template
+     * @param typedRegions the typed regions
      * @return the redis cache service
      */
     @Bean
-    RedisCacheService redisCacheService(RedisTemplate<String, Object> redisTemplate) {
-        return new RedisCacheService(redisTemplate);
+    RedisCacheService redisCacheService(RedisTemplate<String, Object> redisTemplate, TypedRegions typedRegions) {
+        return new RedisCacheService(redisTemplate, typedRegions);
+    }
+
+    /**
+     * Typed regions.
+     *
+     * @return the typed regions declared in the annotation
+     */
+    @Bean
+    TypedRegions typedRegions() {
+        Map<String, Class<?>> regionTypes = new HashMap<>();
+        for (AnnotationAttributes entry : attributes.getAnnotationArray("regionEntries")) {
+            if (entry != null) {
+                String cacheName = entry.getString("name");
+                Class<?> type = entry.getClass("type");
+                Validator.validateRegion(cacheName, type);
+                if (regionTypes.put(cacheName, type) != null) {
+                    throw new IllegalArgumentException(
+                            String.format("Region %s is declared more than once.", cacheName));
+                }
+            }
+        }
+        ObjectMapper objectMapper = getObjectMapperConfig().configure();
+        ValueFormat format = getValueFormat();
+        return new TypedRegions(regionTypes,
+                type -> compress(CodecRedisSerializer.typed(format, objectMapper, type)));
     }
 
     /**
@@ -193,6 +338,7 @@ public class CacheConfig implements ImportAware {
                 .toList();
 
         RedisClusterConfiguration config = new RedisClusterConfiguration(nodes);
+        config.setMaxRedirects(attributes.getNumber("clusterMaxRedirects"));
         String userName = attributes.getString(ATTRIBUTE_USER_NAME);
         String pwd = attributes.getString("pwd");
         if (StringUtils.hasText(userName)) {
@@ -236,31 +382,118 @@ public class CacheConfig implements ImportAware {
     }
 
     /**
-     * Creates the redis connection factory.
+     * Lettuce client resources, shared by every connection of the factory.
      *
-     * @return the redis connection factory
+     * @return the client resources
      */
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean
-    RedisConnectionFactory createRedisConnectionFactory() {
-        LettuceClientConfiguration clientConfiguration;
-        boolean useSsl = attributes.getBoolean("useSsl");
+    ClientResources lettuceClientResources() {
+        int ioThreads = attributes.getNumber("ioThreads");
+        int computationThreads = attributes.getNumber("computationThreads");
+        Validator.validateThreads(ioThreads, computationThreads);
+
+        DefaultClientResources.Builder builder = DefaultClientResources.builder();
+        if (ioThreads > 0) {
+            builder.ioThreadPoolSize(ioThreads);
+        }
+        if (computationThreads > 0) {
+            builder.computationThreadPoolSize(computationThreads);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the lettuce client configuration, pooled when poolMaxTotal is
+     * greater than zero.
+     *
+     * @param clientResources the client resources
+     * @param mode the connection mode
+     * @return the lettuce client configuration
+     */
+    private LettuceClientConfiguration createClientConfiguration(ClientResources clientResources, Mode mode) {
         Long connectionTimeout = attributes.getNumber("connectionTimeout");
         Long readTimeout = attributes.getNumber("readTimeout");
-
         Validator.validateTimeout(connectionTimeout, readTimeout);
 
-        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfigurationBuilder =
-                LettuceClientConfiguration
-                        .builder()
-                        .commandTimeout(Duration.ofMillis(connectionTimeout))
-                        .shutdownTimeout(Duration.ofMillis(readTimeout));
-        clientConfiguration = useSsl
-                ? clientConfigurationBuilder.useSsl().and().build()
-                : clientConfigurationBuilder.build();
+        int maxTotal = attributes.getNumber("poolMaxTotal");
+        int maxIdle = attributes.getNumber("poolMaxIdle");
+        int minIdle = attributes.getNumber("poolMinIdle");
+        Validator.validatePool(maxTotal, maxIdle, minIdle);
+
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder;
+        if (maxTotal > 0) {
+            GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = new GenericObjectPoolConfig<>();
+            poolConfig.setMaxTotal(maxTotal);
+            poolConfig.setMaxIdle(maxIdle);
+            poolConfig.setMinIdle(minIdle);
+            log.debug("Using connection pool with {} max total, {} max idle and {} min idle connections",
+                    maxTotal, maxIdle, minIdle);
+            builder = LettucePoolingClientConfiguration.builder().poolConfig(poolConfig);
+        } else {
+            builder = LettuceClientConfiguration.builder();
+        }
+
+        builder.clientResources(clientResources)
+                .commandTimeout(Duration.ofMillis(connectionTimeout))
+                .shutdownTimeout(Duration.ofMillis(readTimeout));
+        if (attributes.getBoolean("useSsl")) {
+            builder.useSsl();
+        }
+
+        if (mode == Mode.CLUSTER) {
+            builder.clientOptions(createClusterClientOptions());
+        }
+
+        ReadPreference readFrom = attributes.getEnum("readFrom");
+        Validator.validateReadFrom(mode, readFrom);
+        if (readFrom.readsReplicas()) {
+            log.debug("Routing reads with {}", readFrom);
+            builder.readFrom(readFrom.toReadFrom());
+        }
+        return builder.build();
+    }
 
+    /**
+     * Creates the cluster client options, refreshing the topology
+     * periodically and whenever a redirect or reconnect shows it changed.
+     *
+     * @return the cluster client options
+     */
+    private ClusterClientOptions createClusterClientOptions() {
+        long refreshPeriod = attributes.getNumber("clusterRefreshPeriod");
+        int maxRedirects = attributes.getNumber("clusterMaxRedirects");
+        Validator.validateClusterTopology(refreshPeriod, maxRedirects);
+
+        ClusterTopologyRefreshOptions.Builder refreshOptions = ClusterTopologyRefreshOptions.builder();
+        if (refreshPeriod > 0) {
+            refreshOptions.enablePeriodicRefresh(Duration.ofSeconds(refreshPeriod));
+        }
+        if (attributes.getBoolean("clusterAdaptiveRefresh")) {
+            refreshOptions.enableAdaptiveRefreshTrigger(
+                    ClusterTopologyRefreshOptions.RefreshTrigger.MOVED_REDIRECT,
+                    ClusterTopologyRefreshOptions.RefreshTrigger.ASK_REDIRECT,
+                    ClusterTopologyRefreshOptions.RefreshTrigger.PERSISTENT_RECONNECTS);
+        }
+        return ClusterClientOptions.builder()
+                .topologyRefreshOptions(refreshOptions.build())
+                .maxRedirects(maxRedirects)
+                .build();
+    }
+
+    /**
+     * Creates the redis connection factory.
+     *
+     * @param clientResources the client resources
+     * @return the redis connection factory
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RedisConnectionFactory createRedisConnectionFactory(ClientResources clientResources) {
         Mode mode = attributes.getEnum("mode");
-        return switch (mode) {
+        LettuceClientConfiguration clientConfiguration = createClientConfiguration(clientResources, mode);
+
+        LettuceConnectionFactory connectionFactory = switch (mode) {
             case Mode.CLUSTER ->
                     new LettuceConnectionFactory(Objects.requireNonNull(createClusterConfig()), clientConfiguration);
             case Mode.STANDALONE ->
@@ -269,7 +502,8 @@ public class CacheConfig implements ImportAware {
                     new LettuceConnectionFactory(Objects.requireNonNull(createSentinelConfig()), clientConfiguration);
             default -> throw new IllegalArgumentException("Invalid mode");
         };
-
+        connectionFactory.setShareNativeConnection(attributes.getBoolean("shareNativeConnection"));
+        return connectionFactory;
     }
 
     /**
@@ -290,17 +524,57 @@ public class CacheConfig implements ImportAware {
         template.setKeySerializer(stringSerializer);
         template.setHashKeySerializer(stringSerializer);
 
-        ObjectMapperConfig mapperConfig = getObjectMapperConfig();
-        CustomJackson2JsonRedisSerializer<T> jsonSerializer = new CustomJackson2JsonRedisSerializer<>(
-                mapperConfig.configure(), (Class<T>) Object.class);
-        template.setValueSerializer(jsonSerializer);
-        template.setHashValueSerializer(jsonSerializer);
+        RedisSerializer<T> valueSerializer = createValueSerializer(getValueFormat(),
+                getObjectMapperConfig().configure(), (Class<T>) Object.class);
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
 
         return template;
     }
 
+    /**
+     * Creates the reactive redis template. It uses the same key and value
+     * serializers as {@link #createRedisTemplate(RedisConnectionFactory)}, so
+     * entries written by either template can be read by the other.
+     *
+     * @param connectionFactory The connection factory, which must also be reactive
+     * @return the reactive redis template
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    ReactiveRedisTemplate<String, Object> createReactiveRedisTemplate(RedisConnectionFactory connectionFactory) {
+        if (!(connectionFactory instanceof ReactiveRedisConnectionFactory reactiveFactory)) {
+            throw new IllegalStateException("Reactive operations require a reactive connection factory such as "
+                    + "LettuceConnectionFactory, found: " + connectionFactory.getClass().getName());
+        }
+
+        StringRedisSerializer stringSerializer = new StringRedisSerializer();
+        RedisSerializer<Object> valueSerializer = createValueSerializer(getValueFormat(),
+                getObjectMapperConfig().configure(), Object.class);
+
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(stringSerializer)
+                .value(valueSerializer)
+                .hashKey(stringSerializer)
+                .hashValue(valueSerializer)
+                .build();
+
+        return new ReactiveRedisTemplate<>(reactiveFactory, serializationContext);
+    }
+
+    /**
+     * Reactive redis cache service.
+     *
+     * @param reactiveRedisTemplate the reactive redis template
+     * @return the reactive redis cache service
+     */
+    @Bean
+    ReactiveRedisCacheService reactiveRedisCacheService(ReactiveRedisTemplate<String, Object> reactiveRedisTemplate) {
+        return new ReactiveRedisCacheService(reactiveRedisTemplate);
+    }
+
     /**
      * Gets the object mapper config.
      *
@@ -333,6 +607,81 @@ public class CacheConfig implements ImportAware {
         }
     }
 
+    /**
+     * Compression metrics.
+     *
+     * @return the compression metrics of every value serializer
+     */
+    @Bean
+    CompressionMetrics compressionMetrics() {
+        return compressionMetrics;
+    }
+
+    /**
+     * Creates the value serializer, writing the given format and compressing
+     * values from the configured threshold.
+     *
+     * @param <T> the generic type
+     * @param format the format
+     * @param objectMapper the object mapper
+     * @param type the type
+     * @return the redis serializer
+     */
+    private <T> RedisSerializer<T> createValueSerializer(ValueFormat format, ObjectMapper objectMapper,
+                                                        Class<T> type) {
+        return compress(CodecRedisSerializer.of(format, objectMapper, type));
+    }
+
+    /**
+     * Wraps a serializer to compress values from the configured threshold.
+     *
+     * @param <T> the generic type
+     * @param serializer the serializer
+     * @return the compressing serializer
+     */
+    private <T> RedisSerializer<T> compress(RedisSerializer<T> serializer) {
+        int threshold = attributes.getNumber("compressionThreshold");
+        Validator.validateCompressionThreshold(threshold);
+        return new CompressingRedisSerializer<>(serializer, getCompressionCodec(),
+                List.of(new DeflateCompressionCodec()), threshold, compressionMetrics);
+    }
+
+    /**
+     * Gets the compression codec.
+     *
+     * @return the compression codec
+     */
+    private CompressionCodec getCompressionCodec() {
+        var codecClass = attributes.getClass("compressionCodec");
+        if (codecClass == DeflateCompressionCodec.class) {
+            return new DeflateCompressionCodec();
+        }
+        try {
+            CompressionCodec codec = (CompressionCodec) codecClass
+                    .getDeclaredConstructor()
+                    .newInstance();
+            log.debug("Using custom CompressionCodec: {}", codecClass.getName());
+            return codec;
+        } catch (ReflectiveOperationException ex) {
+            log.error("""
+                              Failed to instantiate custom CompressionCodec: {}.
+                              Ensure the class has a public no-args constructor.
+                              Falling back to Deflate. {}
+                            """,
+                    codecClass.getName(), ex.getMessage());
+            return new DeflateCompressionCodec();
+        }
+    }
+
+    /**
+     * Gets the format values are written in.
+     *
+     * @return the value format
+     */
+    private ValueFormat getValueFormat() {
+        return attributes.getEnum("valueFormat");
+    }
+
     /**
      * Cache manager.
      * @param connectionFactory The connection factory
@@ -340,15 +689,14 @@ public class CacheConfig implements ImportAware {
      */
     @Bean
     CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        ObjectMapperConfig mapperConfig = getObjectMapperConfig();
+        ObjectMapper objectMapper = getObjectMapperConfig().configure();
 
         RedisCacheConfiguration redisCacheConfiguration = RedisCacheConfiguration
                 .defaultCacheConfig()
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new CustomJackson2JsonRedisSerializer<>(mapperConfig.configure(),
-                                Object.class)));
+                        .fromSerializer(createValueSerializer(getValueFormat(), objectMapper, Object.class)));
 
         AnnotationAttributes[] ttlArray = attributes.getAnnotationArray("ttlEntries");
 
@@ -363,8 +711,19 @@ public class CacheConfig implements ImportAware {
         }
 
         Map<String, RedisCacheConfiguration> cacheConfiguration = new HashMap<>();
+        for (AnnotationAttributes entry : attributes.getAnnotationArray("formatEntries")) {
+            if (entry != null) {
+                String cacheName = entry.getString("name");
+                ValueFormat format = entry.getEnum("format");
+                Validator.validateFormat(cacheName, format);
+                cacheConfiguration.put(cacheName, redisCacheConfiguration.serializeValuesWith(
+                        RedisSerializationContext.SerializationPair
+                                .fromSerializer(createValueSerializer(format, objectMapper, Object.class))));
+            }
+        }
         ttlsMap
-                .forEach((cacheName, ttl) -> cacheConfiguration.put(cacheName, redisCacheConfiguration
+                .forEach((cacheName, ttl) -> cacheConfiguration.put(cacheName, cacheConfiguration
+                        .getOrDefault(cacheName, redisCacheConfiguration)
                         .entryTtl(Objects.requireNonNull(Duration.ofMinutes(ttl), "ttl is required"))));
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(redisCacheConfiguration)
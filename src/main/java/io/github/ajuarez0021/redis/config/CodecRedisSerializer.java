@@ -0,0 +1,211 @@
+package io.github.ajuarez0021.redis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ajuarez0021.redis.util.ValueFormat;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Redis serializer writing values with one {@link ValueCodec} and reading
+ * values written by any of the registered codecs.
+ *
+ * <p>Values are stored as a header byte followed by the encoded value, or as
+ * the bare encoded value for a codec without header. On reads the first byte
+ * picks the codec; bytes without a known header are read by the codec without
+ * header, which is plain JSON for the built-in formats.</p>
+ *
+ * @author ajuar
+ * @param <T> The object
+ */
+public class CodecRedisSerializer<T> implements StreamingRedisSerializer<T> {
+
+    /** The initial size of the output buffer. */
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    /** The codec writing values. */
+    private final ValueCodec writer;
+
+    /** The codecs reading values, indexed by header byte. */
+    private final ValueCodec[] readers = new ValueCodec[256];
+
+    /** The codec reading values without header. */
+    private final ValueCodec headerlessReader;
+
+    /**
+     * The class type.
+     */
+    private final Class<T> type;
+
+    /**
+     * Instantiates a new codec redis serializer.
+     *
+     * @param writer the codec writing values
+     * @param readers the codecs reading values, which must include one without header
+     * @param type the type
+     */
+    public CodecRedisSerializer(ValueCodec writer, List<ValueCodec> readers, Class<T> type) {
+        ValueCodec plain = null;
+        for (ValueCodec reader : readers) {
+            if (reader.header() == ValueCodec.NO_HEADER) {
+                plain = reader;
+            } else {
+                this.readers[reader.header() & 0xFF] = reader;
+            }
+        }
+        if (plain == null) {
+            throw new IllegalArgumentException("A codec without header is required to read unmarked values");
+        }
+        this.writer = writer;
+        this.headerlessReader = plain;
+        this.type = type;
+    }
+
+    /**
+     * Creates a serializer writing the given format and reading every built-in format.
+     *
+     * @param <T> the generic type
+     * @param format the format to write
+     * @param objectMapper the configured JSON object mapper
+     * @param type the type
+     * @return the codec redis serializer
+     */
+    public static <T> CodecRedisSerializer<T> of(ValueFormat format, ObjectMapper objectMapper, Class<T> type) {
+        return create(format, candidate -> candidate.createCodec(objectMapper), type);
+    }
+
+    /**
+     * Creates a serializer bound to a single class, writing the given format and
+     * reading every built-in format. Values are written without type metadata,
+     * so they can only be read back through a serializer for the same class.
+     *
+     * @param <T> the generic type
+     * @param format the format to write
+     * @param objectMapper the configured JSON object mapper
+     * @param type the type
+     * @return the codec redis serializer
+     */
+    public static <T> CodecRedisSerializer<T> typed(ValueFormat format, ObjectMapper objectMapper, Class<T> type) {
+        ObjectMapper untyped = objectMapper.copy().deactivateDefaultTyping();
+        return create(format, candidate -> candidate.createCodec(untyped, type), type);
+    }
+
+    /**
+     * Creates a serializer from the codecs of every built-in format.
+     *
+     * @param <T> the generic type
+     * @param format the format to write
+     * @param codecs the codec factory
+     * @param type the type
+     * @return the codec redis serializer
+     */
+    private static <T> CodecRedisSerializer<T> create(ValueFormat format, Function<ValueFormat, ValueCodec> codecs,
+                                                      Class<T> type) {
+        List<ValueCodec> readers = new ArrayList<>();
+        ValueCodec writer = null;
+        for (ValueFormat candidate : ValueFormat.values()) {
+            ValueCodec codec = codecs.apply(candidate);
+            readers.add(codec);
+            if (candidate == format) {
+                writer = codec;
+            }
+        }
+        if (writer == null) {
+            throw new IllegalArgumentException("format is required");
+        }
+        return new CodecRedisSerializer<>(writer, readers, type);
+    }
+
+    /**
+     * Serialize.
+     *
+     * @param value the value
+     * @return the byte[]
+     * @throws SerializationException the serialization exception
+     */
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        serializeTo(value, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Serializes a value to a stream.
+     *
+     * @param value the value
+     * @param out the output stream
+     * @throws SerializationException the serialization exception
+     */
+    @Override
+    public void serializeTo(T value, OutputStream out) throws SerializationException {
+        if (value == null) {
+            return;
+        }
+        try {
+            if (writer.header() != ValueCodec.NO_HEADER) {
+                out.write(writer.header());
+            }
+            writer.encode(value, out);
+        } catch (IOException e) {
+            throw new SerializationException("Error serializing", e);
+        }
+    }
+
+    /**
+     * Deserialize.
+     *
+     * @param bytes the bytes
+     * @return the object
+     * @throws SerializationException the serialization exception
+     */
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        ValueCodec reader = readers[bytes[0] & 0xFF];
+        try {
+            if (reader == null) {
+                return headerlessReader.decode(bytes, 0, bytes.length, type);
+            }
+            return reader.decode(bytes, 1, bytes.length - 1, type);
+        } catch (IOException e) {
+            throw new SerializationException("Error deserializing", e);
+        }
+    }
+
+    /**
+     * Deserializes the remaining bytes of a buffer in place.
+     *
+     * @param buffer the buffer
+     * @return the object
+     * @throws SerializationException the serialization exception
+     */
+    @Override
+    public T deserializeFrom(ByteBuffer buffer) throws SerializationException {
+        if (buffer == null || !buffer.hasRemaining()) {
+            return null;
+        }
+        ByteBuffer payload = buffer.duplicate();
+        ValueCodec reader = readers[payload.get(payload.position()) & 0xFF];
+        try {
+            if (reader == null) {
+                return headerlessReader.decode(payload, type);
+            }
+            payload.position(payload.position() + 1);
+            return reader.decode(payload, type);
+        } catch (IOException e) {
+            throw new SerializationException("Error deserializing", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.ajuarez0021.redis.config;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Redis serializer compressing the values of another serializer once they
+ * reach a size threshold.
+ *
+ * <p>Compressed values start with the header byte of their
+ * {@link CompressionCodec}; values below the threshold, or that would not
+ * shrink, are stored as the delegate wrote them. Reads detect the header, so
+ * compressed and uncompressed values can be mixed and the threshold changed
+ * at any time.</p>
+ *
+ * <p>When compression is disabled the streaming forms pass straight through to
+ * a streaming delegate; values eligible for compression are encoded to an
+ * array first, since their size decides whether they are compressed.</p>
+ *
+ * @author ajuar
+ * @param <T> The object
+ */
+public class CompressingRedisSerializer<T> implements StreamingRedisSerializer<T> {
+
+    /** The serializer writing the values. */
+    private final RedisSerializer<T> delegate;
+
+    /** The codec compressing values. */
+    private final CompressionCodec codec;
+
+    /** The codecs decompressing values, indexed by header byte. */
+    private final CompressionCodec[] decompressors = new CompressionCodec[256];
+
+    /** The size in bytes from which values are compressed, zero when disabled. */
+    private final int threshold;
+
+    /** The metrics. */
+    private final CompressionMetrics metrics;
+
+    /**
+     * Instantiates a new compressing redis serializer.
+     *
+     * @param delegate the serializer writing the values
+     * @param codec the codec compressing values
+     * @param decompressors the codecs decompressing values
+     * @param threshold the size in bytes from which values are compressed, zero to only decompress
+     * @param metrics the metrics
+     */
+    public CompressingRedisSerializer(RedisSerializer<T> delegate, CompressionCodec codec,
+                                      List<CompressionCodec> decompressors, int threshold,
+                                      CompressionMetrics metrics) {
+        this.delegate = delegate;
+        this.codec = codec;
+        this.threshold = threshold;
+        this.metrics = metrics;
+        this.decompressors[codec.header() & 0xFF] = codec;
+        for (CompressionCodec decompressor : decompressors) {
+            this.decompressors[decompressor.header() & 0xFF] = decompressor;
+        }
+    }
+
+    /**
+     * Serialize.
+     *
+     * @param value the value
+     * @return the byte[]
+     * @throws SerializationException the serialization exception
+     */
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (threshold <= 0 || bytes == null || bytes.length < threshold) {
+            metrics.recordUncompressed();
+            return bytes;
+        }
+        long start = System.nanoTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 1);
+        out.write(codec.header());
+        try {
+            codec.compress(bytes, out);
+        } catch (IOException e) {
+            throw new SerializationException("Error compressing", e);
+        }
+        if (out.size() >= bytes.length) {
+            metrics.recordUncompressed();
+            return bytes;
+        }
+        metrics.recordCompression(bytes.length, out.size(), System.nanoTime() - start);
+        return out.toByteArray();
+    }
+
+    /**
+     * Deserialize.
+     *
+     * @param bytes the bytes
+     * @return the object
+     * @throws SerializationException the serialization exception
+     */
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return delegate.deserialize(bytes);
+        }
+        CompressionCodec decompressor = decompressors[bytes[0] & 0xFF];
+        if (decompressor == null) {
+            return delegate.deserialize(bytes);
+        }
+        long start = System.nanoTime();
+        byte[] decompressed;
+        try {
+            decompressed = decompressor.decompress(bytes, 1, bytes.length - 1);
+        } catch (IOException e) {
+            throw new SerializationException("Error decompressing", e);
+        }
+        metrics.recordDecompression(System.nanoTime() - start);
+        return delegate.deserialize(decompressed);
+    }
+
+    /**
+     * Serializes a value to a stream.
+     *
+     * @param value the value
+     * @param out the output stream
+     * @throws SerializationException the serialization exception
+     */
+    @Override
+    public void serializeTo(T value, OutputStream out) throws SerializationException {
+        if (threshold <= 0 && delegate instanceof StreamingRedisSerializer<T> streaming) {
+            metrics.recordUncompressed();
+            streaming.serializeTo(value, out);
+            return;
+        }
+        byte[] bytes = serialize(value);
+        if (bytes == null) {
+            return;
+        }
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new SerializationException("Error serializing", e);
+        }
+    }
+
+    /**
+     * Deserializes the remaining bytes of a buffer, in place unless they are
+     * compressed.
+     *
+     * @param buffer the buffer
+     * @return the object
+     * @throws SerializationException the serialization exception
+     */
+    @Override
+    public T deserializeFrom(ByteBuffer buffer) throws SerializationException {
+        CompressionCodec decompressor = buffer == null || !buffer.hasRemaining()
+                ? null : decompressors[buffer.get(buffer.position()) & 0xFF];
+        if (decompressor == null) {
+            if (delegate instanceof StreamingRedisSerializer<T> streaming) {
+                return streaming.deserializeFrom(buffer);
+            }
+            return delegate.deserialize(buffer == null ? null : toArray(buffer));
+        }
+        long start = System.nanoTime();
+        byte[] decompressed;
+        try {
+            if (buffer.hasArray()) {
+                decompressed = decompressor.decompress(buffer.array(),
+                        buffer.arrayOffset() + buffer.position() + 1, buffer.remaining() - 1);
+            } else {
+                byte[] bytes = toArray(buffer);
+                decompressed = decompressor.decompress(bytes, 1, bytes.length - 1);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Error decompressing", e);
+        }
+        metrics.recordDecompression(System.nanoTime() - start);
+        return delegate.deserialize(decompressed);
+    }
+
+    /**
+     * Copies the remaining bytes of a buffer without moving its position.
+     *
+     * @param buffer the buffer
+     * @return the bytes
+     */
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
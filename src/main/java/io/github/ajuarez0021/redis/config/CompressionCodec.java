@@ -0,0 +1,43 @@
+package io.github.ajuarez0021.redis.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Compresses serialized values above the configured threshold.
+ *
+ * <p>{@link CompressingRedisSerializer} writes the {@link #header()} byte in
+ * front of compressed values, so implementations need a public no-args
+ * constructor and a header byte that is used by no {@link ValueCodec}.</p>
+ *
+ * @author ajuar
+ */
+public interface CompressionCodec {
+
+    /**
+     * Gets the header byte marking values compressed by this codec.
+     *
+     * @return the header byte
+     */
+    byte header();
+
+    /**
+     * Compresses bytes.
+     *
+     * @param data the serialized value
+     * @param out the output stream
+     * @throws IOException if the bytes cannot be compressed
+     */
+    void compress(byte[] data, OutputStream out) throws IOException;
+
+    /**
+     * Decompresses bytes.
+     *
+     * @param data the bytes
+     * @param offset the offset of the compressed value, after the header byte
+     * @param length the length of the compressed value
+     * @return the serialized value
+     * @throws IOException if the bytes are not a valid compressed value
+     */
+    byte[] decompress(byte[] data, int offset, int length) throws IOException;
+}
@@ -0,0 +1,83 @@
+package io.github.ajuarez0021.redis.config;
+
+import io.github.ajuarez0021.redis.dto.CompressionStatsDto;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters shared by the compressing serializers of the library.
+ *
+ * @author ajuar
+ */
+public class CompressionMetrics {
+
+    /** The number of values written compressed. */
+    private final LongAdder compressed = new LongAdder();
+
+    /** The number of values written uncompressed. */
+    private final LongAdder uncompressed = new LongAdder();
+
+    /** The size of the compressed values before compression. */
+    private final LongAdder bytesIn = new LongAdder();
+
+    /** The size of the compressed values after compression. */
+    private final LongAdder bytesOut = new LongAdder();
+
+    /** The time spent compressing. */
+    private final LongAdder compressNanos = new LongAdder();
+
+    /** The number of values decompressed. */
+    private final LongAdder decompressed = new LongAdder();
+
+    /** The time spent decompressing. */
+    private final LongAdder decompressNanos = new LongAdder();
+
+    /**
+     * Records a value written compressed.
+     *
+     * @param originalSize the serialized size
+     * @param compressedSize the compressed size, including the header byte
+     * @param nanos the time spent compressing
+     */
+    void recordCompression(int originalSize, int compressedSize, long nanos) {
+        compressed.increment();
+        bytesIn.add(originalSize);
+        bytesOut.add(compressedSize);
+        compressNanos.add(nanos);
+    }
+
+    /**
+     * Records a value written uncompressed, because it was below the threshold
+     * or did not shrink.
+     */
+    void recordUncompressed() {
+        uncompressed.increment();
+    }
+
+    /**
+     * Records a value decompressed.
+     *
+     * @param nanos the time spent decompressing
+     */
+    void recordDecompression(long nanos) {
+        decompressed.increment();
+        decompressNanos.add(nanos);
+    }
+
+    /**
+     * Takes a snapshot of the counters.
+     *
+     * @return the compression stats
+     */
+    public CompressionStatsDto snapshot() {
+        return CompressionStatsDto.builder()
+                .compressedValues(compressed.sum())
+                .uncompressedValues(uncompressed.sum())
+                .bytesBeforeCompression(bytesIn.sum())
+                .bytesAfterCompression(bytesOut.sum())
+                .compressionNanos(compressNanos.sum())
+                .decompressedValues(decompressed.sum())
+                .decompressionNanos(decompressNanos.sum())
+                .build();
+    }
+}
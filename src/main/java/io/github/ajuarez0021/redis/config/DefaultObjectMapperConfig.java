@@ -11,6 +11,8 @@ import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import java.util.Map;
+
 /**
  * The Class DefaultObjectMapperConfig.
  *
@@ -51,7 +53,13 @@ public class DefaultObjectMapperConfig implements ObjectMapperConfig {
                 .allowIfSubType(Object.class)
                 .build();
 
-        mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        Map<String, Class<?>> typeIds = typeIds();
+        if (typeIds.isEmpty()) {
+            mapper.activateDefaultTyping(ptv, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        } else {
+            new TypeIdRegistry(typeIds).activateDefaultTyping(mapper, ptv, ObjectMapper.DefaultTyping.NON_FINAL,
+                    JsonTypeInfo.As.PROPERTY);
+        }
 
         mapper.configure(DeserializationFeature.ACCEPT_EMPTY_ARRAY_AS_NULL_OBJECT, false);
 
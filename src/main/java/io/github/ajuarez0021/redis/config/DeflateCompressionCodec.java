@@ -0,0 +1,90 @@
+package io.github.ajuarez0021.redis.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compression codec using the JDK's Deflate (zlib) implementation at its
+ * fastest level. Compressed values are marked by the header byte 0x10.
+ *
+ * @author ajuar
+ */
+public class DeflateCompressionCodec implements CompressionCodec {
+
+    /** The header byte. */
+    public static final byte HEADER = 0x10;
+
+    /** The size of the stream buffers. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The compression level. */
+    private final int level;
+
+    /**
+     * Instantiates a new deflate compression codec favouring speed.
+     */
+    public DeflateCompressionCodec() {
+        this(Deflater.BEST_SPEED);
+    }
+
+    /**
+     * Instantiates a new deflate compression codec.
+     *
+     * @param level the compression level, from 0 to 9
+     */
+    public DeflateCompressionCodec(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Gets the header byte.
+     *
+     * @return the header byte
+     */
+    @Override
+    public byte header() {
+        return HEADER;
+    }
+
+    /**
+     * Compresses bytes.
+     *
+     * @param data the serialized value
+     * @param out the output stream
+     * @throws IOException if the bytes cannot be compressed
+     */
+    @Override
+    public void compress(byte[] data, OutputStream out) throws IOException {
+        Deflater deflater = new Deflater(level);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater, BUFFER_SIZE)) {
+            deflate.write(data);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Decompresses bytes.
+     *
+     * @param data the bytes
+     * @param offset the offset
+     * @param length the length
+     * @return the serialized value
+     * @throws IOException if the bytes are not a valid compressed value
+     */
+    @Override
+    public byte[] decompress(byte[] data, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try (InflaterInputStream inflate = new InflaterInputStream(
+                new ByteArrayInputStream(data, offset, length), inflater, BUFFER_SIZE)) {
+            return inflate.readAllBytes();
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.ajuarez0021.redis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Value codec backed by a Jackson {@link ObjectMapper}. The data format
+ * (JSON, Smile, CBOR...) is the one of the mapper's factory.
+ *
+ * @author ajuar
+ */
+public class JacksonValueCodec implements ValueCodec {
+
+    /** The object mapper. */
+    private final ObjectMapper objectMapper;
+
+    /** The header byte. */
+    private final byte header;
+
+    /**
+     * Instantiates a new jackson value codec.
+     *
+     * @param objectMapper the object mapper
+     * @param header the header byte, or {@link ValueCodec#NO_HEADER}
+     */
+    public JacksonValueCodec(ObjectMapper objectMapper, byte header) {
+        this.objectMapper = objectMapper;
+        this.header = header;
+    }
+
+    /**
+     * Gets the header byte.
+     *
+     * @return the header byte
+     */
+    @Override
+    public byte header() {
+        return header;
+    }
+
+    /**
+     * Encodes a value.
+     *
+     * @param value the value
+     * @param out the output stream
+     * @throws IOException if the value cannot be encoded
+     */
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        objectMapper.writeValue(out, value);
+    }
+
+    /**
+     * Decodes a value.
+     *
+     * @param <T> the generic type
+     * @param bytes the bytes
+     * @param offset the offset
+     * @param length the length
+     * @param type the type
+     * @return the value
+     * @throws IOException if the bytes cannot be decoded
+     */
+    @Override
+    public <T> T decode(byte[] bytes, int offset, int length, Class<T> type) throws IOException {
+        return objectMapper.readValue(bytes, offset, length, type);
+    }
+
+    /**
+     * Decodes a value from a buffer, streaming off-heap buffers without copying
+     * them to an array.
+     *
+     * @param <T> the generic type
+     * @param buffer the buffer positioned at the payload
+     * @param type the type
+     * @return the value
+     * @throws IOException if the bytes cannot be decoded
+     */
+    @Override
+    public <T> T decode(ByteBuffer buffer, Class<T> type) throws IOException {
+        if (buffer.hasArray()) {
+            return ValueCodec.super.decode(buffer, type);
+        }
+        return objectMapper.readValue(new ByteBufferBackedInputStream(buffer), type);
+    }
+}
@@ -2,6 +2,8 @@ package io.github.ajuarez0021.redis.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.Map;
+
 
 /**
  * The Interface ObjectMapperConfig.
@@ -16,4 +18,16 @@ public interface ObjectMapperConfig {
      * @return the object mapper
      */
     ObjectMapper configure();
+
+    /**
+     * Type ids.
+     * Short ids written by default typing instead of the fully qualified names
+     * of these classes. Every node must register the same entries.
+     *
+     * @return the classes by type id, empty to write class names
+     * @see TypeIdRegistry
+     */
+    default Map<String, Class<?>> typeIds() {
+        return Map.of();
+    }
 }
@@ -0,0 +1,72 @@
+package io.github.ajuarez0021.redis.config;
+
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.impl.ClassNameIdResolver;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Class name id resolver writing and reading the short ids of a
+ * {@link TypeIdRegistry}. Registered ids resolve without a class lookup.
+ *
+ * @author ajuar
+ */
+class RegistryTypeIdResolver extends ClassNameIdResolver {
+
+    /** The serial version UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The registry. */
+    private final transient TypeIdRegistry registry;
+
+    /**
+     * Instantiates a new registry type id resolver.
+     *
+     * @param baseType the base type
+     * @param typeFactory the type factory
+     * @param subtypes the known subtypes
+     * @param ptv the polymorphic type validator
+     * @param registry the registry
+     */
+    RegistryTypeIdResolver(JavaType baseType, TypeFactory typeFactory, Collection<NamedType> subtypes,
+                           PolymorphicTypeValidator ptv, TypeIdRegistry registry) {
+        super(baseType, typeFactory, subtypes, ptv);
+        this.registry = registry;
+    }
+
+    /**
+     * Gets the id of a value, the registered id when there is one.
+     *
+     * @param value the value
+     * @param cls the class
+     * @param typeFactory the type factory
+     * @return the type id
+     */
+    @Override
+    protected String _idFrom(Object value, Class<?> cls, TypeFactory typeFactory) {
+        return registry.idFor(super._idFrom(value, cls, typeFactory));
+    }
+
+    /**
+     * Resolves a type id, registered or a class name.
+     *
+     * @param id the type id
+     * @param ctxt the context
+     * @return the type
+     * @throws IOException if the id cannot be resolved
+     */
+    @Override
+    protected JavaType _typeFromId(String id, DatabindContext ctxt) throws IOException {
+        Optional<Class<?>> registered = registry.classFor(id);
+        if (registered.isPresent()) {
+            return ctxt.getTypeFactory().constructSpecializedType(_baseType, registered.get());
+        }
+        return super._typeFromId(id, ctxt);
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.ajuarez0021.redis.config;
+
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.ToByteBufEncoder;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Lettuce codec writing values through a Spring {@link RedisSerializer}.
+ *
+ * <p>Keys are passed as the bytes written by the template's key serializer.
+ * With a {@link StreamingRedisSerializer} values are encoded straight into the
+ * pooled Netty buffer Lettuce allocates for the command, and decoded from a
+ * view of the reply buffer, so no intermediate array is created for either.
+ * Other serializers go through their byte array methods.</p>
+ *
+ * @author ajuar
+ */
+public class StreamingRedisCodec implements RedisCodec<byte[], Object>, ToByteBufEncoder<byte[], Object> {
+
+    /** The minimum estimated size of an encoded value. */
+    private static final int MIN_ESTIMATE = 64;
+
+    /** The maximum estimated size of an encoded value; larger values grow their buffer. */
+    private static final int MAX_ESTIMATE = 16 * 1024;
+
+    /** The weight of the last encoded value in the estimate, as a power of two. */
+    private static final int DECAY_SHIFT = 3;
+
+    /** The serializer. */
+    private final RedisSerializer<Object> serializer;
+
+    /**
+     * The moving average of the encoded value sizes, used to size the next
+     * buffer. Concurrent updates may lose a sample, which only skews the estimate.
+     */
+    private volatile int averageSize = MIN_ESTIMATE;
+
+    /**
+     * Instantiates a new streaming redis codec.
+     *
+     * @param serializer the value serializer
+     */
+    public StreamingRedisCodec(RedisSerializer<Object> serializer) {
+        this.serializer = serializer;
+    }
+
+    /**
+     * Decode key.
+     *
+     * @param bytes the bytes
+     * @return the key
+     */
+    @Override
+    public byte[] decodeKey(ByteBuffer bytes) {
+        byte[] key = new byte[bytes.remaining()];
+        bytes.get(key);
+        return key;
+    }
+
+    /**
+     * Decode value.
+     *
+     * @param bytes the bytes
+     * @return the value
+     */
+    @Override
+    public Object decodeValue(ByteBuffer bytes) {
+        if (serializer instanceof StreamingRedisSerializer<Object> streaming) {
+            return streaming.deserializeFrom(bytes);
+        }
+        return serializer.deserialize(decodeKey(bytes));
+    }
+
+    /**
+     * Encode key.
+     *
+     * @param key the key
+     * @return the byte buffer
+     */
+    @Override
+    public ByteBuffer encodeKey(byte[] key) {
+        return ByteBuffer.wrap(key);
+    }
+
+    /**
+     * Encode value.
+     *
+     * @param value the value
+     * @return the byte buffer
+     */
+    @Override
+    public ByteBuffer encodeValue(Object value) {
+        byte[] bytes = serializer.serialize(value);
+        return ByteBuffer.wrap(bytes == null ? new byte[0] : bytes);
+    }
+
+    /**
+     * Encode key into the target buffer.
+     *
+     * @param key the key
+     * @param target the target buffer
+     */
+    @Override
+    public void encodeKey(byte[] key, ByteBuf target) {
+        target.writeBytes(key);
+    }
+
+    /**
+     * Encode value into the target buffer.
+     *
+     * @param value the value
+     * @param target the target buffer
+     */
+    @Override
+    public void encodeValue(Object value, ByteBuf target) {
+        int start = target.writerIndex();
+        if (serializer instanceof StreamingRedisSerializer<Object> streaming) {
+            streaming.serializeTo(value, new ByteBufOutputStream(target));
+        } else {
+            byte[] bytes = serializer.serialize(value);
+            if (bytes != null) {
+                target.writeBytes(bytes);
+            }
+        }
+        int average = averageSize;
+        int next = average + ((target.writerIndex() - start - average) >> DECAY_SHIFT);
+        averageSize = Math.min(MAX_ESTIMATE, Math.max(MIN_ESTIMATE, next));
+    }
+
+    /**
+     * Estimates the encoded size of a key or value. Values are estimated from
+     * a capped moving average of the encoded sizes, so a single large value
+     * does not inflate the buffers of the values after it.
+     *
+     * @param keyOrValue the key or value
+     * @return the estimated size in bytes
+     */
+    @Override
+    public int estimateSize(Object keyOrValue) {
+        if (keyOrValue instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return averageSize;
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.ajuarez0021.redis.config;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Redis serializer that can also write to a stream and read from a buffer,
+ * so {@link StreamingRedisCodec} can move values between the object graph and
+ * Lettuce's pooled Netty buffers without an intermediate array.
+ *
+ * <p>Both forms must produce and accept the same bytes as
+ * {@link #serialize(Object)} and {@link #deserialize(byte[])}.</p>
+ *
+ * @author ajuar
+ * @param <T> The object
+ */
+public interface StreamingRedisSerializer<T> extends RedisSerializer<T> {
+
+    /**
+     * Serializes a value to a stream. Nothing is written for null.
+     *
+     * @param value the value
+     * @param out the output stream
+     * @throws SerializationException the serialization exception
+     */
+    void serializeTo(T value, OutputStream out) throws SerializationException;
+
+    /**
+     * Deserializes the remaining bytes of a buffer. The buffer may be a view of
+     * a pooled buffer that is released once this method returns, so it must not
+     * be retained.
+     *
+     * @param buffer the buffer
+     * @return the object, null when the buffer is empty
+     * @throws SerializationException the serialization exception
+     */
+    T deserializeFrom(ByteBuffer buffer) throws SerializationException;
+}
@@ -0,0 +1,136 @@
+package io.github.ajuarez0021.redis.config;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.TypeIdResolver;
+import io.github.ajuarez0021.redis.util.Validator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Short type ids written by default typing instead of fully qualified class
+ * names.
+ *
+ * <p>Registered classes are written with their id, every other class with its
+ * class name as before, and both forms are read. Ids are given explicitly, not
+ * derived from registration order, so every node maps them the same way as long
+ * as it registers the same entries. Ids must not contain a dot, so they can never
+ * be mistaken for a class name.</p>
+ *
+ * @author ajuar
+ */
+public final class TypeIdRegistry {
+
+    /** The registered classes by type id. */
+    private final Map<String, Class<?>> classesById;
+
+    /** The type ids by class name. */
+    private final Map<String, String> idsByClassName;
+
+    /**
+     * Instantiates a new type id registry.
+     *
+     * @param typeIds the registered classes by type id
+     */
+    public TypeIdRegistry(Map<String, Class<?>> typeIds) {
+        Map<String, String> ids = new HashMap<>();
+        typeIds.forEach((id, type) -> {
+            Validator.validateTypeId(id, type);
+            String previous = ids.put(type.getName(), id);
+            if (previous != null) {
+                throw new IllegalArgumentException(
+                        String.format("Class %s is registered as %s and %s.", type.getName(), previous, id));
+            }
+        });
+        this.classesById = Map.copyOf(typeIds);
+        this.idsByClassName = Map.copyOf(ids);
+    }
+
+    /**
+     * Enables default typing on a mapper, writing the registered ids in place
+     * of class names.
+     *
+     * @param mapper the mapper
+     * @param ptv the validator of the classes named in the payloads
+     * @param applicability the types written with type information
+     * @param includeAs how the type id is included
+     * @return the mapper
+     */
+    public ObjectMapper activateDefaultTyping(ObjectMapper mapper, PolymorphicTypeValidator ptv,
+                                              ObjectMapper.DefaultTyping applicability, JsonTypeInfo.As includeAs) {
+        return mapper.setDefaultTyping(new RegistryTypeResolverBuilder(applicability, ptv, this)
+                .init(JsonTypeInfo.Id.CLASS, null)
+                .inclusion(includeAs));
+    }
+
+    /**
+     * Gets the id written for a class name.
+     *
+     * @param className the class name
+     * @return the registered id, or the class name when not registered
+     */
+    String idFor(String className) {
+        return idsByClassName.getOrDefault(className, className);
+    }
+
+    /**
+     * Gets the class registered under an id.
+     *
+     * @param id the type id
+     * @return the class, empty when the id is not registered
+     */
+    Optional<Class<?>> classFor(String id) {
+        return Optional.ofNullable(classesById.get(id));
+    }
+
+    /**
+     * Default typing builder resolving class ids through the registry.
+     */
+    private static final class RegistryTypeResolverBuilder extends ObjectMapper.DefaultTypeResolverBuilder {
+
+        /** The serial version UID. */
+        private static final long serialVersionUID = 1L;
+
+        /** The registry. */
+        private final transient TypeIdRegistry registry;
+
+        /**
+         * Instantiates a new registry type resolver builder.
+         *
+         * @param applicability the types written with type information
+         * @param ptv the polymorphic type validator
+         * @param registry the registry
+         */
+        RegistryTypeResolverBuilder(ObjectMapper.DefaultTyping applicability, PolymorphicTypeValidator ptv,
+                                    TypeIdRegistry registry) {
+            super(applicability, ptv);
+            this.registry = registry;
+        }
+
+        /**
+         * Creates the resolver of a base type.
+         *
+         * @param config the mapper config
+         * @param baseType the base type
+         * @param subtypeValidator the subtype validator
+         * @param subtypes the known subtypes
+         * @param forSer whether the resolver serializes
+         * @param forDeser whether the resolver deserializes
+         * @return the type id resolver
+         */
+        @Override
+        protected TypeIdResolver idResolver(MapperConfig<?> config, JavaType baseType,
+                                            PolymorphicTypeValidator subtypeValidator,
+                                            Collection<NamedType> subtypes, boolean forSer, boolean forDeser) {
+            return new RegistryTypeIdResolver(baseType, config.getTypeFactory(), subtypes, subtypeValidator,
+                    registry);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.ajuarez0021.redis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Value codec bound to a single class. The reader and writer are resolved
+ * once, so values are read straight into the class without type metadata or
+ * a class lookup.
+ *
+ * @author ajuar
+ * @param <V> The value type
+ */
+public class TypedValueCodec<V> implements ValueCodec {
+
+    /** The reader. */
+    private final ObjectReader reader;
+
+    /** The writer. */
+    private final ObjectWriter writer;
+
+    /** The value type. */
+    private final Class<V> valueType;
+
+    /** The header byte. */
+    private final byte header;
+
+    /**
+     * Instantiates a new typed value codec.
+     *
+     * @param objectMapper the object mapper, without default typing
+     * @param valueType the value type
+     * @param header the header byte, or {@link ValueCodec#NO_HEADER}
+     */
+    public TypedValueCodec(ObjectMapper objectMapper, Class<V> valueType, byte header) {
+        this.reader = objectMapper.readerFor(valueType);
+        this.writer = objectMapper.writerFor(valueType);
+        this.valueType = valueType;
+        this.header = header;
+    }
+
+    /**
+     * Gets the header byte.
+     *
+     * @return the header byte
+     */
+    @Override
+    public byte header() {
+        return header;
+    }
+
+    /**
+     * Encodes a value.
+     *
+     * @param value the value
+     * @param out the output stream
+     * @throws IOException if the value cannot be encoded
+     */
+    @Override
+    public void encode(Object value, OutputStream out) throws IOException {
+        writer.writeValue(out, valueType.cast(value));
+    }
+
+    /**
+     * Decodes a value of the bound type.
+     *
+     * @param <T> the generic type
+     * @param bytes the bytes
+     * @param offset the offset
+     * @param length the length
+     * @param type the requested type, a supertype of the bound type
+     * @return the value
+     * @throws IOException if the bytes cannot be decoded
+     */
+    @Override
+    public <T> T decode(byte[] bytes, int offset, int length, Class<T> type) throws IOException {
+        return type.cast(reader.readValue(bytes, offset, length));
+    }
+
+    /**
+     * Decodes a value from a buffer, streaming off-heap buffers without copying
+     * them to an array.
+     *
+     * @param <T> the generic type
+     * @param buffer the buffer positioned at the payload
+     * @param type the type
+     * @return the value
+     * @throws IOException if the bytes cannot be decoded
+     */
+    @Override
+    public <T> T decode(ByteBuffer buffer, Class<T> type) throws IOException {
+        if (buffer.hasArray()) {
+            return ValueCodec.super.decode(buffer, type);
+        }
+        return type.cast(reader.readValue(new ByteBufferBackedInputStream(buffer)));
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.ajuarez0021.redis.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes cached values and pub/sub messages to the bytes stored in Redis.
+ *
+ * <p>{@link CodecRedisSerializer} writes the {@link #header()} byte in front of
+ * the encoded value and uses it on reads to pick the codec, so values written in
+ * different formats can be read side by side while a cache is migrated.</p>
+ *
+ * @author ajuar
+ */
+public interface ValueCodec {
+
+    /** The header of a codec whose payloads are written without a header byte. */
+    byte NO_HEADER = 0;
+
+    /**
+     * Gets the header byte marking the payloads of this codec. It must never be
+     * the first byte of a JSON document.
+     *
+     * @return the header byte, or {@link #NO_HEADER}
+     */
+    byte header();
+
+    /**
+     * Encodes a value.
+     *
+     * @param value the value, never null
+     * @param out the output stream
+     * @throws IOException if the value cannot be encoded
+     */
+    void encode(Object value, OutputStream out) throws IOException;
+
+    /**
+     * Decodes a value.
+     *
+     * @param <T> the generic type
+     * @param bytes the bytes
+     * @param offset the offset of the payload, after the header byte
+     * @param length the length of the payload
+     * @param type the type
+     * @return the value
+     * @throws IOException if the bytes cannot be decoded
+     */
+    <T> T decode(byte[] bytes, int offset, int length, Class<T> type) throws IOException;
+
+    /**
+     * Decodes a value from the remaining bytes of a buffer. Heap buffers are
+     * read in place; other buffers are copied, unless the codec overrides this
+     * method to read them as a stream.
+     *
+     * @param <T> the generic type
+     * @param buffer the buffer positioned at the payload, after the header byte
+     * @param type the type
+     * @return the value
+     * @throws IOException if the bytes cannot be decoded
+     */
+    default <T> T decode(ByteBuffer buffer, Class<T> type) throws IOException {
+        if (buffer.hasArray()) {
+            return decode(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining(), type);
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return decode(bytes, 0, bytes.length, type);
+    }
+}
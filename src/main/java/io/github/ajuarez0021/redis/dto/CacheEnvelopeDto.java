@@ -0,0 +1,34 @@
+package io.github.ajuarez0021.redis.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A coalesce cache value stored together with its soft expiry and the time
+ * it took to compute. The Redis entry may outlive the soft expiry so the value
+ * can still be served, stale, while it is refreshed in the background.
+ *
+ * @author ajuar
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheEnvelopeDto implements java.io.Serializable {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The cached value. It holds whatever the configured value serializer
+     * writes, so it needs to be Serializable only under Java serialization.
+     */
+    @SuppressWarnings("serial")
+    private Object value;
+
+    /** The epoch millis after which the value is stale. */
+    private long softExpiresAt;
+
+    /** The milliseconds the loader took to compute the value. */
+    private long computeMillis;
+}
@@ -0,0 +1,31 @@
+package io.github.ajuarez0021.redis.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Options of a coalesced load.
+ *
+ * @author ajuar
+ */
+@Builder
+@Getter
+public class CoalesceOptionsDto {
+
+    /** The TTL in seconds. */
+    @Builder.Default
+    private long ttl = 300;
+
+    /** Whether null results are cached. */
+    private boolean cacheNull;
+
+    /** The lease of the coalescing lock in seconds. */
+    @Builder.Default
+    private long lockLease = 30;
+
+    /** The seconds a value keeps being served after its TTL while it is refreshed, zero to disable. */
+    private long staleTtl;
+
+    /** The weight of the probabilistic early refresh, zero to disable. */
+    private double earlyRefreshBeta;
+}
@@ -25,7 +25,11 @@ public class CoalescedResponseDto implements Serializable{
     /** The coalescing key. */
     private String coalescingKey;
     
-    /** The result. */
+    /**
+     * The result. It holds whatever the configured value serializer writes, so
+     * it needs to be Serializable only under Java serialization.
+     */
+    @SuppressWarnings("serial")
     private Object result;
     
     /** The error. */
@@ -0,0 +1,47 @@
+package io.github.ajuarez0021.redis.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Value compression counters since startup.
+ *
+ * @author ajuar
+ */
+@Builder
+@Getter
+@ToString
+public class CompressionStatsDto {
+
+    /** The number of values written compressed. */
+    private final long compressedValues;
+
+    /** The number of values written uncompressed. */
+    private final long uncompressedValues;
+
+    /** The serialized size of the compressed values. */
+    private final long bytesBeforeCompression;
+
+    /** The stored size of the compressed values. */
+    private final long bytesAfterCompression;
+
+    /** The time spent compressing, in nanoseconds. */
+    private final long compressionNanos;
+
+    /** The number of values decompressed. */
+    private final long decompressedValues;
+
+    /** The time spent decompressing, in nanoseconds. */
+    private final long decompressionNanos;
+
+    /**
+     * Gets the compression ratio, the stored size divided by the serialized
+     * size of the compressed values.
+     *
+     * @return the ratio, 1 when nothing was compressed
+     */
+    public double getCompressionRatio() {
+        return bytesBeforeCompression == 0 ? 1.0 : (double) bytesAfterCompression / bytesBeforeCompression;
+    }
+}
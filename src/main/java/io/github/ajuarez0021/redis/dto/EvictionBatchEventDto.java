@@ -0,0 +1,48 @@
+package io.github.ajuarez0021.redis.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Eviction event covering several keys at once, published instead of one
+ * {@link EvictionEventDto} per key. Either {@code keys} or {@code pattern} is set.
+ *
+ * @author ajuar
+ */
+@Data
+@NoArgsConstructor
+public class EvictionBatchEventDto implements java.io.Serializable {
+
+    /** The Constant serialVersionUID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The full keys evicted, held in a serializable list. */
+    private ArrayList<String> keys;
+
+    /** The glob-style pattern of the full keys evicted. */
+    private String pattern;
+
+    /** The timestamp. */
+    private LocalDateTime timestamp;
+
+    /** The id of the cache manager that published the event. */
+    private String origin;
+
+    /**
+     * Instantiates a new eviction batch event.
+     *
+     * @param keys the full keys evicted, copied; null when a pattern is set
+     * @param pattern the pattern of the full keys evicted
+     * @param timestamp the timestamp
+     * @param origin the id of the publishing cache manager
+     */
+    public EvictionBatchEventDto(List<String> keys, String pattern, LocalDateTime timestamp, String origin) {
+        this.keys = keys != null ? new ArrayList<>(keys) : null;
+        this.pattern = pattern;
+        this.timestamp = timestamp;
+        this.origin = origin;
+    }
+}
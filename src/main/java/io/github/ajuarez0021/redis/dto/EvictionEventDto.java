@@ -23,4 +23,7 @@ public class EvictionEventDto implements java.io.Serializable {
     
     /** The timestamp. */
     private LocalDateTime timestamp;
+
+    /** The id of the cache manager that published the event. */
+    private String origin;
 }
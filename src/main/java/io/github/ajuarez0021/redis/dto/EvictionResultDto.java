@@ -0,0 +1,26 @@
+package io.github.ajuarez0021.redis.dto;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Progress of a bulk eviction that walked the keyspace with SCAN.
+ *
+ * @author ajuar
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class EvictionResultDto {
+
+    /** The number of keys returned by the scan. */
+    private final long keysScanned;
+
+    /** The number of keys removed by UNLINK. */
+    private final long keysDeleted;
+
+    /** The elapsed time. */
+    private final Duration elapsed;
+}
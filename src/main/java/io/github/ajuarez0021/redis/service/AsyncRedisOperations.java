@@ -0,0 +1,208 @@
+package io.github.ajuarez0021.redis.service;
+
+import io.github.ajuarez0021.redis.config.StreamingRedisCodec;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.output.IntegerOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.output.ValueOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Non-blocking access to the commands used by the asynchronous paths of
+ * {@link CoalesceCacheManager}.
+ *
+ * <p>Commands are issued on the native Lettuce async API of the template's
+ * connection factory and serialized with the template's serializers, so the
+ * entries are interchangeable with those written through {@link RedisTemplate}.
+ * Commands carrying values are dispatched with a {@link StreamingRedisCodec}, which
+ * encodes values straight into Lettuce's pooled buffers and decodes replies from a
+ * view of the read buffer instead of going through byte arrays.
+ * The returned futures complete on Lettuce I/O threads; callbacks chained on
+ * them must not block.</p>
+ *
+ * @author ajuar
+ */
+public class AsyncRedisOperations {
+
+    /** The redis template. */
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /** The codec of the value commands, created on first use. */
+    private volatile StreamingRedisCodec codec;
+
+    /**
+     * Instantiates a new async redis operations.
+     *
+     * @param redisTemplate the redis template
+     */
+    public AsyncRedisOperations(RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key the key
+     * @return the future value, null when absent
+     */
+    public CompletableFuture<Object> get(String key) {
+        return dispatch(CommandType.GET, ValueOutput::new, codec -> new CommandArgs<>(codec).addKey(rawKey(key)));
+    }
+
+    /**
+     * Sets a value only if the key does not exist (SET NX EX).
+     *
+     * @param key the key
+     * @param value the value
+     * @param timeout the expiration
+     * @return the future, true when the key was set
+     */
+    public CompletableFuture<Boolean> setIfAbsent(String key, Object value, Duration timeout) {
+        return dispatch(CommandType.SET, StatusOutput::new, codec -> {
+            CommandArgs<byte[], Object> args = new CommandArgs<>(codec).addKey(rawKey(key)).addValue(value);
+            SetArgs.Builder.nx().ex(timeout).build(args);
+            return args;
+        }).thenApply("OK"::equals);
+    }
+
+    /**
+     * Sets a value.
+     *
+     * @param key the key
+     * @param value the value
+     * @param ttlSeconds the TTL in seconds, zero or negative for no expiration
+     * @return the future
+     */
+    public CompletableFuture<Void> set(String key, Object value, long ttlSeconds) {
+        return dispatch(CommandType.SET, StatusOutput::new, codec -> {
+            CommandArgs<byte[], Object> args = new CommandArgs<>(codec).addKey(rawKey(key)).addValue(value);
+            if (ttlSeconds > 0) {
+                SetArgs.Builder.ex(ttlSeconds).build(args);
+            }
+            return args;
+        }).thenApply(reply -> null);
+    }
+
+    /**
+     * Deletes a lock only if it still holds the token.
+     *
+     * @param key the lock key
+     * @param token the token stored in the lock
+     * @return the future, 1 when the lock was released
+     */
+    public CompletableFuture<Long> releaseLock(String key, Object token) {
+        return execute(commands -> commands.<Long>eval(LockScripts.RELEASE.getScriptAsString(),
+                ScriptOutputType.INTEGER, new byte[][] {rawKey(key)}, rawValue(token)));
+    }
+
+    /**
+     * Publishes a message serialized like {@link RedisTemplate#convertAndSend(String, Object)}.
+     *
+     * @param channel the channel
+     * @param message the message
+     * @return the future number of receivers
+     */
+    public CompletableFuture<Long> publish(String channel, Object message) {
+        return dispatch(CommandType.PUBLISH, IntegerOutput::new, codec -> new CommandArgs<>(codec)
+                .addKey(redisTemplate.getStringSerializer().serialize(channel)).addValue(message));
+    }
+
+    /**
+     * Dispatches a command encoded and decoded by the streaming codec.
+     *
+     * @param <T> the reply type
+     * @param type the command type
+     * @param output the output factory
+     * @param args the arguments factory
+     * @return the future reply
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> CompletableFuture<T> dispatch(CommandType type,
+            Function<StreamingRedisCodec, CommandOutput<byte[], Object, T>> output,
+            Function<StreamingRedisCodec, CommandArgs<byte[], Object>> args) {
+        return execute(commands -> {
+            StreamingRedisCodec current = codec();
+            return ((RedisClusterAsyncCommands) commands).dispatch(type, output.apply(current), args.apply(current));
+        });
+    }
+
+    /**
+     * Runs a command on the native async connection and releases the
+     * connection once the reply arrives.
+     *
+     * @param <T> the reply type
+     * @param command the command
+     * @return the future reply
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> execute(
+            Function<RedisClusterAsyncCommands<byte[], byte[]>, RedisFuture<T>> command) {
+        RedisConnectionFactory connectionFactory = redisTemplate.getConnectionFactory();
+        if (connectionFactory == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("RedisTemplate has no connection factory."));
+        }
+
+        RedisConnection connection = connectionFactory.getConnection();
+        try {
+            if (!(connection.getNativeConnection() instanceof RedisClusterAsyncCommands<?, ?> commands)) {
+                throw new IllegalStateException("Asynchronous operations require a Lettuce connection.");
+            }
+            return command.apply((RedisClusterAsyncCommands<byte[], byte[]>) commands)
+                    .toCompletableFuture()
+                    .whenComplete((reply, error) -> connection.close());
+        } catch (RuntimeException e) {
+            connection.close();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Gets the codec writing values with the template's value serializer.
+     *
+     * @return the streaming redis codec
+     */
+    @SuppressWarnings("unchecked")
+    private StreamingRedisCodec codec() {
+        StreamingRedisCodec current = codec;
+        if (current == null) {
+            current = new StreamingRedisCodec((RedisSerializer<Object>) redisTemplate.getValueSerializer());
+            codec = current;
+        }
+        return current;
+    }
+
+    /**
+     * Serializes a key.
+     *
+     * @param key the key
+     * @return the bytes
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    /**
+     * Serializes a value.
+     *
+     * @param value the value
+     * @return the bytes
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] rawValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+}
@@ -0,0 +1,148 @@
+package io.github.ajuarez0021.redis.service;
+
+import io.github.ajuarez0021.redis.dto.CoalesceOptionsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects coalesce cache writes and evictions and sends them to Redis
+ * together.
+ *
+ * <p>Operations run in the order they were added. Puts and single-key
+ * evictions share one pipelined round trip; an eviction by prefix or pattern
+ * flushes what was collected before it and then scans as usual.</p>
+ *
+ * <p><b>Thread Safety:</b> This class is NOT thread-safe. Obtain a new batch
+ * from {@link CoalesceCacheManager#batch()} for each unit of work.</p>
+ *
+ * @author ajuar
+ */
+public final class CacheWriteBatch {
+
+    /** The cache manager. */
+    private final CoalesceCacheManager cacheManager;
+
+    /** The collected operations. */
+    private final List<Operation> operations = new ArrayList<>();
+
+    /**
+     * Instantiates a new cache write batch.
+     *
+     * @param cacheManager the cache manager
+     */
+    CacheWriteBatch(CoalesceCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Adds a put.
+     *
+     * @param key the key
+     * @param value the value
+     * @param ttlSeconds the ttl seconds
+     * @return the cache write batch
+     */
+    public CacheWriteBatch put(String key, Object value, long ttlSeconds) {
+        return put(key, value, CoalesceOptionsDto.builder().ttl(ttlSeconds).build());
+    }
+
+    /**
+     * Adds a put with the given options.
+     *
+     * @param key the key
+     * @param value the value
+     * @param options the options
+     * @return the cache write batch
+     * @see CoalesceCacheManager#put(String, Object, CoalesceOptionsDto)
+     */
+    public CacheWriteBatch put(String key, Object value, CoalesceOptionsDto options) {
+        operations.add(new Put(key, value, options));
+        return this;
+    }
+
+    /**
+     * Adds the eviction of a key.
+     *
+     * @param key the key
+     * @return the cache write batch
+     */
+    public CacheWriteBatch evict(String key) {
+        operations.add(new Evict(key));
+        return this;
+    }
+
+    /**
+     * Adds the eviction of every key starting with a prefix.
+     *
+     * @param prefix the prefix
+     * @return the cache write batch
+     */
+    public CacheWriteBatch evictAll(String prefix) {
+        operations.add(new EvictMatching(prefix + "*"));
+        return this;
+    }
+
+    /**
+     * Adds the eviction of every key matching a glob-style pattern.
+     *
+     * @param pattern the pattern
+     * @return the cache write batch
+     */
+    public CacheWriteBatch evictPattern(String pattern) {
+        operations.add(new EvictMatching(pattern));
+        return this;
+    }
+
+    /**
+     * Checks if the batch has no operations.
+     *
+     * @return true, if empty
+     */
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * Sends the collected operations and clears the batch.
+     */
+    public void execute() {
+        if (operations.isEmpty()) {
+            return;
+        }
+        cacheManager.write(List.copyOf(operations));
+        operations.clear();
+    }
+
+    /**
+     * A batched operation.
+     */
+    sealed interface Operation permits Put, Evict, EvictMatching {
+    }
+
+    /**
+     * A batched put.
+     *
+     * @param key the key
+     * @param value the value
+     * @param options the options
+     */
+    record Put(String key, Object value, CoalesceOptionsDto options) implements Operation {
+    }
+
+    /**
+     * A batched single-key eviction.
+     *
+     * @param key the key
+     */
+    record Evict(String key) implements Operation {
+    }
+
+    /**
+     * A batched eviction by pattern.
+     *
+     * @param pattern the pattern, relative to the cache prefix
+     */
+    record EvictMatching(String pattern) implements Operation {
+    }
+}
@@ -1,27 +1,50 @@
 package io.github.ajuarez0021.redis.service;
 
+import io.github.ajuarez0021.redis.dto.CacheEnvelopeDto;
+import io.github.ajuarez0021.redis.dto.CoalesceOptionsDto;
 import io.github.ajuarez0021.redis.dto.CoalescedResponseDto;
+import io.github.ajuarez0021.redis.dto.EvictionBatchEventDto;
 import io.github.ajuarez0021.redis.dto.EvictionEventDto;
+import io.github.ajuarez0021.redis.dto.EvictionResultDto;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import io.github.ajuarez0021.redis.exception.CoalesceException;
+import io.github.ajuarez0021.redis.util.NotificationMode;
+import io.github.ajuarez0021.redis.util.ReadPreference;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
 /**
@@ -36,7 +59,7 @@ public class CoalesceCacheManager {
     private final RedisTemplate<String, Object> redisTemplate;
 
     /** The Constant CACHE_PREFIX. */
-    private static final String CACHE_PREFIX = "coalesce:cache:";
+    static final String CACHE_PREFIX = "coalesce:cache:";
 
     /** The Constant LOCK_PREFIX. */
     private static final String LOCK_PREFIX = "coalesce:lock:";
@@ -44,13 +67,59 @@ public class CoalesceCacheManager {
     /** The Constant EVICT_CHANNEL. */
     private static final String EVICT_CHANNEL = "coalesce:evict";
 
+    /** The default lease of the coalescing lock in seconds. */
+    private static final long DEFAULT_LOCK_LEASE = 30;
+
+    /** The number of threads running background refreshes. */
+    private static final int REFRESH_THREADS = 4;
+
+    /** The number of background refreshes that can wait for a thread. */
+    private static final int REFRESH_QUEUE_CAPACITY = 256;
+
+    /** The number of keys requested per SCAN call and removed per UNLINK. */
+    private static final int SCAN_BATCH_SIZE = 100;
+
     /** The Constant COALESCE_CHANNEL. */
     private static final String COALESCE_CHANNEL = "coalesce:ready";
 
+    /** The prefix of the per-key ready channels used in {@link NotificationMode#PER_KEY}. */
+    private static final String READY_CHANNEL_PREFIX = COALESCE_CHANNEL + ":";
+
     /** The pending requests map for local waiting. */
     private final ConcurrentHashMap<String, CompletableFuture<Object>> pendingRequests =
             new ConcurrentHashMap<>();
 
+    /** The optional in-process L1 tier, null when disabled. */
+    private final NearCache nearCache;
+
+    /** The non-blocking commands used by {@link #getOrLoadAsync}. */
+    private final AsyncRedisOperations asyncOperations;
+
+    /** The keys with a background refresh scheduled or running on this node. */
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    /** The bounded executor running background refreshes of stale keys. */
+    private final ThreadPoolExecutor refreshExecutor = createRefreshExecutor();
+
+    /** The listener container, used for the per-key ready subscriptions. */
+    private final RedisMessageListenerContainer listenerContainer;
+
+    /** How waiters are notified that a coalesced value is ready. */
+    private final NotificationMode notificationMode;
+
+    /** Whether plain reads may be served by a replica lagging behind the master. */
+    private final boolean replicaReads;
+
+    /** Whether near caches are told about writes and evictions on the {@code coalesce:evict} channel. */
+    private final boolean publishesEvictions;
+
+    /** The id stamped on the eviction events of this manager, so it can skip its own. */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    /** The scheduler renewing the leases of locks whose loader is still running. */
+    private final ScheduledExecutorService lockWatchdog = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("coalesce-lock-watchdog").daemon().factory());
+
     /**
      * Instantiates a new coalesce cache manager.
      *
@@ -60,17 +129,97 @@ public class CoalesceCacheManager {
     public CoalesceCacheManager(
             RedisTemplate<String, Object> redisTemplate,
             RedisMessageListenerContainer listenerContainer) {
+        this(redisTemplate, listenerContainer, null);
+    }
+
+    /**
+     * Instantiates a new coalesce cache manager with an in-process L1 tier.
+     *
+     * @param redisTemplate the redis template
+     * @param listenerContainer the listener container
+     * @param nearCache the near cache, or null to read every key from Redis
+     */
+    public CoalesceCacheManager(
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            NearCache nearCache) {
+        this(redisTemplate, listenerContainer, nearCache, new AsyncRedisOperations(redisTemplate));
+    }
+
+    /**
+     * Instantiates a new coalesce cache manager with explicit async operations.
+     *
+     * @param redisTemplate the redis template
+     * @param listenerContainer the listener container
+     * @param nearCache the near cache, or null to read every key from Redis
+     * @param asyncOperations the non-blocking commands
+     */
+    public CoalesceCacheManager(
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            NearCache nearCache,
+            AsyncRedisOperations asyncOperations) {
+        this(redisTemplate, listenerContainer, nearCache, asyncOperations, NotificationMode.BROADCAST);
+    }
+
+    /**
+     * Instantiates a new coalesce cache manager with a notification mode.
+     *
+     * @param redisTemplate the redis template
+     * @param listenerContainer the listener container
+     * @param nearCache the near cache, or null to read every key from Redis
+     * @param asyncOperations the non-blocking commands
+     * @param notificationMode how waiters are notified that a value is ready
+     */
+    public CoalesceCacheManager(
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            NearCache nearCache,
+            AsyncRedisOperations asyncOperations,
+            NotificationMode notificationMode) {
+        this(redisTemplate, listenerContainer, nearCache, asyncOperations, notificationMode, ReadPreference.MASTER);
+    }
+
+    /**
+     * Instantiates a new coalesce cache manager for a connection routing
+     * reads with the given preference. When reads may hit a replica, the
+     * value announced by a per-key notification is read on the master.
+     *
+     * @param redisTemplate the redis template
+     * @param listenerContainer the listener container
+     * @param nearCache the near cache, or null to read every key from Redis
+     * @param asyncOperations the non-blocking commands
+     * @param notificationMode how waiters are notified that a value is ready
+     * @param readFrom the read preference of the connection
+     */
+    public CoalesceCacheManager(
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            NearCache nearCache,
+            AsyncRedisOperations asyncOperations,
+            NotificationMode notificationMode,
+            ReadPreference readFrom) {
         this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.nearCache = nearCache;
+        this.asyncOperations = asyncOperations;
+        this.notificationMode = notificationMode;
+        this.replicaReads = readFrom.readsReplicas();
+        this.publishesEvictions = nearCache == null || !nearCache.isServerInvalidated();
 
-        listenerContainer.addMessageListener(
-                this::handleEvictionEvent,
-                new ChannelTopic(EVICT_CHANNEL)
-        );
+        if (publishesEvictions) {
+            listenerContainer.addMessageListener(
+                    this::handleEvictionEvent,
+                    new ChannelTopic(EVICT_CHANNEL)
+            );
+        }
 
-        listenerContainer.addMessageListener(
-                this::handleCoalesceEvent,
-                new ChannelTopic(COALESCE_CHANNEL)
-        );
+        if (notificationMode == NotificationMode.BROADCAST) {
+            listenerContainer.addMessageListener(
+                    this::handleCoalesceEvent,
+                    new ChannelTopic(COALESCE_CHANNEL)
+            );
+        }
     }
 
     /**
@@ -92,6 +241,65 @@ public class CoalesceCacheManager {
             redisTemplate.opsForValue().set(fullKey, value);
         }
         log.debug("Cached value for key: {}", fullKey);
+
+        if (nearCache != null) {
+            nearCache.put(fullKey, value, ttlSeconds);
+            publishEviction(fullKey);
+        }
+    }
+
+    /**
+     * Puts a value with the given options. When a stale TTL or an early
+     * refresh is set, the value is stored with its soft expiry and the Redis
+     * entry lives for the TTL plus the stale TTL.
+     *
+     * @param key the key
+     * @param value the value
+     * @param options the options
+     */
+    public void put(String key, Object value, CoalesceOptionsDto options) {
+        store(key, value, options, 0);
+    }
+
+    /**
+     * Stores a value, wrapped in a {@link CacheEnvelopeDto} when the options
+     * need its soft expiry or its compute time.
+     *
+     * @param key the key
+     * @param value the value
+     * @param options the options
+     * @param computeMillis the milliseconds the loader took
+     */
+    private void store(String key, Object value, CoalesceOptionsDto options, long computeMillis) {
+        if (!usesEnvelope(options)) {
+            put(key, value, options.getTtl());
+            return;
+        }
+        put(key, envelope(value, options, computeMillis), options.getTtl() + options.getStaleTtl());
+    }
+
+    /**
+     * Checks whether values stored with the options are wrapped in a
+     * {@link CacheEnvelopeDto}.
+     *
+     * @param options the options
+     * @return true, if a stale TTL or an early refresh is set on a positive TTL
+     */
+    private static boolean usesEnvelope(CoalesceOptionsDto options) {
+        return (options.getStaleTtl() > 0 || options.getEarlyRefreshBeta() > 0) && options.getTtl() > 0;
+    }
+
+    /**
+     * Wraps a value with its soft expiry and compute time.
+     *
+     * @param value the value
+     * @param options the options
+     * @param computeMillis the milliseconds the loader took
+     * @return the cache envelope
+     */
+    private static CacheEnvelopeDto envelope(Object value, CoalesceOptionsDto options, long computeMillis) {
+        long softExpiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(options.getTtl());
+        return new CacheEnvelopeDto(value, softExpiresAt, computeMillis);
     }
 
     /**
@@ -102,7 +310,7 @@ public class CoalesceCacheManager {
      */
     public Optional<Object> get(String key) {
         String fullKey = CACHE_PREFIX + key;
-        Object value = redisTemplate.opsForValue().get(fullKey);
+        Object value = unwrapEnvelope(lookup(fullKey));
         if (value != null) {
             log.debug("Cache hit for key: {}", fullKey);
         } else {
@@ -111,6 +319,141 @@ public class CoalesceCacheManager {
         return Optional.ofNullable(value);
     }
 
+    /**
+     * Gets several keys with a single MGET. Keys held by the near cache are
+     * served locally and left out of the request.
+     *
+     * @param keys the keys
+     * @return the values, in the order of the keys
+     */
+    public List<Optional<Object>> getAll(List<String> keys) {
+        List<Optional<Object>> values = new ArrayList<>(keys.size());
+        List<String> missingKeys = new ArrayList<>(keys.size());
+        List<Integer> missingPositions = new ArrayList<>(keys.size());
+
+        for (String key : keys) {
+            String fullKey = CACHE_PREFIX + key;
+            Optional<Object> local = nearCache != null ? nearCache.get(fullKey) : Optional.empty();
+            if (local.isPresent()) {
+                values.add(Optional.ofNullable(unwrapEnvelope(local.get())));
+            } else {
+                missingKeys.add(fullKey);
+                missingPositions.add(values.size());
+                values.add(Optional.empty());
+            }
+        }
+
+        if (!missingKeys.isEmpty()) {
+            long[] stamps = nearCache != null ? missingKeys.stream().mapToLong(nearCache::stamp).toArray() : null;
+            List<Object> fetched = redisTemplate.opsForValue().multiGet(missingKeys);
+            for (int i = 0; fetched != null && i < Math.min(fetched.size(), missingKeys.size()); i++) {
+                Object value = fetched.get(i);
+                if (nearCache != null) {
+                    nearCache.putIfUnchanged(missingKeys.get(i), value, stamps[i]);
+                }
+                values.set(missingPositions.get(i), Optional.ofNullable(unwrapEnvelope(value)));
+            }
+        }
+
+        log.debug("Fetched {} keys, {} from Redis", keys.size(), missingKeys.size());
+        return values;
+    }
+
+    /**
+     * Starts a batch of writes and evictions sent together.
+     *
+     * @return the cache write batch
+     */
+    public CacheWriteBatch batch() {
+        return new CacheWriteBatch(this);
+    }
+
+    /**
+     * Runs the operations of a batch in order. Consecutive puts and
+     * single-key evictions are pipelined; pattern evictions scan on their own.
+     *
+     * @param operations the operations
+     */
+    void write(List<CacheWriteBatch.Operation> operations) {
+        List<CacheWriteBatch.Operation> pending = new ArrayList<>(operations.size());
+        for (CacheWriteBatch.Operation operation : operations) {
+            if (operation instanceof CacheWriteBatch.EvictMatching matching) {
+                writePipelined(pending);
+                pending.clear();
+                unlinkMatching(CACHE_PREFIX + matching.pattern(), true);
+            } else {
+                pending.add(operation);
+            }
+        }
+        writePipelined(pending);
+    }
+
+    /**
+     * Sends puts and single-key evictions in one pipeline, together with a
+     * single {@link EvictionBatchEventDto} naming every touched key.
+     *
+     * <p>With a near cache the event is published for batches of puts only
+     * too, so other instances drop their stale copies; it carries the id of
+     * this manager, which ignores it and keeps the values it has just stored.</p>
+     *
+     * @param operations the puts and evictions
+     */
+    private void writePipelined(List<CacheWriteBatch.Operation> operations) {
+        if (operations.isEmpty()) {
+            return;
+        }
+
+        List<String> fullKeys = new ArrayList<>(operations.size());
+        boolean evicts = false;
+        List<Runnable> localUpdates = new ArrayList<>(operations.size());
+        List<Consumer<RedisOperations<String, Object>>> commands =
+                new ArrayList<>(operations.size());
+
+        for (CacheWriteBatch.Operation operation : operations) {
+            if (operation instanceof CacheWriteBatch.Put put) {
+                String fullKey = CACHE_PREFIX + put.key();
+                CoalesceOptionsDto options = put.options();
+                Object value = usesEnvelope(options) ? envelope(put.value(), options, 0) : put.value();
+                long ttl = usesEnvelope(options) ? options.getTtl() + options.getStaleTtl() : options.getTtl();
+                commands.add(ops -> {
+                    if (ttl > 0) {
+                        ops.opsForValue().set(fullKey, value, Duration.ofSeconds(ttl));
+                    } else {
+                        ops.opsForValue().set(fullKey, value);
+                    }
+                });
+                if (nearCache != null) {
+                    localUpdates.add(() -> nearCache.put(fullKey, value, ttl));
+                }
+                fullKeys.add(fullKey);
+            } else if (operation instanceof CacheWriteBatch.Evict evict) {
+                String fullKey = CACHE_PREFIX + evict.key();
+                commands.add(ops -> ops.delete(fullKey));
+                localUpdates.add(() -> invalidateLocal(fullKey));
+                fullKeys.add(fullKey);
+                evicts = true;
+            }
+        }
+
+        EvictionBatchEventDto event = publishesEvictions && (evicts || nearCache != null)
+                ? batchEvictionEvent(fullKeys, null)
+                : null;
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                commands.forEach(command -> command.accept(ops));
+                if (event != null) {
+                    ops.convertAndSend(EVICT_CHANNEL, event);
+                }
+                return null;
+            }
+        });
+        localUpdates.forEach(Runnable::run);
+        log.debug("Wrote {} cache operations in one pipeline", operations.size());
+    }
+
     /**
      * Evict.
      *
@@ -119,43 +462,30 @@ public class CoalesceCacheManager {
     public void evict(String key) {
         String fullKey = CACHE_PREFIX + key;
         redisTemplate.delete(fullKey);
+        invalidateLocal(fullKey);
         log.info("Evicted cache key: {}", fullKey);
 
         publishEviction(fullKey);
     }
 
     /**
-     * Evict all.
+     * Evicts every key starting with a prefix.
      *
      * @param prefix the prefix
+     * @return the eviction result
      */
-    public void evictAll(String prefix) {
-        String pattern = CACHE_PREFIX + prefix + "*";
-        Set<String> keys = redisTemplate.keys(pattern);
-
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("Evicted {} keys matching pattern: {}", keys.size(), pattern);
-
-            keys.forEach(this::publishEviction);
-        }
+    public EvictionResultDto evictAll(String prefix) {
+        return unlinkMatching(CACHE_PREFIX + prefix + "*", true);
     }
 
     /**
-     * Evict pattern.
+     * Evicts every key matching a glob-style pattern.
      *
      * @param pattern the pattern
+     * @return the eviction result
      */
-    public void evictPattern(String pattern) {
-        String fullPattern = CACHE_PREFIX + pattern;
-        Set<String> keys = redisTemplate.keys(fullPattern);
-
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("Evicted {} keys matching pattern: {}", keys.size(), fullPattern);
-
-            keys.forEach(this::publishEviction);
-        }
+    public EvictionResultDto evictPattern(String pattern) {
+        return unlinkMatching(CACHE_PREFIX + pattern, true);
     }
 
     /**
@@ -170,9 +500,12 @@ public class CoalesceCacheManager {
 
         if (!fullKeys.isEmpty()) {
             redisTemplate.delete(fullKeys);
+            invalidateLocal(fullKeys);
             log.info("Evicted {} cache keys", fullKeys.size());
 
-            fullKeys.forEach(this::publishEviction);
+            if (publishesEvictions) {
+                redisTemplate.convertAndSend(EVICT_CHANNEL, batchEvictionEvent(fullKeys, null));
+            }
         }
     }
 
@@ -188,16 +521,24 @@ public class CoalesceCacheManager {
     }
 
     /**
-     * Clear.
+     * Removes every coalesce cache entry.
+     *
+     * @return the eviction result
      */
-    public void clear() {
-        String pattern = CACHE_PREFIX + "*";
-        Set<String> keys = redisTemplate.keys(pattern);
+    public EvictionResultDto clear() {
+        if (nearCache != null) {
+            nearCache.invalidateAll();
+        }
 
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.warn("Cleared all cache entries: {} keys", keys.size());
+        String pattern = CACHE_PREFIX + "*";
+        EvictionResultDto result = unlinkMatching(pattern, false);
+        if (result.getKeysDeleted() > 0) {
+            log.warn("Cleared all cache entries: {} keys", result.getKeysDeleted());
         }
+        if (publishesEvictions) {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, batchEvictionEvent(null, pattern));
+        }
+        return result;
     }
 
     /**
@@ -221,6 +562,7 @@ public class CoalesceCacheManager {
     public void expire(String key, long ttlSeconds) {
         String fullKey = CACHE_PREFIX + key;
         redisTemplate.expire(fullKey, Duration.ofSeconds(ttlSeconds));
+        invalidateLocal(fullKey);
         log.debug("Set expiration for key: {} to {} seconds", fullKey, ttlSeconds);
     }
 
@@ -228,6 +570,10 @@ public class CoalesceCacheManager {
      * Gets or loads a value with request coalescing using Redis pub/sub.
      * Only one instance will execute the loader, others wait for the result.
      *
+     * <p>Within one JVM only the first caller for a key talks to Redis for the
+     * lock and the pub/sub wait; concurrent callers for the same key join its
+     * future instead of competing for the lock themselves.</p>
+     *
      * @param key the cache key
      * @param loader the supplier to load the value if not cached
      * @param ttlSeconds the TTL in seconds
@@ -235,59 +581,698 @@ public class CoalesceCacheManager {
      * @return the cached or loaded value
      */
     public Object getOrLoad(String key, Supplier<Object> loader, long ttlSeconds, boolean cacheNull) {
+        return getOrLoad(key, loader, ttlSeconds, cacheNull, DEFAULT_LOCK_LEASE);
+    }
+
+    /**
+     * Gets or loads a value with request coalescing, holding the lock with the
+     * given lease. The lease is renewed every third of its duration while the
+     * loader runs, so a slow loader never lets another instance start a
+     * duplicate load.
+     *
+     * @param key the cache key
+     * @param loader the supplier to load the value if not cached
+     * @param ttlSeconds the TTL in seconds
+     * @param cacheNull whether to cache null results
+     * @param lockLeaseSeconds the lease of the coalescing lock in seconds
+     * @return the cached or loaded value
+     */
+    public Object getOrLoad(String key, Supplier<Object> loader, long ttlSeconds, boolean cacheNull,
+            long lockLeaseSeconds) {
+        return getOrLoad(key, loader, CoalesceOptionsDto.builder()
+                .ttl(ttlSeconds)
+                .cacheNull(cacheNull)
+                .lockLease(lockLeaseSeconds)
+                .build());
+    }
+
+    /**
+     * Gets or loads a value with request coalescing and the given options.
+     *
+     * <p>With a stale TTL, a value past its soft expiry is still returned at
+     * once while a single background refresh, guarded by the same distributed
+     * lock, reloads it on a bounded executor.</p>
+     *
+     * <p>With an early refresh beta, each hit may refresh the value before it
+     * expires, with a probability that rises as the expiry approaches and with
+     * the time the value took to compute (XFetch). Since the callers of a key
+     * draw independently, refreshes spread out instead of all happening at the
+     * expiry, so they run without the distributed lock.</p>
+     *
+     * @param key the cache key
+     * @param loader the supplier to load the value if not cached
+     * @param options the options
+     * @return the cached or loaded value
+     */
+    public Object getOrLoad(String key, Supplier<Object> loader, CoalesceOptionsDto options) {
         String fullKey = CACHE_PREFIX + key;
-        String lockKey = LOCK_PREFIX + key;
-        String requestId = UUID.randomUUID().toString();
 
-        Object cached = redisTemplate.opsForValue().get(fullKey);
+        Object cached = lookup(fullKey);
+        if (cached instanceof CacheEnvelopeDto envelope) {
+            long now = System.currentTimeMillis();
+            if (now >= envelope.getSoftExpiresAt()) {
+                log.debug("Serving stale value for key: {}, refreshing in background", fullKey);
+                refreshInBackground(key, loader, options, true);
+            } else if (shouldRefreshEarly(envelope, options.getEarlyRefreshBeta(), now)) {
+                log.debug("Refreshing key: {} ahead of its expiry", fullKey);
+                refreshInBackground(key, loader, options, false);
+            }
+            return envelope.getValue();
+        }
         if (cached != null) {
             log.debug("Cache hit for coalesced key: {}", fullKey);
             return cached;
         }
 
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = pendingRequests.putIfAbsent(key, flight);
+        if (existing != null) {
+            log.debug("Joining in-flight request for key: {}", fullKey);
+            return waitForResult(key, existing, options.getTtl());
+        }
+
+        try {
+            Object result = loadOrWait(key, flight, loader, options);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            pendingRequests.remove(key, flight);
+        }
+    }
+
+    /**
+     * Executes the loader under the distributed lock, or waits for the
+     * instance holding it to publish the result.
+     *
+     * @param key the cache key
+     * @param flight the local future shared by the callers of this key
+     * @param loader the supplier to load the value if not cached
+     * @param options the options
+     * @return the loaded value
+     */
+    private Object loadOrWait(String key, CompletableFuture<Object> flight,
+            Supplier<Object> loader, CoalesceOptionsDto options) {
+        String fullKey = CACHE_PREFIX + key;
+        String lockKey = LOCK_PREFIX + key;
+        String requestId = UUID.randomUUID().toString();
+        long lease = leaseOf(options.getLockLease());
+
         Boolean acquired = redisTemplate.opsForValue().setIfAbsent(
                 lockKey,
                 requestId,
-                Duration.ofSeconds(30)
+                Duration.ofSeconds(lease)
         );
 
         if (Boolean.TRUE.equals(acquired)) {
+            return loadAsOwner(key, lockKey, requestId, loader, options);
+        } else {
+            log.debug("Lock not acquired for key: {}, waiting for result", fullKey);
+            Runnable unsubscribe = subscribeReady(key, flight);
+            try {
+                return waitForResult(key, flight, options.getTtl());
+            } finally {
+                unsubscribe.run();
+            }
+        }
+    }
+
+    /**
+     * Runs the loader while holding the lock, stores and publishes the
+     * result, then releases the lock.
+     *
+     * @param key the cache key
+     * @param lockKey the lock key
+     * @param requestId the token stored in the lock
+     * @param loader the supplier to load the value
+     * @param options the options
+     * @return the loaded value
+     */
+    private Object loadAsOwner(String key, String lockKey, String requestId,
+            Supplier<Object> loader, CoalesceOptionsDto options) {
+        log.debug("Acquired lock for key: {}, executing loader", CACHE_PREFIX + key);
+        Runnable stopRenewal = scheduleRenewal(lockKey, requestId, leaseOf(options.getLockLease()));
+        try {
+            Object result = compute(key, loader, options);
+
+            publishCoalesceResult(key, result, null);
+
+            return result;
+        } catch (Exception e) {
+            publishCoalesceResult(key, null, e);
+            throw e;
+        } finally {
+            stopRenewal.run();
+            releaseLock(lockKey, requestId);
+        }
+    }
+
+    /**
+     * Runs the loader and stores its result, recording how long it took.
+     *
+     * @param key the cache key
+     * @param loader the supplier to load the value
+     * @param options the options
+     * @return the loaded value
+     */
+    private Object compute(String key, Supplier<Object> loader, CoalesceOptionsDto options) {
+        long start = System.nanoTime();
+        Object result = loader.get();
+        long computeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        if (result != null || options.isCacheNull()) {
+            store(key, result, options, computeMillis);
+        }
+        return result;
+    }
+
+    /**
+     * Decides whether a fresh entry is refreshed ahead of its expiry: true when
+     * {@code now - computeMillis * beta * ln(random)} reaches the expiry.
+     *
+     * @param envelope the cached entry
+     * @param beta the early refresh beta, zero or negative to disable
+     * @param now the current epoch millis
+     * @return true, if the entry should be refreshed now
+     */
+    private static boolean shouldRefreshEarly(CacheEnvelopeDto envelope, double beta, long now) {
+        if (beta <= 0 || envelope.getComputeMillis() <= 0) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double gap = -envelope.getComputeMillis() * beta * Math.log(random);
+        return now + gap >= envelope.getSoftExpiresAt();
+    }
+
+    /**
+     * Schedules a single background refresh of a key. Refreshes already
+     * running on this node are not repeated, and refreshes that do not fit in
+     * the bounded queue are dropped; the cached value keeps being served.
+     *
+     * @param key the cache key
+     * @param loader the supplier to load the value
+     * @param options the options
+     * @param locked whether the refresh takes the distributed lock
+     */
+    private void refreshInBackground(String key, Supplier<Object> loader, CoalesceOptionsDto options,
+            boolean locked) {
+        if (!refreshingKeys.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    if (locked) {
+                        refresh(key, loader, options);
+                    } else {
+                        compute(key, loader, options);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Background refresh failed for key {} {}", key, e.getMessage());
+                } finally {
+                    refreshingKeys.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshingKeys.remove(key);
+            log.debug("Refresh queue full, skipping background refresh for key: {}", key);
+        }
+    }
+
+    /**
+     * Reloads a key if no other instance holds its lock.
+     *
+     * @param key the cache key
+     * @param loader the supplier to load the value
+     * @param options the options
+     */
+    private void refresh(String key, Supplier<Object> loader, CoalesceOptionsDto options) {
+        String lockKey = LOCK_PREFIX + key;
+        String requestId = UUID.randomUUID().toString();
+
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(
+                lockKey,
+                requestId,
+                Duration.ofSeconds(leaseOf(options.getLockLease()))
+        );
+        if (Boolean.TRUE.equals(acquired)) {
+            loadAsOwner(key, lockKey, requestId, loader, options);
+        } else {
+            log.debug("Key {} is already being loaded elsewhere, skipping refresh", key);
+        }
+    }
+
+    /**
+     * Gets the lease to use, falling back to the default for non-positive values.
+     *
+     * @param lockLeaseSeconds the requested lease in seconds
+     * @return the lease in seconds
+     */
+    private static long leaseOf(long lockLeaseSeconds) {
+        return lockLeaseSeconds > 0 ? lockLeaseSeconds : DEFAULT_LOCK_LEASE;
+    }
+
+    /**
+     * Gets the value held by an entry read from the cache.
+     *
+     * @param cached the entry, possibly wrapped in a {@link CacheEnvelopeDto}
+     * @return the value
+     */
+    private static Object unwrapEnvelope(Object cached) {
+        return cached instanceof CacheEnvelopeDto envelope ? envelope.getValue() : cached;
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOrLoad}. The returned future is
+     * completed by the loader, by the pub/sub listener when another instance
+     * holds the lock, or by a cache read once the wait times out; no thread
+     * is parked while waiting.
+     *
+     * <p>Callbacks run on Lettuce I/O threads, so the loader must return its
+     * stage without blocking.</p>
+     *
+     * @param key the cache key
+     * @param loader the supplier of the stage loading the value if not cached
+     * @param ttlSeconds the TTL in seconds
+     * @param cacheNull whether to cache null results
+     * @return the future cached or loaded value
+     */
+    public CompletableFuture<Object> getOrLoadAsync(String key, Supplier<? extends CompletionStage<Object>> loader,
+            long ttlSeconds, boolean cacheNull) {
+        return getOrLoadAsync(key, loader, ttlSeconds, cacheNull, DEFAULT_LOCK_LEASE);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOrLoad(String, Supplier, long, boolean, long)}.
+     *
+     * @param key the cache key
+     * @param loader the supplier of the stage loading the value if not cached
+     * @param ttlSeconds the TTL in seconds
+     * @param cacheNull whether to cache null results
+     * @param lockLeaseSeconds the lease of the coalescing lock in seconds
+     * @return the future cached or loaded value
+     */
+    public CompletableFuture<Object> getOrLoadAsync(String key, Supplier<? extends CompletionStage<Object>> loader,
+            long ttlSeconds, boolean cacheNull, long lockLeaseSeconds) {
+        String fullKey = CACHE_PREFIX + key;
+
+        if (nearCache != null) {
+            Optional<Object> local = nearCache.get(fullKey);
+            if (local.isPresent()) {
+                return CompletableFuture.completedFuture(unwrapEnvelope(local.get()));
+            }
+        }
+
+        long stamp = nearCache != null ? nearCache.stamp(fullKey) : 0;
+        return asyncOperations.get(fullKey).thenCompose(cached -> {
+            if (cached != null) {
+                log.debug("Cache hit for coalesced key: {}", fullKey);
+                if (nearCache != null) {
+                    // Keep the entry as Redis holds it, like lookup does, so envelopes stay whole.
+                    nearCache.putIfUnchanged(fullKey, cached, stamp);
+                }
+                return CompletableFuture.completedFuture(unwrapEnvelope(cached));
+            }
+
+            CompletableFuture<Object> flight = new CompletableFuture<>();
+            CompletableFuture<Object> existing = pendingRequests.putIfAbsent(key, flight);
+            if (existing != null) {
+                log.debug("Joining in-flight request for key: {}", fullKey);
+                return awaitResult(key, existing, ttlSeconds);
+            }
+
+            loadOrWaitAsync(key, flight, loader, ttlSeconds, cacheNull, lockLeaseSeconds)
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            flight.completeExceptionally(unwrap(error));
+                        } else {
+                            flight.complete(result);
+                        }
+                        pendingRequests.remove(key, flight);
+                    });
+            // Hand out a copy, so cancelling or completing it cannot fail the joiners of this key.
+            return flight.copy();
+        });
+    }
+
+    /**
+     * Non-blocking variant of {@link #loadOrWait}.
+     *
+     * @param key the cache key
+     * @param flight the local future shared by the callers of this key
+     * @param loader the supplier of the stage loading the value
+     * @param ttlSeconds the TTL in seconds
+     * @param cacheNull whether to cache null results
+     * @param lockLeaseSeconds the lease of the coalescing lock in seconds
+     * @return the future loaded value
+     */
+    private CompletableFuture<Object> loadOrWaitAsync(String key, CompletableFuture<Object> flight,
+            Supplier<? extends CompletionStage<Object>> loader, long ttlSeconds, boolean cacheNull,
+            long lockLeaseSeconds) {
+        String fullKey = CACHE_PREFIX + key;
+        String lockKey = LOCK_PREFIX + key;
+        String requestId = UUID.randomUUID().toString();
+        long lease = leaseOf(lockLeaseSeconds);
+
+        return asyncOperations.setIfAbsent(lockKey, requestId, Duration.ofSeconds(lease)).thenCompose(acquired -> {
+            if (!Boolean.TRUE.equals(acquired)) {
+                log.debug("Lock not acquired for key: {}, waiting for result", fullKey);
+                if (notificationMode == NotificationMode.BROADCAST) {
+                    return awaitResult(key, flight, ttlSeconds);
+                }
+                // Subscribing blocks until Redis confirms it, so keep it off the Lettuce I/O thread.
+                return CompletableFuture.supplyAsync(() -> subscribeReady(key, flight))
+                        .thenCompose(unsubscribe -> awaitResult(key, flight, ttlSeconds)
+                                .whenComplete((result, error) -> CompletableFuture.runAsync(unsubscribe)));
+            }
 
             log.debug("Acquired lock for key: {}, executing loader", fullKey);
-            try {
-                Object result = loader.get();
+            Runnable stopRenewal = scheduleRenewal(lockKey, requestId, lease);
+            return invokeLoader(loader)
+                    .thenCompose(result -> result != null || cacheNull
+                            ? putAsync(key, result, ttlSeconds).thenApply(ignored -> result)
+                            : CompletableFuture.completedFuture(result))
+                    .whenComplete((result, error) -> {
+                        stopRenewal.run();
+                        asyncOperations.publish(readyChannel(key),
+                                readyMessage(key, result, error != null ? unwrap(error) : null));
+                        asyncOperations.releaseLock(lockKey, requestId);
+                    });
+        });
+    }
+
+    /**
+     * Schedules the renewal of a held lock every third of its lease.
+     *
+     * @param lockKey the lock key
+     * @param requestId the token stored in the lock
+     * @param leaseSeconds the lease in seconds
+     * @return the action stopping the renewal once the loader finishes
+     */
+    private Runnable scheduleRenewal(String lockKey, String requestId, long leaseSeconds) {
+        long leaseMillis = TimeUnit.SECONDS.toMillis(leaseSeconds);
+        long period = Math.max(1, leaseMillis / 3);
+        try {
+            ScheduledFuture<?> renewal = lockWatchdog.scheduleAtFixedRate(
+                    () -> renewLock(lockKey, requestId, leaseMillis), period, period, TimeUnit.MILLISECONDS);
+            return () -> renewal.cancel(false);
+        } catch (RejectedExecutionException e) {
+            log.warn("Lock watchdog is shut down, lock {} will not be renewed", lockKey);
+            return () -> { };
+        }
+    }
+
+    /**
+     * Extends a lock that still holds the token. Once the lock is found held
+     * by another token, throwing stops the periodic renewal.
+     *
+     * @param lockKey the lock key
+     * @param requestId the token stored in the lock
+     * @param leaseMillis the lease in milliseconds
+     */
+    private void renewLock(String lockKey, String requestId, long leaseMillis) {
+        Long renewed;
+        try {
+            renewed = redisTemplate.execute(LockScripts.RENEW, LockScripts.ARGS_SERIALIZER,
+                    LockScripts.RESULT_SERIALIZER, List.of(lockKey), rawValue(requestId), leaseMillis);
+        } catch (RuntimeException e) {
+            log.warn("Error renewing lock {} {}", lockKey, e.getMessage());
+            return;
+        }
+        if (!Long.valueOf(1L).equals(renewed)) {
+            log.warn("Lock {} is no longer held, stopping renewal", lockKey);
+            throw new IllegalStateException("Lock no longer held: " + lockKey);
+        }
+        log.debug("Renewed lock {} for {} ms", lockKey, leaseMillis);
+    }
+
+    /**
+     * Deletes a lock only if it still holds the token.
+     *
+     * @param lockKey the lock key
+     * @param requestId the token stored in the lock
+     */
+    private void releaseLock(String lockKey, String requestId) {
+        Long released = redisTemplate.execute(LockScripts.RELEASE, LockScripts.ARGS_SERIALIZER,
+                LockScripts.RESULT_SERIALIZER, List.of(lockKey), rawValue(requestId));
+        if (!Long.valueOf(1L).equals(released)) {
+            log.warn("Lock {} was no longer held when its loader finished", lockKey);
+        }
+    }
+
+    /**
+     * Serializes a value like the template does, so the scripts compare the
+     * exact bytes stored in the lock.
+     *
+     * @param value the value
+     * @return the bytes
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] rawValue(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
+    }
+
+    /**
+     * Stops the lock watchdog and the background refreshes and closes the
+     * near cache. Locks still held expire after their lease.
+     */
+    public void shutdown() {
+        lockWatchdog.shutdownNow();
+        refreshExecutor.shutdownNow();
+        if (nearCache != null) {
+            nearCache.close();
+        }
+    }
+
+    /**
+     * Creates the executor of background refreshes. Its queue is bounded and
+     * its threads are daemons that time out when idle.
+     *
+     * @return the thread pool executor
+     */
+    private static ThreadPoolExecutor createRefreshExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                REFRESH_THREADS, REFRESH_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY),
+                Thread.ofPlatform().name("coalesce-refresh-", 0).daemon().factory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Invokes an asynchronous loader, turning a synchronous failure into a failed future.
+     *
+     * @param loader the loader
+     * @return the future value
+     */
+    private static CompletableFuture<Object> invokeLoader(Supplier<? extends CompletionStage<Object>> loader) {
+        try {
+            CompletionStage<Object> stage = loader.get();
+            return stage != null ? stage.toCompletableFuture() : CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #get}.
+     *
+     * @param key the key
+     * @return the future optional value
+     */
+    public CompletableFuture<Optional<Object>> getAsync(String key) {
+        String fullKey = CACHE_PREFIX + key;
+        if (nearCache != null) {
+            Optional<Object> local = nearCache.get(fullKey);
+            if (local.isPresent()) {
+                return CompletableFuture.completedFuture(Optional.ofNullable(unwrapEnvelope(local.get())));
+            }
+        }
+        long stamp = nearCache != null ? nearCache.stamp(fullKey) : 0;
+        return asyncOperations.get(fullKey).thenApply(cached -> {
+            if (nearCache != null) {
+                nearCache.putIfUnchanged(fullKey, cached, stamp);
+            }
+            return Optional.ofNullable(unwrapEnvelope(cached));
+        });
+    }
+
+    /**
+     * Non-blocking variant of {@link #put}.
+     *
+     * @param key the key
+     * @param value the value
+     * @param ttlSeconds the ttl seconds
+     * @return the future
+     */
+    public CompletableFuture<Void> putAsync(String key, Object value, long ttlSeconds) {
+        String fullKey = CACHE_PREFIX + key;
+        return asyncOperations.set(fullKey, value, ttlSeconds).thenRun(() -> {
+            log.debug("Cached value for key: {}", fullKey);
+            if (nearCache != null) {
+                nearCache.put(fullKey, value, ttlSeconds);
+                asyncOperations.publish(EVICT_CHANNEL, evictionEvent(fullKey));
+            }
+        });
+    }
+
+    /**
+     * Non-blocking variant of {@link #waitForResult}. The shared future is
+     * copied so the timeout only affects this waiter.
+     *
+     * @param key the cache key
+     * @param future the future completed with the result
+     * @param timeoutSeconds the maximum time to wait
+     * @return the future loaded value
+     */
+    private CompletableFuture<Object> awaitResult(String key, CompletableFuture<Object> future,
+            long timeoutSeconds) {
+        long timeout = timeoutSeconds > 0 ? timeoutSeconds : 30;
+        return future.copy()
+                .orTimeout(timeout, TimeUnit.SECONDS)
+                .exceptionallyCompose(error -> {
+                    log.warn("Timeout or error waiting for coalesced result for key {} {}", key, error.getMessage());
+                    return asyncOperations.get(CACHE_PREFIX + key).thenApply(cached -> {
+                        if (cached != null) {
+                            return unwrapEnvelope(cached);
+                        }
+                        throw new CoalesceException("Failed to get coalesced result for key: " + key, unwrap(error));
+                    });
+                });
+    }
+
+    /**
+     * Unwraps the {@link CompletionException} added by dependent stages.
+     *
+     * @param error the error
+     * @return the cause
+     */
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 
+    /**
+     * Reads a key from the near cache, falling back to Redis and keeping
+     * a local copy of what Redis returned.
+     *
+     * @param fullKey the full key
+     * @return the value, or null when absent
+     */
+    private Object lookup(String fullKey) {
+        if (nearCache == null) {
+            return redisTemplate.opsForValue().get(fullKey);
+        }
+        Optional<Object> local = nearCache.get(fullKey);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        long stamp = nearCache.stamp(fullKey);
+        Object value = redisTemplate.opsForValue().get(fullKey);
+        nearCache.putIfUnchanged(fullKey, value, stamp);
+        return value;
+    }
 
-                if (result != null || cacheNull) {
-                    put(key, result, ttlSeconds);
+    /**
+     * Walks the keys matching a pattern with SCAN and removes them with
+     * UNLINK in batches, so neither Redis nor the heap ever holds the whole
+     * match set.
+     *
+     * @param pattern the full key pattern
+     * @param notify whether to drop local copies and publish eviction events
+     * @return the eviction result
+     */
+    private EvictionResultDto unlinkMatching(String pattern, boolean notify) {
+        long start = System.nanoTime();
+        long scanned = 0;
+        long deleted = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+
+        List<String> batch = new ArrayList<>(SCAN_BATCH_SIZE);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                scanned++;
+                if (batch.size() >= SCAN_BATCH_SIZE) {
+                    deleted += unlinkBatch(batch, notify);
+                    batch.clear();
                 }
+            }
+            if (!batch.isEmpty()) {
+                deleted += unlinkBatch(batch, notify);
+            }
+        }
 
-                publishCoalesceResult(key, result, null);
+        EvictionResultDto result = new EvictionResultDto(scanned, deleted, Duration.ofNanos(System.nanoTime() - start));
+        log.info("Evicted {} of {} scanned keys matching pattern: {} in {} ms",
+                deleted, scanned, pattern, result.getElapsed().toMillis());
+        return result;
+    }
 
-                return result;
-            } catch (Exception e) {
-                publishCoalesceResult(key, null, e);
-                throw e;
-            } finally {
-                redisTemplate.delete(lockKey);
+    /**
+     * Unlinks one scan batch. When notifying, the UNLINK and a single
+     * {@link EvictionBatchEventDto} for the whole batch share one pipelined round trip.
+     *
+     * @param fullKeys the full keys
+     * @param notify whether to drop local copies and publish an eviction event
+     * @return the number of keys removed
+     */
+    private long unlinkBatch(List<String> fullKeys, boolean notify) {
+        if (notify) {
+            invalidateLocal(fullKeys);
+        }
+        if (!notify || !publishesEvictions) {
+            Long unlinked = redisTemplate.unlink(fullKeys);
+            return unlinked != null ? unlinked : 0;
+        }
+
+        EvictionBatchEventDto event = batchEvictionEvent(fullKeys, null);
+        List<Object> replies = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.unlink(fullKeys);
+                ops.convertAndSend(EVICT_CHANNEL, event);
+                return null;
             }
-        } else {
-            log.debug("Lock not acquired for key: {}, waiting for result", fullKey);
-            return waitForResult(key, ttlSeconds);
+        });
+        return !replies.isEmpty() && replies.get(0) instanceof Long unlinked ? unlinked : 0;
+    }
+
+    /**
+     * Drops the local copy of a key.
+     *
+     * @param fullKey the full key
+     */
+    private void invalidateLocal(String fullKey) {
+        if (nearCache != null) {
+            nearCache.invalidate(fullKey);
         }
     }
 
     /**
-     * Waits for a coalesced result from pub/sub.
+     * Drops the local copies of several keys.
+     *
+     * @param fullKeys the full keys
+     */
+    private void invalidateLocal(Collection<String> fullKeys) {
+        if (nearCache != null) {
+            nearCache.invalidateAll(fullKeys);
+        }
+    }
+
+    /**
+     * Waits for a coalesced result, either published over pub/sub or
+     * produced by the local caller that owns the request.
      *
      * @param key the cache key
+     * @param future the future completed with the result
      * @param timeoutSeconds the maximum time to wait
      * @return the loaded value
      */
-    private Object waitForResult(String key, long timeoutSeconds) {
-        CompletableFuture<Object> future = new CompletableFuture<>();
-        pendingRequests.put(key, future);
-
+    private Object waitForResult(String key, CompletableFuture<Object> future, long timeoutSeconds) {
         try {
             long timeout = timeoutSeconds > 0 ? timeoutSeconds : 30;
             return future.get(timeout, TimeUnit.SECONDS);
@@ -300,11 +1285,9 @@ public class CoalesceCacheManager {
             Object cached = redisTemplate.opsForValue().get(fullKey);
 
             if (cached != null) {
-                return cached;
+                return unwrapEnvelope(cached);
             }
             throw new CoalesceException("Failed to get coalesced result for key: " + key, e);
-        } finally {
-            pendingRequests.remove(key);
         }
     }
 
@@ -316,15 +1299,125 @@ public class CoalesceCacheManager {
      * @param error the error if any
      */
     private void publishCoalesceResult(String key, Object result, Throwable error) {
-        CoalescedResponseDto response = new CoalescedResponseDto(
+        redisTemplate.convertAndSend(readyChannel(key), readyMessage(key, result, error));
+        log.debug("Published coalesce result for key: {}", key);
+    }
+
+    /**
+     * Gets the channel announcing that a key is ready.
+     *
+     * @param key the cache key
+     * @return the channel
+     */
+    private String readyChannel(String key) {
+        return notificationMode == NotificationMode.PER_KEY ? READY_CHANNEL_PREFIX + key : COALESCE_CHANNEL;
+    }
+
+    /**
+     * Builds the message announcing that a key is ready. Per-key
+     * notifications carry only the key, and waiters read the value
+     * themselves; a failed load is announced with its error so waiters fail
+     * as they do with broadcast notifications.
+     *
+     * @param key the cache key
+     * @param result the result
+     * @param error the error if any
+     * @return the message
+     */
+    private Object readyMessage(String key, Object result, Throwable error) {
+        if (notificationMode == NotificationMode.PER_KEY) {
+            return error != null ? coalescedResponse(key, null, error) : key;
+        }
+        return coalescedResponse(key, result, error);
+    }
+
+    /**
+     * Gets the loader error announced by a per-key ready message.
+     *
+     * @param message the message
+     * @return the error, or null when the load succeeded
+     */
+    private Throwable readyError(Message message) {
+        byte[] body = message.getBody();
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return redisTemplate.getValueSerializer().deserialize(body) instanceof CoalescedResponseDto response
+                    ? response.getError() : null;
+        } catch (SerializationException e) {
+            log.error("Error reading ready message {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Subscribes a waiter to the ready channel of its key when notifications
+     * are per key. Once subscribed, the cache is read again so a result
+     * published before the subscription took effect is not missed.
+     *
+     * @param key the cache key
+     * @param future the future completed with the value read after the notification
+     * @return the action removing the subscription
+     */
+    private Runnable subscribeReady(String key, CompletableFuture<Object> future) {
+        if (notificationMode != NotificationMode.PER_KEY) {
+            return () -> { };
+        }
+
+        String fullKey = CACHE_PREFIX + key;
+        ChannelTopic topic = new ChannelTopic(READY_CHANNEL_PREFIX + key);
+        MessageListener listener = (message, pattern) -> {
+            try {
+                Throwable error = readyError(message);
+                if (error != null) {
+                    future.completeExceptionally(new CoalesceException("Loader failed for key: " + key, error));
+                    return;
+                }
+                future.complete(unwrapEnvelope(readAnnounced(fullKey)));
+                log.debug("Completed pending request for key: {}", key);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+        };
+        listenerContainer.addMessageListener(listener, topic);
+
+        Object cached = readAnnounced(fullKey);
+        if (cached != null) {
+            future.complete(unwrapEnvelope(cached));
+        }
+        return () -> listenerContainer.removeMessageListener(listener, topic);
+    }
+
+    /**
+     * Reads a value another node announced as ready, on the master when
+     * plain reads may be served by a replica that has not received it yet.
+     *
+     * @param fullKey the full key
+     * @return the value, or null when absent
+     */
+    private Object readAnnounced(String fullKey) {
+        return replicaReads
+                ? redisTemplate.execute(LockScripts.READ, List.of(fullKey))
+                : redisTemplate.opsForValue().get(fullKey);
+    }
+
+    /**
+     * Builds the message announcing a coalesced result.
+     *
+     * @param key the cache key
+     * @param result the result
+     * @param error the error if any
+     * @return the coalesced response
+     */
+    private static CoalescedResponseDto coalescedResponse(String key, Object result, Throwable error) {
+        return new CoalescedResponseDto(
                 UUID.randomUUID().toString(),
                 key,
                 result,
                 error,
                 LocalDateTime.now()
         );
-        redisTemplate.convertAndSend(COALESCE_CHANNEL, response);
-        log.debug("Published coalesce result for key: {}", key);
     }
 
     /**
@@ -362,8 +1455,32 @@ public class CoalesceCacheManager {
      * @param key the key
      */
     private void publishEviction(String key) {
-        EvictionEventDto event = new EvictionEventDto(key, LocalDateTime.now());
-        redisTemplate.convertAndSend(EVICT_CHANNEL, event);
+        if (!publishesEvictions) {
+            return;
+        }
+        redisTemplate.convertAndSend(EVICT_CHANNEL, evictionEvent(key));
+    }
+
+    /**
+     * Creates the eviction event of a key, stamped with the id of this manager.
+     *
+     * @param key the full key
+     * @return the event
+     */
+    private EvictionEventDto evictionEvent(String key) {
+        return new EvictionEventDto(key, LocalDateTime.now(), instanceId);
+    }
+
+    /**
+     * Creates the eviction event of several keys or of a pattern, stamped
+     * with the id of this manager.
+     *
+     * @param fullKeys the full keys, or null
+     * @param pattern the full key pattern, or null
+     * @return the event
+     */
+    private EvictionBatchEventDto batchEvictionEvent(List<String> fullKeys, String pattern) {
+        return new EvictionBatchEventDto(fullKeys, pattern, LocalDateTime.now(), instanceId);
     }
 
     /**
@@ -374,14 +1491,41 @@ public class CoalesceCacheManager {
      */
     private void handleEvictionEvent(Message message, byte[] pattern) {
         try {
-            EvictionEventDto event = (EvictionEventDto) redisTemplate
-                    .getValueSerializer().deserialize(message.getBody());
+            Object event = redisTemplate.getValueSerializer().deserialize(message.getBody());
 
-            if (event != null) {
-                log.debug("Received eviction event for key: {}", event.getKey());
+            if (event instanceof EvictionEventDto single) {
+                if (instanceId.equals(single.getOrigin())) {
+                    // This node already holds the value it wrote, or dropped the key it evicted.
+                    return;
+                }
+                log.debug("Received eviction event for key: {}", single.getKey());
+                invalidateLocal(single.getKey());
+            } else if (event instanceof EvictionBatchEventDto batch) {
+                handleEvictionBatch(batch);
             }
         } catch (SerializationException e) {
             log.error("Error handling eviction event {}", e.getMessage());
         }
     }
+
+    /**
+     * Drops the local copies named by a batched eviction event in one pass.
+     *
+     * @param event the event
+     */
+    private void handleEvictionBatch(EvictionBatchEventDto event) {
+        if (instanceId.equals(event.getOrigin())) {
+            return;
+        }
+        if (event.getKeys() != null) {
+            log.debug("Received eviction event for {} keys", event.getKeys().size());
+            invalidateLocal(event.getKeys());
+        }
+        if (event.getPattern() != null) {
+            log.debug("Received eviction event for pattern: {}", event.getPattern());
+            if (nearCache != null) {
+                nearCache.invalidateMatching(event.getPattern());
+            }
+        }
+    }
 }
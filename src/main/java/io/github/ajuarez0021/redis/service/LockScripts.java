@@ -0,0 +1,62 @@
+package io.github.ajuarez0021.redis.service;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Lua scripts guarding the coalescing lock. Both only act while the lock
+ * still holds the caller's token, so an owner whose lease already expired
+ * can never release or extend the lock of the next owner.
+ *
+ * <p>{@link #READ} reads a key on the master: scripts never run on replicas,
+ * so a waiter sees the value its notification announced even when ordinary
+ * reads are routed to a lagging replica.</p>
+ *
+ * <p>ARGV[1] is the token serialized like the lock value; ARGV[2] is the
+ * lease in milliseconds as plain text.</p>
+ *
+ * @author ajuar
+ */
+final class LockScripts {
+
+    /** Deletes the lock if it still holds the token. */
+    static final RedisScript<Long> RELEASE = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    /** Extends the lock by the lease if it still holds the token. */
+    static final RedisScript<Long> RENEW = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then "
+                    + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+
+    /** Reads a key on the master. */
+    static final RedisScript<Object> READ = RedisScript.of("return redis.call('get', KEYS[1])", Object.class);
+
+    /** Passes pre-serialized tokens through and writes any other argument as text. */
+    static final RedisSerializer<Object> ARGS_SERIALIZER = new RedisSerializer<>() {
+
+        @Override
+        public byte[] serialize(Object value) throws SerializationException {
+            return value instanceof byte[] bytes ? bytes : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) throws SerializationException {
+            return bytes;
+        }
+    };
+
+    /** Reads the integer replies of the scripts. */
+    static final RedisSerializer<Long> RESULT_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    /**
+     * Instantiates a new lock scripts.
+     */
+    private LockScripts() {
+    }
+}
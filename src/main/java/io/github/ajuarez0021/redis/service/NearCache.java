@@ -0,0 +1,276 @@
+package io.github.ajuarez0021.redis.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded on-heap L1 tier in front of the Redis entries of {@link CoalesceCacheManager}.
+ *
+ * <p>Entries live at most {@code ttlSeconds}. When a value is written on this node with a
+ * shorter Redis TTL, the local copy expires with the Redis entry instead. Copies held by other
+ * nodes are dropped through the eviction events received on the {@code coalesce:evict}
+ * channel, or by Redis itself with {@link TrackingNearCache}.</p>
+ *
+ * <p>A value read from Redis is stored with {@link #putIfUnchanged} and the stamp taken before
+ * the read, so an invalidation arriving while the read is in flight is never overwritten by the
+ * older value.</p>
+ *
+ * @author ajuar
+ */
+public class NearCache {
+
+    /** The local entries, keyed by the full Redis key. */
+    private final Cache<String, Entry> cache;
+
+    /** The maximum lifetime of a local entry in nanoseconds. */
+    private final long maxTtlNanos;
+
+    /** The number of invalidation counters keys are spread over. */
+    private static final int STRIPES = 1024;
+
+    /** The invalidations of single keys, per stripe. */
+    private final AtomicLongArray keyInvalidations = new AtomicLongArray(STRIPES);
+
+    /** The invalidations of every key or of a pattern. */
+    private final AtomicLong bulkInvalidations = new AtomicLong();
+
+    /**
+     * Instantiates a new near cache.
+     *
+     * @param maximumSize the maximum number of entries
+     * @param ttlSeconds the maximum lifetime of an entry in seconds
+     */
+    public NearCache(long maximumSize, long ttlSeconds) {
+        this.maxTtlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new EntryExpiry())
+                .build();
+    }
+
+    /**
+     * Gets the local copy of a key.
+     *
+     * @param key the full Redis key
+     * @return the optional
+     */
+    public Optional<Object> get(String key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry != null ? Optional.of(entry.value()) : Optional.empty();
+    }
+
+    /**
+     * Stores a value read from Redis. The entry lives for the near cache TTL.
+     *
+     * @param key the full Redis key
+     * @param value the value
+     */
+    public void put(String key, Object value) {
+        put(key, value, 0);
+    }
+
+    /**
+     * Stores a value, capping its lifetime to the Redis TTL it was written with.
+     *
+     * @param key the full Redis key
+     * @param value the value
+     * @param redisTtlSeconds the Redis TTL in seconds, zero or negative when the entry never expires
+     */
+    public void put(String key, Object value, long redisTtlSeconds) {
+        if (value == null) {
+            return;
+        }
+        long ttlNanos = redisTtlSeconds > 0
+                ? Math.min(maxTtlNanos, TimeUnit.SECONDS.toNanos(redisTtlSeconds))
+                : maxTtlNanos;
+        cache.put(key, new Entry(value, ttlNanos));
+    }
+
+    /**
+     * Gets the stamp to pass to {@link #putIfUnchanged} for a value about to be read from Redis.
+     *
+     * @param key the full Redis key
+     * @return the stamp
+     */
+    public long stamp(String key) {
+        return bulkInvalidations.get() + keyInvalidations.get(stripe(key));
+    }
+
+    /**
+     * Stores a value read from Redis unless the key was invalidated since the stamp was taken.
+     *
+     * @param key the full Redis key
+     * @param value the value
+     * @param stamp the stamp taken before the read
+     */
+    public void putIfUnchanged(String key, Object value, long stamp) {
+        if (value == null || stamp(key) != stamp) {
+            return;
+        }
+        put(key, value);
+        if (stamp(key) != stamp) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Invalidates a key.
+     *
+     * @param key the full Redis key
+     */
+    public void invalidate(String key) {
+        keyInvalidations.incrementAndGet(stripe(key));
+        cache.invalidate(key);
+    }
+
+    /**
+     * Invalidates several keys.
+     *
+     * @param keys the full Redis keys
+     */
+    public void invalidateAll(Collection<String> keys) {
+        keys.forEach(key -> keyInvalidations.incrementAndGet(stripe(key)));
+        cache.invalidateAll(keys);
+    }
+
+    /**
+     * Invalidates the keys matching a Redis glob-style pattern.
+     *
+     * @param pattern the pattern; {@code *}, {@code ?} and backslash escapes are supported
+     */
+    public void invalidateMatching(String pattern) {
+        Pattern regex = globToRegex(pattern);
+        bulkInvalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> regex.matcher(key).matches());
+    }
+
+    /**
+     * Invalidates every local entry.
+     */
+    public void invalidateAll() {
+        bulkInvalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Checks if Redis itself invalidates the local copies, so that eviction events
+     * on the {@code coalesce:evict} channel are not needed.
+     *
+     * @return true, if invalidated by the server
+     */
+    public boolean isServerInvalidated() {
+        return false;
+    }
+
+    /**
+     * Releases what keeps the local copies fresh. Nothing to release here.
+     */
+    public void close() {
+        // Invalidated through the eviction events of the cache manager.
+    }
+
+    /**
+     * Gets the invalidation stripe of a key.
+     *
+     * @param key the full Redis key
+     * @return the stripe
+     */
+    private static int stripe(String key) {
+        return key.hashCode() & (STRIPES - 1);
+    }
+
+    /**
+     * Gets the approximate number of local entries.
+     *
+     * @return the long
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Translates a Redis glob-style pattern into a regular expression.
+     *
+     * @param glob the glob
+     * @return the pattern
+     */
+    private static Pattern globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 8);
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else if (c == '\\' && i + 1 < glob.length()) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * A local value together with its own lifetime.
+     *
+     * @param value the value
+     * @param ttlNanos the lifetime in nanoseconds
+     */
+    private record Entry(Object value, long ttlNanos) {
+    }
+
+    /**
+     * Expires every entry after its own lifetime, counted from the last write.
+     */
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        /**
+         * Expire after create.
+         *
+         * @param key the key
+         * @param entry the entry
+         * @param currentTime the current time
+         * @return the long
+         */
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        /**
+         * Expire after update.
+         *
+         * @param key the key
+         * @param entry the entry
+         * @param currentTime the current time
+         * @param currentDuration the current duration
+         * @return the long
+         */
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        /**
+         * Expire after read.
+         *
+         * @param key the key
+         * @param entry the entry
+         * @param currentTime the current time
+         * @param currentDuration the current duration
+         * @return the long
+         */
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
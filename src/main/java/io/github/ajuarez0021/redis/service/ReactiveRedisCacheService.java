@@ -0,0 +1,307 @@
+package io.github.ajuarez0021.redis.service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+
+import io.github.ajuarez0021.redis.dto.CacheResult;
+import io.github.ajuarez0021.redis.util.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link RedisCacheService} built on
+ * {@link ReactiveRedisTemplate}.
+ *
+ * <p>Keys are built and values serialized the same way, so both services can
+ * share a cache. Every operation is lazy: nothing is sent to Redis until the
+ * returned publisher is subscribed. Redis failures are logged and treated as
+ * misses, as in the blocking service; loader failures are propagated.</p>
+ *
+ * @author ajuar
+ */
+@Slf4j
+public class ReactiveRedisCacheService {
+
+    /** The number of keys requested per SCAN call and removed per UNLINK. */
+    private static final int SCAN_BATCH_SIZE = 100;
+
+    /** The default ttl. */
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    /**
+     * The reactive redis template.
+     */
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * Instantiates a new reactive redis cache service.
+     *
+     * @param redisTemplate the reactive redis template
+     */
+    public ReactiveRedisCacheService(ReactiveRedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Equivalent to @Cacheable. Searches the cache and, if the key does not
+     * exist, subscribes to the loader and saves its value.
+     *
+     * @param <T> the generic type
+     * @param cacheName the cache name
+     * @param key the key
+     * @param loader the loader
+     * @param ttl the ttl
+     * @return the cached or loaded value, empty when the loader is empty
+     */
+    public <T> Mono<T> cacheable(String cacheName, String key, Mono<T> loader, Duration ttl) {
+        return cacheableWithResult(cacheName, key, loader, ttl).mapNotNull(CacheResult::getValue);
+    }
+
+    /**
+     * Overhead with default TTL of 10 minutes.
+     *
+     * @param <T> the generic type
+     * @param cacheName the cache name
+     * @param key the key
+     * @param loader the loader
+     * @return the cached or loaded value
+     */
+    public <T> Mono<T> cacheable(String cacheName, String key, Mono<T> loader) {
+        return cacheable(cacheName, key, loader, DEFAULT_TTL);
+    }
+
+    /**
+     * Cacheable operation that emits whether the value came from the cache.
+     *
+     * @param <T> the generic type
+     * @param cacheName the cache name
+     * @param key the key
+     * @param loader the loader to subscribe to on cache miss
+     * @param ttl the time to live
+     * @return CacheResult containing the value and hit/miss information
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<CacheResult<T>> cacheableWithResult(String cacheName, String key,
+                                                        Mono<T> loader, Duration ttl) {
+        Validator.validateReactiveCacheable(cacheName, key, loader, ttl);
+
+        String fullKey = buildKey(cacheName, key);
+        return redisTemplate.opsForValue().get(fullKey)
+                .map(cached -> {
+                    log.debug("Cache HIT - Key: {}", fullKey);
+                    return CacheResult.hit((T) cached);
+                })
+                .onErrorResume(e -> {
+                    log.error("Error in cacheable operation for key {}: {}", fullKey, e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> loader
+                        .flatMap(result -> set(fullKey, result, ttl).thenReturn(CacheResult.miss(result)))
+                        .defaultIfEmpty(CacheResult.miss(null))));
+    }
+
+    /**
+     * Equivalent to @CachePut. Always subscribes to the loader and saves its
+     * value; an empty loader evicts the key.
+     *
+     * @param <T> the generic type
+     * @param cacheName the cache name
+     * @param key the key
+     * @param loader the loader
+     * @param ttl the ttl
+     * @return the loaded value
+     */
+    public <T> Mono<T> cachePut(String cacheName, String key, Mono<T> loader, Duration ttl) {
+        Validator.validateReactiveCacheable(cacheName, key, loader, ttl);
+
+        String fullKey = buildKey(cacheName, key);
+        return loader
+                .flatMap(result -> set(fullKey, result, ttl).thenReturn(result))
+                .switchIfEmpty(Mono.defer(() -> redisTemplate.delete(fullKey)
+                        .doOnNext(deleted -> log.debug("Cache EVICTED (empty result) - Key: {}", fullKey))
+                        .onErrorResume(e -> {
+                            log.error("Error in cachePut operation for key {}: {}", fullKey, e.getMessage());
+                            return Mono.empty();
+                        })
+                        .then(Mono.empty())));
+    }
+
+    /**
+     * Overloading with TTL by default.
+     *
+     * @param <T> the generic type
+     * @param cacheName the cache name
+     * @param key the key
+     * @param loader the loader
+     * @return the loaded value
+     */
+    public <T> Mono<T> cachePut(String cacheName, String key, Mono<T> loader) {
+        return cachePut(cacheName, key, loader, DEFAULT_TTL);
+    }
+
+    /**
+     * Equivalent to @CacheEvict.
+     *
+     * @param cacheName the cache name
+     * @param key the key
+     * @return true, if the key was removed
+     */
+    public Mono<Boolean> cacheEvict(String cacheName, String key) {
+        Validator.validateCacheEvict(cacheName, key);
+
+        String fullKey = buildKey(cacheName, key);
+        return redisTemplate.delete(fullKey)
+                .map(deleted -> {
+                    log.debug("Cache EVICTED - Key: {}, Found: {}", fullKey, deleted > 0);
+                    return deleted > 0;
+                })
+                .onErrorResume(e -> {
+                    log.error("Error evicting cache key {}: {}", fullKey, e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Equivalent to @CacheEvict(allEntries = true). Keys are walked with SCAN
+     * and removed with UNLINK as each batch arrives.
+     *
+     * @param cacheName the cache name
+     * @return the number of keys removed
+     */
+    public Mono<Long> cacheEvictAll(String cacheName) {
+        Validator.validateCacheEvict(cacheName);
+
+        return unlinkMatching(cacheName + ":*");
+    }
+
+    /**
+     * Evict multiple specific keys.
+     *
+     * @param cacheName the cache name
+     * @param keys the keys
+     * @return the number of keys removed
+     */
+    public Mono<Long> cacheEvictMultiple(String cacheName, String... keys) {
+        Validator.validateCacheEvict(cacheName);
+
+        if (keys == null || keys.length == 0) {
+            log.debug("No keys to evict");
+            return Mono.just(0L);
+        }
+
+        if (Arrays.stream(keys).anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("keys array cannot contain null elements");
+        }
+
+        String[] fullKeys = Arrays.stream(keys)
+                .map(key -> buildKey(cacheName, key))
+                .toArray(String[]::new);
+
+        return redisTemplate.delete(fullKeys)
+                .doOnNext(deleted -> log.debug("Cache EVICTED MULTIPLE - Count: {}", deleted))
+                .onErrorResume(e -> {
+                    log.error("Error evicting multiple keys: {}", e.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    /**
+     * Evict by custom pattern, walking the keys with SCAN.
+     *
+     * @param pattern the pattern
+     * @return the number of keys removed
+     */
+    public Mono<Long> cacheEvictByPattern(String pattern) {
+        Validator.validatePattern(pattern);
+
+        return unlinkMatching(pattern);
+    }
+
+    /**
+     * Check if a cached key exists.
+     *
+     * @param cacheName the cache name
+     * @param key the key
+     * @return true, if the key exists
+     */
+    public Mono<Boolean> exists(String cacheName, String key) {
+        Validator.validateCacheEvict(cacheName, key);
+
+        String fullKey = buildKey(cacheName, key);
+        return redisTemplate.hasKey(fullKey)
+                .onErrorResume(e -> {
+                    log.error("Error checking key existence {}: {}", fullKey, e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Gets the remaining TTL of a key.
+     *
+     * @param cacheName the cache name
+     * @param key the key
+     * @return the ttl in seconds, empty when Redis fails
+     */
+    public Mono<Long> getTTL(String cacheName, String key) {
+        Validator.validateCacheEvict(cacheName, key);
+
+        String fullKey = buildKey(cacheName, key);
+        return redisTemplate.getExpire(fullKey)
+                .map(Duration::getSeconds)
+                .onErrorResume(e -> {
+                    log.error("Error getting TTL for key {}: {}", fullKey, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Writes a value, logging instead of failing when Redis is unavailable.
+     *
+     * @param fullKey the full key
+     * @param value the value
+     * @param ttl the ttl
+     * @return completes once written
+     */
+    private Mono<Void> set(String fullKey, Object value, Duration ttl) {
+        return redisTemplate.opsForValue().set(fullKey, value, ttl)
+                .doOnNext(stored -> log.debug("Cached data - Key: {}", fullKey))
+                .onErrorResume(e -> {
+                    log.error("Error caching key {}: {}", fullKey, e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Removes the keys matching a pattern, one SCAN batch at a time.
+     *
+     * @param pattern the pattern
+     * @return the number of keys removed
+     */
+    private Mono<Long> unlinkMatching(String pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_BATCH_SIZE).build();
+        return redisTemplate.scan(options)
+                .buffer(SCAN_BATCH_SIZE)
+                .concatMap(batch -> redisTemplate.unlink(batch.toArray(String[]::new)))
+                .reduce(0L, Long::sum)
+                .doOnNext(count -> log.debug("Cache EVICTED BY PATTERN - Pattern: {}, Count: {}", pattern, count))
+                .onErrorResume(e -> {
+                    log.error("Error evicting by pattern {}: {}", pattern, e.getMessage());
+                    return Mono.just(0L);
+                });
+    }
+
+    /**
+     * Build the complete key.
+     *
+     * @param cacheName the cache name
+     * @param key the key
+     * @return the string
+     */
+    private String buildKey(String cacheName, String key) {
+        return cacheName + ":" + key;
+    }
+}
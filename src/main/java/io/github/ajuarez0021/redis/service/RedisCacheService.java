@@ -3,19 +3,35 @@ package io.github.ajuarez0021.redis.service;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import io.github.ajuarez0021.redis.config.CodecRedisSerializer;
+import io.github.ajuarez0021.redis.config.DefaultObjectMapperConfig;
 import io.github.ajuarez0021.redis.dto.CacheResult;
 import io.github.ajuarez0021.redis.util.Validator;
+import io.github.ajuarez0021.redis.util.ValueFormat;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
 import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 /**
  * The Class RedisCacheService.
@@ -31,12 +47,30 @@ public class RedisCacheService {
     private final RedisTemplate<String, Object> redisTemplate;
 
     /**
-     * Instantiates a new redis cache service.
+     * The typed regions.
+     */
+    private final TypedRegions typedRegions;
+
+    /**
+     * Instantiates a new redis cache service without typed regions, writing the
+     * values of the typed methods as JSON.
      *
      * @param redisTemplate the redis template
      */
     public RedisCacheService(RedisTemplate<String, Object> redisTemplate) {
+        this(redisTemplate, new TypedRegions(Map.of(), type -> CodecRedisSerializer.typed(ValueFormat.JSON,
+                new DefaultObjectMapperConfig().configure(), type)));
+    }
+
+    /**
+     * Instantiates a new redis cache service.
+     *
+     * @param redisTemplate the redis template
+     * @param typedRegions the typed regions
+     */
+    public RedisCacheService(RedisTemplate<String, Object> redisTemplate, TypedRegions typedRegions) {
         this.redisTemplate = redisTemplate;
+        this.typedRegions = typedRegions;
     }
 
     /**
@@ -69,6 +103,43 @@ public class RedisCacheService {
         return cacheable(cacheName, key, loader, Duration.ofMinutes(10));
     }
 
+    /**
+     * Equivalent to @Cacheable for values of a single class. The value is
+     * written without type metadata and read straight into the class.
+     *
+     * @param <T> the generic type
+     * @param cacheName the cache name
+     * @param key the key
+     * @param type the value class, the region's class when the cache is a typed region
+     * @param loader the loader
+     * @param ttl the ttl
+     * @return the object
+     */
+    public <T> T cacheable(String cacheName, String key, Class<T> type, Supplier<T> loader, Duration ttl) {
+        return cacheableWithResult(cacheName, key, type, loader, ttl).getValue();
+    }
+
+    /**
+     * Typed cacheable operation that returns detailed result including cache
+     * hit/miss information.
+     *
+     * @param <T> the generic type
+     * @param cacheName the cache name
+     * @param key the key
+     * @param type the value class, the region's class when the cache is a typed region
+     * @param loader the loader function to execute on cache miss
+     * @param ttl the time to live
+     * @return CacheResult containing the value and hit/miss information
+     * @see #cacheable(String, String, Class, Supplier, Duration)
+     */
+    public <T> CacheResult<T> cacheableWithResult(String cacheName, String key, Class<T> type,
+                                                    Supplier<T> loader, Duration ttl) {
+        Validator.validateCacheable(cacheName, key, loader, ttl);
+        Validator.validateRegionType(cacheName, type, typedRegions.regionType(cacheName).orElse(null));
+
+        return load(cacheName, key, type, loader, ttl);
+    }
+
     /**
      * Cacheable operation that returns detailed result including cache hit/miss information.
      *
@@ -82,16 +153,31 @@ public class RedisCacheService {
      * @param ttl the time to live
      * @return CacheResult containing the value and hit/miss information
      */
-    @SuppressWarnings("unchecked")
     public <T> CacheResult<T> cacheableWithResult(String cacheName, String key,
                                                     Supplier<T> loader, Duration ttl) {
         Validator.validateCacheable(cacheName, key, loader, ttl);
 
+        return load(cacheName, key, typedRegions.regionType(cacheName).orElse(null), loader, ttl);
+    }
+
+    /**
+     * Reads a key and, if it does not exist, executes the loader and saves the result.
+     *
+     * @param <T> the generic type
+     * @param cacheName the cache name
+     * @param key the key
+     * @param type the value class, null to read with the template
+     * @param loader the loader
+     * @param ttl the ttl
+     * @return CacheResult containing the value and hit/miss information
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CacheResult<T> load(String cacheName, String key, Class<?> type, Supplier<T> loader, Duration ttl) {
         String fullKey = buildKey(cacheName, key);
         T result = null;
         boolean wasLoaded = false;
         try {
-            Object cached = redisTemplate.opsForValue().get(fullKey);
+            Object cached = get(fullKey, type);
 
             if (cached != null) {
                 log.debug("Cache HIT - Key: {}", fullKey);
@@ -102,7 +188,7 @@ public class RedisCacheService {
             wasLoaded = true;
 
             if (result != null) {
-                redisTemplate.opsForValue().set(fullKey, result, ttl);
+                set(fullKey, result, ttl, type);
                 log.debug("Cached data - Key: {}", fullKey);
             }
 
@@ -130,6 +216,77 @@ public class RedisCacheService {
         return cacheableWithResult(cacheName, key, loader, Duration.ofMinutes(10));
     }
 
+    /**
+     * Bulk equivalent of {@link #cacheableWithResult(String, String, Supplier, Duration)}.
+     *
+     * <p>All keys are read with a single MGET; in cluster mode the connection
+     * splits it by hash slot. The batch loader is called once with the keys
+     * that were not cached, and the values it returns are written back in a
+     * single pipeline, each with its own TTL. Keys the loader leaves out, or
+     * maps to null, are returned as misses with a null value and are not
+     * cached.</p>
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @param cacheName the cache name
+     * @param keys the keys, rendered with {@link String#valueOf(Object)}
+     * @param batchLoader the loader of the missing keys
+     * @param ttl the time to live
+     * @return the results by key, in the order of the keys
+     */
+    public <K, V> Map<K, CacheResult<V>> cacheableAll(String cacheName, Collection<K> keys,
+                                                      Function<Set<K>, Map<K, V>> batchLoader, Duration ttl) {
+        Validator.validateCacheableAll(cacheName, keys, batchLoader, ttl);
+
+        List<K> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        Map<K, CacheResult<V>> results = new LinkedHashMap<>();
+        if (distinctKeys.isEmpty()) {
+            return results;
+        }
+
+        Class<?> type = typedRegions.regionType(cacheName).orElse(null);
+        Map<K, CacheResult<V>> hits = multiGet(cacheName, distinctKeys, type);
+        Set<K> misses = new LinkedHashSet<>();
+        for (K key : distinctKeys) {
+            if (!hits.containsKey(key)) {
+                misses.add(key);
+            }
+        }
+
+        Map<K, V> loaded = misses.isEmpty() ? Map.of() : batchLoader.apply(Collections.unmodifiableSet(misses));
+        Map<String, Object> toCache = new LinkedHashMap<>();
+        for (K key : distinctKeys) {
+            CacheResult<V> hit = hits.get(key);
+            if (hit != null) {
+                results.put(key, hit);
+                continue;
+            }
+            V value = loaded != null ? loaded.get(key) : null;
+            if (value != null) {
+                toCache.put(buildKey(cacheName, String.valueOf(key)), value);
+            }
+            results.put(key, CacheResult.miss(value));
+        }
+
+        setAll(toCache, ttl, type);
+        return results;
+    }
+
+    /**
+     * Bulk cacheable operation with default TTL of 10 minutes.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @param cacheName the cache name
+     * @param keys the keys
+     * @param batchLoader the loader of the missing keys
+     * @return the results by key, in the order of the keys
+     */
+    public <K, V> Map<K, CacheResult<V>> cacheableAll(String cacheName, Collection<K> keys,
+                                                      Function<Set<K>, Map<K, V>> batchLoader) {
+        return cacheableAll(cacheName, keys, batchLoader, Duration.ofMinutes(10));
+    }
+
     /**
      * Equivalent to @CachePut.
      *
@@ -151,7 +308,7 @@ public class RedisCacheService {
             wasLoaded = true;
 
             if (result != null) {
-                redisTemplate.opsForValue().set(fullKey, result, ttl);
+                set(fullKey, result, ttl, typedRegions.regionType(cacheName).orElse(null));
                 log.debug("Cache UPDATED - Key: {}", fullKey);
             } else {
                 redisTemplate.delete(fullKey);
@@ -376,6 +533,154 @@ public class RedisCacheService {
         }
     }
 
+    /**
+     * Reads the cached keys with a single MGET.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     * @param cacheName the cache name
+     * @param keys the distinct keys
+     * @param type the value class, null to read with the template
+     * @return the hits by key, empty when Redis fails
+     */
+    @SuppressWarnings("unchecked")
+    private <K, V> Map<K, CacheResult<V>> multiGet(String cacheName, List<K> keys, Class<?> type) {
+        List<String> fullKeys = keys.stream()
+                .map(key -> buildKey(cacheName, String.valueOf(key)))
+                .toList();
+
+        Map<K, CacheResult<V>> hits = new HashMap<>();
+        try {
+            List<Object> cached = type == null ? redisTemplate.opsForValue().multiGet(fullKeys)
+                    : getAll(fullKeys, type);
+            if (cached != null) {
+                for (int i = 0; i < keys.size(); i++) {
+                    if (cached.get(i) != null) {
+                        hits.put(keys.get(i), CacheResult.hit((V) cached.get(i)));
+                    }
+                }
+            }
+            log.debug("Cache MGET - Cache: {}, Hits: {}, Misses: {}", cacheName, hits.size(),
+                    keys.size() - hits.size());
+        } catch (Exception e) {
+            log.error("Error reading keys for cache {}: {}", cacheName, e.getMessage());
+            hits.clear();
+        }
+        return hits;
+    }
+
+    /**
+     * Writes entries in a single pipeline, each with the given TTL.
+     *
+     * @param entries the values by full key
+     * @param ttl the ttl
+     * @param type the value class, null to write with the template
+     */
+    private void setAll(Map<String, Object> entries, Duration ttl, Class<?> type) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (type != null) {
+                RedisSerializer<Object> serializer = serializer(type);
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    entries.forEach((key, value) -> connection.stringCommands().set(rawKey(key),
+                            serializer.serialize(value), Expiration.from(ttl), SetOption.upsert()));
+                    return null;
+                });
+                log.debug("Cached data - Count: {}", entries.size());
+                return;
+            }
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    entries.forEach((key, value) -> ops.opsForValue().set(key, value, ttl));
+                    return null;
+                }
+            });
+            log.debug("Cached data - Count: {}", entries.size());
+        } catch (Exception e) {
+            log.error("Error caching {} keys: {}", entries.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a value, with the serializer of the class when there is one.
+     *
+     * @param fullKey the full key
+     * @param type the value class, null to read with the template
+     * @return the value, null when missing
+     */
+    private Object get(String fullKey, Class<?> type) {
+        if (type == null) {
+            return redisTemplate.opsForValue().get(fullKey);
+        }
+        byte[] bytes = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(rawKey(fullKey)));
+        return serializer(type).deserialize(bytes);
+    }
+
+    /**
+     * Reads values with the serializer of a class in a single MGET.
+     *
+     * @param fullKeys the full keys
+     * @param type the value class
+     * @return the values, null for missing keys
+     */
+    private List<Object> getAll(List<String> fullKeys, Class<?> type) {
+        byte[][] rawKeys = fullKeys.stream().map(this::rawKey).toArray(byte[][]::new);
+        List<byte[]> values = redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(rawKeys));
+        if (values == null) {
+            return null;
+        }
+        RedisSerializer<Object> serializer = serializer(type);
+        return values.stream().map(serializer::deserialize).toList();
+    }
+
+    /**
+     * Writes a value, with the serializer of the class when there is one.
+     *
+     * @param fullKey the full key
+     * @param value the value
+     * @param ttl the ttl
+     * @param type the value class, null to write with the template
+     */
+    private void set(String fullKey, Object value, Duration ttl, Class<?> type) {
+        if (type == null) {
+            redisTemplate.opsForValue().set(fullKey, value, ttl);
+            return;
+        }
+        byte[] bytes = serializer(type).serialize(value);
+        redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.stringCommands().set(rawKey(fullKey), bytes, Expiration.from(ttl), SetOption.upsert()));
+    }
+
+    /**
+     * Gets the serializer of a value class.
+     *
+     * @param type the value class
+     * @return the redis serializer
+     */
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> serializer(Class<?> type) {
+        return (RedisSerializer<Object>) typedRegions.serializer(type);
+    }
+
+    /**
+     * Serializes a key like the template does.
+     *
+     * @param key the key
+     * @return the bytes
+     */
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
     /**
      * Build the complete key.
      *
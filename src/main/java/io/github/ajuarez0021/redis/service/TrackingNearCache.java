@@ -0,0 +1,154 @@
+package io.github.ajuarez0021.redis.service;
+
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.StringCodec;
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Near cache kept fresh by Redis server-assisted client-side caching.
+ *
+ * <p>A dedicated RESP3 connection enables {@code CLIENT TRACKING} in broadcast mode for the
+ * {@code coalesce:cache:} prefix, so Redis pushes an {@code invalidate} message whenever any
+ * client changes, evicts or expires one of those keys. The local copy is dropped as soon as the
+ * message arrives, without the {@code coalesce:evict} channel.</p>
+ *
+ * <p>Invalidations sent while the tracking connection is down are lost, so every local copy is
+ * dropped on disconnect and nothing is stored until tracking is enabled again.</p>
+ *
+ * <p>Requires Redis 6 or later and a standalone or sentinel connection.</p>
+ *
+ * @author ajuar
+ */
+@Slf4j
+public final class TrackingNearCache extends NearCache implements PushListener, RedisConnectionStateListener {
+
+    /** The type of the push messages naming invalidated keys. */
+    private static final String INVALIDATE = "invalidate";
+
+    /** The connection receiving the invalidations. */
+    private final StatefulRedisConnection<String, String> connection;
+
+    /** The tracking arguments. */
+    private final TrackingArgs trackingArgs;
+
+    /** Whether tracking is enabled on the current connection. */
+    private volatile boolean tracking;
+
+    /**
+     * Instantiates a new tracking near cache and enables tracking.
+     *
+     * @param maximumSize the maximum number of entries
+     * @param ttlSeconds the maximum lifetime of an entry in seconds
+     * @param client the client opening the tracking connection
+     */
+    public TrackingNearCache(long maximumSize, long ttlSeconds, RedisClient client) {
+        super(maximumSize, ttlSeconds);
+        this.trackingArgs = TrackingArgs.Builder.enabled().bcast().prefixes(CoalesceCacheManager.CACHE_PREFIX);
+        this.connection = client.connect(StringCodec.UTF8);
+        connection.addListener((PushListener) this);
+        connection.addListener((RedisConnectionStateListener) this);
+        try {
+            connection.sync().clientTracking(trackingArgs);
+        } catch (RuntimeException e) {
+            connection.close();
+            throw new IllegalStateException(
+                    "Near cache tracking requires Redis 6 or later with RESP3: " + e.getMessage(), e);
+        }
+        tracking = true;
+        log.debug("Enabled client tracking for prefix {}", CoalesceCacheManager.CACHE_PREFIX);
+    }
+
+    /**
+     * Stores a value while tracking is enabled.
+     *
+     * @param key the full Redis key
+     * @param value the value
+     * @param redisTtlSeconds the Redis TTL in seconds, zero or negative when the entry never expires
+     */
+    @Override
+    public void put(String key, Object value, long redisTtlSeconds) {
+        if (tracking) {
+            super.put(key, value, redisTtlSeconds);
+        }
+    }
+
+    /**
+     * Drops the keys named by an invalidation message. A message without keys,
+     * sent after FLUSHALL or FLUSHDB, drops every local copy.
+     *
+     * @param message the push message
+     */
+    @Override
+    public void onPushMessage(PushMessage message) {
+        if (!INVALIDATE.equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(buffer -> StandardCharsets.UTF_8.decode(buffer).toString());
+        if (content.size() < 2 || !(content.get(1) instanceof List<?> keys)) {
+            log.debug("Received invalidation of every key");
+            invalidateAll();
+            return;
+        }
+        invalidateAll(keys.stream().map(String::valueOf).toList());
+    }
+
+    /**
+     * Enables tracking again once the connection is re-established.
+     *
+     * @param handler the connection
+     * @param remoteAddress the remote address
+     */
+    @Override
+    public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress remoteAddress) {
+        connection.async().clientTracking(trackingArgs).whenComplete((reply, error) -> {
+            if (error != null) {
+                log.error("Failed to enable client tracking again, near cache stays disabled {}",
+                        error.getMessage());
+                return;
+            }
+            invalidateAll();
+            tracking = true;
+            log.debug("Enabled client tracking again after reconnecting");
+        });
+    }
+
+    /**
+     * Drops every local copy, since invalidations are lost while disconnected.
+     *
+     * @param handler the connection
+     */
+    @Override
+    public void onRedisDisconnected(RedisChannelHandler<?, ?> handler) {
+        tracking = false;
+        invalidateAll();
+        log.warn("Client tracking connection lost, near cache disabled until it reconnects");
+    }
+
+    /**
+     * Checks if Redis invalidates the local copies.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isServerInvalidated() {
+        return true;
+    }
+
+    /**
+     * Closes the tracking connection.
+     */
+    @Override
+    public void close() {
+        tracking = false;
+        connection.close();
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.ajuarez0021.redis.service;
+
+import io.github.ajuarez0021.redis.util.Validator;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The value classes of the typed cache regions, with one serializer per class.
+ *
+ * <p>Values of a typed region are written without type metadata and read
+ * straight into the region's class, so they are smaller and faster to read,
+ * but can only be read through {@link RedisCacheService}. Serializers for the
+ * declared regions are built up front, and those for other classes passed to
+ * the typed methods on first use.</p>
+ *
+ * @author ajuar
+ */
+public final class TypedRegions {
+
+    /** The value classes by cache name. */
+    private final Map<String, Class<?>> regionTypes;
+
+    /** The factory of the serializer of a class. */
+    private final Function<Class<?>, RedisSerializer<?>> serializerFactory;
+
+    /** The serializers by class. */
+    private final Map<Class<?>, RedisSerializer<?>> serializers = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates new typed regions.
+     *
+     * @param regionTypes the value classes by cache name
+     * @param serializerFactory the factory of the serializer of a class
+     */
+    public TypedRegions(Map<String, Class<?>> regionTypes,
+                        Function<Class<?>, RedisSerializer<?>> serializerFactory) {
+        regionTypes.forEach(Validator::validateRegion);
+        this.regionTypes = Map.copyOf(regionTypes);
+        this.serializerFactory = serializerFactory;
+        this.regionTypes.values().forEach(this::serializer);
+    }
+
+    /**
+     * Gets the value class of a cache.
+     *
+     * @param cacheName the cache name
+     * @return the value class, empty when the cache is not a typed region
+     */
+    public Optional<Class<?>> regionType(String cacheName) {
+        return Optional.ofNullable(regionTypes.get(cacheName));
+    }
+
+    /**
+     * Gets the serializer of a class.
+     *
+     * @param <T> the generic type
+     * @param type the value class
+     * @return the redis serializer
+     */
+    @SuppressWarnings("unchecked")
+    public <T> RedisSerializer<T> serializer(Class<T> type) {
+        return (RedisSerializer<T>) serializers.computeIfAbsent(type, serializerFactory);
+    }
+}
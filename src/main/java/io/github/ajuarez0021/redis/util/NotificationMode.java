@@ -0,0 +1,18 @@
+package io.github.ajuarez0021.redis.util;
+
+/**
+ * How waiters of a coalesced load are told that the value is ready.
+ *
+ * @author ajuar
+ */
+public enum NotificationMode {
+
+    /** Every node receives the full result on the shared {@code coalesce:ready} channel. */
+    BROADCAST,
+
+    /**
+     * Waiters subscribe to {@code coalesce:ready:<key>} only while they wait.
+     * The notification carries only the key and the value is read with a GET.
+     */
+    PER_KEY
+}
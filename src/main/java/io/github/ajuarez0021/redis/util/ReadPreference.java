@@ -0,0 +1,54 @@
+package io.github.ajuarez0021.redis.util;
+
+import io.lettuce.core.ReadFrom;
+
+/**
+ * Which nodes serve read-only commands in SENTINEL and CLUSTER modes. Writes,
+ * locks and scripts always run on the master.
+ *
+ * @author ajuar
+ */
+public enum ReadPreference {
+
+    /** Every read goes to the master. */
+    MASTER(ReadFrom.UPSTREAM),
+
+    /** Reads go to a replica, or to the master when no replica is available. */
+    REPLICA_PREFERRED(ReadFrom.REPLICA_PREFERRED),
+
+    /** Reads go to the node with the lowest measured latency, master or replica. */
+    NEAREST(ReadFrom.LOWEST_LATENCY),
+
+    /** Reads go to any node, master or replica. */
+    ANY(ReadFrom.ANY);
+
+    /** The Lettuce read setting. */
+    private final ReadFrom readFrom;
+
+    /**
+     * Instantiates a new read preference.
+     *
+     * @param readFrom the Lettuce read setting
+     */
+    ReadPreference(ReadFrom readFrom) {
+        this.readFrom = readFrom;
+    }
+
+    /**
+     * Gets the Lettuce read setting.
+     *
+     * @return the read from
+     */
+    public ReadFrom toReadFrom() {
+        return readFrom;
+    }
+
+    /**
+     * Checks if reads may be served by a replica.
+     *
+     * @return true, if reads may lag behind the master
+     */
+    public boolean readsReplicas() {
+        return this != MASTER;
+    }
+}
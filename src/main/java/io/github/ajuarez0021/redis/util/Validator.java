@@ -1,11 +1,14 @@
 package io.github.ajuarez0021.redis.util;
 
 import io.github.ajuarez0021.redis.dto.HostsDto;
+import org.reactivestreams.Publisher;
 import org.springframework.util.StringUtils;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 public final class Validator {
@@ -57,6 +60,131 @@ public final class Validator {
         }
     }
 
+    /**
+     * Validate near cache settings.
+     *
+     * @param maxSize the maximum number of entries, zero when disabled
+     * @param ttl     the maximum lifetime of an entry in seconds
+     */
+    public static void validateNearCache(long maxSize, long ttl) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid nearCacheMaxSize %d.", maxSize)
+            );
+        }
+        if (maxSize > 0 && ttl < 1) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid nearCacheTtl %d.", ttl)
+            );
+        }
+    }
+
+    /**
+     * Validate near cache tracking.
+     *
+     * @param mode    the connection mode
+     * @param maxSize the maximum number of near cache entries
+     */
+    public static void validateNearCacheTracking(Mode mode, long maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("nearCacheTracking requires a nearCacheMaxSize greater than 0.");
+        }
+        if (mode == Mode.CLUSTER) {
+            throw new IllegalArgumentException("nearCacheTracking requires STANDALONE or SENTINEL mode.");
+        }
+    }
+
+    /**
+     * Validate connection pool settings.
+     *
+     * @param maxTotal the maximum number of connections, zero when disabled
+     * @param maxIdle  the maximum number of idle connections
+     * @param minIdle  the minimum number of idle connections
+     */
+    public static void validatePool(int maxTotal, int maxIdle, int minIdle) {
+        if (maxTotal < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid poolMaxTotal %d.", maxTotal)
+            );
+        }
+        if (maxTotal > 0 && (maxIdle < 0 || maxIdle > maxTotal)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid poolMaxIdle %d. It must be between 0 and poolMaxTotal.", maxIdle)
+            );
+        }
+        if (maxTotal > 0 && (minIdle < 0 || minIdle > maxIdle)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid poolMinIdle %d. It must be between 0 and poolMaxIdle.", minIdle)
+            );
+        }
+    }
+
+    /**
+     * Validate Lettuce thread pool sizes.
+     *
+     * @param ioThreads          the io threads, zero for the default
+     * @param computationThreads the computation threads, zero for the default
+     */
+    public static void validateThreads(int ioThreads, int computationThreads) {
+        if (ioThreads < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid ioThreads %d.", ioThreads)
+            );
+        }
+        if (computationThreads < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid computationThreads %d.", computationThreads)
+            );
+        }
+    }
+
+    /**
+     * Validate read preference.
+     *
+     * @param mode     the connection mode
+     * @param readFrom the read preference
+     */
+    public static void validateReadFrom(Mode mode, ReadPreference readFrom) {
+        Objects.requireNonNull(readFrom, "readFrom cannot be null");
+        if (mode == Mode.STANDALONE && readFrom.readsReplicas()) {
+            throw new IllegalArgumentException(
+                    String.format("readFrom %s requires SENTINEL or CLUSTER mode.", readFrom)
+            );
+        }
+    }
+
+    /**
+     * Validate compression threshold.
+     *
+     * @param threshold the size in bytes from which values are compressed, zero when disabled
+     */
+    public static void validateCompressionThreshold(int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid compressionThreshold %d.", threshold)
+            );
+        }
+    }
+
+    /**
+     * Validate cluster topology settings.
+     *
+     * @param refreshPeriod the periodic refresh in seconds, zero when disabled
+     * @param maxRedirects  the maximum number of redirects
+     */
+    public static void validateClusterTopology(long refreshPeriod, int maxRedirects) {
+        if (refreshPeriod < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid clusterRefreshPeriod %d.", refreshPeriod)
+            );
+        }
+        if (maxRedirects < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid clusterMaxRedirects %d.", maxRedirects)
+            );
+        }
+    }
+
     /**
      * Validate standalone hosts.
      *
@@ -140,6 +268,95 @@ public final class Validator {
             throw new IllegalArgumentException("ttl must be positive");
         }
     }
+
+    /**
+     * Validate format.
+     *
+     * @param cacheName the cache name
+     * @param format the format
+     */
+    public static void validateFormat(String cacheName, ValueFormat format) {
+        if (!StringUtils.hasText(cacheName)) {
+            throw new IllegalStateException("cacheName is required");
+        }
+
+        Objects.requireNonNull(format, "format cannot be null");
+    }
+
+    /**
+     * Validate region.
+     *
+     * @param cacheName the cache name
+     * @param type the value class
+     */
+    public static void validateRegion(String cacheName, Class<?> type) {
+        if (!StringUtils.hasText(cacheName)) {
+            throw new IllegalStateException("cacheName is required");
+        }
+        Objects.requireNonNull(type, "type cannot be null");
+        if (type == Object.class || type.isInterface() || type.isPrimitive()) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid region type %s for cache %s.", type.getName(), cacheName)
+            );
+        }
+    }
+
+    /**
+     * Validate the type of a typed cache operation.
+     *
+     * @param cacheName the cache name
+     * @param type the requested class
+     * @param regionType the class of the region, null when the cache is not a region
+     */
+    public static void validateRegionType(String cacheName, Class<?> type, Class<?> regionType) {
+        Objects.requireNonNull(type, "type cannot be null");
+        if (regionType != null && regionType != type) {
+            throw new IllegalArgumentException(
+                    String.format("Cache %s holds %s, not %s.", cacheName, regionType.getName(), type.getName())
+            );
+        }
+    }
+
+    /**
+     * Validate type id.
+     *
+     * @param id the type id
+     * @param type the registered class
+     */
+    public static void validateTypeId(String id, Class<?> type) {
+        Objects.requireNonNull(type, "type cannot be null");
+        if (!StringUtils.hasText(id) || id.contains(".")) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid type id '%s' for %s.", id, type.getName())
+            );
+        }
+    }
+
+    /**
+     * Validate refresh options. Stale values and early refreshes are reloaded
+     * through the blocking coalesced path, so they require coalescing and a
+     * method that returns its value directly.
+     *
+     * @param coalesce whether requests are coalesced
+     * @param async whether the method returns a stage or a publisher
+     * @param staleTtl the stale ttl in seconds
+     * @param earlyRefreshBeta the early refresh weight
+     */
+    public static void validateRefreshOptions(boolean coalesce, boolean async, long staleTtl,
+            double earlyRefreshBeta) {
+        if (staleTtl <= 0 && earlyRefreshBeta <= 0) {
+            return;
+        }
+
+        if (!coalesce) {
+            throw new IllegalArgumentException("staleTtl and earlyRefreshBeta require coalesce = true");
+        }
+
+        if (async) {
+            throw new IllegalArgumentException("staleTtl and earlyRefreshBeta apply to blocking methods only");
+        }
+    }
+
     /**
      * Validate cacheable.
      *
@@ -163,6 +380,64 @@ public final class Validator {
         validateKeyFormat(cacheName, key);
     }
 
+    /**
+     * Validate reactive cacheable.
+     *
+     * @param cacheName the cache name
+     * @param key the key
+     * @param loader the loader
+     * @param ttl the ttl
+     */
+    public static void validateReactiveCacheable(String cacheName, String key, Publisher<?> loader, Duration ttl) {
+        if (ttl == null) {
+            throw new IllegalStateException("ttl is required");
+        }
+
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+
+        validateCacheEvict(cacheName, key);
+
+        if (loader == null) {
+            throw new IllegalStateException("loader is required");
+        }
+    }
+
+    /**
+     * Validate bulk cacheable.
+     *
+     * @param cacheName the cache name
+     * @param keys the keys
+     * @param batchLoader the batch loader
+     * @param ttl the ttl
+     */
+    public static void validateCacheableAll(String cacheName, Collection<?> keys,
+                                            Function<?, ?> batchLoader, Duration ttl) {
+        if (ttl == null) {
+            throw new IllegalStateException("ttl is required");
+        }
+
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+
+        if (batchLoader == null) {
+            throw new IllegalStateException("batchLoader is required");
+        }
+
+        if (keys == null) {
+            throw new IllegalStateException("keys is required");
+        }
+
+        if (keys.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("keys cannot contain null elements");
+        }
+
+        validateCacheEvict(cacheName);
+        keys.forEach(key -> validateCacheEvict(cacheName, String.valueOf(key)));
+    }
+
     /**
      * Validate cache evict parameters.
      *
@@ -0,0 +1,75 @@
+package io.github.ajuarez0021.redis.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.ajuarez0021.redis.config.JacksonValueCodec;
+import io.github.ajuarez0021.redis.config.TypedValueCodec;
+import io.github.ajuarez0021.redis.config.ValueCodec;
+
+/**
+ * The format cached values are written in. Every format keeps the type
+ * information and settings of the configured ObjectMapper, and values in any
+ * format can always be read.
+ *
+ * @author ajuar
+ */
+public enum ValueFormat {
+
+    /** Textual JSON, written without a header byte as in earlier versions. */
+    JSON(ValueCodec.NO_HEADER),
+
+    /** Binary Smile, marked by the header byte 0x01. */
+    SMILE((byte) 0x01),
+
+    /** Binary CBOR (RFC 8949), marked by the header byte 0x02. */
+    CBOR((byte) 0x02);
+
+    /** The header byte. */
+    private final byte header;
+
+    /**
+     * Instantiates a new value format.
+     *
+     * @param header the header byte
+     */
+    ValueFormat(byte header) {
+        this.header = header;
+    }
+
+    /**
+     * Creates the codec writing this format.
+     *
+     * @param objectMapper the configured JSON object mapper
+     * @return the value codec
+     */
+    public ValueCodec createCodec(ObjectMapper objectMapper) {
+        return new JacksonValueCodec(mapperFor(objectMapper), header);
+    }
+
+    /**
+     * Creates the codec writing this format for a single class.
+     *
+     * @param <V> the value type
+     * @param objectMapper the configured JSON object mapper, without default typing
+     * @param valueType the value type
+     * @return the value codec
+     */
+    public <V> ValueCodec createCodec(ObjectMapper objectMapper, Class<V> valueType) {
+        return new TypedValueCodec<>(mapperFor(objectMapper), valueType, header);
+    }
+
+    /**
+     * Gets the mapper writing this format.
+     *
+     * @param objectMapper the configured JSON object mapper
+     * @return the object mapper
+     */
+    private ObjectMapper mapperFor(ObjectMapper objectMapper) {
+        return switch (this) {
+            case JSON -> objectMapper;
+            case SMILE -> objectMapper.copyWith(new SmileFactory());
+            case CBOR -> objectMapper.copyWith(new CBORFactory());
+        };
+    }
+}
@@ -4,17 +4,26 @@ import io.github.ajuarez0021.redis.annotation.CoalesceCacheable;
 import io.github.ajuarez0021.redis.annotation.CoalesceCaching;
 import io.github.ajuarez0021.redis.annotation.CoalesceEvict;
 import io.github.ajuarez0021.redis.annotation.CoalescePut;
+import io.github.ajuarez0021.redis.dto.CoalesceOptionsDto;
+import io.github.ajuarez0021.redis.service.CacheWriteBatch;
 import io.github.ajuarez0021.redis.service.CoalesceCacheManager;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,6 +52,9 @@ class CoalesceCachingAspectTest {
     @Mock
     private MethodSignature methodSignature;
 
+    /** The write batch. */
+    private CacheWriteBatch batch;
+
     /** The aspect. */
     private CoalesceCachingAspect aspect;
 
@@ -52,6 +64,8 @@ class CoalesceCachingAspectTest {
     @BeforeEach
     void setUp() {
         aspect = new CoalesceCachingAspect(cacheManager);
+        batch = mock(CacheWriteBatch.class, RETURNS_SELF);
+        when(cacheManager.batch()).thenReturn(batch);
     }
 
     /**
@@ -64,6 +78,54 @@ class CoalesceCachingAspectTest {
         return "result";
     }
 
+    /**
+     * Asynchronous test method for mocking.
+     *
+     * @param id the id
+     * @return the completable future
+     */
+    public CompletableFuture<String> futureMethod(String id) {
+        return CompletableFuture.completedFuture("result");
+    }
+
+    /**
+     * Test method returning a concrete stage implementation.
+     *
+     * @param id the id
+     * @return the custom future
+     */
+    public CustomFuture<String> customFutureMethod(String id) {
+        return new CustomFuture<>();
+    }
+
+    /**
+     * A stage implementation a cached value cannot be returned as.
+     *
+     * @param <T> the value type
+     */
+    static class CustomFuture<T> extends CompletableFuture<T> {
+    }
+
+    /**
+     * Reactive test method for mocking.
+     *
+     * @param id the id
+     * @return the mono
+     */
+    public Mono<String> monoMethod(String id) {
+        return Mono.just("result");
+    }
+
+    /**
+     * Reactive multi-value test method for mocking.
+     *
+     * @param id the id
+     * @return the flux
+     */
+    public Flux<String> fluxMethod(String id) {
+        return Flux.just("result");
+    }
+
     /**
      * Handle caching with cache hit should return cached value.
      */
@@ -80,12 +142,13 @@ class CoalesceCachingAspectTest {
         when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
         when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
         when(methodSignature.getMethod()).thenReturn(getTestMethod());
-        when(cacheManager.get("cache:123")).thenReturn(Optional.of("cachedValue"));
+        when(cacheManager.getAll(List.of("cache:123"))).thenReturn(List.of(Optional.of("cachedValue")));
 
         Object result = aspect.handleCaching(joinPoint, caching);
 
         assertEquals("cachedValue", result);
-        verify(cacheManager).get("cache:123");
+        verify(cacheManager).getAll(List.of("cache:123"));
+        verify(cacheManager, never()).batch();
         verify(joinPoint, never()).proceed();
     }
 
@@ -105,14 +168,15 @@ class CoalesceCachingAspectTest {
         when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
         when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
         when(methodSignature.getMethod()).thenReturn(getTestMethod());
-        when(cacheManager.get("cache:123")).thenReturn(Optional.empty());
+        when(cacheManager.getAll(List.of("cache:123"))).thenReturn(List.of(Optional.empty()));
         when(joinPoint.proceed()).thenReturn("newValue");
 
         Object result = aspect.handleCaching(joinPoint, caching);
 
         assertEquals("newValue", result);
         verify(joinPoint).proceed();
-        verify(cacheManager).put("cache:123", "newValue", 300);
+        verify(batch).put(eq("cache:123"), eq("newValue"), argThat((CoalesceOptionsDto options) -> options.getTtl() == 300));
+        verify(batch, times(2)).execute();
     }
 
     /**
@@ -131,13 +195,14 @@ class CoalesceCachingAspectTest {
         when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
         when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
         when(methodSignature.getMethod()).thenReturn(getTestMethod());
-        when(cacheManager.get("cache:123")).thenReturn(Optional.empty());
+        when(cacheManager.getAll(List.of("cache:123"))).thenReturn(List.of(Optional.empty()));
         when(joinPoint.proceed()).thenReturn(null);
 
         Object result = aspect.handleCaching(joinPoint, caching);
 
         assertNull(result);
-        verify(cacheManager, never()).put(anyString(), any(), anyLong());
+        verify(batch, never()).put(anyString(), any(), anyLong());
+        verify(batch, never()).put(anyString(), any(), any(CoalesceOptionsDto.class));
     }
 
     /**
@@ -156,13 +221,13 @@ class CoalesceCachingAspectTest {
         when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
         when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
         when(methodSignature.getMethod()).thenReturn(getTestMethod());
-        when(cacheManager.get("cache:123")).thenReturn(Optional.empty());
+        when(cacheManager.getAll(List.of("cache:123"))).thenReturn(List.of(Optional.empty()));
         when(joinPoint.proceed()).thenReturn(null);
 
         Object result = aspect.handleCaching(joinPoint, caching);
 
         assertNull(result);
-        verify(cacheManager).put("cache:123", null, 300);
+        verify(batch).put(eq("cache:123"), isNull(), argThat((CoalesceOptionsDto options) -> options.getTtl() == 300));
     }
 
 
@@ -187,6 +252,7 @@ class CoalesceCachingAspectTest {
         Object result = aspect.handleCaching(joinPoint, caching);
 
         assertEquals("result", result);
+        verify(batch).evict("cache:123");
     }
 
 
@@ -211,14 +277,15 @@ class CoalesceCachingAspectTest {
         Object result = aspect.handleCaching(joinPoint, caching);
 
         assertNull(result);
-        verify(cacheManager, never()).put(anyString(), any(), anyLong());
+        verify(batch, never()).put(anyString(), any(), anyLong());
+        verify(batch, never()).put(anyString(), any(), any(CoalesceOptionsDto.class));
     }
 
     /**
-     * Handle caching with empty key should use args hashcode.
+     * Handle caching with empty key should use the generated key.
      */
     @Test
-    void handleCaching_WithEmptyKey_ShouldUseArgsHashcode() throws Throwable {
+    void handleCaching_WithEmptyKey_ShouldUseGeneratedKey() throws Throwable {
         CoalesceCacheable cacheable = createMockCacheable("cache", "", 300, "", false, true);
         CoalesceCaching caching = createMockCaching(
                 new CoalesceCacheable[]{cacheable},
@@ -227,21 +294,92 @@ class CoalesceCachingAspectTest {
         );
 
         Object[] args = new Object[]{"123"};
-        String expectedKey = "cache:" + java.util.Arrays.hashCode(args);
+        String expectedKey = "cache:123";
 
         when(joinPoint.getSignature()).thenReturn(methodSignature);
         when(joinPoint.getArgs()).thenReturn(args);
         when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
         when(methodSignature.getMethod()).thenReturn(getTestMethod());
-        when(cacheManager.get(expectedKey)).thenReturn(Optional.empty());
+        when(cacheManager.getAll(List.of(expectedKey))).thenReturn(List.of(Optional.empty()));
         when(joinPoint.proceed()).thenReturn("result");
 
         Object result = aspect.handleCaching(joinPoint, caching);
 
         assertEquals("result", result);
-        verify(cacheManager).put(expectedKey, "result", 300L);
+        verify(batch).put(eq(expectedKey), eq("result"), any(CoalesceOptionsDto.class));
+    }
+
+
+    /**
+     * Handle cacheable with stale TTL should load through the manager with options.
+     */
+    @Test
+    void handleCacheable_WithStaleTtl_ShouldGetOrLoadWithOptions() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, true);
+        when(cacheable.lockLease()).thenReturn(30L);
+        when(cacheable.staleTtl()).thenReturn(60L);
+
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
+        when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
+        when(methodSignature.getMethod()).thenReturn(getTestMethod());
+        when(cacheManager.getOrLoad(eq("cache:123"), any(), any(CoalesceOptionsDto.class))).thenReturn("stale");
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        assertEquals("stale", result);
+        verify(cacheManager, never()).get(anyString());
+        verify(cacheManager).getOrLoad(eq("cache:123"), any(),
+                argThat((CoalesceOptionsDto options) -> options.getStaleTtl() == 60 && options.getTtl() == 300));
+    }
+
+    /**
+     * Handle cacheable with early refresh should load through the manager with options.
+     */
+    @Test
+    void handleCacheable_WithEarlyRefresh_ShouldGetOrLoadWithOptions() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, true);
+        when(cacheable.earlyRefreshBeta()).thenReturn(1.0);
+
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
+        when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
+        when(methodSignature.getMethod()).thenReturn(getTestMethod());
+        when(cacheManager.getOrLoad(eq("cache:123"), any(), any(CoalesceOptionsDto.class))).thenReturn("value");
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        assertEquals("value", result);
+        verify(cacheManager, never()).get(anyString());
+        verify(cacheManager).getOrLoad(eq("cache:123"), any(),
+                argThat((CoalesceOptionsDto options) -> options.getEarlyRefreshBeta() == 1.0));
     }
 
+    /**
+     * Handle caching with stale TTL should store the result with options.
+     */
+    @Test
+    void handleCaching_WithStaleTtl_ShouldPutWithOptions() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, true);
+        when(cacheable.staleTtl()).thenReturn(60L);
+        CoalesceCaching caching = createMockCaching(
+                new CoalesceCacheable[]{cacheable},
+                new CoalesceEvict[]{},
+                new CoalescePut[]{}
+        );
+
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
+        when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
+        when(methodSignature.getMethod()).thenReturn(getTestMethod());
+        when(cacheManager.getAll(List.of("cache:123"))).thenReturn(List.of(Optional.empty()));
+        when(joinPoint.proceed()).thenReturn("newValue");
+
+        aspect.handleCaching(joinPoint, caching);
+
+        verify(batch).put(eq("cache:123"), eq("newValue"),
+                argThat((CoalesceOptionsDto options) -> options.getStaleTtl() == 60));
+    }
 
     /**
      * Handle caching with evict key should evict specific key.
@@ -264,7 +402,230 @@ class CoalesceCachingAspectTest {
         Object result = aspect.handleCaching(joinPoint, caching);
 
         assertEquals("result", result);
-        verify(cacheManager).evict("cache:123");
+        verify(batch).evict("cache:123");
+        verify(cacheManager, never()).evict(anyString());
+    }
+
+    /**
+     * Handle caching with several cacheables should look them up with one request.
+     */
+    @Test
+    void handleCaching_WithSeveralCacheables_ShouldLookUpOnceAndReturnFirstHit() throws Throwable {
+        CoalesceCacheable users = createMockCacheable("users", "#id", 300, "", false, true);
+        CoalesceCacheable accounts = createMockCacheable("accounts", "#id", 300, "", false, true);
+        CoalesceCaching caching = createMockCaching(
+                new CoalesceCacheable[]{users, accounts},
+                new CoalesceEvict[]{},
+                new CoalescePut[]{}
+        );
+
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
+        when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
+        when(methodSignature.getMethod()).thenReturn(getTestMethod());
+        when(cacheManager.getAll(List.of("users:123", "accounts:123")))
+                .thenReturn(List.of(Optional.empty(), Optional.of("account")));
+
+        Object result = aspect.handleCaching(joinPoint, caching);
+
+        assertEquals("account", result);
+        verify(cacheManager, times(1)).getAll(anyList());
+        verify(cacheManager, never()).get(anyString());
+        verify(joinPoint, never()).proceed();
+    }
+
+    /**
+     * Handle caching with puts, evictions and cacheables should write them in one batch.
+     */
+    @Test
+    void handleCaching_WithSeveralWrites_ShouldExecuteOneBatchAfterInvocation() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("users", "#id", 300, "", false, true);
+        CoalescePut put = createMockPut("profiles", "#id", 60, "", "null");
+        CoalesceEvict evict = createMockEvict(new String[]{"sessions"}, "", "", false, true, "");
+        CoalesceEvict before = createMockEvict(new String[]{"tokens"}, "#id", "", true, false, "");
+        CoalesceCaching caching = createMockCaching(
+                new CoalesceCacheable[]{cacheable},
+                new CoalesceEvict[]{evict, before},
+                new CoalescePut[]{put}
+        );
+
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
+        when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
+        when(methodSignature.getMethod()).thenReturn(getTestMethod());
+        when(cacheManager.getAll(List.of("users:123"))).thenReturn(List.of(Optional.empty()));
+        when(joinPoint.proceed()).thenReturn("value");
+
+        Object result = aspect.handleCaching(joinPoint, caching);
+
+        assertEquals("value", result);
+        InOrder order = inOrder(batch, joinPoint);
+        order.verify(batch).evict("tokens:123");
+        order.verify(batch).execute();
+        order.verify(joinPoint).proceed();
+        order.verify(batch).put("profiles:123", "value", 60L);
+        order.verify(batch).evictAll("sessions");
+        order.verify(batch).put(eq("users:123"), eq("value"), any(CoalesceOptionsDto.class));
+        order.verify(batch).execute();
+        verify(cacheManager, never()).put(anyString(), any(), anyLong());
+        verify(cacheManager, never()).evictAll(anyString());
+    }
+
+    /**
+     * Handle caching with a pattern eviction should add it to the batch.
+     */
+    @Test
+    void handleCaching_WithPatternEviction_ShouldAddPatternToBatch() throws Throwable {
+        CoalesceEvict evict = createMockEvict(new String[]{"cache"}, "", "'cache:' + #id + '*'", false, false, "");
+        CoalesceCaching caching = createMockCaching(
+                new CoalesceCacheable[]{},
+                new CoalesceEvict[]{evict},
+                new CoalescePut[]{}
+        );
+
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
+        when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
+        when(methodSignature.getMethod()).thenReturn(getTestMethod());
+        when(joinPoint.proceed()).thenReturn("result");
+
+        aspect.handleCaching(joinPoint, caching);
+
+        verify(batch).evictPattern("cache:123*");
+        verify(cacheManager, never()).getAll(anyList());
+    }
+
+    /**
+     * Handle cacheable returning a concrete stage subtype should invoke the method uncached.
+     */
+    @Test
+    void handleCacheable_WithCustomStageReturn_ShouldProceedUncached() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, true);
+        stubAsyncMethod("customFutureMethod");
+        CustomFuture<String> returned = new CustomFuture<>();
+        when(joinPoint.proceed()).thenReturn(returned);
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        assertSame(returned, result);
+        verifyNoInteractions(cacheManager);
+    }
+
+    /**
+     * Handle cacheable returning a future with a coalesced hit should return a completed future.
+     */
+    @Test
+    void handleCacheable_WithFutureReturnAndHit_ShouldReturnCompletedFuture() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, true);
+        when(cacheable.lockLease()).thenReturn(30L);
+        stubAsyncMethod("futureMethod");
+        when(cacheManager.getOrLoadAsync(eq("cache:123"), any(), eq(300L), eq(false), eq(30L)))
+                .thenReturn(CompletableFuture.completedFuture("cached"));
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        CompletableFuture<?> future = assertInstanceOf(CompletableFuture.class, result);
+        assertTrue(future.isDone());
+        assertEquals("cached", future.join());
+        verify(joinPoint, never()).proceed();
+        verify(cacheManager, never()).get(anyString());
+    }
+
+    /**
+     * Handle cacheable returning a future on a coalesced miss should load through the shared future.
+     */
+    @Test
+    void handleCacheable_WithFutureReturnAndMiss_ShouldLoadThroughManager() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, true);
+        stubAsyncMethod("futureMethod");
+        stubGetOrLoadAsync();
+        when(joinPoint.proceed()).thenReturn(CompletableFuture.completedFuture("loaded"));
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        assertEquals("loaded", ((CompletableFuture<?>) result).join());
+        verify(cacheManager, never()).put(anyString(), any(), anyLong());
+    }
+
+    /**
+     * Handle cacheable returning a future that throws should return a failed future.
+     */
+    @Test
+    void handleCacheable_WithFutureReturnAndFailure_ShouldReturnFailedFuture() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, false);
+        stubAsyncMethod("futureMethod");
+        when(cacheManager.getAsync("cache:123")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        CompletionException error = assertThrows(CompletionException.class, ((CompletableFuture<?>) result)::join);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        verify(cacheManager, never()).putAsync(anyString(), any(), anyLong());
+    }
+
+    /**
+     * Handle cacheable returning a Mono on a miss should cache the emitted value.
+     */
+    @Test
+    void handleCacheable_WithMonoReturnAndMiss_ShouldCacheValue() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, false);
+        stubAsyncMethod("monoMethod");
+        when(cacheManager.getAsync("cache:123")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(cacheManager.putAsync("cache:123", "value", 300L)).thenReturn(CompletableFuture.completedFuture(null));
+        when(joinPoint.proceed()).thenReturn(Mono.just("value"));
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        verify(cacheManager, never()).getAsync(anyString());
+        assertEquals("value", ((Mono<?>) result).block());
+        verify(cacheManager).putAsync("cache:123", "value", 300L);
+    }
+
+    /**
+     * Handle cacheable returning a Mono on a hit should not invoke the method.
+     */
+    @Test
+    void handleCacheable_WithMonoReturnAndHit_ShouldReturnCachedValue() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, false);
+        stubAsyncMethod("monoMethod");
+        when(cacheManager.getAsync("cache:123")).thenReturn(CompletableFuture.completedFuture(Optional.of("cached")));
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        assertEquals("cached", ((Mono<?>) result).block());
+        verify(joinPoint, never()).proceed();
+    }
+
+    /**
+     * Handle cacheable returning an empty Mono should not cache unless nulls are cached.
+     */
+    @Test
+    void handleCacheable_WithEmptyMono_ShouldNotCache() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, false);
+        stubAsyncMethod("monoMethod");
+        when(cacheManager.getAsync("cache:123")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(joinPoint.proceed()).thenReturn(Mono.empty());
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        assertNull(((Mono<?>) result).block());
+        verify(cacheManager, never()).putAsync(anyString(), any(), anyLong());
+    }
+
+    /**
+     * Handle cacheable returning a Flux should cache the collected elements.
+     */
+    @Test
+    void handleCacheable_WithFluxReturn_ShouldCacheCollectedElements() throws Throwable {
+        CoalesceCacheable cacheable = createMockCacheable("cache", "#id", 300, "", false, true);
+        stubAsyncMethod("fluxMethod");
+        stubGetOrLoadAsync();
+        when(joinPoint.proceed()).thenReturn(Flux.just("a", "b"));
+
+        Object result = aspect.handleCacheable(joinPoint, cacheable);
+
+        assertEquals(List.of("a", "b"), ((Flux<?>) result).collectList().block());
     }
 
     /**
@@ -355,6 +716,27 @@ class CoalesceCachingAspectTest {
         return caching;
     }
 
+    /**
+     * Stubs the join point for an asynchronous test method.
+     *
+     * @param name the method name
+     */
+    private void stubAsyncMethod(String name) throws NoSuchMethodException {
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
+        when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
+        when(methodSignature.getMethod()).thenReturn(getClass().getMethod(name, String.class));
+    }
+
+    /**
+     * Stubs the coalesced asynchronous load to run the loader.
+     */
+    @SuppressWarnings("unchecked")
+    private void stubGetOrLoadAsync() {
+        when(cacheManager.getOrLoadAsync(eq("cache:123"), any(), anyLong(), anyBoolean(), anyLong()))
+                .thenAnswer(invocation -> ((Supplier<CompletableFuture<Object>>) invocation.getArgument(1)).get());
+    }
+
     /**
      * Gets the test method.
      *
@@ -102,13 +102,13 @@ class CoalesceEvictAspectTest {
     }
 
     /**
-     * Handle single evict with empty key should use args hashcode.
+     * Handle single evict with empty key should use the generated key.
      */
     @Test
-    void handleSingleEvict_WithEmptyKey_ShouldUseArgsHashcode() throws Throwable {
+    void handleSingleEvict_WithEmptyKey_ShouldUseGeneratedKey() throws Throwable {
         CoalesceEvict evict = createMockEvict(new String[] { "cache" }, "", "", true, false, "");
         Object[] args = new Object[] { "123" };
-        String expectedKey = "cache:" + java.util.Arrays.hashCode(args);
+        String expectedKey = "cache:123";
 
         when(joinPoint.getSignature()).thenReturn(methodSignature);
         when(joinPoint.getArgs()).thenReturn(args);
@@ -0,0 +1,252 @@
+package io.github.ajuarez0021.redis.aspect;
+
+import io.github.ajuarez0021.redis.annotation.CoalesceCacheable;
+import io.github.ajuarez0021.redis.annotation.CoalesceEvict;
+import io.github.ajuarez0021.redis.annotation.CoalescePut;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.expression.EvaluationContext;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CoalesceExpressionEvaluator.
+ *
+ * @author ajuar
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CoalesceExpressionEvaluatorTest {
+
+    /** The join point. */
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    /** The method signature. */
+    @Mock
+    private MethodSignature methodSignature;
+
+    /** The evaluator. */
+    private CoalesceExpressionEvaluator evaluator;
+
+    /** The method. */
+    private Method method;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        evaluator = new CoalesceExpressionEvaluator();
+        method = getClass().getMethod("testMethod", String.class);
+        when(joinPoint.getSignature()).thenReturn(methodSignature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"123"});
+        when(joinPoint.getTarget()).thenReturn(this);
+        when(methodSignature.getMethod()).thenReturn(method);
+        when(methodSignature.getParameterNames()).thenReturn(new String[]{"id"});
+    }
+
+    /**
+     * Test method for mocking.
+     *
+     * @param id the id
+     * @return the string
+     */
+    public String testMethod(String id) {
+        return "result";
+    }
+
+    /**
+     * Asynchronous test method for mocking.
+     *
+     * @param id the id
+     * @return the future string
+     */
+    public CompletableFuture<String> asyncTestMethod(String id) {
+        return CompletableFuture.completedFuture("result");
+    }
+
+    /**
+     * Evaluate should resolve parameters, result and method.
+     */
+    @Test
+    void createContext_ShouldResolveVariables() {
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, mockPut("#id", "", ""));
+        EvaluationContext context = evaluator.createContext(joinPoint, metadata, "value");
+
+        assertEquals("123", metadata.getKey().getValue(context, String.class));
+        assertEquals("value", evaluator.getExpression(method, "#result").getValue(context, String.class));
+        assertEquals("testMethod", evaluator.getExpression(method, "#method.name").getValue(context, String.class));
+    }
+
+    /**
+     * Get metadata should resolve the annotation once per method.
+     */
+    @Test
+    void getMetadata_ShouldResolveOncePerMethod() {
+        CoalescePut put = mockPut("#id", "#id != null", "#result == null");
+
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, put);
+
+        assertSame(metadata, evaluator.getMetadata(joinPoint, put));
+        assertEquals("cache", metadata.getBaseKey());
+        assertEquals(300, metadata.getTtl());
+        assertNotNull(metadata.getCondition());
+        assertNotNull(metadata.getUnless());
+        assertArrayEquals(new String[]{"id"}, metadata.getParameterNames());
+        verify(methodSignature, times(1)).getParameterNames();
+        verify(put, times(1)).key();
+    }
+
+    /**
+     * Get metadata with cacheable should resolve its options.
+     */
+    @Test
+    void getMetadata_WithCacheable_ShouldResolveOptions() {
+        CoalesceCacheable cacheable = mock(CoalesceCacheable.class);
+        when(cacheable.value()).thenReturn("");
+        when(cacheable.key()).thenReturn("");
+        when(cacheable.condition()).thenReturn("");
+        when(cacheable.ttl()).thenReturn(60L);
+        when(cacheable.coalesce()).thenReturn(true);
+        when(cacheable.lockLease()).thenReturn(30L);
+        when(cacheable.staleTtl()).thenReturn(10L);
+        when(methodSignature.toShortString()).thenReturn("Service.find(..)");
+
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, cacheable);
+
+        assertEquals("Service.find(..)", metadata.getBaseKey());
+        assertNull(metadata.getKey());
+        assertNull(metadata.getCondition());
+        assertTrue(metadata.isCoalesce());
+        assertEquals(60, metadata.getOptions().getTtl());
+        assertEquals(10, metadata.getOptions().getStaleTtl());
+    }
+
+    /**
+     * Get metadata with a stale TTL on an uncoalesced cacheable should be rejected.
+     */
+    @Test
+    void getMetadata_WithStaleTtlWithoutCoalesce_ShouldThrowException() {
+        CoalesceCacheable cacheable = mock(CoalesceCacheable.class);
+        when(cacheable.coalesce()).thenReturn(false);
+        when(cacheable.staleTtl()).thenReturn(10L);
+
+        assertThrows(IllegalArgumentException.class, () -> evaluator.getMetadata(joinPoint, cacheable));
+    }
+
+    /**
+     * Get metadata with a stale TTL on an asynchronous method should be rejected.
+     *
+     * @throws NoSuchMethodException the no such method exception
+     */
+    @Test
+    void getMetadata_WithStaleTtlOnAsyncMethod_ShouldThrowException() throws NoSuchMethodException {
+        when(methodSignature.getMethod()).thenReturn(getClass().getMethod("asyncTestMethod", String.class));
+        CoalesceCacheable cacheable = mock(CoalesceCacheable.class);
+        when(cacheable.coalesce()).thenReturn(true);
+        when(cacheable.earlyRefreshBeta()).thenReturn(1.0);
+
+        assertThrows(IllegalArgumentException.class, () -> evaluator.getMetadata(joinPoint, cacheable));
+        assertTrue(CoalesceExpressionEvaluator.isAsync(getClass().getMethod("asyncTestMethod", String.class)));
+        assertFalse(CoalesceExpressionEvaluator.isAsync(method));
+    }
+
+    /**
+     * Get metadata with evict should resolve the first prefix and the pattern.
+     */
+    @Test
+    void getMetadata_WithEvict_ShouldResolvePattern() {
+        CoalesceEvict evict = mock(CoalesceEvict.class);
+        when(evict.value()).thenReturn(new String[]{"users", "sessions"});
+        when(evict.key()).thenReturn("");
+        when(evict.condition()).thenReturn("");
+        when(evict.pattern()).thenReturn("'users:' + #id + '*'");
+
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, evict);
+        EvaluationContext context = evaluator.createContext(joinPoint, metadata, null);
+
+        assertEquals("users", metadata.getBaseKey());
+        assertEquals("users:123*", metadata.getPattern().getValue(context, String.class));
+    }
+
+    /**
+     * Get metadata with unsupported annotation should throw exception.
+     */
+    @Test
+    void getMetadata_WithUnsupportedAnnotation_ShouldThrowException() {
+        Override override = mock(Override.class);
+
+        assertThrows(IllegalArgumentException.class, () -> evaluator.getMetadata(joinPoint, override));
+    }
+
+    /**
+     * Create context without parameter references should not resolve parameter names.
+     */
+    @Test
+    void createContext_WithoutParameterReferences_ShouldNotReadArguments() {
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, mockPut("", "", ""));
+        EvaluationContext context = evaluator.createContext(joinPoint, metadata, "value");
+
+        assertEquals("value", evaluator.getExpression(method, "#result").getValue(context, String.class));
+        verify(methodSignature, times(1)).getParameterNames();
+    }
+
+    /**
+     * Get expression should parse each expression once per method.
+     */
+    @Test
+    void getExpression_ShouldReuseParsedExpression() {
+        assertSame(evaluator.getExpression(method, "#id"), evaluator.getExpression(method, "#id"));
+        assertNotSame(evaluator.getExpression(method, "#id"), evaluator.getExpression(method, "#id + '1'"));
+    }
+
+    /**
+     * Evaluate repeatedly should keep returning the same value once compiled.
+     */
+    @Test
+    void evaluate_Repeatedly_ShouldReturnSameValue() {
+        CacheOperationMetadata metadata = evaluator.getMetadata(joinPoint, mockPut("'user:' + #id", "", ""));
+        for (int i = 0; i < 5; i++) {
+            EvaluationContext context = evaluator.createContext(joinPoint, metadata, null);
+            assertEquals("user:123", metadata.getKey().getValue(context, String.class));
+        }
+    }
+
+    /**
+     * Shared should return a single instance.
+     */
+    @Test
+    void shared_ShouldReturnSameInstance() {
+        assertSame(CoalesceExpressionEvaluator.shared(), CoalesceExpressionEvaluator.shared());
+    }
+
+    /**
+     * Mock put.
+     *
+     * @param key the key
+     * @param condition the condition
+     * @param unless the unless
+     * @return the coalesce put
+     */
+    private CoalescePut mockPut(String key, String condition, String unless) {
+        CoalescePut put = mock(CoalescePut.class);
+        when(put.value()).thenReturn("cache");
+        when(put.key()).thenReturn(key);
+        when(put.condition()).thenReturn(condition);
+        when(put.unless()).thenReturn(unless);
+        when(put.ttl()).thenReturn(300L);
+        return put;
+    }
+}
@@ -0,0 +1,294 @@
+package io.github.ajuarez0021.redis.aspect;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DefaultCoalesceKeyGenerator.
+ *
+ * @author ajuar
+ */
+class DefaultCoalesceKeyGeneratorTest {
+
+    /** The generator. */
+    private DefaultCoalesceKeyGenerator generator;
+
+    /** The method. */
+    private Method method;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        generator = new DefaultCoalesceKeyGenerator();
+        method = getClass().getMethod("testMethod", Object[].class);
+    }
+
+    /**
+     * Test method for key generation.
+     *
+     * @param args the args
+     * @return the string
+     */
+    public String testMethod(Object... args) {
+        return "result";
+    }
+
+    /**
+     * A record argument.
+     *
+     * @param id the id
+     * @param tags the tags
+     */
+    record Query(long id, List<String> tags) {
+    }
+
+    /**
+     * An argument class without its own toString.
+     */
+    static class Filter {
+
+        /** The category. */
+        private final String category;
+
+        /** The limit. */
+        private final int limit;
+
+        /** The weights. */
+        private final Map<String, Integer> weights;
+
+        /**
+         * Instantiates a new filter.
+         *
+         * @param category the category
+         * @param limit the limit
+         * @param weights the weights
+         */
+        Filter(String category, int limit, Map<String, Integer> weights) {
+            this.category = category;
+            this.limit = limit;
+            this.weights = weights;
+        }
+    }
+
+    /**
+     * A record whose accessor fails.
+     *
+     * @param name the name
+     */
+    record Broken(String name) {
+
+        /**
+         * Fails instead of returning the name.
+         *
+         * @return never
+         */
+        @Override
+        public String name() {
+            throw new IllegalStateException("not loaded");
+        }
+    }
+
+    /**
+     * An argument class without its own toString, with a set and a link to another node.
+     */
+    static class Node {
+
+        /** The tags. */
+        private final Set<String> tags;
+
+        /** The next node. */
+        private Node next;
+
+        /**
+         * Instantiates a new node.
+         *
+         * @param tags the tags
+         */
+        Node(Set<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    /**
+     * Generate without args should return the no args key.
+     */
+    @Test
+    void generate_WithoutArgs_ShouldReturnNoArgsKey() {
+        assertEquals("~", generator.generate(method, new Object[0]));
+        assertEquals("~", generator.generate(method, null));
+        assertNotEquals("~", generator.generate(method, new Object[]{0}));
+        assertNotEquals("~", generator.generate(method, new Object[]{"~"}));
+    }
+
+    /**
+     * Generate with a single simple argument should use it as is.
+     */
+    @Test
+    void generate_WithSingleSimpleArg_ShouldUsePlainKey() {
+        UUID uuid = UUID.randomUUID();
+
+        assertEquals("123", generator.generate(method, new Object[]{"123"}));
+        assertEquals("42", generator.generate(method, new Object[]{42L}));
+        assertEquals("7", generator.generate(method, new Object[]{7}));
+        assertEquals("SECONDS", generator.generate(method, new Object[]{TimeUnit.SECONDS}));
+        assertEquals(uuid.toString(), generator.generate(method, new Object[]{uuid}));
+    }
+
+    /**
+     * Generate with strings unsafe as keys should hash them.
+     */
+    @Test
+    void generate_WithUnsafeString_ShouldHash() {
+        assertHashed(generator.generate(method, new Object[]{"user*"}));
+        assertHashed(generator.generate(method, new Object[]{"a b"}));
+        assertHashed(generator.generate(method, new Object[]{""}));
+        assertHashed(generator.generate(method, new Object[]{"~abc"}));
+        assertHashed(generator.generate(method, new Object[]{"x".repeat(65)}));
+    }
+
+    /**
+     * Generate with several or composite args should hash them.
+     */
+    @Test
+    void generate_WithCompositeArgs_ShouldHash() {
+        assertHashed(generator.generate(method, new Object[]{"a", 1}));
+        assertHashed(generator.generate(method, new Object[]{List.of(1, 2)}));
+        assertHashed(generator.generate(method, new Object[]{(Object) null}));
+        assertHashed(generator.generate(method, new Object[]{1.5d}));
+    }
+
+    /**
+     * Generate with equal args should return equal keys.
+     */
+    @Test
+    void generate_WithEqualArgs_ShouldReturnSameKey() {
+        Object[] first = {new Query(1, List.of("a", "b")), new int[]{1, 2}, new byte[]{3}, new String[]{"x"}, true};
+        Object[] second = {new Query(1, Arrays.asList("a", "b")), new int[]{1, 2}, new byte[]{3},
+            new String[]{"x"}, true};
+
+        assertEquals(generator.generate(method, first), generator.generate(method, second));
+    }
+
+    /**
+     * Generate with args differing in value, order or type should return different keys.
+     */
+    @Test
+    void generate_WithDifferentArgs_ShouldReturnDifferentKeys() {
+        assertNotEquals(generator.generate(method, new Object[]{"a", "b"}),
+                generator.generate(method, new Object[]{"b", "a"}));
+        assertNotEquals(generator.generate(method, new Object[]{"ab", "c"}),
+                generator.generate(method, new Object[]{"a", "bc"}));
+        assertNotEquals(generator.generate(method, new Object[]{1, "x"}),
+                generator.generate(method, new Object[]{1L, 'x'}));
+        assertNotEquals(generator.generate(method, new Object[]{new Query(1, List.of())}),
+                generator.generate(method, new Object[]{new Query(2, List.of())}));
+        assertNotEquals(generator.generate(method, new Object[]{null, "a"}),
+                generator.generate(method, new Object[]{"a", null}));
+    }
+
+    /**
+     * Generate with sets and maps should not depend on iteration order.
+     */
+    @Test
+    void generate_WithUnorderedArgs_ShouldIgnoreIterationOrder() {
+        Map<String, Integer> first = new LinkedHashMap<>();
+        first.put("a", 1);
+        first.put("b", 2);
+        Map<String, Integer> second = new LinkedHashMap<>();
+        second.put("b", 2);
+        second.put("a", 1);
+
+        assertEquals(generator.generate(method, new Object[]{new LinkedHashSet<>(List.of(1, 2, 3))}),
+                generator.generate(method, new Object[]{new HashSet<>(List.of(3, 2, 1))}));
+        assertEquals(generator.generate(method, new Object[]{first}),
+                generator.generate(method, new Object[]{second}));
+        assertNotEquals(generator.generate(method, new Object[]{Map.of("a", 1)}),
+                generator.generate(method, new Object[]{Map.of("a", 2)}));
+    }
+
+    /**
+     * Generate with other objects should use the class name and toString.
+     */
+    @Test
+    void generate_WithOtherObjects_ShouldUseToString() {
+        assertEquals(generator.generate(method, new Object[]{new StringBuilder("a"), Thread.State.NEW}),
+                generator.generate(method, new Object[]{new StringBuilder("a"), Thread.State.NEW}));
+        assertEquals(generator.generate(method, new Object[]{LocalDate.of(2024, 1, 1), 'c'}),
+                generator.generate(method, new Object[]{LocalDate.of(2024, 1, 1), 'c'}));
+    }
+
+    /**
+     * Generate with objects without their own toString should hash their fields.
+     */
+    @Test
+    void generate_WithObjectsWithoutToString_ShouldHashFields() {
+        assertEquals(generator.generate(method, new Object[]{new Filter("books", 10, Map.of("b", 2, "a", 1))}),
+                generator.generate(method, new Object[]{new Filter("books", 10, Map.of("a", 1, "b", 2))}));
+        assertNotEquals(generator.generate(method, new Object[]{new Filter("books", 10, Map.of())}),
+                generator.generate(method, new Object[]{new Filter("books", 11, Map.of())}));
+        assertHashed(generator.generate(method, new Object[]{new Object()}));
+    }
+
+    /**
+     * Generate with set fields should not depend on the iteration order of the set.
+     */
+    @Test
+    void generate_WithSetFields_ShouldIgnoreIterationOrder() {
+        Node ab = new Node(new LinkedHashSet<>(List.of("a", "b")));
+        Node ba = new Node(new LinkedHashSet<>(List.of("b", "a")));
+
+        assertEquals(generator.generate(method, new Object[]{ab}), generator.generate(method, new Object[]{ba}));
+        assertNotEquals(generator.generate(method, new Object[]{ab}),
+                generator.generate(method, new Object[]{new Node(Set.of("a"))}));
+    }
+
+    /**
+     * Generate with objects whose fields cannot be read should fall back to their hashCode.
+     */
+    @Test
+    void generate_WithUnreadableFields_ShouldFallBackToHashCode() {
+        Node cyclic = new Node(Set.of("a"));
+        cyclic.next = cyclic;
+        Broken broken = new Broken("name");
+
+        String key = assertDoesNotThrow(() -> generator.generate(method, new Object[]{cyclic}));
+        assertEquals(key, generator.generate(method, new Object[]{cyclic}));
+        assertHashed(key);
+        assertEquals(generator.generate(method, new Object[]{broken}),
+                generator.generate(method, new Object[]{broken}));
+    }
+
+    /**
+     * Murmur3 without input should match the reference result.
+     */
+    @Test
+    void murmur3_WithoutInput_ShouldMatchReference() {
+        assertEquals("AAAAAAAAAAAAAAAAAAAAAA", new DefaultCoalesceKeyGenerator.Murmur3().toBase64());
+    }
+
+    /**
+     * Asserts that a key is a hashed key.
+     *
+     * @param key the key
+     */
+    private static void assertHashed(String key) {
+        assertEquals(DefaultCoalesceKeyGenerator.HASHED_PREFIX, key.charAt(0));
+        assertEquals(23, key.length());
+    }
+}
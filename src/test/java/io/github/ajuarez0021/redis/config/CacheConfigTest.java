@@ -1,10 +1,22 @@
 package io.github.ajuarez0021.redis.config;
 
 import io.github.ajuarez0021.redis.annotation.EnableRedisLibrary;
+import io.github.ajuarez0021.redis.aspect.CoalesceKeyGenerator;
+import io.github.ajuarez0021.redis.aspect.DefaultCoalesceKeyGenerator;
 import io.github.ajuarez0021.redis.service.CacheOperationBuilder;
+import io.github.ajuarez0021.redis.service.CoalesceCacheManager;
 import io.github.ajuarez0021.redis.service.RedisCacheService;
 import io.github.ajuarez0021.redis.service.RedisHealthChecker;
+import io.github.ajuarez0021.redis.service.TypedRegions;
 import io.github.ajuarez0021.redis.util.Mode;
+import io.github.ajuarez0021.redis.util.NotificationMode;
+import io.github.ajuarez0021.redis.util.ReadPreference;
+import io.github.ajuarez0021.redis.util.ValueFormat;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions.RefreshTrigger;
+import io.lettuce.core.resource.ClientResources;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,13 +25,28 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.CacheManager;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
-
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 
@@ -35,6 +62,10 @@ class CacheConfigTest {
     @Mock
     private AnnotationMetadata annotationMetadata;
 
+    /** The client resources. */
+    @Mock
+    private ClientResources clientResources;
+
     /** The cache config. */
     private CacheConfig cacheConfig;
 
@@ -68,7 +99,7 @@ class CacheConfigTest {
     void redisCacheService_ShouldCreateInstance() {
         RedisTemplate<String, Object> mockRedisTemplate = mock(RedisTemplate.class);
 
-        RedisCacheService result = cacheConfig.redisCacheService(mockRedisTemplate);
+        RedisCacheService result = cacheConfig.redisCacheService(mockRedisTemplate, mock(TypedRegions.class));
 
         assertNotNull(result);
         assertInstanceOf(RedisCacheService.class, result);
@@ -127,7 +158,7 @@ class CacheConfigTest {
     void createRedisConnectionFactory_WithStandaloneMode_ShouldCreateStandaloneFactory() {
         setupStandaloneConfiguration();
 
-        RedisConnectionFactory factory = cacheConfig.createRedisConnectionFactory();
+        RedisConnectionFactory factory = cacheConfig.createRedisConnectionFactory(clientResources);
 
         assertNotNull(factory);
     }
@@ -139,11 +170,84 @@ class CacheConfigTest {
     void createRedisConnectionFactory_WithClusterMode_ShouldCreateClusterFactory() {
         setupClusterConfiguration();
 
-        RedisConnectionFactory factory = cacheConfig.createRedisConnectionFactory();
+        RedisConnectionFactory factory = cacheConfig.createRedisConnectionFactory(clientResources);
 
         assertNotNull(factory);
     }
 
+    /**
+     * Creates the redis connection factory with cluster mode should refresh the topology.
+     */
+    @Test
+    void createRedisConnectionFactory_WithClusterMode_ShouldRefreshTopology() {
+        setupClusterConfiguration();
+
+        LettuceConnectionFactory factory =
+                (LettuceConnectionFactory) cacheConfig.createRedisConnectionFactory(clientResources);
+
+        ClusterClientOptions options = assertInstanceOf(ClusterClientOptions.class,
+                factory.getClientConfiguration().getClientOptions().orElseThrow());
+        ClusterTopologyRefreshOptions refreshOptions = options.getTopologyRefreshOptions();
+        assertEquals(5, options.getMaxRedirects());
+        assertTrue(refreshOptions.isPeriodicRefreshEnabled());
+        assertEquals(Duration.ofSeconds(60), refreshOptions.getRefreshPeriod());
+        assertEquals(Set.of(RefreshTrigger.MOVED_REDIRECT, RefreshTrigger.ASK_REDIRECT,
+                RefreshTrigger.PERSISTENT_RECONNECTS), refreshOptions.getAdaptiveRefreshTriggers());
+        assertEquals(5, factory.getClusterConfiguration().getMaxRedirects());
+    }
+
+    /**
+     * Creates the redis connection factory with cluster refresh disabled should keep a static topology.
+     */
+    @Test
+    void createRedisConnectionFactory_WithClusterRefreshDisabled_ShouldNotRefreshTopology() {
+        Map<String, Object> attributesMap = createClusterAttributesMap();
+        attributesMap.put("clusterRefreshPeriod", 0L);
+        attributesMap.put("clusterAdaptiveRefresh", Boolean.FALSE);
+        attributesMap.put("clusterMaxRedirects", 2);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        LettuceConnectionFactory factory =
+                (LettuceConnectionFactory) cacheConfig.createRedisConnectionFactory(clientResources);
+
+        ClusterClientOptions options = (ClusterClientOptions) factory.getClientConfiguration()
+                .getClientOptions().orElseThrow();
+        assertEquals(2, options.getMaxRedirects());
+        assertFalse(options.getTopologyRefreshOptions().isPeriodicRefreshEnabled());
+        assertTrue(options.getTopologyRefreshOptions().getAdaptiveRefreshTriggers().isEmpty());
+    }
+
+    /**
+     * Creates the redis connection factory with invalid cluster settings should throw exception.
+     */
+    @Test
+    void createRedisConnectionFactory_WithInvalidClusterRefresh_ShouldThrowException() {
+        Map<String, Object> attributesMap = createClusterAttributesMap();
+        attributesMap.put("clusterRefreshPeriod", -1L);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
+    }
+
+    /**
+     * Creates the redis connection factory in standalone mode should not set cluster options.
+     */
+    @Test
+    void createRedisConnectionFactory_WithStandaloneMode_ShouldNotSetClusterOptions() {
+        setupStandaloneConfiguration();
+
+        LettuceConnectionFactory factory =
+                (LettuceConnectionFactory) cacheConfig.createRedisConnectionFactory(clientResources);
+
+        assertFalse(factory.getClientConfiguration().getClientOptions()
+                .filter(ClusterClientOptions.class::isInstance).isPresent());
+    }
+
     /**
      * Creates the redis connection factory with credentials should configure auth.
      */
@@ -151,7 +255,7 @@ class CacheConfigTest {
     void createRedisConnectionFactory_WithCredentials_ShouldConfigureAuth() {
         setupStandaloneConfigurationWithCredentials();
 
-        RedisConnectionFactory factory = cacheConfig.createRedisConnectionFactory();
+        RedisConnectionFactory factory = cacheConfig.createRedisConnectionFactory(clientResources);
 
         assertNotNull(factory);
     }
@@ -163,13 +267,150 @@ class CacheConfigTest {
     void createClusterConfig_WithCredentials_ShouldConfigureAuth() {
         setupClusterConfigurationWithCredentials();
 
-        RedisConnectionFactory factory = cacheConfig.createRedisConnectionFactory();
+        RedisConnectionFactory factory = cacheConfig.createRedisConnectionFactory(clientResources);
 
         assertNotNull(factory);
     }
 
     
 
+    /**
+     * Creates the redis connection factory with pooling should use a pooled client configuration.
+     */
+    @Test
+    void createRedisConnectionFactory_WithPool_ShouldUsePoolingConfiguration() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("poolMaxTotal", 16);
+        attributesMap.put("poolMinIdle", 2);
+        attributesMap.put("shareNativeConnection", Boolean.FALSE);
+        attributesMap.put("useSsl", Boolean.TRUE);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        LettuceConnectionFactory factory =
+                (LettuceConnectionFactory) cacheConfig.createRedisConnectionFactory(clientResources);
+
+        LettucePoolingClientConfiguration configuration =
+                assertInstanceOf(LettucePoolingClientConfiguration.class, factory.getClientConfiguration());
+        assertEquals(16, configuration.getPoolConfig().getMaxTotal());
+        assertEquals(8, configuration.getPoolConfig().getMaxIdle());
+        assertEquals(2, configuration.getPoolConfig().getMinIdle());
+        assertTrue(configuration.isUseSsl());
+        assertSame(clientResources, configuration.getClientResources().orElseThrow());
+        assertFalse(factory.getShareNativeConnection());
+    }
+
+    /**
+     * Creates the redis connection factory without pooling should share one connection.
+     */
+    @Test
+    void createRedisConnectionFactory_WithoutPool_ShouldShareNativeConnection() {
+        setupStandaloneConfiguration();
+
+        LettuceConnectionFactory factory =
+                (LettuceConnectionFactory) cacheConfig.createRedisConnectionFactory(clientResources);
+
+        assertFalse(factory.getClientConfiguration() instanceof LettucePoolingClientConfiguration);
+        assertTrue(factory.getShareNativeConnection());
+    }
+
+    /**
+     * Creates the redis connection factory with invalid pool settings should throw exception.
+     */
+    @Test
+    void createRedisConnectionFactory_WithInvalidPool_ShouldThrowException() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("poolMaxTotal", 4);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
+    }
+
+    /**
+     * Creates the redis connection factory with a replica read preference should route reads.
+     */
+    @Test
+    void createRedisConnectionFactory_WithReplicaReads_ShouldConfigureReadFrom() {
+        Map<String, Object> attributesMap = createClusterAttributesMap();
+        attributesMap.put("readFrom", ReadPreference.REPLICA_PREFERRED);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        LettuceConnectionFactory factory =
+                (LettuceConnectionFactory) cacheConfig.createRedisConnectionFactory(clientResources);
+
+        assertSame(ReadFrom.REPLICA_PREFERRED, factory.getClientConfiguration().getReadFrom().orElseThrow());
+    }
+
+    /**
+     * Creates the redis connection factory reading from the master should not set a read preference.
+     */
+    @Test
+    void createRedisConnectionFactory_WithMasterReads_ShouldNotConfigureReadFrom() {
+        setupSentinelConfiguration();
+
+        LettuceConnectionFactory factory =
+                (LettuceConnectionFactory) cacheConfig.createRedisConnectionFactory(clientResources);
+
+        assertTrue(factory.getClientConfiguration().getReadFrom().isEmpty());
+    }
+
+    /**
+     * Creates the redis connection factory with replica reads in standalone mode should throw exception.
+     */
+    @Test
+    void createRedisConnectionFactory_WithReplicaReadsInStandalone_ShouldThrowException() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("readFrom", ReadPreference.ANY);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
+    }
+
+    /**
+     * Lettuce client resources should use the configured thread counts.
+     */
+    @Test
+    void lettuceClientResources_WithThreads_ShouldUseConfiguredPoolSizes() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("ioThreads", 2);
+        attributesMap.put("computationThreads", 3);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        ClientResources resources = cacheConfig.lettuceClientResources();
+        try {
+            assertEquals(2, resources.ioThreadPoolSize());
+            assertEquals(3, resources.computationThreadPoolSize());
+        } finally {
+            resources.shutdown();
+        }
+    }
+
+    /**
+     * Lettuce client resources with default thread counts should keep the Lettuce defaults.
+     */
+    @Test
+    void lettuceClientResources_WithDefaults_ShouldCreateResources() {
+        setupStandaloneConfiguration();
+
+        ClientResources resources = cacheConfig.lettuceClientResources();
+        try {
+            assertTrue(resources.ioThreadPoolSize() > 0);
+        } finally {
+            resources.shutdown();
+        }
+    }
+
     /**
      * Creates the redis template should create configured template.
      */
@@ -177,7 +418,7 @@ class CacheConfigTest {
     void createRedisTemplate_ShouldCreateConfiguredTemplate() {
         setupStandaloneConfiguration();
 
-        RedisTemplate<String, ?> template = cacheConfig.createRedisTemplate(cacheConfig.createRedisConnectionFactory());
+        RedisTemplate<String, ?> template = cacheConfig.createRedisTemplate(cacheConfig.createRedisConnectionFactory(clientResources));
 
         assertNotNull(template);
         assertNotNull(template.getConnectionFactory());
@@ -185,6 +426,30 @@ class CacheConfigTest {
 
 
 
+    /**
+     * Create reactive redis template should create a template on the Lettuce factory.
+     */
+    @Test
+    void createReactiveRedisTemplate_ShouldCreateConfiguredTemplate() {
+        setupStandaloneConfiguration();
+
+        ReactiveRedisTemplate<String, Object> template =
+                cacheConfig.createReactiveRedisTemplate(cacheConfig.createRedisConnectionFactory(clientResources));
+
+        assertNotNull(template);
+        assertNotNull(cacheConfig.reactiveRedisCacheService(template));
+    }
+
+    /**
+     * Create reactive redis template with a blocking-only factory should throw exception.
+     */
+    @Test
+    void createReactiveRedisTemplate_WithBlockingFactory_ShouldThrowException() {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+
+        assertThrows(IllegalStateException.class, () -> cacheConfig.createReactiveRedisTemplate(connectionFactory));
+    }
+
     /**
      * Cache manager should create cache manager.
      */
@@ -192,11 +457,156 @@ class CacheConfigTest {
     void cacheManager_ShouldCreateCacheManager() {
         setupStandaloneConfigurationWithTTL();
 
-        CacheManager cacheManager = cacheConfig.cacheManager(cacheConfig.createRedisConnectionFactory());
+        CacheManager cacheManager = cacheConfig.cacheManager(cacheConfig.createRedisConnectionFactory(clientResources));
 
         assertNotNull(cacheManager);
     }
 
+    /**
+     * Cache manager with format entries should write each cache in its format.
+     */
+    @Test
+    void cacheManager_WithFormatEntries_ShouldUseFormatPerCache() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        AnnotationAttributes formatEntry = new AnnotationAttributes();
+        formatEntry.put("name", "reports");
+        formatEntry.put("format", ValueFormat.SMILE);
+        attributesMap.put("formatEntries", new AnnotationAttributes[]{formatEntry});
+        AnnotationAttributes ttlEntry = new AnnotationAttributes();
+        ttlEntry.put("name", "reports");
+        ttlEntry.put("ttl", 5L);
+        attributesMap.put("ttlEntries", new AnnotationAttributes[]{ttlEntry});
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        RedisCacheManager cacheManager = (RedisCacheManager) cacheConfig
+                .cacheManager(cacheConfig.createRedisConnectionFactory(clientResources));
+        cacheManager.initializeCaches();
+
+        RedisCacheConfiguration reports = cacheManager.getCacheConfigurations().get("reports");
+        ByteBuffer value = reports.getValueSerializationPair().write("report");
+        assertEquals(0x01, value.get(0));
+        assertEquals(Duration.ofMinutes(5), reports.getTtlFunction().getTimeToLive("key", "report"));
+    }
+
+    /**
+     * Redis template with a compression threshold should compress large values and count them.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void createRedisTemplate_WithCompressionThreshold_ShouldCompressLargeValues() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("compressionThreshold", 128);
+        attributesMap.put("compressionCodec", CompressionCodec.class);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        RedisTemplate<String, Object> template = cacheConfig.createRedisTemplate(
+                cacheConfig.createRedisConnectionFactory(clientResources));
+
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) template.getValueSerializer();
+        String report = "report line\n".repeat(100);
+        byte[] bytes = serializer.serialize(report);
+        assertEquals(DeflateCompressionCodec.HEADER, bytes[0]);
+        assertEquals(report, serializer.deserialize(bytes));
+        assertEquals(1, cacheConfig.compressionMetrics().snapshot().getCompressedValues());
+    }
+
+    /**
+     * Negative compression threshold should throw exception.
+     */
+    @Test
+    void createRedisTemplate_WithNegativeCompressionThreshold_ShouldThrowException() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("compressionThreshold", -1);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+        RedisConnectionFactory connectionFactory = cacheConfig.createRedisConnectionFactory(clientResources);
+
+        assertThrows(IllegalArgumentException.class, () -> cacheConfig.createRedisTemplate(connectionFactory));
+    }
+
+    /**
+     * Typed regions should serialize region values without type metadata.
+     */
+    @Test
+    void typedRegions_WithRegionEntries_ShouldBuildTypedSerializers() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("regionEntries", new AnnotationAttributes[]{createRegionEntry("names", StringBuilder.class)});
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        TypedRegions regions = cacheConfig.typedRegions();
+
+        assertEquals(StringBuilder.class, regions.regionType("names").orElseThrow());
+        assertTrue(regions.regionType("other").isEmpty());
+        byte[] bytes = regions.serializer(StringBuilder.class).serialize(new StringBuilder("ana"));
+        assertEquals("\"ana\"", new String(bytes, StandardCharsets.UTF_8));
+        assertSame(regions.serializer(StringBuilder.class), regions.serializer(StringBuilder.class));
+    }
+
+    /**
+     * Typed regions declared twice or with an untyped class should throw exception.
+     */
+    @Test
+    void typedRegions_WithInvalidEntries_ShouldThrowException() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("regionEntries", new AnnotationAttributes[]{
+            createRegionEntry("names", StringBuilder.class), createRegionEntry("names", StringBuilder.class)});
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        assertEquals("Region names is declared more than once.",
+                assertThrows(IllegalArgumentException.class, () -> cacheConfig.typedRegions()).getMessage());
+
+        attributesMap.put("regionEntries", new AnnotationAttributes[]{createRegionEntry("names", Object.class)});
+        assertThrows(IllegalArgumentException.class, () -> cacheConfig.typedRegions());
+    }
+
+    /**
+     * Cache manager with a blank format entry name should throw exception.
+     */
+    @Test
+    void cacheManager_WithBlankFormatEntryName_ShouldThrowException() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        AnnotationAttributes formatEntry = new AnnotationAttributes();
+        formatEntry.put("name", "");
+        formatEntry.put("format", ValueFormat.CBOR);
+        attributesMap.put("formatEntries", new AnnotationAttributes[]{formatEntry});
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+        RedisConnectionFactory connectionFactory = cacheConfig.createRedisConnectionFactory(clientResources);
+
+        assertThrows(IllegalStateException.class, () -> cacheConfig.cacheManager(connectionFactory));
+    }
+
+    /**
+     * Redis template with a binary value format should write the header byte.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void createRedisTemplate_WithCborFormat_ShouldWriteCbor() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("valueFormat", ValueFormat.CBOR);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        RedisTemplate<String, Object> template = cacheConfig.createRedisTemplate(
+                cacheConfig.createRedisConnectionFactory(clientResources));
+
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) template.getValueSerializer();
+        byte[] bytes = serializer.serialize("value");
+        assertEquals(0x02, bytes[0]);
+        assertEquals("value", serializer.deserialize(bytes));
+    }
+
    
 
     /**
@@ -207,7 +617,7 @@ class CacheConfigTest {
         setupConfigurationWithNullHosts();
 
         Exception exception = assertThrows(Exception.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
         assertNotNull(exception);
     }
 
@@ -219,7 +629,7 @@ class CacheConfigTest {
         setupConfigurationWithEmptyHosts();
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
         assertTrue(exception.getMessage().contains("At least one host must be configured"));
     }
 
@@ -232,7 +642,7 @@ class CacheConfigTest {
 
         
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
         assertTrue(exception.getMessage().contains("Host name cannot be empty"));
     }
 
@@ -244,7 +654,7 @@ class CacheConfigTest {
         setupConfigurationWithInvalidPort(0);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
         assertTrue(exception.getMessage().contains("Invalid port"));
     }
 
@@ -256,7 +666,7 @@ class CacheConfigTest {
         setupConfigurationWithInvalidPort(65536);
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
         assertTrue(exception.getMessage().contains("Invalid port"));
     }
 
@@ -268,7 +678,7 @@ class CacheConfigTest {
         setupConfigurationWithMultipleHostsStandalone();
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
         assertTrue(exception.getMessage().contains("Standalone mode requires exactly one host entry"));
     }
 
@@ -280,12 +690,206 @@ class CacheConfigTest {
         setupConfigurationWithSingleHostCluster();
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
         assertTrue(exception.getMessage().contains("Cluster mode requires host entries for proper redundancy"));
     }
 
     
 
+    /**
+     * Coalesce cache manager should create instance without near cache by default.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void coalesceCacheManager_ShouldCreateInstance() {
+        setupStandaloneConfiguration();
+        RedisTemplate<String, Object> mockRedisTemplate = mock(RedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+
+        CoalesceCacheManager result = cacheConfig.coalesceCacheManager(mockRedisTemplate, container);
+
+        assertNotNull(result);
+    }
+
+    /**
+     * Coalesce cache manager with near cache should create instance.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void coalesceCacheManager_WithNearCache_ShouldCreateInstance() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("nearCacheMaxSize", 1000L);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+        RedisTemplate<String, Object> mockRedisTemplate = mock(RedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+
+        CoalesceCacheManager result = cacheConfig.coalesceCacheManager(mockRedisTemplate, container);
+
+        assertNotNull(result);
+    }
+
+    /**
+     * Coalesce cache manager with per-key notifications should not subscribe to the broadcast channel.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void coalesceCacheManager_WithPerKeyNotifications_ShouldSkipBroadcastChannel() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("notificationMode", NotificationMode.PER_KEY);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+        RedisTemplate<String, Object> mockRedisTemplate = mock(RedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+
+        CoalesceCacheManager result = cacheConfig.coalesceCacheManager(mockRedisTemplate, container);
+
+        assertNotNull(result);
+        verify(container, times(1)).addMessageListener(any(MessageListener.class), any(Topic.class));
+    }
+
+    /**
+     * Coalesce cache manager with invalid near cache should throw exception.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void coalesceCacheManager_WithInvalidNearCache_ShouldThrowException() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("nearCacheMaxSize", -1L);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+        RedisTemplate<String, Object> mockRedisTemplate = mock(RedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> cacheConfig.coalesceCacheManager(mockRedisTemplate, container));
+    }
+
+    /**
+     * Coalesce cache manager with tracking but no near cache size should throw exception.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void coalesceCacheManager_WithTrackingWithoutNearCache_ShouldThrowException() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("nearCacheTracking", Boolean.TRUE);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+
+        assertThrows(IllegalArgumentException.class, () -> cacheConfig.coalesceCacheManager(redisTemplate, container));
+    }
+
+    /**
+     * Coalesce cache manager with tracking on a non-Lettuce factory should throw exception.
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    void coalesceCacheManager_WithTrackingWithoutLettuce_ShouldThrowException() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("nearCacheTracking", Boolean.TRUE);
+        attributesMap.put("nearCacheMaxSize", 1000L);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        when(redisTemplate.getConnectionFactory()).thenReturn(mock(RedisConnectionFactory.class));
+        RedisMessageListenerContainer container = mock(RedisMessageListenerContainer.class);
+
+        assertThrows(IllegalStateException.class, () -> cacheConfig.coalesceCacheManager(redisTemplate, container));
+    }
+
+    /**
+     * Coalesce caching aspect should create instance.
+     */
+    @Test
+    void coalesceCachingAspect_ShouldCreateInstance() {
+        setupStandaloneConfiguration();
+
+        assertNotNull(cacheConfig.coalesceCachingAspect(mock(CoalesceCacheManager.class),
+                cacheConfig.coalesceKeyGenerator()));
+    }
+
+    /**
+     * Coalesce put and evict aspects should be created with the shared key generator.
+     */
+    @Test
+    void coalescePutAndEvictAspects_ShouldCreateInstances() {
+        CoalesceKeyGenerator generator = new FixedKeyGenerator();
+
+        assertNotNull(cacheConfig.coalescePutAspect(mock(CoalesceCacheManager.class), generator));
+        assertNotNull(cacheConfig.coalesceEvictAspect(mock(CoalesceCacheManager.class), generator));
+    }
+
+    /**
+     * Coalesce key generator with custom class should create that class.
+     */
+    @Test
+    void coalesceKeyGenerator_WithCustomKeyGenerator_ShouldCreateInstance() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("keyGenerator", FixedKeyGenerator.class);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        assertInstanceOf(FixedKeyGenerator.class, cacheConfig.coalesceKeyGenerator());
+    }
+
+    /**
+     * Coalesce key generator with a class that cannot be instantiated should fall back.
+     */
+    @Test
+    void coalesceKeyGenerator_WithInvalidKeyGenerator_ShouldFallBackToDefault() {
+        Map<String, Object> attributesMap = createBasicAttributesMap();
+        attributesMap.put("keyGenerator", CoalesceKeyGenerator.class);
+        when(annotationMetadata.getAnnotationAttributes(EnableRedisLibrary.class.getName()))
+                .thenReturn(attributesMap);
+        cacheConfig.setImportMetadata(annotationMetadata);
+
+        assertInstanceOf(DefaultCoalesceKeyGenerator.class, cacheConfig.coalesceKeyGenerator());
+    }
+
+    /**
+     * A key generator returning a fixed key.
+     */
+    public static class FixedKeyGenerator implements CoalesceKeyGenerator {
+
+        /**
+         * Generate.
+         *
+         * @param method the method
+         * @param args the args
+         * @return the string
+         */
+        @Override
+        public String generate(Method method, Object[] args) {
+            return "fixed";
+        }
+    }
+
+    /**
+     * Creates the attributes map of a two-node cluster.
+     *
+     * @return the map
+     */
+    private Map<String, Object> createClusterAttributesMap() {
+        Map<String, Object> map = createBasicAttributesMap();
+        map.put("mode", Mode.CLUSTER);
+        AnnotationAttributes first = new AnnotationAttributes();
+        first.put("host", "node1");
+        first.put("port", 6379);
+        AnnotationAttributes second = new AnnotationAttributes();
+        second.put("host", "node2");
+        second.put("port", 6379);
+        map.put("hostEntries", new AnnotationAttributes[]{first, second});
+        return map;
+    }
+
     /**
      * Creates the basic attributes map.
      *
@@ -310,10 +914,44 @@ class CacheConfigTest {
         map.put("hostEntries", hostEntries);
 
         map.put("ttlEntries", new AnnotationAttributes[0]);
+        map.put("valueFormat", ValueFormat.JSON);
+        map.put("formatEntries", new AnnotationAttributes[0]);
+        map.put("regionEntries", new AnnotationAttributes[0]);
+        map.put("compressionThreshold", 0);
+        map.put("compressionCodec", DeflateCompressionCodec.class);
+        map.put("nearCacheMaxSize", 0L);
+        map.put("nearCacheTtl", 30L);
+        map.put("nearCacheTracking", Boolean.FALSE);
+        map.put("notificationMode", NotificationMode.BROADCAST);
+        map.put("keyGenerator", DefaultCoalesceKeyGenerator.class);
+        map.put("poolMaxTotal", 0);
+        map.put("poolMaxIdle", 8);
+        map.put("poolMinIdle", 0);
+        map.put("shareNativeConnection", Boolean.TRUE);
+        map.put("ioThreads", 0);
+        map.put("computationThreads", 0);
+        map.put("readFrom", ReadPreference.MASTER);
+        map.put("clusterRefreshPeriod", 60L);
+        map.put("clusterAdaptiveRefresh", Boolean.TRUE);
+        map.put("clusterMaxRedirects", 5);
 
         return map;
     }
 
+    /**
+     * Creates a region entry.
+     *
+     * @param name the cache name
+     * @param type the value class
+     * @return the annotation attributes
+     */
+    private AnnotationAttributes createRegionEntry(String name, Class<?> type) {
+        AnnotationAttributes entry = new AnnotationAttributes();
+        entry.put("name", name);
+        entry.put("type", type);
+        return entry;
+    }
+
     /**
      * Setup standalone configuration.
      */
@@ -533,7 +1171,7 @@ class CacheConfigTest {
     void createRedisConnectionFactory_WithSentinelMode_ShouldCreateSentinelConfiguration() {
         setupSentinelConfiguration();
 
-        RedisConnectionFactory result = cacheConfig.createRedisConnectionFactory();
+        RedisConnectionFactory result = cacheConfig.createRedisConnectionFactory(clientResources);
 
         assertNotNull(result);
     }
@@ -545,7 +1183,7 @@ class CacheConfigTest {
     void createRedisConnectionFactory_WithSentinelModeAndCredentials_ShouldConfigureCredentials() {
         setupSentinelConfigurationWithCredentials();
 
-        RedisConnectionFactory result = cacheConfig.createRedisConnectionFactory();
+        RedisConnectionFactory result = cacheConfig.createRedisConnectionFactory(clientResources);
 
         assertNotNull(result);
     }
@@ -558,7 +1196,7 @@ class CacheConfigTest {
         setupSentinelConfigurationWithoutMaster();
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
 
         assertNotNull(exception.getMessage());
         assertTrue(exception.getMessage().contains("sentinelMaster"));
@@ -572,7 +1210,7 @@ class CacheConfigTest {
         setupSentinelConfigurationWithEmptyMaster();
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> cacheConfig.createRedisConnectionFactory());
+                () -> cacheConfig.createRedisConnectionFactory(clientResources));
 
         assertEquals("sentinelMaster must be configured when using SENTINEL mode",
                 exception.getMessage());
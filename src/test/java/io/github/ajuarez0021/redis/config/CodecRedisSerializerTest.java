@@ -0,0 +1,198 @@
+package io.github.ajuarez0021.redis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ajuarez0021.redis.util.ValueFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CodecRedisSerializer.
+ *
+ * @author ajuar
+ */
+class CodecRedisSerializerTest {
+
+    /** The configured object mapper. */
+    private final ObjectMapper objectMapper = new DefaultObjectMapperConfig().configure();
+
+    /**
+     * Every format should read back the value it wrote, keeping its type.
+     */
+    @Test
+    void serialize_WithEveryFormat_ShouldRoundTrip() {
+        for (ValueFormat format : ValueFormat.values()) {
+            CodecRedisSerializer<Object> serializer = CodecRedisSerializer.of(format, objectMapper, Object.class);
+
+            Object result = serializer.deserialize(serializer.serialize(newProduct()));
+
+            Product product = assertInstanceOf(Product.class, result, format.name());
+            assertEquals("keyboard", product.name);
+            assertEquals(3, product.quantity);
+            assertEquals(List.of("usb", "black"), product.tags);
+        }
+    }
+
+    /**
+     * JSON should be written without header, exactly as the JSON serializer does.
+     */
+    @Test
+    void serialize_WithJson_ShouldWriteBareJson() {
+        CodecRedisSerializer<Object> serializer = CodecRedisSerializer.of(ValueFormat.JSON, objectMapper, Object.class);
+        CustomJackson2JsonRedisSerializer<Object> json = new CustomJackson2JsonRedisSerializer<>(objectMapper,
+                Object.class);
+
+        assertArrayEquals(json.serialize(newProduct()), serializer.serialize(newProduct()));
+    }
+
+    /**
+     * Binary formats should be marked by their header byte and be smaller than JSON.
+     */
+    @Test
+    void serialize_WithBinaryFormat_ShouldWriteHeaderByte() {
+        byte[] json = CodecRedisSerializer.of(ValueFormat.JSON, objectMapper, Object.class).serialize(newProduct());
+        byte[] smile = CodecRedisSerializer.of(ValueFormat.SMILE, objectMapper, Object.class).serialize(newProduct());
+        byte[] cbor = CodecRedisSerializer.of(ValueFormat.CBOR, objectMapper, Object.class).serialize(newProduct());
+
+        assertEquals(0x01, smile[0]);
+        assertEquals(0x02, cbor[0]);
+        assertTrue(smile.length < json.length);
+        assertTrue(cbor.length < json.length);
+    }
+
+    /**
+     * A serializer should read values written in any other format.
+     */
+    @Test
+    void deserialize_WithMixedFormats_ShouldReadEveryValue() {
+        CodecRedisSerializer<Object> smile = CodecRedisSerializer.of(ValueFormat.SMILE, objectMapper, Object.class);
+        byte[] legacy = new CustomJackson2JsonRedisSerializer<>(objectMapper, Object.class).serialize(newProduct());
+        byte[] cbor = CodecRedisSerializer.of(ValueFormat.CBOR, objectMapper, Object.class).serialize("text");
+
+        assertInstanceOf(Product.class, smile.deserialize(legacy));
+        assertEquals("text", smile.deserialize(cbor));
+    }
+
+    /**
+     * Typed serializers should write no type metadata and still read values written with it.
+     */
+    @Test
+    void typed_ShouldWriteWithoutTypeMetadata() {
+        CodecRedisSerializer<Product> typed = CodecRedisSerializer.typed(ValueFormat.JSON, objectMapper,
+                Product.class);
+        CodecRedisSerializer<Product> typedCbor = CodecRedisSerializer.typed(ValueFormat.CBOR, objectMapper,
+                Product.class);
+        CodecRedisSerializer<Object> untyped = CodecRedisSerializer.of(ValueFormat.JSON, objectMapper, Object.class);
+        Product flat = newProduct();
+        flat.tags = null;
+
+        byte[] bytes = typed.serialize(newProduct());
+
+        assertFalse(new String(bytes, StandardCharsets.UTF_8).contains("@class"));
+        assertTrue(bytes.length < untyped.serialize(newProduct()).length);
+        assertEquals(List.of("usb", "black"), typed.deserialize(bytes).tags);
+        assertEquals("keyboard", typed.deserialize(untyped.serialize(flat)).name);
+        assertEquals(3, typedCbor.deserialize(typedCbor.serialize(newProduct())).quantity);
+    }
+
+    /**
+     * Null values and empty bytes should map to each other.
+     */
+    @Test
+    void serialize_WithNullValue_ShouldReturnEmptyByteArray() {
+        CodecRedisSerializer<Object> serializer = CodecRedisSerializer.of(ValueFormat.CBOR, objectMapper, Object.class);
+
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    /**
+     * Buffers should be read in place, heap or direct, without moving their position.
+     */
+    @Test
+    void deserialize_WithByteBuffer_ShouldReadRemainingBytes() {
+        for (ValueFormat format : ValueFormat.values()) {
+            CodecRedisSerializer<Object> serializer = CodecRedisSerializer.of(format, objectMapper, Object.class);
+            byte[] bytes = serializer.serialize(newProduct());
+            ByteBuffer heap = ByteBuffer.allocate(bytes.length + 2).put((byte) 7).put(bytes).flip().position(1);
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+
+            assertEquals("keyboard", assertInstanceOf(Product.class, serializer.deserializeFrom(heap)).name);
+            assertEquals("keyboard", assertInstanceOf(Product.class, serializer.deserializeFrom(direct)).name);
+            assertEquals(1, heap.position());
+            assertEquals(0, direct.position());
+        }
+        assertNull(CodecRedisSerializer.of(ValueFormat.JSON, objectMapper, Object.class)
+                .deserializeFrom(ByteBuffer.allocate(0)));
+    }
+
+    /**
+     * Codec failures should be wrapped in a SerializationException.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    void serialize_WhenCodecFails_ShouldThrowSerializationException() throws IOException {
+        ValueCodec codec = mock(ValueCodec.class);
+        when(codec.header()).thenReturn(ValueCodec.NO_HEADER);
+        doThrow(new IOException("boom")).when(codec).encode(any(), any(OutputStream.class));
+        when(codec.decode(any(byte[].class), anyInt(), anyInt(), eq(Object.class))).thenThrow(new IOException("boom"));
+        CodecRedisSerializer<Object> serializer = new CodecRedisSerializer<>(codec, List.of(codec), Object.class);
+
+        assertThrows(SerializationException.class, () -> serializer.serialize("value"));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{'1'}));
+    }
+
+    /**
+     * Readers without a codec for unmarked values should be rejected.
+     */
+    @Test
+    void constructor_WithoutHeaderlessReader_ShouldThrowException() {
+        ValueCodec smile = ValueFormat.SMILE.createCodec(objectMapper);
+        List<ValueCodec> readers = List.of(smile);
+
+        assertThrows(IllegalArgumentException.class, () -> new CodecRedisSerializer<>(smile, readers, Object.class));
+        assertThrows(IllegalArgumentException.class, () -> CodecRedisSerializer.of(null, objectMapper, Object.class));
+    }
+
+    /**
+     * Creates a product.
+     *
+     * @return the product
+     */
+    private static Product newProduct() {
+        Product product = new Product();
+        product.name = "keyboard";
+        product.quantity = 3;
+        product.tags = new ArrayList<>(List.of("usb", "black"));
+        return product;
+    }
+
+    /**
+     * The Class Product.
+     */
+    static class Product {
+
+        /** The name. */
+        private String name;
+
+        /** The quantity. */
+        private int quantity;
+
+        /** The tags. */
+        private List<String> tags;
+    }
+}
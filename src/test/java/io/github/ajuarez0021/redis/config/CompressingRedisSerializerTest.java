@@ -0,0 +1,170 @@
+package io.github.ajuarez0021.redis.config;
+
+import io.github.ajuarez0021.redis.dto.CompressionStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CompressingRedisSerializer.
+ *
+ * @author ajuar
+ */
+class CompressingRedisSerializerTest {
+
+    /** The serializer writing the values. */
+    private final RedisSerializer<String> delegate = RedisSerializer.string();
+
+    /** The metrics. */
+    private CompressionMetrics metrics;
+
+    /** The serializer. */
+    private CompressingRedisSerializer<String> serializer;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        metrics = new CompressionMetrics();
+        serializer = new CompressingRedisSerializer<>(delegate, new DeflateCompressionCodec(), List.of(), 64,
+                metrics);
+    }
+
+    /**
+     * Values below the threshold should be stored as the delegate wrote them.
+     */
+    @Test
+    void serialize_BelowThreshold_ShouldNotCompress() {
+        byte[] bytes = serializer.serialize("small");
+
+        assertArrayEquals(delegate.serialize("small"), bytes);
+        assertEquals("small", serializer.deserialize(bytes));
+        assertEquals(1, metrics.snapshot().getUncompressedValues());
+    }
+
+    /**
+     * Values from the threshold should be compressed behind the header byte and read back.
+     */
+    @Test
+    void serialize_AboveThreshold_ShouldCompressAndRoundTrip() {
+        String value = "{\"name\":\"product\"}".repeat(100);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertEquals(DeflateCompressionCodec.HEADER, bytes[0]);
+        assertTrue(bytes.length < value.length() / 4);
+        assertEquals(value, serializer.deserialize(bytes));
+        CompressionStatsDto stats = metrics.snapshot();
+        assertEquals(1, stats.getCompressedValues());
+        assertEquals(value.length(), stats.getBytesBeforeCompression());
+        assertEquals(bytes.length, stats.getBytesAfterCompression());
+        assertTrue(stats.getCompressionRatio() < 0.25);
+        assertEquals(1, stats.getDecompressedValues());
+    }
+
+    /**
+     * Values that would not shrink should be stored uncompressed.
+     */
+    @Test
+    void serialize_WithIncompressibleValue_ShouldNotCompress() {
+        byte[] random = new byte[512];
+        new Random(42).nextBytes(random);
+        RedisSerializer<byte[]> raw = RedisSerializer.byteArray();
+        CompressingRedisSerializer<byte[]> bytesSerializer = new CompressingRedisSerializer<>(raw,
+                new DeflateCompressionCodec(), List.of(), 64, metrics);
+        random[0] = 0x7F;
+
+        assertArrayEquals(random, bytesSerializer.serialize(random));
+        assertEquals(1, metrics.snapshot().getUncompressedValues());
+        assertEquals(1.0, metrics.snapshot().getCompressionRatio());
+    }
+
+    /**
+     * A serializer with compression disabled should still read compressed values.
+     */
+    @Test
+    void deserialize_WithCompressionDisabled_ShouldReadCompressedValues() {
+        String value = "catalog ".repeat(50);
+        CompressingRedisSerializer<String> reader = new CompressingRedisSerializer<>(delegate,
+                new DeflateCompressionCodec(), List.of(), 0, metrics);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertEquals(value, reader.deserialize(bytes));
+        assertArrayEquals(delegate.serialize(value), reader.serialize(value));
+    }
+
+    /**
+     * Streams and buffers should carry the same bytes as arrays, also with a
+     * delegate that only works with arrays.
+     */
+    @Test
+    void serializeTo_WithArrayDelegate_ShouldMatchByteArrays() {
+        String value = "catalog ".repeat(50);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        serializer.serializeTo(value, out);
+        ByteBuffer direct = ByteBuffer.allocateDirect(out.size()).put(out.toByteArray()).flip();
+
+        assertArrayEquals(serializer.serialize(value), out.toByteArray());
+        assertEquals(value, serializer.deserializeFrom(direct));
+        assertEquals("plain", serializer.deserializeFrom(ByteBuffer.wrap(delegate.serialize("plain"))));
+        assertNull(serializer.deserializeFrom(null));
+    }
+
+    /**
+     * Null and empty values should go straight to the delegate.
+     */
+    @Test
+    void serialize_WithNullValue_ShouldUseDelegate() {
+        CustomJackson2JsonRedisSerializer<Object> json = new CustomJackson2JsonRedisSerializer<>(
+                new DefaultObjectMapperConfig().configure(), Object.class);
+        CompressingRedisSerializer<Object> jsonSerializer = new CompressingRedisSerializer<>(json,
+                new DeflateCompressionCodec(), List.of(), 1, metrics);
+
+        assertEquals(0, jsonSerializer.serialize(null).length);
+        assertNull(jsonSerializer.deserialize(null));
+        assertNull(jsonSerializer.deserialize(new byte[0]));
+    }
+
+    /**
+     * Corrupted compressed values should throw a SerializationException.
+     */
+    @Test
+    void deserialize_WithCorruptedValue_ShouldThrowSerializationException() {
+        byte[] corrupted = {DeflateCompressionCodec.HEADER, 1, 2, 3};
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(corrupted));
+    }
+
+    /**
+     * Codec failures should be wrapped in a SerializationException.
+     *
+     * @throws IOException the IO exception
+     */
+    @Test
+    void serialize_WhenCodecFails_ShouldThrowSerializationException() throws IOException {
+        CompressionCodec codec = mock(CompressionCodec.class);
+        when(codec.header()).thenReturn((byte) 0x11);
+        doThrow(new IOException("boom")).when(codec).compress(any(byte[].class), any(OutputStream.class));
+        CompressingRedisSerializer<String> failing = new CompressingRedisSerializer<>(delegate, codec,
+                List.of(new DeflateCompressionCodec()), 1, metrics);
+        String value = "value ".repeat(20);
+
+        assertThrows(SerializationException.class, () -> failing.serialize(value));
+        assertEquals(value, failing.deserialize(serializer.serialize(value)));
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.ajuarez0021.redis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ajuarez0021.redis.util.ValueFormat;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamingRedisCodec.
+ *
+ * @author ajuar
+ */
+class StreamingRedisCodecTest {
+
+    /** The configured object mapper. */
+    private final ObjectMapper objectMapper = new DefaultObjectMapperConfig().configure();
+
+    /** The pooled direct buffer. */
+    private final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(16);
+
+    /**
+     * Releases the pooled buffer after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        buffer.release();
+    }
+
+    /**
+     * Values should be written into the target buffer exactly as the serializer writes them.
+     */
+    @Test
+    void encodeValue_WithStreamingSerializer_ShouldWriteIntoTargetBuffer() {
+        CodecRedisSerializer<Object> serializer = CodecRedisSerializer.of(ValueFormat.SMILE, objectMapper,
+                Object.class);
+        StreamingRedisCodec codec = new StreamingRedisCodec(serializer);
+
+        codec.encodeValue(newValue(), buffer);
+
+        byte[] written = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), written);
+        assertArrayEquals(serializer.serialize(newValue()), written);
+        assertEquals(64, codec.estimateSize(newValue()));
+    }
+
+    /**
+     * A single large value should move the estimate by a fraction only, capped,
+     * and smaller values should bring it back down.
+     */
+    @Test
+    void estimateSize_AfterLargeValue_ShouldDecayAndStayCapped() {
+        StreamingRedisCodec codec = new StreamingRedisCodec(new RedisSerializer<>() {
+            @Override
+            public byte[] serialize(Object value) {
+                return (byte[]) value;
+            }
+
+            @Override
+            public Object deserialize(byte[] bytes) {
+                return bytes;
+            }
+        });
+        ByteBuf large = PooledByteBufAllocator.DEFAULT.directBuffer(1 << 20);
+        try {
+            codec.encodeValue(new byte[1 << 20], large);
+            assertEquals(16 * 1024, codec.estimateSize("value"));
+
+            for (int i = 0; i < 64; i++) {
+                buffer.clear();
+                codec.encodeValue(new byte[8], buffer);
+            }
+            assertEquals(64, codec.estimateSize("value"));
+
+            buffer.clear();
+            codec.encodeValue(new byte[1064], buffer);
+            assertEquals(64 + 1000 / 8, codec.estimateSize("value"));
+        } finally {
+            large.release();
+        }
+    }
+
+    /**
+     * Every format should be read back from a view of a direct buffer.
+     */
+    @Test
+    void decodeValue_WithDirectBuffer_ShouldReadEveryFormat() {
+        for (ValueFormat format : ValueFormat.values()) {
+            StreamingRedisCodec codec = new StreamingRedisCodec(
+                    CodecRedisSerializer.of(format, objectMapper, Object.class));
+            buffer.clear();
+
+            codec.encodeValue(newValue(), buffer);
+
+            assertEquals(newValue(), codec.decodeValue(buffer.nioBuffer()), format.name());
+            assertNull(codec.decodeValue(ByteBuffer.allocate(0)));
+        }
+    }
+
+    /**
+     * Compressed values should be decompressed from direct buffers, and values
+     * below the threshold streamed as is.
+     */
+    @Test
+    void decodeValue_WithCompressingSerializer_ShouldRoundTrip() {
+        CompressionMetrics metrics = new CompressionMetrics();
+        StreamingRedisCodec codec = new StreamingRedisCodec(new CompressingRedisSerializer<>(
+                CodecRedisSerializer.of(ValueFormat.JSON, objectMapper, Object.class),
+                new DeflateCompressionCodec(), List.of(), 64, metrics));
+        StreamingRedisCodec passThrough = new StreamingRedisCodec(new CompressingRedisSerializer<>(
+                CodecRedisSerializer.of(ValueFormat.JSON, objectMapper, Object.class),
+                new DeflateCompressionCodec(), List.of(), 0, metrics));
+        List<String> large = new ArrayList<>(List.of("a".repeat(500), "b".repeat(500)));
+
+        codec.encodeValue(large, buffer);
+        assertEquals(DeflateCompressionCodec.HEADER, buffer.getByte(buffer.readerIndex()));
+        assertEquals(large, codec.decodeValue(buffer.nioBuffer()));
+        assertEquals(large, passThrough.decodeValue(buffer.nioBuffer()));
+
+        buffer.clear();
+        passThrough.encodeValue(large, buffer);
+        assertEquals('[', buffer.getByte(buffer.readerIndex()));
+        assertEquals(large, codec.decodeValue(buffer.nioBuffer()));
+        assertEquals(1, metrics.snapshot().getCompressedValues());
+    }
+
+    /**
+     * Serializers without streaming support should go through byte arrays.
+     */
+    @Test
+    void encodeValue_WithPlainSerializer_ShouldUseByteArrays() {
+        StreamingRedisCodec codec = new StreamingRedisCodec(RedisSerializer.java());
+
+        codec.encodeValue("value", buffer);
+
+        assertEquals("value", codec.decodeValue(buffer.nioBuffer()));
+        assertEquals("value", codec.decodeValue(codec.encodeValue("value")));
+        assertEquals(64, codec.estimateSize("value"));
+    }
+
+    /**
+     * Keys should be written as the bytes of the key serializer.
+     */
+    @Test
+    void encodeKey_ShouldWriteRawBytes() {
+        StreamingRedisCodec codec = new StreamingRedisCodec(RedisSerializer.java());
+        byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+
+        codec.encodeKey(key, buffer);
+
+        assertArrayEquals(key, codec.decodeKey(buffer.nioBuffer()));
+        assertArrayEquals(key, codec.decodeKey(codec.encodeKey(key)));
+        assertEquals(3, codec.estimateSize(key));
+        assertEquals(0, codec.encodeValue(null).remaining());
+    }
+
+    /**
+     * Creates a value.
+     *
+     * @return the value
+     */
+    private static List<String> newValue() {
+        return new ArrayList<>(List.of("usb", "keyboard", "black"));
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.ajuarez0021.redis.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ajuarez0021.redis.util.ValueFormat;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TypeIdRegistry.
+ *
+ * @author ajuar
+ */
+class TypeIdRegistryTest {
+
+    /** The mapper writing class names. */
+    private final ObjectMapper plainMapper = new DefaultObjectMapperConfig().configure();
+
+    /** The mapper writing registered ids. */
+    private final ObjectMapper registryMapper = new RegistryObjectMapperConfig().configure();
+
+    /**
+     * Registered classes should be written with their id, nested ones included.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void configure_WithTypeIds_ShouldWriteShortIds() throws Exception {
+        String json = registryMapper.writeValueAsString(newOrder());
+        String plain = plainMapper.writeValueAsString(newOrder());
+
+        assertTrue(json.contains("\"@class\":\"o\""));
+        assertTrue(json.contains("\"@class\":\"i\""));
+        assertFalse(json.contains(Item.class.getName()));
+        assertTrue(json.contains("java.util.ArrayList"));
+        assertTrue(json.length() < plain.length());
+    }
+
+    /**
+     * Values written with ids should be read back with their types.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void configure_WithTypeIds_ShouldRoundTrip() throws Exception {
+        byte[] bytes = registryMapper.writeValueAsBytes(newOrder());
+
+        Order order = assertInstanceOf(Order.class, registryMapper.readValue(bytes, Object.class));
+
+        assertEquals("A-1", order.number);
+        assertEquals(2, order.items.size());
+        assertEquals("pen", order.items.get(1).name);
+    }
+
+    /**
+     * Values written with class names should still be read.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void configure_WithClassNamePayload_ShouldReadIt() throws Exception {
+        byte[] bytes = plainMapper.writeValueAsBytes(newOrder());
+
+        Order order = assertInstanceOf(Order.class, registryMapper.readValue(bytes, Object.class));
+
+        assertInstanceOf(Item.class, order.items.getFirst());
+    }
+
+    /**
+     * Binary formats should keep the registered ids.
+     */
+    @Test
+    void configure_WithSmile_ShouldRoundTrip() {
+        CodecRedisSerializer<Object> serializer = CodecRedisSerializer.of(ValueFormat.SMILE, registryMapper,
+                Object.class);
+
+        byte[] bytes = serializer.serialize(newOrder());
+
+        assertFalse(new String(bytes, StandardCharsets.ISO_8859_1).contains(Item.class.getName()));
+        assertInstanceOf(Order.class, serializer.deserialize(bytes));
+    }
+
+    /**
+     * Invalid registrations should throw exception.
+     */
+    @Test
+    void constructor_WithInvalidEntries_ShouldThrowException() {
+        Map<String, Class<?>> dotted = Map.of("com.Item", Item.class);
+        Map<String, Class<?>> blank = Map.of(" ", Item.class);
+        Map<String, Class<?>> duplicated = Map.of("i", Item.class, "j", Item.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new TypeIdRegistry(dotted));
+        assertThrows(IllegalArgumentException.class, () -> new TypeIdRegistry(blank));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new TypeIdRegistry(duplicated));
+        assertTrue(exception.getMessage().startsWith("Class " + Item.class.getName() + " is registered as"));
+    }
+
+    /**
+     * Lookups should fall back to class names.
+     */
+    @Test
+    void idFor_WithUnregisteredClass_ShouldReturnClassName() {
+        TypeIdRegistry registry = new TypeIdRegistry(Map.of("i", Item.class));
+
+        assertEquals("i", registry.idFor(Item.class.getName()));
+        assertEquals("java.lang.Object", registry.idFor("java.lang.Object"));
+        assertEquals(Item.class, registry.classFor("i").orElseThrow());
+        assertTrue(registry.classFor("x").isEmpty());
+    }
+
+    /**
+     * Creates an order.
+     *
+     * @return the order
+     */
+    private static Order newOrder() {
+        Order order = new Order();
+        order.number = "A-1";
+        order.items = new ArrayList<>();
+        order.items.add(newItem("book"));
+        order.items.add(newItem("pen"));
+        return order;
+    }
+
+    /**
+     * Creates an item.
+     *
+     * @param name the name
+     * @return the item
+     */
+    private static Item newItem(String name) {
+        Item item = new Item();
+        item.name = name;
+        return item;
+    }
+
+    /**
+     * Mapper config registering the test classes.
+     */
+    static class RegistryObjectMapperConfig extends DefaultObjectMapperConfig {
+
+        /**
+         * Type ids.
+         *
+         * @return the classes by type id
+         */
+        @Override
+        public Map<String, Class<?>> typeIds() {
+            return Map.of("o", Order.class, "i", Item.class);
+        }
+    }
+
+    /**
+     * The Class Order.
+     */
+    static class Order {
+
+        /** The number. */
+        private String number;
+
+        /** The items. */
+        private List<Item> items;
+    }
+
+    /**
+     * The Class Item.
+     */
+    static class Item {
+
+        /** The name. */
+        private String name;
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.ajuarez0021.redis.service;
+
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.protocol.AsyncCommand;
+import io.lettuce.core.protocol.Command;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AsyncRedisOperations.
+ *
+ * @author ajuar
+ */
+@ExtendWith(MockitoExtension.class)
+class AsyncRedisOperationsTest {
+
+    /** The redis template. */
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    /** The connection factory. */
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    /** The connection. */
+    @Mock
+    private RedisConnection connection;
+
+    /** The native async commands. */
+    @Mock
+    private RedisClusterAsyncCommands<byte[], byte[]> commands;
+
+    /** The operations. */
+    private AsyncRedisOperations operations;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        operations = new AsyncRedisOperations(redisTemplate);
+    }
+
+    /**
+     * Stubs the template with string serializers and a native Lettuce connection.
+     */
+    private void setupConnection() {
+        when(redisTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.getNativeConnection()).thenReturn(commands);
+        lenient().doReturn(RedisSerializer.string()).when(redisTemplate).getKeySerializer();
+        lenient().doReturn(RedisSerializer.string()).when(redisTemplate).getValueSerializer();
+    }
+
+    /**
+     * Creates a completed Lettuce future.
+     *
+     * @param <T> the reply type
+     * @param value the reply
+     * @return the redis future
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> RedisFuture<T> reply(T value) {
+        RedisFuture<T> future = mock(RedisFuture.class);
+        when(future.toCompletableFuture()).thenReturn(CompletableFuture.completedFuture(value));
+        return future;
+    }
+
+    /**
+     * Answers dispatched commands with a reply decoded by the command output and
+     * records the commands as sent on the wire.
+     *
+     * @param type the command type
+     * @param replies the raw replies, bulk strings or integers, null for nil
+     * @return the commands sent
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> stubDispatch(CommandType type, Object... replies) {
+        List<String> sent = new ArrayList<>();
+        when(commands.dispatch(eq(type), any(), any())).thenAnswer(invocation -> {
+            CommandOutput<byte[], Object, Object> output = invocation.getArgument(1);
+            CommandArgs<byte[], Object> args = invocation.getArgument(2);
+            ByteBuf wire = Unpooled.buffer();
+            args.encode(wire);
+            sent.add(wire.toString(StandardCharsets.UTF_8));
+            wire.release();
+            Object reply = replies[Math.min(sent.size(), replies.length) - 1];
+            if (reply instanceof Long count) {
+                output.set(count);
+            } else if (reply != null) {
+                output.set(ByteBuffer.wrap(bytes(reply.toString())));
+            }
+            AsyncCommand<byte[], Object, Object> command = new AsyncCommand<>(new Command<>(type, output, args));
+            command.complete();
+            return command;
+        });
+        return sent;
+    }
+
+    /**
+     * Bytes.
+     *
+     * @param value the value
+     * @return the bytes
+     */
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get should decode the reply through the codec and release the connection.
+     */
+    @Test
+    void get_ShouldDecodeReplyAndReleaseConnection() throws Exception {
+        setupConnection();
+        List<String> sent = stubDispatch(CommandType.GET, "value");
+
+        assertEquals("value", operations.get("key").get());
+        assertEquals(List.of("$3\r\nkey\r\n"), sent);
+        verify(connection).close();
+    }
+
+    /**
+     * Get with missing key should return null.
+     */
+    @Test
+    void get_WithMissingKey_ShouldReturnNull() throws Exception {
+        setupConnection();
+        stubDispatch(CommandType.GET, (Object) null);
+
+        assertNull(operations.get("key").get());
+    }
+
+    /**
+     * SetIfAbsent should report whether the key was set.
+     */
+    @Test
+    void setIfAbsent_ShouldReportWhetherKeyWasSet() throws Exception {
+        setupConnection();
+        List<String> sent = stubDispatch(CommandType.SET, "OK", null);
+
+        assertTrue(operations.setIfAbsent("lock", "id", Duration.ofSeconds(30)).get());
+        assertFalse(operations.setIfAbsent("lock", "id", Duration.ofSeconds(30)).get());
+        assertEquals("$4\r\nlock\r\n$2\r\nid\r\n$2\r\nEX\r\n$2\r\n30\r\n$2\r\nNX\r\n", sent.getFirst());
+    }
+
+    /**
+     * Set with TTL should encode the value and the expiration.
+     */
+    @Test
+    void set_WithTtl_ShouldUseSetArgs() throws Exception {
+        setupConnection();
+        List<String> sent = stubDispatch(CommandType.SET, "OK");
+
+        assertNull(operations.set("key", "value", 60).get());
+        assertEquals(List.of("$3\r\nkey\r\n$5\r\nvalue\r\n$2\r\nEX\r\n$2\r\n60\r\n"), sent);
+    }
+
+    /**
+     * Set without TTL should use plain set.
+     */
+    @Test
+    void set_WithoutTtl_ShouldUsePlainSet() throws Exception {
+        setupConnection();
+        List<String> sent = stubDispatch(CommandType.SET, "OK");
+
+        assertNull(operations.set("key", "value", 0).get());
+        assertEquals(List.of("$3\r\nkey\r\n$5\r\nvalue\r\n"), sent);
+    }
+
+    /**
+     * Release lock should evaluate the compare-and-delete script.
+     */
+    @Test
+    void releaseLock_ShouldEvaluateCompareAndDeleteScript() throws Exception {
+        setupConnection();
+        RedisFuture<Object> released = reply(1L);
+        when(commands.eval(eq(LockScripts.RELEASE.getScriptAsString()), eq(ScriptOutputType.INTEGER),
+                any(byte[][].class), aryEq(bytes("token")))).thenReturn(released);
+
+        assertEquals(1L, operations.releaseLock("lock", "token").get());
+    }
+
+    /**
+     * Publish should serialize the channel and message.
+     */
+    @Test
+    void publish_ShouldSerializeChannelAndMessage() throws Exception {
+        setupConnection();
+        doReturn(RedisSerializer.string()).when(redisTemplate).getStringSerializer();
+        List<String> sent = stubDispatch(CommandType.PUBLISH, 2L);
+
+        assertEquals(2L, operations.publish("channel", "message").get());
+        assertEquals(List.of("$7\r\nchannel\r\n$7\r\nmessage\r\n"), sent);
+    }
+
+    /**
+     * Execute without connection factory should fail.
+     */
+    @Test
+    void get_WithoutConnectionFactory_ShouldFail() {
+        when(redisTemplate.getConnectionFactory()).thenReturn(null);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> operations.get("key").get());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    /**
+     * Execute with non Lettuce connection should fail and release the connection.
+     */
+    @Test
+    void get_WithNonLettuceConnection_ShouldFailAndReleaseConnection() {
+        when(redisTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.getNativeConnection()).thenReturn(new Object());
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> operations.get("key").get());
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        verify(connection).close();
+    }
+}
@@ -4,30 +4,46 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
+import io.github.ajuarez0021.redis.dto.CacheEnvelopeDto;
+import io.github.ajuarez0021.redis.dto.CoalesceOptionsDto;
 import io.github.ajuarez0021.redis.dto.CoalescedResponseDto;
+import io.github.ajuarez0021.redis.dto.EvictionBatchEventDto;
 import io.github.ajuarez0021.redis.dto.EvictionEventDto;
+import io.github.ajuarez0021.redis.dto.EvictionResultDto;
+import io.github.ajuarez0021.redis.exception.CoalesceException;
+import io.github.ajuarez0021.redis.util.NotificationMode;
+import io.github.ajuarez0021.redis.util.ReadPreference;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.SerializationException;
 
@@ -55,6 +71,14 @@ class CoalesceCacheManagerTest {
     @Mock
     private RedisMessageListenerContainer listenerContainer;
 
+    /** The operations bound to a pipelined session. */
+    @Mock
+    private RedisOperations<String, Object> pipelineOperations;
+
+    /** The async operations. */
+    @Mock
+    private AsyncRedisOperations asyncOperations;
+
     /** The cache manager. */
     private CoalesceCacheManager cacheManager;
 
@@ -71,6 +95,28 @@ class CoalesceCacheManagerTest {
      */
     private void setupValueOperations() {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().doReturn(RedisSerializer.string()).when(redisTemplate).getValueSerializer();
+    }
+
+    /**
+     * Stubs the reply of the lock release script.
+     *
+     * @param reply the number of keys deleted by the script
+     */
+    @SuppressWarnings("unchecked")
+    private void stubLockRelease(Long reply) {
+        when(redisTemplate.execute(eq(LockScripts.RELEASE), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("coalesce:lock:testKey")), any())).thenReturn(reply);
+    }
+
+    /**
+     * Verifies the lock was released through the compare-and-delete script.
+     */
+    @SuppressWarnings("unchecked")
+    private void verifyLockReleased() {
+        verify(redisTemplate).execute(eq(LockScripts.RELEASE), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("coalesce:lock:testKey")), any());
+        verify(redisTemplate, never()).delete("coalesce:lock:testKey");
     }
 
     /**
@@ -189,30 +235,37 @@ class CoalesceCacheManagerTest {
     @Test
     void evictAll_WithMatchingKeys_ShouldDeleteAllAndPublishEvents() {
         String prefix = "users";
-        Set<String> keys = new HashSet<>(Arrays.asList(
+        List<String> keys = List.of(
                 "coalesce:cache:users:1",
-                "coalesce:cache:users:2"));
-        when(redisTemplate.keys("coalesce:cache:users*")).thenReturn(keys);
-
-        cacheManager.evictAll(prefix);
-
-        verify(redisTemplate).delete(keys);
-        verify(redisTemplate, times(2)).convertAndSend(
-                eq("coalesce:evict"),
-                any());
+                "coalesce:cache:users:2");
+        stubScan("coalesce:cache:users*", keys);
+        stubPipeline(List.of(2L, 1L));
+
+        EvictionResultDto result = cacheManager.evictAll(prefix);
+
+        assertEquals(2, result.getKeysScanned());
+        assertEquals(2, result.getKeysDeleted());
+        assertNotNull(result.getElapsed());
+        verify(redisTemplate, never()).keys(anyString());
+        verify(pipelineOperations).unlink(keys);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(pipelineOperations, times(1)).convertAndSend(eq("coalesce:evict"), captor.capture());
+        assertEquals(keys, ((EvictionBatchEventDto) captor.getValue()).getKeys());
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
     }
 
     /**
      * Evict all with no matching keys should not delete.
      */
     @Test
-    void evictAll_WithNoMatchingKeys_ShouldNotDelete() {
+    void evictAll_WithNoMatchingKeys_ShouldNotUnlink() {
         String prefix = "users";
-        when(redisTemplate.keys("coalesce:cache:users*")).thenReturn(null);
+        stubScan("coalesce:cache:users*", List.of());
 
-        cacheManager.evictAll(prefix);
+        EvictionResultDto result = cacheManager.evictAll(prefix);
 
-        verify(redisTemplate, never()).delete(any(Set.class));
+        assertEquals(0, result.getKeysScanned());
+        verify(redisTemplate, never()).unlink(anyCollection());
         verify(redisTemplate, never()).convertAndSend(anyString(), any());
     }
 
@@ -222,11 +275,12 @@ class CoalesceCacheManagerTest {
     @Test
     void evictAll_WithEmptySet_ShouldNotDelete() {
         String prefix = "users";
-        when(redisTemplate.keys("coalesce:cache:users*")).thenReturn(Collections.emptySet());
+        stubScan("coalesce:cache:users*", List.of());
 
-        cacheManager.evictAll(prefix);
+        EvictionResultDto result = cacheManager.evictAll(prefix);
 
-        verify(redisTemplate, never()).delete(any(Set.class));
+        assertEquals(0, result.getKeysScanned());
+        verify(redisTemplate, never()).unlink(anyCollection());
         verify(redisTemplate, never()).convertAndSend(anyString(), any());
     }
 
@@ -236,17 +290,23 @@ class CoalesceCacheManagerTest {
     @Test
     void evictPattern_WithMatchingKeys_ShouldDeleteAllAndPublishEvents() {
         String pattern = "users:*";
-        Set<String> keys = new HashSet<>(Arrays.asList(
+        List<String> keys = List.of(
                 "coalesce:cache:users:1",
-                "coalesce:cache:users:2"));
-        when(redisTemplate.keys("coalesce:cache:users:*")).thenReturn(keys);
-
-        cacheManager.evictPattern(pattern);
-
-        verify(redisTemplate).delete(keys);
-        verify(redisTemplate, times(2)).convertAndSend(
-                eq("coalesce:evict"),
-                any());
+                "coalesce:cache:users:2");
+        stubScan("coalesce:cache:users:*", keys);
+        stubPipeline(List.of(2L, 1L));
+
+        EvictionResultDto result = cacheManager.evictPattern(pattern);
+
+        assertEquals(2, result.getKeysScanned());
+        assertEquals(2, result.getKeysDeleted());
+        assertNotNull(result.getElapsed());
+        verify(redisTemplate, never()).keys(anyString());
+        verify(pipelineOperations).unlink(keys);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(pipelineOperations, times(1)).convertAndSend(eq("coalesce:evict"), captor.capture());
+        assertEquals(keys, ((EvictionBatchEventDto) captor.getValue()).getKeys());
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
     }
 
     /**
@@ -255,11 +315,12 @@ class CoalesceCacheManagerTest {
     @Test
     void evictPattern_WithNoMatchingKeys_ShouldNotDelete() {
         String pattern = "users:*";
-        when(redisTemplate.keys("coalesce:cache:users:*")).thenReturn(null);
+        stubScan("coalesce:cache:users:*", List.of());
 
-        cacheManager.evictPattern(pattern);
+        EvictionResultDto result = cacheManager.evictPattern(pattern);
 
-        verify(redisTemplate, never()).delete(any(Set.class));
+        assertEquals(0, result.getKeysScanned());
+        verify(redisTemplate, never()).unlink(anyCollection());
         verify(redisTemplate, never()).convertAndSend(anyString(), any());
     }
 
@@ -269,18 +330,40 @@ class CoalesceCacheManagerTest {
     @Test
     void evictPattern_WithEmptySet_ShouldNotDelete() {
         String pattern = "users:*";
-        when(redisTemplate.keys("coalesce:cache:users:*")).thenReturn(Collections.emptySet());
+        stubScan("coalesce:cache:users:*", List.of());
 
-        cacheManager.evictPattern(pattern);
+        EvictionResultDto result = cacheManager.evictPattern(pattern);
 
-        verify(redisTemplate, never()).delete(any(Set.class));
+        assertEquals(0, result.getKeysScanned());
+        verify(redisTemplate, never()).unlink(anyCollection());
         verify(redisTemplate, never()).convertAndSend(anyString(), any());
     }
 
+    /**
+     * Evict all with more keys than one batch should unlink in batches.
+     */
+    @Test
+    void evictAll_WithSeveralBatches_ShouldUnlinkPerBatch() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            keys.add("coalesce:cache:users:" + i);
+        }
+        stubScan("coalesce:cache:users*", keys);
+        stubPipeline(List.of(100L, 1L), List.of());
+
+        EvictionResultDto result = cacheManager.evictAll("users");
+
+        assertEquals(150, result.getKeysScanned());
+        assertEquals(100, result.getKeysDeleted());
+        verify(pipelineOperations, times(2)).unlink(anyCollection());
+        verify(pipelineOperations, times(2)).convertAndSend(eq("coalesce:evict"), any(EvictionBatchEventDto.class));
+    }
+
     /**
      * Evict multiple should delete all keys and publish events.
      */
     @Test
+    @SuppressWarnings("unchecked")
     void evictMultiple_ShouldDeleteAllKeysAndPublishEvents() {
         List<String> keys = Arrays.asList("key1", "key2", "key3");
 
@@ -295,15 +378,18 @@ class CoalesceCacheManagerTest {
         assertTrue(capturedKeys.contains("coalesce:cache:key2"));
         assertTrue(capturedKeys.contains("coalesce:cache:key3"));
 
-        verify(redisTemplate, times(3)).convertAndSend(
+        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate, times(1)).convertAndSend(
                 eq("coalesce:evict"),
-                any());
+                eventCaptor.capture());
+        assertEquals(capturedKeys, ((EvictionBatchEventDto) eventCaptor.getValue()).getKeys());
     }
 
     /**
      * Evict multiple with empty list should not delete.
      */
     @Test
+    @SuppressWarnings("unchecked")
     void evictMultiple_WithEmptyList_ShouldNotDelete() {
         List<String> keys = Collections.emptyList();
 
@@ -360,14 +446,20 @@ class CoalesceCacheManagerTest {
      */
     @Test
     void clear_WithMatchingKeys_ShouldDeleteAll() {
-        Set<String> keys = new HashSet<>(Arrays.asList(
+        List<String> keys = List.of(
                 "coalesce:cache:key1",
-                "coalesce:cache:key2"));
-        when(redisTemplate.keys("coalesce:cache:*")).thenReturn(keys);
-
-        cacheManager.clear();
-
-        verify(redisTemplate).delete(keys);
+                "coalesce:cache:key2");
+        stubScan("coalesce:cache:*", keys);
+        when(redisTemplate.unlink(keys)).thenReturn(2L);
+
+        EvictionResultDto result = cacheManager.clear();
+
+        assertEquals(2, result.getKeysDeleted());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq("coalesce:evict"), captor.capture());
+        EvictionBatchEventDto event = (EvictionBatchEventDto) captor.getValue();
+        assertEquals("coalesce:cache:*", event.getPattern());
+        assertNull(event.getKeys());
     }
 
     /**
@@ -375,11 +467,12 @@ class CoalesceCacheManagerTest {
      */
     @Test
     void clear_WithNoMatchingKeys_ShouldNotDelete() {
-        when(redisTemplate.keys("coalesce:cache:*")).thenReturn(null);
+        stubScan("coalesce:cache:*", List.of());
 
-        cacheManager.clear();
+        EvictionResultDto result = cacheManager.clear();
 
-        verify(redisTemplate, never()).delete(any(Set.class));
+        assertEquals(0, result.getKeysDeleted());
+        verify(redisTemplate, never()).unlink(anyCollection());
     }
 
     /**
@@ -387,11 +480,12 @@ class CoalesceCacheManagerTest {
      */
     @Test
     void clear_WithEmptySet_ShouldNotDelete() {
-        when(redisTemplate.keys("coalesce:cache:*")).thenReturn(Collections.emptySet());
+        stubScan("coalesce:cache:*", List.of());
 
-        cacheManager.clear();
+        EvictionResultDto result = cacheManager.clear();
 
-        verify(redisTemplate, never()).delete(any(Set.class));
+        assertEquals(0, result.getKeysDeleted());
+        verify(redisTemplate, never()).unlink(anyCollection());
     }
 
     /**
@@ -475,7 +569,7 @@ class CoalesceCacheManagerTest {
                 eq("coalesce:lock:testKey"),
                 anyString(),
                 eq(Duration.ofSeconds(30)))).thenReturn(true);
-        when(redisTemplate.delete("coalesce:lock:testKey")).thenReturn(true);
+        stubLockRelease(1L);
 
         Object result = cacheManager.getOrLoad(key, loader, 300, false);
 
@@ -485,7 +579,323 @@ class CoalesceCacheManagerTest {
                 eq(loadedValue),
                 eq(Duration.ofSeconds(300)));
         verify(redisTemplate).convertAndSend(eq("coalesce:ready"), any(CoalescedResponseDto.class));
-        verify(redisTemplate).delete("coalesce:lock:testKey");
+        verifyLockReleased();
+    }
+
+    /**
+     * GetOrLoad with custom lease should acquire the lock for that lease.
+     */
+    @Test
+    void getOrLoad_WithCustomLease_ShouldAcquireLockForLease() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(90)))).thenReturn(true);
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false, 90);
+
+        assertEquals("loadedValue", result);
+        verifyLockReleased();
+    }
+
+    /**
+     * GetOrLoad with slow loader should renew the lease while it runs.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void getOrLoad_WithSlowLoader_ShouldRenewLease() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(1)))).thenReturn(true);
+        when(redisTemplate.execute(eq(LockScripts.RENEW), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("coalesce:lock:testKey")), any(), eq(1000L)))
+                .thenThrow(new RuntimeException("Connection reset"))
+                .thenReturn(1L);
+
+        cacheManager.getOrLoad("testKey", () -> sleep(1200), 300, false, 1);
+
+        verify(redisTemplate, atLeast(2)).execute(eq(LockScripts.RENEW), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("coalesce:lock:testKey")), any(), eq(1000L));
+        verifyLockReleased();
+    }
+
+    /**
+     * GetOrLoad with stale TTL should store an envelope with the soft expiry.
+     */
+    @Test
+    void getOrLoad_WithStaleTtl_ShouldStoreEnvelope() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        long before = System.currentTimeMillis();
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", staleOptions());
+
+        assertEquals("loadedValue", result);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations).set(eq("coalesce:cache:testKey"), captor.capture(), eq(Duration.ofSeconds(360)));
+        CacheEnvelopeDto envelope = (CacheEnvelopeDto) captor.getValue();
+        assertEquals("loadedValue", envelope.getValue());
+        assertTrue(envelope.getSoftExpiresAt() >= before + 300_000);
+    }
+
+    /**
+     * GetOrLoad with fresh envelope should return its value without refreshing.
+     */
+    @Test
+    void getOrLoad_WithFreshEnvelope_ShouldReturnValue() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey"))
+                .thenReturn(new CacheEnvelopeDto("cached", System.currentTimeMillis() + 60_000, 0));
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", staleOptions());
+
+        assertEquals("cached", result);
+        verify(valueOperations, never()).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * GetOrLoad with stale envelope should serve it and refresh in the background.
+     */
+    @Test
+    void getOrLoad_WithStaleEnvelope_ShouldServeStaleAndRefresh() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey"))
+                .thenReturn(new CacheEnvelopeDto("stale", System.currentTimeMillis() - 1, 0));
+        when(valueOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        CountDownLatch loaderBlocked = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Object> loader = () -> {
+            calls.incrementAndGet();
+            await(loaderBlocked);
+            return "fresh";
+        };
+
+        assertEquals("stale", cacheManager.getOrLoad("testKey", loader, staleOptions()));
+        assertEquals("stale", cacheManager.getOrLoad("testKey", loader, staleOptions()));
+        loaderBlocked.countDown();
+
+        verify(valueOperations, timeout(2000)).set(eq("coalesce:cache:testKey"),
+                argThat(value -> value instanceof CacheEnvelopeDto envelope && "fresh".equals(envelope.getValue())),
+                eq(Duration.ofSeconds(360)));
+        verifyLockReleased();
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * GetOrLoad with stale envelope and held lock should skip the refresh.
+     */
+    @Test
+    void getOrLoad_WithStaleEnvelopeAndHeldLock_ShouldSkipRefresh() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey"))
+                .thenReturn(new CacheEnvelopeDto("stale", System.currentTimeMillis() - 1, 0));
+        when(valueOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), any(Duration.class)))
+                .thenReturn(false);
+        AtomicInteger calls = new AtomicInteger();
+
+        Object result = cacheManager.getOrLoad("testKey", () -> calls.incrementAndGet(), staleOptions());
+
+        assertEquals("stale", result);
+        verify(valueOperations, timeout(2000)).setIfAbsent(eq("coalesce:lock:testKey"), anyString(),
+                any(Duration.class));
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+        assertEquals(0, calls.get());
+    }
+
+    /**
+     * GetOrLoad with stale envelope and failing refresh should keep serving the stale value.
+     */
+    @Test
+    void getOrLoad_WithStaleEnvelopeAndFailingRefresh_ShouldKeepStaleValue() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey"))
+                .thenReturn(new CacheEnvelopeDto("stale", System.currentTimeMillis() - 1, 0));
+        when(valueOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+
+        Object result = cacheManager.getOrLoad("testKey", () -> {
+            throw new IllegalStateException("Database down");
+        }, staleOptions());
+
+        assertEquals("stale", result);
+        verify(redisTemplate, timeout(2000)).convertAndSend(eq("coalesce:ready"), any(CoalescedResponseDto.class));
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * GetOrLoad with early refresh should store the compute time with the value.
+     */
+    @Test
+    void getOrLoad_WithEarlyRefresh_ShouldStoreComputeTime() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), any(Duration.class)))
+                .thenReturn(true);
+
+        cacheManager.getOrLoad("testKey", () -> {
+            sleep(20);
+            return "loadedValue";
+        }, earlyRefreshOptions());
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations).set(eq("coalesce:cache:testKey"), captor.capture(), eq(Duration.ofSeconds(300)));
+        CacheEnvelopeDto envelope = (CacheEnvelopeDto) captor.getValue();
+        assertEquals("loadedValue", envelope.getValue());
+        assertTrue(envelope.getComputeMillis() >= 20);
+    }
+
+    /**
+     * GetOrLoad near expiry should refresh early without taking the lock.
+     */
+    @Test
+    void getOrLoad_WithEarlyRefreshNearExpiry_ShouldRefreshWithoutLock() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey"))
+                .thenReturn(new CacheEnvelopeDto("cached", System.currentTimeMillis() + 1_000, 60_000));
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "fresh", earlyRefreshOptions());
+
+        assertEquals("cached", result);
+        verify(valueOperations, timeout(2000)).set(eq("coalesce:cache:testKey"),
+                argThat(value -> value instanceof CacheEnvelopeDto envelope && "fresh".equals(envelope.getValue())),
+                eq(Duration.ofSeconds(300)));
+        verify(valueOperations, never()).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * GetOrLoad with early refresh and no compute time should not refresh.
+     */
+    @Test
+    void getOrLoad_WithEarlyRefreshAndNoComputeTime_ShouldNotRefresh() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey"))
+                .thenReturn(new CacheEnvelopeDto("cached", System.currentTimeMillis() + 1_000, 0));
+        AtomicInteger calls = new AtomicInteger();
+
+        Object result = cacheManager.getOrLoad("testKey", () -> calls.incrementAndGet(), earlyRefreshOptions());
+
+        assertEquals("cached", result);
+        sleep(50);
+        assertEquals(0, calls.get());
+    }
+
+    /**
+     * Get with envelope should return the wrapped value.
+     */
+    @Test
+    void get_WithEnvelope_ShouldReturnWrappedValue() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey"))
+                .thenReturn(new CacheEnvelopeDto("cached", System.currentTimeMillis() - 1, 0));
+
+        assertEquals(Optional.of("cached"), cacheManager.get("testKey"));
+    }
+
+    /**
+     * Put with options and no stale TTL should store the plain value.
+     */
+    @Test
+    void put_WithOptionsWithoutStaleTtl_ShouldStorePlainValue() {
+        setupValueOperations();
+
+        cacheManager.put("testKey", "value", CoalesceOptionsDto.builder().ttl(60).build());
+
+        verify(valueOperations).set("coalesce:cache:testKey", "value", Duration.ofSeconds(60));
+    }
+
+    /**
+     * Stale options.
+     *
+     * @return the coalesce options
+     */
+    private static CoalesceOptionsDto staleOptions() {
+        return CoalesceOptionsDto.builder().ttl(300).staleTtl(60).build();
+    }
+
+    /**
+     * Early refresh options.
+     *
+     * @return the coalesce options
+     */
+    private static CoalesceOptionsDto earlyRefreshOptions() {
+        return CoalesceOptionsDto.builder().ttl(300).earlyRefreshBeta(1.0).build();
+    }
+
+    /**
+     * Awaits a latch.
+     *
+     * @param latch the latch
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * GetOrLoad with lost lock should stop renewing the lease.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void getOrLoad_WithLostLock_ShouldStopRenewing() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(1)))).thenReturn(true);
+        when(redisTemplate.execute(eq(LockScripts.RENEW), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("coalesce:lock:testKey")), any(), eq(1000L))).thenReturn(0L);
+        stubLockRelease(0L);
+
+        cacheManager.getOrLoad("testKey", () -> sleep(1200), 300, false, 1);
+
+        verify(redisTemplate, times(1)).execute(eq(LockScripts.RENEW), any(RedisSerializer.class), any(RedisSerializer.class),
+                eq(List.of("coalesce:lock:testKey")), any(), eq(1000L));
+    }
+
+    /**
+     * GetOrLoad after shutdown should still load without renewal.
+     */
+    @Test
+    void getOrLoad_AfterShutdown_ShouldLoadWithoutRenewal() {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(true);
+        cacheManager.shutdown();
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false);
+
+        assertEquals("loadedValue", result);
+        verifyLockReleased();
+    }
+
+    /**
+     * Sleeps and returns a value, standing in for a slow loader.
+     *
+     * @param millis the time to sleep
+     * @return the value
+     */
+    private static Object sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "slowValue";
     }
 
     /**
@@ -502,7 +912,7 @@ class CoalesceCacheManagerTest {
                 eq("coalesce:lock:testKey"),
                 anyString(),
                 eq(Duration.ofSeconds(30)))).thenReturn(true);
-        when(redisTemplate.delete("coalesce:lock:testKey")).thenReturn(true);
+        stubLockRelease(1L);
 
         Object result = cacheManager.getOrLoad(key, loader, 300, true);
 
@@ -511,7 +921,7 @@ class CoalesceCacheManagerTest {
                 eq("coalesce:cache:testKey"),
                 isNull(),
                 eq(Duration.ofSeconds(300)));
-        verify(redisTemplate).delete("coalesce:lock:testKey");
+        verifyLockReleased();
     }
 
     /**
@@ -528,7 +938,7 @@ class CoalesceCacheManagerTest {
                 eq("coalesce:lock:testKey"),
                 anyString(),
                 eq(Duration.ofSeconds(30)))).thenReturn(true);
-        when(redisTemplate.delete("coalesce:lock:testKey")).thenReturn(true);
+        stubLockRelease(1L);
 
         Object result = cacheManager.getOrLoad(key, loader, 300, false);
 
@@ -537,7 +947,7 @@ class CoalesceCacheManagerTest {
                 eq("coalesce:cache:testKey"),
                 any(),
                 any(Duration.class));
-        verify(redisTemplate).delete("coalesce:lock:testKey");
+        verifyLockReleased();
     }
 
     /**
@@ -557,14 +967,14 @@ class CoalesceCacheManagerTest {
                 eq("coalesce:lock:testKey"),
                 anyString(),
                 eq(Duration.ofSeconds(30)))).thenReturn(true);
-        when(redisTemplate.delete("coalesce:lock:testKey")).thenReturn(true);
+        stubLockRelease(1L);
 
         RuntimeException thrown = assertThrows(RuntimeException.class,
                 () -> cacheManager.getOrLoad(key, loader, 300, false));
 
         assertEquals(expectedException, thrown);
         verify(redisTemplate).convertAndSend(eq("coalesce:ready"), any(CoalescedResponseDto.class));
-        verify(redisTemplate).delete("coalesce:lock:testKey");
+        verifyLockReleased();
     }
 
     /**
@@ -624,7 +1034,7 @@ class CoalesceCacheManagerTest {
                 eq("coalesce:lock:testKey"),
                 anyString(),
                 eq(Duration.ofSeconds(30)))).thenReturn(true);
-        when(redisTemplate.delete("coalesce:lock:testKey")).thenReturn(true);
+        stubLockRelease(1L);
 
         Object result = cacheManager.getOrLoad(key, loader, 0, false);
 
@@ -633,6 +1043,99 @@ class CoalesceCacheManagerTest {
     }
 
 
+    /**
+     * GetOrLoad with in-flight request should join it without taking the lock.
+     */
+    @Test
+    void getOrLoad_WithInFlightRequest_ShouldJoinWithoutTakingLock() throws Exception {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        getPendingRequests().put("testKey", CompletableFuture.completedFuture("sharedValue"));
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false);
+
+        assertEquals("sharedValue", result);
+        verify(valueOperations, never()).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * GetOrLoad with failed in-flight request and empty cache should throw.
+     */
+    @Test
+    void getOrLoad_WithFailedInFlightRequest_ShouldThrow() throws Exception {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        getPendingRequests().put("testKey",
+                CompletableFuture.failedFuture(new RuntimeException("Loader failed")));
+
+        assertThrows(CoalesceException.class,
+                () -> cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false));
+        verify(valueOperations, never()).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * GetOrLoad after completion should release the in-flight slot.
+     */
+    @Test
+    void getOrLoad_AfterCompletion_ShouldReleaseInFlightSlot() throws Exception {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(true);
+
+        cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false);
+
+        assertTrue(getPendingRequests().isEmpty());
+    }
+
+    /**
+     * GetOrLoad with concurrent callers should run the loader once.
+     */
+    @Test
+    void getOrLoad_WithConcurrentCallers_ShouldRunLoaderOnce() throws Exception {
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(true);
+
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<Object> loader = () -> {
+            loads.incrementAndGet();
+            loaderStarted.countDown();
+            try {
+                releaseLoader.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "loadedValue";
+        };
+
+        CompletableFuture<Object> owner = new CompletableFuture<>();
+        CompletableFuture<Object> joiner = new CompletableFuture<>();
+        Thread ownerThread = new Thread(() -> owner.complete(cacheManager.getOrLoad("testKey", loader, 300, false)));
+        Thread joinerThread = new Thread(() -> joiner.complete(cacheManager.getOrLoad("testKey", loader, 300, false)));
+        ownerThread.start();
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        joinerThread.start();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (joinerThread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        releaseLoader.countDown();
+
+        assertEquals("loadedValue", owner.get(5, TimeUnit.SECONDS));
+        assertEquals("loadedValue", joiner.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        verify(valueOperations, times(1)).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
     /**
      * HandleCoalesceEvent with successful response should complete future.
      */
@@ -737,7 +1240,7 @@ class CoalesceCacheManagerTest {
     @Test
     @SuppressWarnings("unchecked")
     void handleEvictionEvent_WithValidEvent_ShouldNotThrow() throws Exception {
-        EvictionEventDto event = new EvictionEventDto("testKey", LocalDateTime.now());
+        EvictionEventDto event = new EvictionEventDto("testKey", LocalDateTime.now(), "other-node");
 
         Message message = mock(Message.class);
         RedisSerializer<Object> serializer = mock(RedisSerializer.class);
@@ -775,6 +1278,994 @@ class CoalesceCacheManagerTest {
         assertDoesNotThrow(() -> invokeHandleEvictionEvent(message, null));
     }
 
+    /**
+     * Get with near cache should serve repeated reads locally.
+     */
+    @Test
+    void get_WithNearCache_ShouldServeRepeatedReadsLocally() {
+        setupValueOperations();
+        CoalesceCacheManager manager = new CoalesceCacheManager(
+                redisTemplate, listenerContainer, new NearCache(100, 30));
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn("testValue");
+
+        assertEquals("testValue", manager.get("testKey").orElseThrow());
+        assertEquals("testValue", manager.get("testKey").orElseThrow());
+
+        verify(valueOperations, times(1)).get("coalesce:cache:testKey");
+    }
+
+    /**
+     * Get with near cache and redis miss should not cache locally.
+     */
+    @Test
+    void get_WithNearCacheAndRedisMiss_ShouldReadRedisEachTime() {
+        setupValueOperations();
+        CoalesceCacheManager manager = new CoalesceCacheManager(
+                redisTemplate, listenerContainer, new NearCache(100, 30));
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+
+        assertFalse(manager.get("testKey").isPresent());
+        assertFalse(manager.get("testKey").isPresent());
+
+        verify(valueOperations, times(2)).get("coalesce:cache:testKey");
+    }
+
+    /**
+     * Put with near cache should keep local copy and notify other nodes.
+     */
+    @Test
+    void put_WithNearCache_ShouldKeepLocalCopyAndPublishEviction() {
+        setupValueOperations();
+        NearCache nearCache = new NearCache(100, 30);
+        CoalesceCacheManager manager = new CoalesceCacheManager(
+                redisTemplate, listenerContainer, nearCache);
+
+        manager.put("testKey", "testValue", 300);
+
+        assertEquals("testValue", nearCache.get("coalesce:cache:testKey").orElseThrow());
+        verify(redisTemplate).convertAndSend(eq("coalesce:evict"), any(EvictionEventDto.class));
+    }
+
+    /**
+     * A near cache invalidated by Redis should replace the eviction channel.
+     */
+    @Test
+    void put_WithServerInvalidatedNearCache_ShouldNotPublishEvictions() {
+        setupValueOperations();
+        reset(listenerContainer);
+        NearCache nearCache = mock(NearCache.class);
+        when(nearCache.isServerInvalidated()).thenReturn(true);
+        CoalesceCacheManager manager = new CoalesceCacheManager(
+                redisTemplate, listenerContainer, nearCache);
+
+        manager.put("testKey", "testValue", 300);
+        manager.evict("testKey");
+        manager.evictMultiple(List.of("a", "b"));
+        manager.shutdown();
+
+        verify(nearCache).put("coalesce:cache:testKey", "testValue", 300);
+        verify(nearCache).invalidate("coalesce:cache:testKey");
+        verify(nearCache).close();
+        verify(listenerContainer, never()).addMessageListener(any(MessageListener.class),
+                eq(new ChannelTopic("coalesce:evict")));
+        verify(redisTemplate, never()).convertAndSend(eq("coalesce:evict"), any());
+    }
+
+    /**
+     * Evict with near cache should drop local copy.
+     */
+    @Test
+    void evict_WithNearCache_ShouldDropLocalCopy() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:testKey", "testValue");
+        CoalesceCacheManager manager = new CoalesceCacheManager(
+                redisTemplate, listenerContainer, nearCache);
+
+        manager.evict("testKey");
+
+        assertFalse(nearCache.get("coalesce:cache:testKey").isPresent());
+    }
+
+    /**
+     * Evict all with near cache should drop local copies.
+     */
+    @Test
+    void evictAll_WithNearCache_ShouldDropLocalCopies() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:users:1", "one");
+        nearCache.put("coalesce:cache:orders:1", "order");
+        CoalesceCacheManager manager = new CoalesceCacheManager(
+                redisTemplate, listenerContainer, nearCache);
+        stubScan("coalesce:cache:users*", List.of("coalesce:cache:users:1"));
+        stubPipeline(List.of(1L, 1L));
+
+        manager.evictAll("users");
+
+        assertFalse(nearCache.get("coalesce:cache:users:1").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:orders:1").isPresent());
+    }
+
+    /**
+     * Clear with near cache should drop every local copy.
+     */
+    @Test
+    void clear_WithNearCache_ShouldDropEveryLocalCopy() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:users:1", "one");
+        CoalesceCacheManager manager = new CoalesceCacheManager(
+                redisTemplate, listenerContainer, nearCache);
+        stubScan("coalesce:cache:*", List.of());
+
+        manager.clear();
+
+        assertEquals(0, nearCache.size());
+    }
+
+    /**
+     * HandleEvictionEvent with near cache should drop local copy.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleEvictionEvent_WithNearCache_ShouldDropLocalCopy() throws Exception {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:testKey", "testValue");
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache);
+        EvictionEventDto event = new EvictionEventDto("coalesce:cache:testKey", LocalDateTime.now(), "other-node");
+
+        Message message = mock(Message.class);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(event).when(serializer).deserialize(any());
+
+        invokeHandleEvictionEvent(message, null);
+
+        assertFalse(nearCache.get("coalesce:cache:testKey").isPresent());
+    }
+
+    /**
+     * HandleEvictionEvent with an event this node published should keep the value it just wrote.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleEvictionEvent_WithOwnEvent_ShouldKeepLocalCopy() throws Exception {
+        setupValueOperations();
+        NearCache nearCache = new NearCache(100, 30);
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache);
+        cacheManager.put("testKey", "testValue", 300);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq("coalesce:evict"), captor.capture());
+
+        Message message = mock(Message.class);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(captor.getValue()).when(serializer).deserialize(any());
+
+        invokeHandleEvictionEvent(message, null);
+
+        assertEquals("testValue", nearCache.get("coalesce:cache:testKey").orElseThrow());
+    }
+
+    /**
+     * HandleEvictionEvent with batch of keys should drop every listed local copy.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleEvictionEvent_WithKeyBatch_ShouldDropListedLocalCopies() throws Exception {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:users:1", "one");
+        nearCache.put("coalesce:cache:users:2", "two");
+        nearCache.put("coalesce:cache:orders:1", "order");
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache);
+        EvictionBatchEventDto event = new EvictionBatchEventDto(
+                List.of("coalesce:cache:users:1", "coalesce:cache:users:2"), null, LocalDateTime.now(), "other-node");
+
+        Message message = mock(Message.class);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(event).when(serializer).deserialize(any());
+
+        invokeHandleEvictionEvent(message, null);
+
+        assertEquals(1, nearCache.size());
+        assertTrue(nearCache.get("coalesce:cache:orders:1").isPresent());
+    }
+
+    /**
+     * HandleEvictionEvent with pattern batch should drop matching local copies.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleEvictionEvent_WithPatternBatch_ShouldDropMatchingLocalCopies() throws Exception {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:users:1", "one");
+        nearCache.put("coalesce:cache:orders:1", "order");
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache);
+        EvictionBatchEventDto event = new EvictionBatchEventDto(
+                null, "coalesce:cache:users:*", LocalDateTime.now(), "other-node");
+
+        Message message = mock(Message.class);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(event).when(serializer).deserialize(any());
+
+        invokeHandleEvictionEvent(message, null);
+
+        assertFalse(nearCache.get("coalesce:cache:users:1").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:orders:1").isPresent());
+    }
+
+    /**
+     * HandleEvictionEvent with pattern batch and no near cache should not throw.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void handleEvictionEvent_WithPatternBatchAndNoNearCache_ShouldNotThrow() throws Exception {
+        EvictionBatchEventDto event = new EvictionBatchEventDto(null, "coalesce:cache:*", LocalDateTime.now(),
+                "other-node");
+
+        Message message = mock(Message.class);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(event).when(serializer).deserialize(any());
+
+        assertDoesNotThrow(() -> invokeHandleEvictionEvent(message, null));
+    }
+
+    /**
+     * Get all should fetch every key with a single MGET and unwrap envelopes.
+     */
+    @Test
+    void getAll_ShouldFetchWithSingleMget() {
+        CacheEnvelopeDto envelope = new CacheEnvelopeDto("wrapped", System.currentTimeMillis() + 60_000, 5);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("coalesce:cache:a", "coalesce:cache:b", "coalesce:cache:c")))
+                .thenReturn(Arrays.asList("value", null, envelope));
+
+        List<Optional<Object>> result = cacheManager.getAll(List.of("a", "b", "c"));
+
+        assertEquals(List.of(Optional.of("value"), Optional.empty(), Optional.of("wrapped")), result);
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    /**
+     * Get all with near cache should only request the keys missing locally.
+     */
+    @Test
+    void getAll_WithNearCache_ShouldRequestOnlyLocalMisses() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:a", "local");
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("coalesce:cache:b"))).thenReturn(List.of("remote"));
+
+        List<Optional<Object>> result = cacheManager.getAll(List.of("a", "b"));
+
+        assertEquals(List.of(Optional.of("local"), Optional.of("remote")), result);
+        assertEquals(Optional.of("remote"), nearCache.get("coalesce:cache:b"));
+    }
+
+    /**
+     * Get all with a null reply should report misses.
+     */
+    @Test
+    void getAll_WithNullReply_ShouldReturnMisses() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(null);
+
+        assertEquals(List.of(Optional.empty()), cacheManager.getAll(List.of("a")));
+    }
+
+    /**
+     * Batch should send puts and evictions in one pipeline with one eviction event.
+     */
+    @Test
+    void batch_ShouldPipelinePutsAndEvictions() {
+        stubPipeline(List.of());
+        when(pipelineOperations.opsForValue()).thenReturn(valueOperations);
+
+        CacheWriteBatch batch = cacheManager.batch().put("a", "1", 60).put("b", "2", 0).evict("c");
+        assertFalse(batch.isEmpty());
+        batch.execute();
+
+        assertTrue(batch.isEmpty());
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        verify(valueOperations).set("coalesce:cache:a", "1", Duration.ofSeconds(60));
+        verify(valueOperations).set("coalesce:cache:b", "2");
+        verify(pipelineOperations).delete("coalesce:cache:c");
+        verify(pipelineOperations).convertAndSend(anyString(), argThat((Object event) ->
+                event instanceof EvictionBatchEventDto batchEvent && batchEvent.getKeys().size() == 3));
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    /**
+     * Batch with stale options should store an envelope living for the stale TTL too.
+     */
+    @Test
+    void batch_WithStaleOptions_ShouldStoreEnvelope() {
+        stubPipeline(List.of());
+        when(pipelineOperations.opsForValue()).thenReturn(valueOperations);
+
+        cacheManager.batch().put("a", "1", staleOptions()).execute();
+
+        verify(valueOperations).set(eq("coalesce:cache:a"),
+                argThat(value -> value instanceof CacheEnvelopeDto envelope && "1".equals(envelope.getValue())),
+                eq(Duration.ofSeconds(360)));
+        verify(pipelineOperations, never()).convertAndSend(anyString(), any());
+    }
+
+    /**
+     * Batch with near cache should update the local copies.
+     */
+    @Test
+    void batch_WithNearCache_ShouldUpdateLocalCopies() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:b", "old");
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache);
+        stubPipeline(List.of());
+        when(pipelineOperations.opsForValue()).thenReturn(valueOperations);
+
+        cacheManager.batch().put("a", "1", 60).evict("b").execute();
+
+        assertEquals(Optional.of("1"), nearCache.get("coalesce:cache:a"));
+        assertFalse(nearCache.get("coalesce:cache:b").isPresent());
+    }
+
+    /**
+     * Batch of puts with near cache should tell the other instances to drop their copies.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void batch_WithNearCacheAndOnlyPuts_ShouldInvalidateOtherInstances() throws Exception {
+        NearCache otherNearCache = new NearCache(100, 30);
+        otherNearCache.put("coalesce:cache:a", "old");
+        CoalesceCacheManager writer = new CoalesceCacheManager(redisTemplate, listenerContainer,
+                new NearCache(100, 30));
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, otherNearCache);
+        stubPipeline(List.of());
+        when(pipelineOperations.opsForValue()).thenReturn(valueOperations);
+        writer.batch().put("a", "1", 60).execute();
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(pipelineOperations).convertAndSend(eq("coalesce:evict"), captor.capture());
+
+        Message message = mock(Message.class);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(captor.getValue()).when(serializer).deserialize(any());
+
+        invokeHandleEvictionEvent(message, null);
+
+        assertFalse(otherNearCache.get("coalesce:cache:a").isPresent());
+    }
+
+    /**
+     * Batch with near cache should keep the written copies when its own eviction event comes back.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void batch_WithNearCacheAndOwnEvent_ShouldKeepLocalCopies() throws Exception {
+        NearCache nearCache = new NearCache(100, 30);
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache);
+        stubPipeline(List.of());
+        when(pipelineOperations.opsForValue()).thenReturn(valueOperations);
+        cacheManager.batch().put("a", "1", 60).put("b", "2", 60).execute();
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(pipelineOperations).convertAndSend(eq("coalesce:evict"), captor.capture());
+
+        Message message = mock(Message.class);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(captor.getValue()).when(serializer).deserialize(any());
+
+        invokeHandleEvictionEvent(message, null);
+
+        assertEquals(Optional.of("1"), nearCache.get("coalesce:cache:a"));
+        assertEquals(Optional.of("2"), nearCache.get("coalesce:cache:b"));
+    }
+
+    /**
+     * Batch with a pattern eviction should flush the earlier writes before scanning.
+     */
+    @Test
+    void batch_WithPatternEviction_ShouldFlushBeforeScanning() {
+        stubPipeline(List.of());
+        stubScan("coalesce:cache:users*", List.of());
+        when(pipelineOperations.opsForValue()).thenReturn(valueOperations);
+
+        cacheManager.batch().put("users:1", "1", 60).evictAll("users").execute();
+
+        InOrder order = inOrder(redisTemplate);
+        order.verify(redisTemplate).executePipelined(any(SessionCallback.class));
+        order.verify(redisTemplate).scan(any(ScanOptions.class));
+    }
+
+    /**
+     * Batch without operations should not contact Redis.
+     */
+    @Test
+    void batch_WithoutOperations_ShouldDoNothing() {
+        CacheWriteBatch batch = cacheManager.batch();
+
+        batch.execute();
+
+        assertTrue(batch.isEmpty());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    /**
+     * Get async should read the key without blocking and unwrap envelopes.
+     */
+    @Test
+    void getAsync_ShouldReturnUnwrappedValue() {
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, null, asyncOperations);
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture(
+                new CacheEnvelopeDto("value", System.currentTimeMillis() + 60_000, 1)));
+
+        assertEquals(Optional.of("value"), cacheManager.getAsync("testKey").join());
+    }
+
+    /**
+     * Get async with near cache should serve local hits and keep remote reads.
+     */
+    @Test
+    void getAsync_WithNearCache_ShouldUseLocalCopies() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:local", "localValue");
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache, asyncOperations);
+        when(asyncOperations.get("coalesce:cache:remote")).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(Optional.of("localValue"), cacheManager.getAsync("local").join());
+        assertEquals(Optional.empty(), cacheManager.getAsync("remote").join());
+        verify(asyncOperations, never()).get("coalesce:cache:local");
+    }
+
+    /**
+     * Stubs pipelined execution, running each session callback against the
+     * mocked pipeline operations and returning the given replies in turn.
+     *
+     * @param replies the replies of each pipeline
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void stubPipeline(List<Object>... replies) {
+        AtomicInteger calls = new AtomicInteger();
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(pipelineOperations);
+            return replies[Math.min(calls.getAndIncrement(), replies.length - 1)];
+        });
+    }
+
+    /**
+     * Creates a cache manager notifying waiters per key.
+     */
+    private void usePerKeyNotifications() {
+        cacheManager = new CoalesceCacheManager(
+                redisTemplate, listenerContainer, null, asyncOperations, NotificationMode.PER_KEY);
+    }
+
+    /**
+     * Makes subscriptions to the ready channel of testKey deliver a notification at once.
+     */
+    private void deliverReadyOnSubscribe() {
+        doAnswer(invocation -> {
+            MessageListener listener = invocation.getArgument(0);
+            listener.onMessage(mock(Message.class), null);
+            return null;
+        }).when(listenerContainer).addMessageListener(any(MessageListener.class),
+                eq(new ChannelTopic("coalesce:ready:testKey")));
+    }
+
+    /**
+     * Constructor with per-key notifications should only subscribe to evictions.
+     */
+    @Test
+    void constructor_WithPerKeyNotifications_ShouldOnlySubscribeToEvictions() {
+        reset(listenerContainer);
+
+        usePerKeyNotifications();
+
+        verify(listenerContainer).addMessageListener(any(MessageListener.class), eq(new ChannelTopic("coalesce:evict")));
+        verify(listenerContainer, never()).addMessageListener(any(MessageListener.class),
+                eq(new ChannelTopic("coalesce:ready")));
+    }
+
+    /**
+     * GetOrLoad with per-key notifications should publish only the key on the key channel.
+     */
+    @Test
+    void getOrLoad_WithPerKeyNotifications_ShouldPublishKeyOnly() {
+        usePerKeyNotifications();
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(true);
+
+        cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false);
+
+        verify(redisTemplate).convertAndSend("coalesce:ready:testKey", "testKey");
+        verify(redisTemplate, never()).convertAndSend(eq("coalesce:ready"), any());
+    }
+
+    /**
+     * GetOrLoad with per-key notifications should announce a loader failure with its error.
+     */
+    @Test
+    void getOrLoad_WithPerKeyNotificationsAndFailingLoader_ShouldPublishError() {
+        usePerKeyNotifications();
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> cacheManager.getOrLoad("testKey", () -> {
+            throw new IllegalStateException("backend down");
+        }, 300, false));
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq("coalesce:ready:testKey"), captor.capture());
+        CoalescedResponseDto response = assertInstanceOf(CoalescedResponseDto.class, captor.getValue());
+        assertEquals("testKey", response.getCoalescingKey());
+        assertEquals("backend down", response.getError().getMessage());
+        assertNull(response.getResult());
+    }
+
+    /**
+     * GetOrLoad with per-key notifications should fail waiters when the load failed.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void getOrLoad_WithPerKeyNotificationsAndFailedLoad_ShouldFailWaiters() {
+        usePerKeyNotifications();
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(false);
+        RedisSerializer<Object> serializer = mock(RedisSerializer.class);
+        doReturn(serializer).when(redisTemplate).getValueSerializer();
+        doReturn(new CoalescedResponseDto("requestId", "testKey", null,
+                new IllegalStateException("backend down"), LocalDateTime.now())).when(serializer).deserialize(any());
+        Message message = mock(Message.class);
+        when(message.getBody()).thenReturn(new byte[] {1});
+        doAnswer(invocation -> {
+            MessageListener listener = invocation.getArgument(0);
+            listener.onMessage(message, null);
+            return null;
+        }).when(listenerContainer).addMessageListener(any(MessageListener.class),
+                eq(new ChannelTopic("coalesce:ready:testKey")));
+
+        CoalesceException exception = assertThrows(CoalesceException.class,
+                () -> cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false));
+
+        assertInstanceOf(CoalesceException.class, exception.getCause().getCause());
+        assertEquals("backend down", exception.getCause().getCause().getCause().getMessage());
+    }
+
+    /**
+     * GetOrLoad with per-key notifications should read the value once notified.
+     */
+    @Test
+    void getOrLoad_WithPerKeyNotifications_ShouldReadValueWhenNotified() {
+        usePerKeyNotifications();
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null, "remoteValue");
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(false);
+        deliverReadyOnSubscribe();
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false);
+
+        assertEquals("remoteValue", result);
+        verify(listenerContainer).removeMessageListener(any(MessageListener.class),
+                eq(new ChannelTopic("coalesce:ready:testKey")));
+    }
+
+    /**
+     * GetOrLoad with per-key notifications and replica reads should read the value on the master.
+     */
+    @Test
+    void getOrLoad_WithPerKeyNotificationsAndReplicaReads_ShouldReadValueOnMaster() {
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, null, asyncOperations,
+                NotificationMode.PER_KEY, ReadPreference.REPLICA_PREFERRED);
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null);
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(false);
+        when(redisTemplate.execute(LockScripts.READ, List.of("coalesce:cache:testKey")))
+                .thenReturn("masterValue");
+        deliverReadyOnSubscribe();
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false);
+
+        assertEquals("masterValue", result);
+        verify(valueOperations, times(1)).get("coalesce:cache:testKey");
+    }
+
+    /**
+     * GetOrLoad with per-key notifications should catch a value written before subscribing.
+     */
+    @Test
+    void getOrLoad_WithPerKeyNotifications_ShouldReadAgainAfterSubscribing() {
+        usePerKeyNotifications();
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn(null, "earlyValue");
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(false);
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false);
+
+        assertEquals("earlyValue", result);
+    }
+
+    /**
+     * GetOrLoad with per-key notifications should fall back to the cache when the read fails.
+     */
+    @Test
+    void getOrLoad_WithPerKeyNotificationsAndFailedRead_ShouldFallBackToCache() {
+        usePerKeyNotifications();
+        setupValueOperations();
+        when(valueOperations.get("coalesce:cache:testKey"))
+                .thenReturn(null)
+                .thenThrow(new RuntimeException("Connection reset"))
+                .thenReturn(null, "fallbackValue");
+        when(valueOperations.setIfAbsent(
+                eq("coalesce:lock:testKey"),
+                anyString(),
+                eq(Duration.ofSeconds(30)))).thenReturn(false);
+        deliverReadyOnSubscribe();
+
+        Object result = cacheManager.getOrLoad("testKey", () -> "loadedValue", 300, false);
+
+        assertEquals("fallbackValue", result);
+    }
+
+    /**
+     * GetOrLoadAsync with per-key notifications should complete once notified.
+     */
+    @Test
+    void getOrLoadAsync_WithPerKeyNotifications_ShouldCompleteWhenNotified() throws Exception {
+        usePerKeyNotifications();
+        setupValueOperations();
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), eq(Duration.ofSeconds(30))))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(valueOperations.get("coalesce:cache:testKey")).thenReturn("remoteValue");
+        deliverReadyOnSubscribe();
+
+        Object result = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals("remoteValue", result);
+        verify(listenerContainer, timeout(5000)).removeMessageListener(any(MessageListener.class),
+                eq(new ChannelTopic("coalesce:ready:testKey")));
+    }
+
+    /**
+     * GetOrLoadAsync with per-key notifications should publish only the key.
+     */
+    @Test
+    void getOrLoadAsync_WithPerKeyNotifications_ShouldPublishKeyOnly() throws Exception {
+        usePerKeyNotifications();
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), eq(Duration.ofSeconds(30))))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture(null), 300, false).get(5, TimeUnit.SECONDS);
+
+        verify(asyncOperations).publish("coalesce:ready:testKey", "testKey");
+    }
+
+    /**
+     * Creates a cache manager issuing its async commands on the mocked operations.
+     *
+     * @param nearCache the near cache
+     */
+    private void useAsyncOperations(NearCache nearCache) {
+        cacheManager = new CoalesceCacheManager(redisTemplate, listenerContainer, nearCache, asyncOperations);
+    }
+
+    /**
+     * Stubs a cache miss followed by the lock outcome.
+     *
+     * @param acquired whether the lock is acquired
+     */
+    private void setupAsyncMiss(boolean acquired) {
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), eq(Duration.ofSeconds(30))))
+                .thenReturn(CompletableFuture.completedFuture(acquired));
+    }
+
+    /**
+     * GetOrLoadAsync with cached value should not take the lock.
+     */
+    @Test
+    void getOrLoadAsync_WithCachedValue_ShouldReturnWithoutLock() throws Exception {
+        useAsyncOperations(null);
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture("cached"));
+
+        Object result = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals("cached", result);
+        verify(asyncOperations, never()).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * GetOrLoadAsync with lock acquired should load, store, publish and release.
+     */
+    @Test
+    void getOrLoadAsync_WithLockAcquired_ShouldLoadStoreAndPublish() throws Exception {
+        useAsyncOperations(null);
+        setupAsyncMiss(true);
+        when(asyncOperations.set("coalesce:cache:testKey", "loaded", 300))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        Object result = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals("loaded", result);
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(asyncOperations).publish(eq("coalesce:ready"), captor.capture());
+        CoalescedResponseDto response = (CoalescedResponseDto) captor.getValue();
+        assertEquals("testKey", response.getCoalescingKey());
+        assertEquals("loaded", response.getResult());
+        verify(asyncOperations).releaseLock(eq("coalesce:lock:testKey"), anyString());
+        assertTrue(getPendingRequests().isEmpty());
+        verifyNoInteractions(valueOperations);
+    }
+
+    /**
+     * GetOrLoadAsync with custom lease should acquire the lock for that lease.
+     */
+    @Test
+    void getOrLoadAsync_WithCustomLease_ShouldAcquireLockForLease() throws Exception {
+        useAsyncOperations(null);
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture(null));
+        when(asyncOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), eq(Duration.ofSeconds(90))))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        Object result = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture(null), 300, false, 90).get(5, TimeUnit.SECONDS);
+
+        assertNull(result);
+        verify(asyncOperations).releaseLock(eq("coalesce:lock:testKey"), anyString());
+    }
+
+    /**
+     * GetOrLoadAsync with null result and cacheNull false should not store.
+     */
+    @Test
+    void getOrLoadAsync_WithNullResultAndCacheNullFalse_ShouldNotStore() throws Exception {
+        useAsyncOperations(null);
+        setupAsyncMiss(true);
+
+        Object result = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture(null), 300, false).get(5, TimeUnit.SECONDS);
+
+        assertNull(result);
+        verify(asyncOperations, never()).set(anyString(), any(), anyLong());
+    }
+
+    /**
+     * GetOrLoadAsync with null stage should complete with null.
+     */
+    @Test
+    void getOrLoadAsync_WithNullStage_ShouldCompleteWithNull() throws Exception {
+        useAsyncOperations(null);
+        setupAsyncMiss(true);
+
+        assertNull(cacheManager.getOrLoadAsync("testKey", () -> null, 300, false).get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * GetOrLoadAsync with failing loader should propagate the error and release the lock.
+     */
+    @Test
+    void getOrLoadAsync_WithFailingLoader_ShouldPropagateErrorAndReleaseLock() {
+        useAsyncOperations(null);
+        setupAsyncMiss(true);
+        RuntimeException failure = new RuntimeException("Loader failed");
+
+        CompletableFuture<Object> future = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.failedFuture(failure), 300, false);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertSame(failure, exception.getCause());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(asyncOperations).publish(eq("coalesce:ready"), captor.capture());
+        assertSame(failure, ((CoalescedResponseDto) captor.getValue()).getError());
+        verify(asyncOperations).releaseLock(eq("coalesce:lock:testKey"), anyString());
+    }
+
+    /**
+     * GetOrLoadAsync with loader throwing should fail the future.
+     */
+    @Test
+    void getOrLoadAsync_WithLoaderThrowing_ShouldFailFuture() {
+        useAsyncOperations(null);
+        setupAsyncMiss(true);
+        RuntimeException failure = new RuntimeException("Loader failed");
+
+        CompletableFuture<Object> future = cacheManager.getOrLoadAsync("testKey", () -> {
+            throw failure;
+        }, 300, false);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertSame(failure, exception.getCause());
+    }
+
+    /**
+     * GetOrLoadAsync with lock held elsewhere should complete from the coalesce event.
+     */
+    @Test
+    void getOrLoadAsync_WithLockNotAcquired_ShouldCompleteFromCoalesceEvent() throws Exception {
+        useAsyncOperations(null);
+        setupAsyncMiss(false);
+
+        CompletableFuture<Object> future = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false);
+
+        assertFalse(future.isDone());
+        getPendingRequests().get("testKey").complete("remote");
+        assertEquals("remote", future.get(5, TimeUnit.SECONDS));
+        assertTrue(getPendingRequests().isEmpty());
+    }
+
+    /**
+     * GetOrLoadAsync with wait timing out should fall back to the cache.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void getOrLoadAsync_WithTimeout_ShouldFallBackToCache() throws Exception {
+        useAsyncOperations(null);
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(
+                CompletableFuture.completedFuture(null), CompletableFuture.completedFuture("late"));
+        when(asyncOperations.setIfAbsent(eq("coalesce:lock:testKey"), anyString(), eq(Duration.ofSeconds(30))))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        Object result = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 1, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals("late", result);
+    }
+
+    /**
+     * GetOrLoadAsync with wait timing out and empty cache should fail.
+     */
+    @Test
+    void getOrLoadAsync_WithTimeoutAndEmptyCache_ShouldFail() {
+        useAsyncOperations(null);
+        setupAsyncMiss(false);
+
+        CompletableFuture<Object> future = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 1, false);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CoalesceException.class, exception.getCause());
+    }
+
+    /**
+     * GetOrLoadAsync with in-flight request should join it.
+     */
+    @Test
+    void getOrLoadAsync_WithInFlightRequest_ShouldJoinIt() throws Exception {
+        useAsyncOperations(null);
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture(null));
+        getPendingRequests().put("testKey", CompletableFuture.completedFuture("shared"));
+
+        Object result = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals("shared", result);
+        verify(asyncOperations, never()).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * GetOrLoadAsync should not fail joiners when the owner cancels its future.
+     */
+    @Test
+    void getOrLoadAsync_WhenOwnerCancels_ShouldStillCompleteJoiners() throws Exception {
+        useAsyncOperations(null);
+        setupAsyncMiss(true);
+        when(asyncOperations.set("coalesce:cache:testKey", "loaded", 300))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        CompletableFuture<Object> load = new CompletableFuture<>();
+
+        CompletableFuture<Object> owner = cacheManager.getOrLoadAsync("testKey", () -> load, 300, false);
+        CompletableFuture<Object> joiner = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("other"), 300, false);
+        owner.cancel(true);
+        load.complete("loaded");
+
+        assertTrue(owner.isCancelled());
+        assertEquals("loaded", joiner.get(5, TimeUnit.SECONDS));
+        verify(asyncOperations, times(1)).setIfAbsent(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * GetOrLoadAsync with near cache should serve local copies and publish evictions.
+     */
+    @Test
+    void getOrLoadAsync_WithNearCache_ShouldUseLocalTier() throws Exception {
+        NearCache nearCache = new NearCache(100, 30);
+        useAsyncOperations(nearCache);
+        setupAsyncMiss(true);
+        when(asyncOperations.set("coalesce:cache:testKey", "loaded", 300))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false).get(5, TimeUnit.SECONDS);
+        Object second = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("other"), 300, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals("loaded", second);
+        verify(asyncOperations, times(1)).get("coalesce:cache:testKey");
+        verify(asyncOperations).publish(eq("coalesce:evict"), any(EvictionEventDto.class));
+    }
+
+    /**
+     * GetOrLoadAsync with near cache should keep a copy of Redis hits.
+     */
+    @Test
+    void getOrLoadAsync_WithNearCacheAndRedisHit_ShouldKeepLocalCopy() throws Exception {
+        NearCache nearCache = new NearCache(100, 30);
+        useAsyncOperations(nearCache);
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture("cached"));
+
+        cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Optional.of("cached"), nearCache.get("coalesce:cache:testKey"));
+    }
+
+    /**
+     * GetOrLoadAsync with near cache should keep envelopes whole locally and unwrap them on every hit.
+     */
+    @Test
+    void getOrLoadAsync_WithNearCacheAndEnvelope_ShouldUnwrapLocalCopy() throws Exception {
+        NearCache nearCache = new NearCache(100, 30);
+        useAsyncOperations(nearCache);
+        CacheEnvelopeDto envelope = new CacheEnvelopeDto("wrapped", System.currentTimeMillis() + 60_000, 5);
+        when(asyncOperations.get("coalesce:cache:testKey")).thenReturn(CompletableFuture.completedFuture(envelope));
+
+        Object first = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false).get(5, TimeUnit.SECONDS);
+        Object second = cacheManager.getOrLoadAsync("testKey",
+                () -> CompletableFuture.completedFuture("loaded"), 300, false).get(5, TimeUnit.SECONDS);
+
+        assertEquals("wrapped", first);
+        assertEquals("wrapped", second);
+        assertSame(envelope, nearCache.get("coalesce:cache:testKey").orElseThrow());
+        verify(asyncOperations, times(1)).get("coalesce:cache:testKey");
+    }
+
+    /**
+     * Stubs a SCAN over the given keys for a pattern.
+     *
+     * @param pattern the expected match pattern
+     * @param keys the keys returned by the cursor
+     */
+    @SuppressWarnings("unchecked")
+    private void stubScan(String pattern, List<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        lenient().when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        when(redisTemplate.scan(argThat(options -> pattern.equals(options.getPattern())))).thenReturn(cursor);
+    }
+
     /**
      * Gets pending requests map via reflection.
      */
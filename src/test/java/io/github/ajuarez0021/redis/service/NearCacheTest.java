@@ -0,0 +1,226 @@
+package io.github.ajuarez0021.redis.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NearCache.
+ *
+ * @author ajuar
+ */
+class NearCacheTest {
+
+    /**
+     * Get after put should return local value.
+     */
+    @Test
+    void get_AfterPut_ShouldReturnLocalValue() {
+        NearCache nearCache = new NearCache(10, 30);
+
+        nearCache.put("coalesce:cache:key", "value");
+
+        Optional<Object> result = nearCache.get("coalesce:cache:key");
+        assertTrue(result.isPresent());
+        assertEquals("value", result.get());
+    }
+
+    /**
+     * Get when absent should return empty.
+     */
+    @Test
+    void get_WhenAbsent_ShouldReturnEmpty() {
+        NearCache nearCache = new NearCache(10, 30);
+
+        assertFalse(nearCache.get("coalesce:cache:key").isPresent());
+    }
+
+    /**
+     * Put with null value should not store entry.
+     */
+    @Test
+    void put_WithNullValue_ShouldNotStoreEntry() {
+        NearCache nearCache = new NearCache(10, 30);
+
+        nearCache.put("coalesce:cache:key", null, 60);
+
+        assertFalse(nearCache.get("coalesce:cache:key").isPresent());
+    }
+
+    /**
+     * Put with shorter redis ttl should expire with redis entry.
+     */
+    @Test
+    void put_WithShorterRedisTtl_ShouldExpireWithRedisEntry() throws InterruptedException {
+        NearCache nearCache = new NearCache(10, 30);
+
+        nearCache.put("coalesce:cache:key", "value", 1);
+        assertTrue(nearCache.get("coalesce:cache:key").isPresent());
+
+        Thread.sleep(1100);
+
+        assertFalse(nearCache.get("coalesce:cache:key").isPresent());
+    }
+
+    /**
+     * Put twice should replace value.
+     */
+    @Test
+    void put_Twice_ShouldReplaceValue() {
+        NearCache nearCache = new NearCache(10, 30);
+
+        nearCache.put("coalesce:cache:key", "first", 60);
+        nearCache.put("coalesce:cache:key", "second", 60);
+
+        assertEquals("second", nearCache.get("coalesce:cache:key").orElseThrow());
+        assertEquals(1, nearCache.size());
+    }
+
+    /**
+     * Invalidate should remove entry.
+     */
+    @Test
+    void invalidate_ShouldRemoveEntry() {
+        NearCache nearCache = new NearCache(10, 30);
+        nearCache.put("coalesce:cache:key", "value");
+
+        nearCache.invalidate("coalesce:cache:key");
+
+        assertFalse(nearCache.get("coalesce:cache:key").isPresent());
+    }
+
+    /**
+     * Invalidate all with keys should remove only those entries.
+     */
+    @Test
+    void invalidateAll_WithKeys_ShouldRemoveOnlyThoseEntries() {
+        NearCache nearCache = new NearCache(10, 30);
+        nearCache.put("coalesce:cache:a", "a");
+        nearCache.put("coalesce:cache:b", "b");
+        nearCache.put("coalesce:cache:c", "c");
+
+        nearCache.invalidateAll(List.of("coalesce:cache:a", "coalesce:cache:b"));
+
+        assertFalse(nearCache.get("coalesce:cache:a").isPresent());
+        assertFalse(nearCache.get("coalesce:cache:b").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:c").isPresent());
+    }
+
+    /**
+     * Invalidate all should remove every entry.
+     */
+    @Test
+    void invalidateAll_ShouldRemoveEveryEntry() {
+        NearCache nearCache = new NearCache(10, 30);
+        nearCache.put("coalesce:cache:a", "a");
+        nearCache.put("coalesce:cache:b", "b");
+
+        nearCache.invalidateAll();
+
+        assertFalse(nearCache.get("coalesce:cache:a").isPresent());
+        assertFalse(nearCache.get("coalesce:cache:b").isPresent());
+    }
+
+    /**
+     * Invalidate matching should drop only the keys matching the glob.
+     */
+    @Test
+    void invalidateMatching_ShouldDropOnlyMatchingKeys() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:users:1", "one");
+        nearCache.put("coalesce:cache:users:22", "two");
+        nearCache.put("coalesce:cache:orders:1", "order");
+
+        nearCache.invalidateMatching("coalesce:cache:users:?");
+
+        assertFalse(nearCache.get("coalesce:cache:users:1").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:users:22").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:orders:1").isPresent());
+    }
+
+    /**
+     * Invalidate matching should treat escaped and regex characters literally.
+     */
+    @Test
+    void invalidateMatching_ShouldTreatEscapesLiterally() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:a*b", "star");
+        nearCache.put("coalesce:cache:axb", "x");
+        nearCache.put("coalesce:cache:a.b", "dot");
+
+        nearCache.invalidateMatching("coalesce:cache:a\\*b");
+
+        assertFalse(nearCache.get("coalesce:cache:a*b").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:axb").isPresent());
+
+        nearCache.invalidateMatching("coalesce:cache:a.b");
+
+        assertFalse(nearCache.get("coalesce:cache:a.b").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:axb").isPresent());
+    }
+
+    /**
+     * Invalidate matching with star should drop every key under the prefix.
+     */
+    @Test
+    void invalidateMatching_WithStar_ShouldDropEveryKeyUnderPrefix() {
+        NearCache nearCache = new NearCache(100, 30);
+        nearCache.put("coalesce:cache:users:1", "one");
+        nearCache.put("coalesce:cache:orders:1", "order");
+
+        nearCache.invalidateMatching("coalesce:cache:*");
+
+        assertEquals(0, nearCache.size());
+    }
+
+    /**
+     * Put if unchanged without invalidation should store the value.
+     */
+    @Test
+    void putIfUnchanged_WithoutInvalidation_ShouldStoreValue() {
+        NearCache nearCache = new NearCache(10, 30);
+        long stamp = nearCache.stamp("coalesce:cache:key");
+
+        nearCache.putIfUnchanged("coalesce:cache:key", "value", stamp);
+
+        assertEquals("value", nearCache.get("coalesce:cache:key").orElseThrow());
+    }
+
+    /**
+     * Put if unchanged after an invalidation should drop the value read before it.
+     */
+    @Test
+    void putIfUnchanged_AfterInvalidation_ShouldNotStoreValue() {
+        NearCache nearCache = new NearCache(10, 30);
+        long keyStamp = nearCache.stamp("coalesce:cache:key");
+        long otherStamp = nearCache.stamp("coalesce:cache:other");
+        long bulkStamp = nearCache.stamp("coalesce:cache:bulk");
+
+        nearCache.invalidate("coalesce:cache:key");
+        nearCache.invalidateAll(List.of("coalesce:cache:other"));
+        nearCache.putIfUnchanged("coalesce:cache:key", "stale", keyStamp);
+        nearCache.putIfUnchanged("coalesce:cache:other", "stale", otherStamp);
+        nearCache.invalidateMatching("coalesce:cache:b*");
+        nearCache.putIfUnchanged("coalesce:cache:bulk", "stale", bulkStamp);
+        nearCache.putIfUnchanged("coalesce:cache:none", null, nearCache.stamp("coalesce:cache:none"));
+
+        assertEquals(0, nearCache.size());
+    }
+
+    /**
+     * Near cache should rely on eviction events and hold nothing to close.
+     */
+    @Test
+    void isServerInvalidated_ShouldBeFalse() {
+        NearCache nearCache = new NearCache(10, 30);
+        nearCache.put("coalesce:cache:key", "value");
+
+        nearCache.close();
+
+        assertFalse(nearCache.isServerInvalidated());
+        assertTrue(nearCache.get("coalesce:cache:key").isPresent());
+    }
+}
@@ -0,0 +1,279 @@
+package io.github.ajuarez0021.redis.service;
+
+import io.github.ajuarez0021.redis.dto.CacheResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ReactiveRedisCacheService.
+ *
+ * @author ajuar
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveRedisCacheServiceTest {
+
+    /** The reactive redis template. */
+    @Mock
+    private ReactiveRedisTemplate<String, Object> redisTemplate;
+
+    /** The value operations. */
+    @Mock
+    private ReactiveValueOperations<String, Object> valueOperations;
+
+    /** The cache service. */
+    private ReactiveRedisCacheService cacheService;
+
+    /** The ttl. */
+    private final Duration ttl = Duration.ofMinutes(5);
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        cacheService = new ReactiveRedisCacheService(redisTemplate);
+    }
+
+    /**
+     * Cacheable with cache hit should not subscribe to the loader.
+     */
+    @Test
+    void cacheable_WithCacheHit_ShouldReturnCachedValue() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> loader = Mono.fromSupplier(() -> {
+            subscriptions.incrementAndGet();
+            return "loaded";
+        });
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("users:1")).thenReturn(Mono.just("cached"));
+
+        CacheResult<String> result = cacheService.cacheableWithResult("users", "1", loader, ttl).block();
+
+        assertNotNull(result);
+        assertTrue(result.isCacheHit());
+        assertEquals("cached", result.getValue());
+        assertEquals(0, subscriptions.get());
+    }
+
+    /**
+     * Cacheable with cache miss should load and store the value.
+     */
+    @Test
+    void cacheable_WithCacheMiss_ShouldLoadAndCache() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("users:1")).thenReturn(Mono.empty());
+        when(valueOperations.set("users:1", "loaded", ttl)).thenReturn(Mono.just(true));
+
+        String result = cacheService.cacheable("users", "1", Mono.just("loaded"), ttl).block();
+
+        assertEquals("loaded", result);
+        verify(valueOperations).set("users:1", "loaded", ttl);
+    }
+
+    /**
+     * Cacheable should not touch Redis until subscribed.
+     */
+    @Test
+    void cacheable_WithoutSubscription_ShouldNotReadRedis() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("users:1")).thenReturn(Mono.empty());
+
+        cacheService.cacheable("users", "1", Mono.just("loaded"));
+
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * Cacheable with Redis failures should fall back to the loader.
+     */
+    @Test
+    void cacheable_WithRedisError_ShouldReturnLoadedValue() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("users:1")).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(valueOperations.set("users:1", "loaded", ttl))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        CacheResult<String> result = cacheService.cacheableWithResult("users", "1", Mono.just("loaded"), ttl).block();
+
+        assertNotNull(result);
+        assertTrue(result.isCacheMiss());
+        assertEquals("loaded", result.getValue());
+    }
+
+    /**
+     * Cacheable with an empty loader should complete empty without caching.
+     */
+    @Test
+    void cacheable_WithEmptyLoader_ShouldNotCache() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("users:1")).thenReturn(Mono.empty());
+
+        assertNull(cacheService.cacheable("users", "1", Mono.<String>empty(), ttl).block());
+        verify(valueOperations, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    /**
+     * Cacheable with a failing loader should propagate the error.
+     */
+    @Test
+    void cacheable_WithLoaderError_ShouldPropagate() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("users:1")).thenReturn(Mono.empty());
+
+        Mono<String> result = cacheService.cacheable("users", "1", Mono.error(new IllegalStateException("boom")), ttl);
+
+        assertThrows(IllegalStateException.class, result::block);
+    }
+
+    /**
+     * Cacheable with invalid arguments should throw before subscription.
+     */
+    @Test
+    void cacheable_WithInvalidArguments_ShouldThrow() {
+        Mono<String> loader = Mono.just("value");
+
+        assertEquals("cacheName is required", assertThrows(IllegalStateException.class,
+                () -> cacheService.cacheable(null, "1", loader, ttl)).getMessage());
+        assertEquals("loader is required", assertThrows(IllegalStateException.class,
+                () -> cacheService.cacheable("users", "1", null, ttl)).getMessage());
+        assertEquals("ttl must be positive", assertThrows(IllegalArgumentException.class,
+                () -> cacheService.cacheable("users", "1", loader, Duration.ZERO)).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> cacheService.cacheable("users", "a*", loader, ttl));
+    }
+
+    /**
+     * Cache put should store the loaded value.
+     */
+    @Test
+    void cachePut_ShouldStoreValue() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.set(eq("users:1"), eq("value"), any(Duration.class))).thenReturn(Mono.just(true));
+
+        assertEquals("value", cacheService.cachePut("users", "1", Mono.just("value")).block());
+        verify(valueOperations).set("users:1", "value", Duration.ofMinutes(10));
+    }
+
+    /**
+     * Cache put with an empty loader should evict the key.
+     */
+    @Test
+    void cachePut_WithEmptyLoader_ShouldEvict() {
+        when(redisTemplate.delete("users:1")).thenReturn(Mono.just(1L));
+
+        assertNull(cacheService.cachePut("users", "1", Mono.<String>empty(), ttl).block());
+        verify(redisTemplate).delete("users:1");
+    }
+
+    /**
+     * Cache put with an empty loader and Redis failure should complete empty.
+     */
+    @Test
+    void cachePut_WithEmptyLoaderAndRedisError_ShouldCompleteEmpty() {
+        when(redisTemplate.delete("users:1")).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        assertNull(cacheService.cachePut("users", "1", Mono.<String>empty(), ttl).block());
+    }
+
+    /**
+     * Cache evict should report whether the key was removed.
+     */
+    @Test
+    void cacheEvict_ShouldReportRemoval() {
+        when(redisTemplate.delete("users:1")).thenReturn(Mono.just(1L));
+        when(redisTemplate.delete("users:2")).thenReturn(Mono.just(0L));
+        when(redisTemplate.delete("users:3")).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        assertEquals(Boolean.TRUE, cacheService.cacheEvict("users", "1").block());
+        assertEquals(Boolean.FALSE, cacheService.cacheEvict("users", "2").block());
+        assertEquals(Boolean.FALSE, cacheService.cacheEvict("users", "3").block());
+    }
+
+    /**
+     * Cache evict all should scan and unlink in batches.
+     */
+    @Test
+    void cacheEvictAll_ShouldUnlinkScannedKeysInBatches() {
+        Flux<String> keys = Flux.fromStream(IntStream.range(0, 150).mapToObj(i -> "users:" + i));
+        when(redisTemplate.scan(argThat((ScanOptions options) -> "users:*".equals(options.getPattern()))))
+                .thenReturn(keys);
+        when(redisTemplate.unlink(any(String[].class)))
+                .thenAnswer(invocation -> Mono.just((long) invocation.getArguments().length));
+
+        assertEquals(150L, cacheService.cacheEvictAll("users").block());
+        verify(redisTemplate, times(2)).unlink(any(String[].class));
+    }
+
+    /**
+     * Cache evict by pattern with Redis failure should report no removals.
+     */
+    @Test
+    void cacheEvictByPattern_WithRedisError_ShouldReturnZero() {
+        when(redisTemplate.scan(any(ScanOptions.class)))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("down")));
+
+        assertEquals(0L, cacheService.cacheEvictByPattern("users:*").block());
+    }
+
+    /**
+     * Cache evict multiple should delete every key in one command.
+     */
+    @Test
+    void cacheEvictMultiple_ShouldDeleteKeys() {
+        when(redisTemplate.delete("users:1", "users:2")).thenReturn(Mono.just(2L));
+
+        assertEquals(2L, cacheService.cacheEvictMultiple("users", "1", "2").block());
+        assertEquals(0L, cacheService.cacheEvictMultiple("users").block());
+        assertThrows(IllegalArgumentException.class, () -> cacheService.cacheEvictMultiple("users", "1", null));
+    }
+
+    /**
+     * Cache evict multiple with Redis failure should report no removals.
+     */
+    @Test
+    void cacheEvictMultiple_WithRedisError_ShouldReturnZero() {
+        when(redisTemplate.delete("users:1")).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        assertEquals(0L, cacheService.cacheEvictMultiple("users", "1").block());
+    }
+
+    /**
+     * Exists and get TTL should read the key.
+     */
+    @Test
+    void existsAndGetTTL_ShouldReadKey() {
+        when(redisTemplate.hasKey("users:1")).thenReturn(Mono.just(true));
+        when(redisTemplate.getExpire("users:1")).thenReturn(Mono.just(Duration.ofSeconds(42)));
+
+        assertEquals(Boolean.TRUE, cacheService.exists("users", "1").block());
+        assertEquals(42L, cacheService.getTTL("users", "1").block());
+    }
+
+    /**
+     * Exists and get TTL with Redis failure should fall back.
+     */
+    @Test
+    void existsAndGetTTL_WithRedisError_ShouldFallBack() {
+        when(redisTemplate.hasKey("users:1")).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(redisTemplate.getExpire("users:1")).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        assertEquals(Boolean.FALSE, cacheService.exists("users", "1").block());
+        assertNull(cacheService.getTTL("users", "1").block());
+    }
+}
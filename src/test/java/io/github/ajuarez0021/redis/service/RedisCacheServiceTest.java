@@ -1,17 +1,34 @@
 package io.github.ajuarez0021.redis.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.ajuarez0021.redis.config.CodecRedisSerializer;
+import io.github.ajuarez0021.redis.config.DefaultObjectMapperConfig;
 import io.github.ajuarez0021.redis.dto.CacheResult;
+import io.github.ajuarez0021.redis.util.ValueFormat;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
 import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -35,6 +52,10 @@ class RedisCacheServiceTest {
     @Mock
     private ValueOperations<String, Object> valueOperations;
 
+    /** The typed regions. */
+    @Mock
+    private TypedRegions typedRegions;
+
     /** The cache service. */
     @InjectMocks
     private RedisCacheService cacheService;
@@ -964,4 +985,238 @@ class RedisCacheServiceTest {
                 () -> cacheService.getTTL("cache", null));
         assertEquals("key is required", exception.getMessage());
     }
+
+    /**
+     * Cacheable all should read with one MGET and load only the misses.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void cacheableAll_WithHitsAndMisses_ShouldLoadMissesOnceAndPipelineWrites() {
+        RedisOperations<String, Object> operations = mock(RedisOperations.class);
+        ValueOperations<String, Object> pipelinedValues = mock(ValueOperations.class);
+        when(operations.opsForValue()).thenReturn(pipelinedValues);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("products:1", "products:2", "products:3")))
+                .thenReturn(Arrays.asList("cached1", null, null));
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(operations);
+            return List.of();
+        });
+        List<Set<Integer>> loaderCalls = new ArrayList<>();
+        Duration ttl = Duration.ofMinutes(5);
+
+        Map<Integer, CacheResult<String>> results = cacheService.cacheableAll("products", List.of(1, 2, 3, 2),
+                missing -> {
+                    loaderCalls.add(Set.copyOf(missing));
+                    return Map.of(2, "loaded2");
+                }, ttl);
+
+        assertEquals(List.of(1, 2, 3), new ArrayList<>(results.keySet()));
+        assertTrue(results.get(1).isCacheHit());
+        assertEquals("cached1", results.get(1).getValue());
+        assertTrue(results.get(2).isCacheMiss());
+        assertEquals("loaded2", results.get(2).getValue());
+        assertTrue(results.get(3).isCacheMiss());
+        assertNull(results.get(3).getValue());
+        assertEquals(List.of(Set.of(2, 3)), loaderCalls);
+        verify(pipelinedValues).set("products:2", "loaded2", ttl);
+        verify(pipelinedValues, never()).set(eq("products:3"), any(), any(Duration.class));
+    }
+
+    /**
+     * Cacheable all with every key cached should not call the loader.
+     */
+    @Test
+    void cacheableAll_WithAllHits_ShouldNotCallLoader() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("products:1"))).thenReturn(List.of("cached1"));
+
+        Map<Integer, CacheResult<String>> results = cacheService.cacheableAll("products", List.of(1),
+                missing -> {
+                    throw new AssertionError("loader called");
+                });
+
+        assertEquals("cached1", results.get(1).getValue());
+        verify(redisTemplate, never()).executePipelined(any(SessionCallback.class));
+    }
+
+    /**
+     * Cacheable all when Redis fails should load every key.
+     */
+    @Test
+    void cacheableAll_WhenRedisFails_ShouldLoadAllKeys() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenThrow(new RuntimeException("Connection refused"));
+        when(redisTemplate.executePipelined(any(SessionCallback.class)))
+                .thenThrow(new RuntimeException("Connection refused"));
+
+        Map<String, CacheResult<String>> results = cacheService.cacheableAll("users", List.of("a", "b"),
+                missing -> Map.of("a", "A", "b", "B"), Duration.ofMinutes(1));
+
+        assertEquals("A", results.get("a").getValue());
+        assertEquals("B", results.get("b").getValue());
+        assertTrue(results.get("a").isCacheMiss());
+    }
+
+    /**
+     * Cacheable all with no keys should not touch Redis.
+     */
+    @Test
+    void cacheableAll_WithEmptyKeys_ShouldReturnEmptyMap() {
+        Map<String, CacheResult<String>> results = cacheService.cacheableAll("users", List.of(),
+                missing -> Map.of(), Duration.ofMinutes(1));
+
+        assertTrue(results.isEmpty());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    /**
+     * Cacheable all with null keys should throw illegal state exception.
+     */
+    @Test
+    void cacheableAll_WithNullKeys_ShouldThrowIllegalStateException() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> cacheService.cacheableAll("users", null, missing -> Map.of(), Duration.ofMinutes(1)));
+        assertEquals("keys is required", exception.getMessage());
+    }
+
+    /**
+     * Typed cacheable should write the value without type metadata and read it back into the class.
+     */
+    @Test
+    void cacheable_WithType_ShouldRoundTripWithoutTypeMetadata() {
+        Map<String, byte[]> store = new HashMap<>();
+        RedisCacheService typedService = newTypedService(store);
+
+        Product loaded = typedService.cacheable("items", "1", Product.class, () -> newProduct("book"),
+                Duration.ofMinutes(1));
+        CacheResult<Product> cached = typedService.cacheableWithResult("items", "1", Product.class,
+                () -> newProduct("other"), Duration.ofMinutes(1));
+
+        assertEquals("book", loaded.name);
+        assertTrue(cached.isCacheHit());
+        assertEquals("book", cached.getValue().name);
+        assertEquals("{\"name\":\"book\"}", new String(store.get("items:1"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Untyped operations on a typed region should use the region's class.
+     */
+    @Test
+    void cacheableAndCachePut_WithRegion_ShouldUseRegionType() {
+        Map<String, byte[]> store = new HashMap<>();
+        RedisCacheService typedService = newTypedService(store);
+
+        typedService.cachePut("products", "1", () -> newProduct("pen"), Duration.ofMinutes(1));
+        Product cached = typedService.cacheable("products", "1", () -> newProduct("other"), Duration.ofMinutes(1));
+
+        assertEquals("pen", cached.name);
+        assertFalse(new String(store.get("products:1"), StandardCharsets.UTF_8).contains("@class"));
+        verifyNoInteractions(valueOperations);
+    }
+
+    /**
+     * Bulk cacheable on a typed region should read and write with the region's class.
+     */
+    @Test
+    void cacheableAll_WithRegion_ShouldUseRegionType() {
+        Map<String, byte[]> store = new HashMap<>();
+        RedisCacheService typedService = newTypedService(store);
+        typedService.cachePut("products", "1", () -> newProduct("pen"), Duration.ofMinutes(1));
+
+        Map<String, CacheResult<Product>> results = typedService.cacheableAll("products", List.of("1", "2"),
+                missing -> Map.of("2", newProduct("ink")), Duration.ofMinutes(1));
+
+        assertTrue(results.get("1").isCacheHit());
+        assertEquals("pen", results.get("1").getValue().name);
+        assertTrue(results.get("2").isCacheMiss());
+        assertEquals("{\"name\":\"ink\"}", new String(store.get("products:2"), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Typed cacheable with another class than the region's should throw exception.
+     */
+    @Test
+    void cacheable_WithTypeOtherThanRegion_ShouldThrowException() {
+        RedisCacheService typedService = newTypedService(new HashMap<>());
+        Supplier<String> loader = () -> "value";
+        Duration ttl = Duration.ofMinutes(1);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> typedService.cacheable("products", "1", String.class, loader, ttl));
+        assertEquals("Cache products holds " + Product.class.getName() + ", not java.lang.String.",
+                exception.getMessage());
+    }
+
+    /**
+     * Typed cacheable with Redis failure should fall back to the loader.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void cacheable_WithTypeAndRedisError_ShouldReturnLoadedValue() {
+        RedisCacheService typedService = new RedisCacheService(redisTemplate);
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new RuntimeException("Redis error"));
+
+        Product result = typedService.cacheable("items", "1", Product.class, () -> newProduct("book"),
+                Duration.ofMinutes(1));
+
+        assertEquals("book", result.name);
+    }
+
+    /**
+     * Creates a service with the products region, backed by an in-memory store.
+     *
+     * @param store the stored bytes by key
+     * @return the redis cache service
+     */
+    @SuppressWarnings("unchecked")
+    private RedisCacheService newTypedService(Map<String, byte[]> store) {
+        ObjectMapper objectMapper = new DefaultObjectMapperConfig().configure();
+        TypedRegions regions = new TypedRegions(Map.of("products", Product.class),
+                type -> CodecRedisSerializer.typed(ValueFormat.JSON, objectMapper, type));
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+        lenient().when(stringCommands.get(any(byte[].class))).thenAnswer(invocation ->
+                store.get(new String(invocation.getArgument(0, byte[].class), StandardCharsets.UTF_8)));
+        lenient().when(stringCommands.mGet(any(byte[][].class))).thenAnswer(invocation ->
+                Arrays.stream(invocation.getArguments())
+                        .map(key -> store.get(new String((byte[]) key, StandardCharsets.UTF_8)))
+                        .toList());
+        lenient().when(stringCommands.set(any(byte[].class), any(byte[].class), any(Expiration.class),
+                any(SetOption.class))).thenAnswer(invocation -> {
+                    store.put(new String(invocation.getArgument(0, byte[].class), StandardCharsets.UTF_8),
+                            invocation.getArgument(1, byte[].class));
+                    return true;
+                });
+        lenient().when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                invocation.getArgument(0, RedisCallback.class).doInRedis(connection));
+        lenient().when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, RedisCallback.class).doInRedis(connection);
+            return List.of();
+        });
+        lenient().doReturn(RedisSerializer.string()).when(redisTemplate).getKeySerializer();
+        return new RedisCacheService(redisTemplate, regions);
+    }
+
+    /**
+     * Creates a product.
+     *
+     * @param name the name
+     * @return the product
+     */
+    private static Product newProduct(String name) {
+        Product product = new Product();
+        product.name = name;
+        return product;
+    }
+
+    /**
+     * The Class Product.
+     */
+    static class Product {
+
+        /** The name. */
+        private String name;
+    }
 }
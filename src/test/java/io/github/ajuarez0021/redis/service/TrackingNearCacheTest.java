@@ -0,0 +1,231 @@
+package io.github.ajuarez0021.redis.service;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.push.PushListener;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.CommandArgs;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TrackingNearCache.
+ *
+ * @author ajuar
+ */
+@ExtendWith(MockitoExtension.class)
+class TrackingNearCacheTest {
+
+    /** The redis client. */
+    @Mock
+    private RedisClient client;
+
+    /** The tracking connection. */
+    @Mock
+    private StatefulRedisConnection<String, String> connection;
+
+    /** The sync commands. */
+    @Mock
+    private RedisCommands<String, String> syncCommands;
+
+    /** The async commands. */
+    @Mock
+    private RedisAsyncCommands<String, String> asyncCommands;
+
+    /** The push message. */
+    @Mock
+    private PushMessage pushMessage;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        when(client.connect(StringCodec.UTF8)).thenReturn(connection);
+    }
+
+    /**
+     * Constructor should enable broadcast tracking for the coalesce prefix.
+     */
+    @Test
+    void constructor_ShouldEnableBroadcastTracking() {
+        when(connection.sync()).thenReturn(syncCommands);
+
+        TrackingNearCache nearCache = new TrackingNearCache(10, 30, client);
+
+        ArgumentCaptor<TrackingArgs> args = ArgumentCaptor.forClass(TrackingArgs.class);
+        verify(syncCommands).clientTracking(args.capture());
+        CommandArgs<String, String> commandArgs = new CommandArgs<>(StringCodec.UTF8);
+        args.getValue().build(commandArgs);
+        String command = commandArgs.toCommandString();
+        assertTrue(command.startsWith("ON "));
+        assertTrue(command.contains("BCAST"));
+        assertTrue(command.contains("PREFIX " + Base64.getEncoder()
+                .encodeToString("coalesce:cache:".getBytes(StandardCharsets.UTF_8))));
+        verify(connection).addListener(any(PushListener.class));
+        verify(connection).addListener(any(RedisConnectionStateListener.class));
+        assertTrue(nearCache.isServerInvalidated());
+    }
+
+    /**
+     * Constructor with a server without tracking should fail and close the connection.
+     */
+    @Test
+    void constructor_WithTrackingError_ShouldCloseConnectionAndThrow() {
+        when(connection.sync()).thenReturn(syncCommands);
+        when(syncCommands.clientTracking(any(TrackingArgs.class)))
+                .thenThrow(new RedisCommandExecutionException("ERR unknown subcommand"));
+
+        assertThrows(IllegalStateException.class, () -> new TrackingNearCache(10, 30, client));
+        verify(connection).close();
+    }
+
+    /**
+     * Invalidate message should drop the named keys.
+     */
+    @Test
+    void onPushMessage_WithInvalidatedKeys_ShouldDropThem() {
+        TrackingNearCache nearCache = newNearCache();
+        nearCache.put("coalesce:cache:a", "1");
+        nearCache.put("coalesce:cache:b", "2");
+        when(pushMessage.getType()).thenReturn("invalidate");
+        when(pushMessage.getContent(any())).thenReturn(Arrays.asList("invalidate", List.of("coalesce:cache:a")));
+
+        nearCache.onPushMessage(pushMessage);
+
+        assertFalse(nearCache.get("coalesce:cache:a").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:b").isPresent());
+    }
+
+    /**
+     * Invalidate message without keys should drop every local copy.
+     */
+    @Test
+    void onPushMessage_WithFlush_ShouldDropEveryKey() {
+        TrackingNearCache nearCache = newNearCache();
+        nearCache.put("coalesce:cache:a", "1");
+        when(pushMessage.getType()).thenReturn("invalidate");
+        when(pushMessage.getContent(any())).thenReturn(Arrays.asList("invalidate", null));
+
+        nearCache.onPushMessage(pushMessage);
+
+        assertFalse(nearCache.get("coalesce:cache:a").isPresent());
+    }
+
+    /**
+     * Other push messages should be ignored.
+     */
+    @Test
+    void onPushMessage_WithOtherType_ShouldIgnoreIt() {
+        TrackingNearCache nearCache = newNearCache();
+        nearCache.put("coalesce:cache:a", "1");
+        when(pushMessage.getType()).thenReturn("message");
+
+        nearCache.onPushMessage(pushMessage);
+
+        assertTrue(nearCache.get("coalesce:cache:a").isPresent());
+        verify(pushMessage, never()).getContent(any());
+    }
+
+    /**
+     * Disconnect should drop local copies and refuse new ones until tracking is enabled again.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void onRedisConnected_AfterDisconnect_ShouldEnableTrackingAgain() {
+        TrackingNearCache nearCache = newNearCache();
+        nearCache.put("coalesce:cache:a", "1");
+        RedisFuture<String> future = mock(RedisFuture.class);
+        List<BiConsumer<String, Throwable>> callbacks = new ArrayList<>();
+        when(connection.async()).thenReturn(asyncCommands);
+        when(asyncCommands.clientTracking(any(TrackingArgs.class))).thenReturn(future);
+        when(future.whenComplete(any())).thenAnswer(invocation -> {
+            callbacks.add(invocation.getArgument(0));
+            return future;
+        });
+
+        nearCache.onRedisDisconnected(null);
+        nearCache.put("coalesce:cache:b", "2");
+
+        assertFalse(nearCache.get("coalesce:cache:a").isPresent());
+        assertFalse(nearCache.get("coalesce:cache:b").isPresent());
+
+        nearCache.onRedisConnected(null, null);
+        long stamp = nearCache.stamp("coalesce:cache:c");
+        callbacks.getFirst().accept("OK", null);
+        nearCache.putIfUnchanged("coalesce:cache:c", "3", stamp);
+        nearCache.put("coalesce:cache:b", "2");
+
+        assertFalse(nearCache.get("coalesce:cache:c").isPresent());
+        assertTrue(nearCache.get("coalesce:cache:b").isPresent());
+    }
+
+    /**
+     * Failing to enable tracking again should keep the near cache disabled.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void onRedisConnected_WithTrackingError_ShouldStayDisabled() {
+        TrackingNearCache nearCache = newNearCache();
+        RedisFuture<String> future = mock(RedisFuture.class);
+        when(connection.async()).thenReturn(asyncCommands);
+        when(asyncCommands.clientTracking(any(TrackingArgs.class))).thenReturn(future);
+        when(future.whenComplete(any())).thenAnswer(invocation -> {
+            BiConsumer<String, Throwable> callback = invocation.getArgument(0);
+            callback.accept(null, new RedisCommandExecutionException("ERR"));
+            return future;
+        });
+
+        nearCache.onRedisDisconnected(null);
+        nearCache.onRedisConnected(null, null);
+        nearCache.put("coalesce:cache:a", "1");
+
+        assertFalse(nearCache.get("coalesce:cache:a").isPresent());
+    }
+
+    /**
+     * Close should close the tracking connection.
+     */
+    @Test
+    void close_ShouldCloseConnection() {
+        TrackingNearCache nearCache = newNearCache();
+
+        nearCache.close();
+        nearCache.put("coalesce:cache:a", "1");
+
+        verify(connection).close();
+        assertFalse(nearCache.get("coalesce:cache:a").isPresent());
+    }
+
+    /**
+     * Creates a near cache with tracking enabled.
+     *
+     * @return the tracking near cache
+     */
+    private TrackingNearCache newNearCache() {
+        when(connection.sync()).thenReturn(syncCommands);
+        return new TrackingNearCache(10, 30, client);
+    }
+}
@@ -2,11 +2,13 @@ package io.github.ajuarez0021.redis.util;
 
 import io.github.ajuarez0021.redis.dto.HostsDto;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -391,6 +393,87 @@ class ValidatorTest {
         assertEquals("cacheName is required", exception.getMessage());
     }
 
+    /**
+     * Validate compression threshold with negative value should throw exception.
+     */
+    @Test
+    void validateCompressionThreshold_WithNegativeValue_ShouldThrowException() {
+        assertDoesNotThrow(() -> Validator.validateCompressionThreshold(0));
+        assertEquals("Invalid compressionThreshold -1.", assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateCompressionThreshold(-1)).getMessage());
+    }
+
+    /**
+     * Validate region with missing name or untyped class should throw exception.
+     */
+    @Test
+    void validateRegion_WithInvalidEntry_ShouldThrowException() {
+        assertDoesNotThrow(() -> Validator.validateRegion("products", HostsDto.class));
+        assertThrows(IllegalStateException.class, () -> Validator.validateRegion("", HostsDto.class));
+        assertThrows(NullPointerException.class, () -> Validator.validateRegion("products", null));
+        assertEquals("Invalid region type java.util.List for cache products.",
+                assertThrows(IllegalArgumentException.class,
+                        () -> Validator.validateRegion("products", List.class)).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Validator.validateRegion("products", int.class));
+    }
+
+    /**
+     * Validate region type should accept the region's class only.
+     */
+    @Test
+    void validateRegionType_WithOtherClass_ShouldThrowException() {
+        assertDoesNotThrow(() -> Validator.validateRegionType("products", HostsDto.class, null));
+        assertDoesNotThrow(() -> Validator.validateRegionType("products", HostsDto.class, HostsDto.class));
+        assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateRegionType("products", String.class, HostsDto.class));
+        assertThrows(NullPointerException.class, () -> Validator.validateRegionType("products", null, null));
+    }
+
+    /**
+     * Validate type id with blank or dotted id should throw exception.
+     */
+    @Test
+    void validateTypeId_WithInvalidId_ShouldThrowException() {
+        assertDoesNotThrow(() -> Validator.validateTypeId("1", String.class));
+        assertEquals("Invalid type id 'a.b' for java.lang.String.", assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateTypeId("a.b", String.class)).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Validator.validateTypeId(null, String.class));
+        assertThrows(NullPointerException.class, () -> Validator.validateTypeId("1", null));
+    }
+
+    /**
+     * Validate refresh options without coalescing should throw exception.
+     */
+    @Test
+    void validateRefreshOptions_WithoutCoalesce_ShouldThrowException() {
+        assertDoesNotThrow(() -> Validator.validateRefreshOptions(true, false, 60, 1.0));
+        assertDoesNotThrow(() -> Validator.validateRefreshOptions(false, true, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Validator.validateRefreshOptions(false, false, 60, 0));
+        assertThrows(IllegalArgumentException.class, () -> Validator.validateRefreshOptions(false, false, 0, 1.0));
+    }
+
+    /**
+     * Validate refresh options on an asynchronous method should throw exception.
+     */
+    @Test
+    void validateRefreshOptions_WithAsyncMethod_ShouldThrowException() {
+        assertEquals("staleTtl and earlyRefreshBeta apply to blocking methods only",
+                assertThrows(IllegalArgumentException.class,
+                        () -> Validator.validateRefreshOptions(true, true, 60, 0)).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Validator.validateRefreshOptions(true, true, 0, 1.0));
+    }
+
+    /**
+     * Validate format with missing name or format should throw exception.
+     */
+    @Test
+    void validateFormat_WithInvalidEntry_ShouldThrowException() {
+        assertDoesNotThrow(() -> Validator.validateFormat("cache", ValueFormat.SMILE));
+        assertEquals("cacheName is required", assertThrows(IllegalStateException.class,
+                () -> Validator.validateFormat(" ", ValueFormat.SMILE)).getMessage());
+        assertThrows(NullPointerException.class, () -> Validator.validateFormat("cache", null));
+    }
+
     /**
      * Validate TT L with null ttl should throw exception.
      */
@@ -685,4 +768,173 @@ class ValidatorTest {
     void validatePattern_WithValidPattern_ShouldNotThrowException() {
         assertDoesNotThrow(() -> Validator.validatePattern("cache:*"));
     }
+
+    /**
+     * Validate near cache with negative size should throw exception.
+     */
+    @Test
+    void validateNearCache_WithNegativeSize_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateNearCache(-1, 30));
+        assertEquals("Invalid nearCacheMaxSize -1.", exception.getMessage());
+    }
+
+    /**
+     * Validate near cache with zero ttl should throw exception.
+     */
+    @Test
+    void validateNearCache_WithZeroTtl_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateNearCache(100, 0));
+        assertEquals("Invalid nearCacheTtl 0.", exception.getMessage());
+    }
+
+    /**
+     * Validate near cache when disabled should ignore ttl.
+     */
+    @Test
+    void validateNearCache_WhenDisabled_ShouldNotThrowException() {
+        assertDoesNotThrow(() -> Validator.validateNearCache(0, 0));
+        assertDoesNotThrow(() -> Validator.validateNearCache(100, 30));
+    }
+
+    /**
+     * Validate pool with invalid settings should throw exception.
+     */
+    @Test
+    void validatePool_WithInvalidSettings_ShouldThrowException() {
+        assertEquals("Invalid poolMaxTotal -1.", assertThrows(IllegalArgumentException.class,
+                () -> Validator.validatePool(-1, 8, 0)).getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Validator.validatePool(4, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> Validator.validatePool(8, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> Validator.validatePool(8, 4, 5));
+        assertThrows(IllegalArgumentException.class, () -> Validator.validatePool(8, 4, -1));
+    }
+
+    /**
+     * Validate pool when disabled or valid should not throw exception.
+     */
+    @Test
+    void validatePool_WithValidSettings_ShouldNotThrowException() {
+        assertDoesNotThrow(() -> Validator.validatePool(0, 8, 0));
+        assertDoesNotThrow(() -> Validator.validatePool(8, 8, 2));
+    }
+
+    /**
+     * Validate read from should only allow replica reads in sentinel and cluster modes.
+     */
+    @Test
+    void validateReadFrom_ShouldRejectReplicaReadsInStandalone() {
+        assertEquals("readFrom NEAREST requires SENTINEL or CLUSTER mode.",
+                assertThrows(IllegalArgumentException.class,
+                        () -> Validator.validateReadFrom(Mode.STANDALONE, ReadPreference.NEAREST)).getMessage());
+        assertThrows(NullPointerException.class, () -> Validator.validateReadFrom(Mode.CLUSTER, null));
+        assertDoesNotThrow(() -> Validator.validateReadFrom(Mode.STANDALONE, ReadPreference.MASTER));
+        assertDoesNotThrow(() -> Validator.validateReadFrom(Mode.SENTINEL, ReadPreference.REPLICA_PREFERRED));
+    }
+
+    /**
+     * Validate cluster topology with negative settings should throw exception.
+     */
+    @Test
+    void validateClusterTopology_WithNegativeSettings_ShouldThrowException() {
+        assertEquals("Invalid clusterRefreshPeriod -1.", assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateClusterTopology(-1, 5)).getMessage());
+        assertEquals("Invalid clusterMaxRedirects -1.", assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateClusterTopology(60, -1)).getMessage());
+        assertDoesNotThrow(() -> Validator.validateClusterTopology(0, 0));
+    }
+
+    /**
+     * Validate threads with negative counts should throw exception.
+     */
+    @Test
+    void validateThreads_WithNegativeCounts_ShouldThrowException() {
+        assertEquals("Invalid ioThreads -1.", assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateThreads(-1, 0)).getMessage());
+        assertEquals("Invalid computationThreads -2.", assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateThreads(0, -2)).getMessage());
+        assertDoesNotThrow(() -> Validator.validateThreads(0, 4));
+    }
+
+    /**
+     * Validate near cache tracking should require a near cache outside cluster mode.
+     */
+    @Test
+    void validateNearCacheTracking_ShouldRequireNearCacheOutsideCluster() {
+        assertEquals("nearCacheTracking requires a nearCacheMaxSize greater than 0.",
+                assertThrows(IllegalArgumentException.class,
+                        () -> Validator.validateNearCacheTracking(Mode.STANDALONE, 0)).getMessage());
+        assertEquals("nearCacheTracking requires STANDALONE or SENTINEL mode.",
+                assertThrows(IllegalArgumentException.class,
+                        () -> Validator.validateNearCacheTracking(Mode.CLUSTER, 100)).getMessage());
+        assertDoesNotThrow(() -> Validator.validateNearCacheTracking(Mode.SENTINEL, 100));
+    }
+
+    /**
+     * Validate cacheable all with null batch loader should throw exception.
+     */
+    @Test
+    void validateCacheableAll_WithNullBatchLoader_ShouldThrowException() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> Validator.validateCacheableAll("users", List.of("a"), null, Duration.ofMinutes(1)));
+        assertEquals("batchLoader is required", exception.getMessage());
+    }
+
+    /**
+     * Validate cacheable all with null key should throw exception.
+     */
+    @Test
+    void validateCacheableAll_WithNullKey_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateCacheableAll("users", Arrays.asList("a", null),
+                        keys -> Map.of(), Duration.ofMinutes(1)));
+        assertEquals("keys cannot contain null elements", exception.getMessage());
+    }
+
+    /**
+     * Validate cacheable all with wildcard key should throw exception.
+     */
+    @Test
+    void validateCacheableAll_WithWildcardKey_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateCacheableAll("users", List.of("a*"), keys -> Map.of(), Duration.ofMinutes(1)));
+        assertEquals("key cannot contain '*' character", exception.getMessage());
+    }
+
+    /**
+     * Validate cacheable all with zero ttl should throw exception.
+     */
+    @Test
+    void validateCacheableAll_WithZeroTtl_ShouldThrowException() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateCacheableAll("users", List.of("a"), keys -> Map.of(), Duration.ZERO));
+        assertEquals("ttl must be positive", exception.getMessage());
+    }
+
+    /**
+     * Validate reactive cacheable with valid parameters should not throw.
+     */
+    @Test
+    void validateReactiveCacheable_WithValidParameters_ShouldNotThrow() {
+        assertDoesNotThrow(() -> Validator.validateReactiveCacheable("users", "1", Mono.just("v"), Duration.ofMinutes(1)));
+    }
+
+    /**
+     * Validate reactive cacheable with invalid parameters should throw exception.
+     */
+    @Test
+    void validateReactiveCacheable_WithInvalidParameters_ShouldThrowException() {
+        Mono<String> loader = Mono.just("v");
+        Duration ttl = Duration.ofMinutes(1);
+
+        assertEquals("ttl is required", assertThrows(IllegalStateException.class,
+                () -> Validator.validateReactiveCacheable("users", "1", loader, null)).getMessage());
+        assertEquals("ttl must be positive", assertThrows(IllegalArgumentException.class,
+                () -> Validator.validateReactiveCacheable("users", "1", loader, Duration.ofSeconds(-1))).getMessage());
+        assertEquals("key is required", assertThrows(IllegalStateException.class,
+                () -> Validator.validateReactiveCacheable("users", "", loader, ttl)).getMessage());
+        assertEquals("loader is required", assertThrows(IllegalStateException.class,
+                () -> Validator.validateReactiveCacheable("users", "1", null, ttl)).getMessage());
+    }
 }